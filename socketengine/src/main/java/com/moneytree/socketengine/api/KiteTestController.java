@@ -1,6 +1,6 @@
 package com.moneytree.socketengine.api;
 
-import com.moneytree.socketengine.kite.KiteWebSocketClient;
+import com.moneytree.socketengine.kite.TickSource;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
@@ -24,7 +24,7 @@ import java.util.Map;
 @Tag(name = "Kite Test", description = "Testing endpoints for Kite WebSocket functionality")
 public class KiteTestController {
     
-    private final KiteWebSocketClient kiteWebSocketClient;
+    private final TickSource tickSource;
     
     /**
      * Get current Kite WebSocket subscription status.
@@ -40,7 +40,7 @@ public class KiteTestController {
     public ResponseEntity<Map<String, Object>> getSubscriptionStatus() {
         try {
             log.info("📊 Getting Kite subscription status");
-            Map<String, Object> status = kiteWebSocketClient.getSubscriptionStatus();
+            Map<String, Object> status = tickSource.getSubscriptionStatus();
             
             log.info("✅ Subscription status retrieved: connected={}, instruments={}", 
                 status.get("connected"), status.get("instrumentCount"));
@@ -74,17 +74,17 @@ public class KiteTestController {
             log.warn("🧪 MANUAL SHUTDOWN TEST initiated via REST endpoint");
             
             // Get status before shutdown
-            Map<String, Object> beforeStatus = kiteWebSocketClient.getSubscriptionStatus();
+            Map<String, Object> beforeStatus = tickSource.getSubscriptionStatus();
             log.warn("📊 Status BEFORE shutdown: {}", beforeStatus);
             
             // Trigger manual shutdown
-            kiteWebSocketClient.manualShutdown();
+            tickSource.shutdown();
             
             // Wait a moment for shutdown to complete
             Thread.sleep(2000);
             
             // Get status after shutdown
-            Map<String, Object> afterStatus = kiteWebSocketClient.getSubscriptionStatus();
+            Map<String, Object> afterStatus = tickSource.getSubscriptionStatus();
             log.warn("📊 Status AFTER shutdown: {}", afterStatus);
             
             return ResponseEntity.ok(Map.of(
@@ -113,7 +113,7 @@ public class KiteTestController {
         description = "Simple endpoint to check if Kite WebSocket is currently connected"
     )
     public ResponseEntity<Map<String, Object>> isConnected() {
-        boolean connected = kiteWebSocketClient.isConnected();
+        boolean connected = tickSource.isConnected();
         
         return ResponseEntity.ok(Map.of(
             "connected", connected,
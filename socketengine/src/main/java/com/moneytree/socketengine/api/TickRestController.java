@@ -3,7 +3,9 @@ package com.moneytree.socketengine.api;
 import com.moneytree.socketengine.api.dto.SubscriptionResponseDto;
 import com.moneytree.socketengine.api.dto.TickDto;
 import com.moneytree.socketengine.broadcast.SessionManager;
+import com.moneytree.socketengine.cluster.ClusterNodeRegistry;
 import com.moneytree.socketengine.domain.Tick;
+import com.moneytree.socketengine.intraday.IntradayTickStore;
 import com.moneytree.socketengine.kite.InstrumentLoader;
 import com.moneytree.socketengine.kite.KiteTickParser;
 import com.moneytree.socketengine.persistence.TickEntity;
@@ -18,6 +20,7 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -46,19 +49,21 @@ public class TickRestController {
     private final SessionManager sessionManager;
     private final InstrumentLoader instrumentLoader;
     private final KiteTickParser tickParser;
+    private final ObjectProvider<ClusterNodeRegistry> clusterNodeRegistry;
+    private final ObjectProvider<IntradayTickStore> intradayTickStore;
     
     /**
-     * Retrieves today's cached ticks for a specific symbol from Redis.
-     * Optionally filters by time window (last N minutes).
+     * Retrieves today's cached ticks for a specific symbol from the local intraday store when
+     * it is enabled, otherwise from Redis. Optionally filters by time window (last N minutes).
      * 
      * @param symbol Trading symbol (e.g., "NIFTY 50", "RELIANCE")
      * @param lastMinutes Optional time window in minutes (null = all ticks)
-     * @return List of ticks from Redis cache
+     * @return List of ticks from the intraday store or Redis cache
      */
     @GetMapping("/today/{symbol}")
     @Operation(
         summary = "Get today's ticks for a symbol",
-        description = "Retrieves cached intraday ticks from Redis. Optionally filter by time window using lastMinutes parameter."
+        description = "Retrieves cached intraday ticks from the local intraday store, or from Redis when it is disabled. Optionally filter by time window using lastMinutes parameter."
     )
     @ApiResponses(value = {
         @ApiResponse(
@@ -90,7 +95,10 @@ public class TickRestController {
                 return ResponseEntity.badRequest().build();
             }
             
-            List<Tick> ticks = cacheService.getTodayTicks(symbol, lastMinutes);
+            IntradayTickStore intraday = intradayTickStore.getIfAvailable();
+            List<Tick> ticks = intraday != null
+                ? intraday.getTodayTicks(symbol, lastMinutes)
+                : cacheService.getTodayTicks(symbol, lastMinutes);
             List<TickDto> tickDtos = ticks.stream()
                 .map(this::toDto)
                 .collect(Collectors.toList());
@@ -176,13 +184,15 @@ public class TickRestController {
     
     /**
      * Retrieves all active WebSocket sessions and their subscriptions.
+     * In a split deployment this covers every node of the cluster.
      * 
      * @return Map of session IDs to subscription details
      */
     @GetMapping("/subscriptions")
     @Operation(
         summary = "Get active subscriptions",
-        description = "Returns all active WebSocket sessions with their endpoints and subscribed symbols."
+        description = "Returns all active WebSocket sessions with their endpoints, subscribed symbols and outbound queue counts. " +
+                     "In a split deployment, sessions of every node are included and tagged with their node."
     )
     @ApiResponses(value = {
         @ApiResponse(
@@ -200,21 +210,39 @@ public class TickRestController {
             log.debug("Fetching active subscriptions");
             
             Map<String, SubscriptionResponseDto> subscriptions = new HashMap<>();
+            ClusterNodeRegistry cluster = clusterNodeRegistry.getIfAvailable();
             
             for (String sessionId : sessionManager.getAllSessionIds()) {
                 String endpoint = sessionManager.getSessionEndpoint(sessionId);
                 var subscribedSymbols = sessionManager.getSessionSubscriptions(sessionId);
+                var outbound = sessionManager.getOutboundStats(sessionId);
                 
                 SubscriptionResponseDto dto = SubscriptionResponseDto.builder()
                     .sessionId(sessionId)
+                    .node(cluster != null ? cluster.getNodeId() : null)
                     .endpoint(endpoint)
                     .subscribedSymbols(subscribedSymbols)
+                    .subscribedGroups(sessionManager.getSessionGroups(sessionId))
                     .connectedAt(Instant.now())  // Note: actual connection time not tracked currently
+                    .ticksSent(outbound.sent())
+                    .ticksConflated(outbound.conflated())
+                    .ticksDropped(outbound.dropped())
+                    .ticksPending(outbound.pending())
                     .build();
                 
                 subscriptions.put(sessionId, dto);
             }
             
+            // In a split deployment, add the sessions of the other nodes as of their last heartbeat
+            if (cluster != null) {
+                for (SubscriptionResponseDto dto : cluster.getRemoteSessions()) {
+                    String key = subscriptions.containsKey(dto.getSessionId())
+                        ? dto.getNode() + ":" + dto.getSessionId()
+                        : dto.getSessionId();
+                    subscriptions.put(key, dto);
+                }
+            }
+            
             log.debug("Retrieved {} active subscriptions", subscriptions.size());
             return ResponseEntity.ok(subscriptions);
             
@@ -272,18 +300,24 @@ public class TickRestController {
             .type(tick.getType().name())
             .timestamp(tick.getTimestamp().toString())
             .lastTradedPrice(tick.getLastTradedPrice())
-            .volume(tick.getVolume())
-            .ohlc(new TickDto.OHLCDto(
+            .volume(tick.hasVolume() ? tick.getVolume() : null)
+            .ohlc(tick.getOhlc() != null ? new TickDto.OHLCDto(
                 tick.getOhlc().getOpen(),
                 tick.getOhlc().getHigh(),
                 tick.getOhlc().getLow(),
                 tick.getOhlc().getClose()
-            ))
+            ) : null)
             .build();
     }
     
     /**
      * Parses raw binary data from TickEntity and converts to TickDto.
+     * Only the packet for the entity's instrument is decoded, so legacy rows that stored
+     * the whole Kite frame resolve to the right instrument as well. The timestamp of a Full
+     * packet is its exchange timestamp, which can differ from the row's arrival-time
+     * {@code tick_timestamp}; LTP and Quote packets carry none and keep {@code tick_timestamp}
+     * (see {@link com.moneytree.socketengine.kite.KitePacketEncoder}). Fields the packet's
+     * mode does not carry are left out of the DTO.
      * If parsing fails, returns null and logs a warning.
      * 
      * @param entity TickEntity with raw binary data
@@ -291,17 +325,16 @@ public class TickRestController {
      */
     private TickDto parseRawTickData(TickEntity entity) {
         try {
-            // Parse the raw binary data
-            List<Tick> ticks = tickParser.parse(entity.getRawTickData());
+            // Parse the packet for this instrument from the raw binary data
+            Tick tick = tickParser.parsePacket(
+                entity.getRawTickData(), entity.getInstrumentToken(), entity.getTickTimestamp());
             
-            if (ticks.isEmpty()) {
-                log.warn("No ticks parsed from raw data for instrument token: {}", 
+            if (tick == null) {
+                log.warn("No tick parsed from raw data for instrument token: {}", 
                     entity.getInstrumentToken());
                 return null;
             }
             
-            // Return the first tick (should only be one per entity)
-            Tick tick = ticks.get(0);
             return toDto(tick);
             
         } catch (Exception e) {
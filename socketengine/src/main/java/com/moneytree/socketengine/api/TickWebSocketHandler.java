@@ -2,7 +2,12 @@ package com.moneytree.socketengine.api;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.moneytree.socketengine.api.dto.SubscriptionRequestDto;
+import com.moneytree.socketengine.broadcast.InstrumentGroup;
+import com.moneytree.socketengine.broadcast.InstrumentGroups;
 import com.moneytree.socketengine.broadcast.SessionManager;
+import com.moneytree.socketengine.broadcast.TickDictionaryPublisher;
+import com.moneytree.socketengine.broadcast.TickSnapshotPublisher;
+import com.moneytree.socketengine.broadcast.WireProtocol;
 import com.moneytree.socketengine.config.SecurityConfig;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Validator;
@@ -11,11 +16,18 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 import org.springframework.web.socket.CloseStatus;
 import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.SubProtocolCapable;
 import org.springframework.web.socket.WebSocketSession;
 import org.springframework.web.socket.handler.TextWebSocketHandler;
+import org.springframework.web.socket.sockjs.transport.SockJsSession;
+import org.springframework.web.util.UriComponentsBuilder;
 
 import java.io.IOException;
 import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -27,6 +39,14 @@ import java.util.stream.Collectors;
  * - /ws/stocks/nse/all (automatic streaming of all NSE stocks)
  * 
  * Processes SUBSCRIBE/UNSUBSCRIBE messages from clients and manages session lifecycle.
+ * Requests carry symbols, names of server-side {@link InstrumentGroup}s (e.g. index
+ * constituents), or both; a group is subscribed as a whole, however many instruments it holds.
+ * A SUBSCRIBE can also cap the session at one tick per symbol per interval (queued mode only).
+ * Its confirmation is followed by a snapshot of the last known tick of each requested instrument.
+ * Negotiates the tick wire protocol per session: JSON by default, or binary when the client
+ * offers the binary subprotocol or connects with {@code ?format=binary} (plain WebSocket only,
+ * SockJS transports carry text), or field-level JSON deltas with {@code ?format=delta}.
+ * Sessions on batch endpoints may also ask for multi-tick frames with {@code ?batch=true}.
  * Includes security features:
  * - Rate limiting for subscription requests
  * - Connection limits per IP address
@@ -35,9 +55,19 @@ import java.util.stream.Collectors;
 @Component
 @Slf4j
 @RequiredArgsConstructor
-public class TickWebSocketHandler extends TextWebSocketHandler {
+public class TickWebSocketHandler extends TextWebSocketHandler implements SubProtocolCapable {
+    
+    private static final List<String> SUB_PROTOCOLS = Arrays.stream(WireProtocol.values())
+        .map(WireProtocol::subprotocol)
+        .toList();
+    
+    private static final int MAX_SYMBOLS_PER_REQUEST = 100;
+    private static final int MAX_GROUPS_PER_REQUEST = 20;
     
     private final SessionManager sessionManager;
+    private final InstrumentGroups instrumentGroups;
+    private final TickDictionaryPublisher dictionaryPublisher;
+    private final TickSnapshotPublisher snapshotPublisher;
     private final ObjectMapper objectMapper;
     private final Validator validator;
     private final SecurityConfig.RateLimiter subscriptionRateLimiter;
@@ -62,9 +92,46 @@ public class TickWebSocketHandler extends TextWebSocketHandler {
         }
         
         String endpoint = extractEndpoint(session);
-        sessionManager.registerSession(session.getId(), endpoint, session);
-        log.info("Client connected: sessionId={}, endpoint={}, remoteAddress={}", 
-            session.getId(), endpoint, ipAddress);
+        WireProtocol protocol = negotiateProtocol(session);
+        dictionaryPublisher.onConnected(session, endpoint, protocol);
+        sessionManager.registerSession(session.getId(), endpoint, session, protocol);
+        if ("true".equalsIgnoreCase(queryParameter(session, "batch"))) {
+            sessionManager.enableFrameBatching(session.getId());
+        }
+        log.info("Client connected: sessionId={}, endpoint={}, protocol={}, remoteAddress={}", 
+            session.getId(), endpoint, protocol, ipAddress);
+    }
+    
+    /**
+     * Offers the JSON, JSON delta and binary tick subprotocols during the handshake.
+     */
+    @Override
+    public List<String> getSubProtocols() {
+        return SUB_PROTOCOLS;
+    }
+    
+    /**
+     * Determines the wire protocol of a new session from the accepted subprotocol or the
+     * {@code format} query parameter. SockJS sessions never use binary.
+     *
+     * @param session the WebSocket session
+     * @return the negotiated protocol
+     */
+    private WireProtocol negotiateProtocol(WebSocketSession session) {
+        WireProtocol protocol = WireProtocol.negotiate(session.getAcceptedProtocol(), queryParameter(session, "format"));
+        if (session instanceof SockJsSession && protocol == WireProtocol.BINARY) {
+            return WireProtocol.JSON;
+        }
+        return protocol;
+    }
+    
+    /**
+     * @return First value of a query parameter of the session URI, or null if absent
+     */
+    private String queryParameter(WebSocketSession session, String name) {
+        return session.getUri() != null
+            ? UriComponentsBuilder.fromUri(session.getUri()).build().getQueryParams().getFirst(name)
+            : null;
     }
     
     /**
@@ -108,30 +175,72 @@ public class TickWebSocketHandler extends TextWebSocketHandler {
                 return;
             }
             
-            // Additional validation: check symbols list size
-            if (request.getSymbols() != null && request.getSymbols().size() > 100) {
-                sendError(session, "Too many symbols in single request (max 100)");
+            List<String> symbols = request.getSymbols() != null ? request.getSymbols() : List.of();
+            List<String> groupNames = request.getGroups() != null ? request.getGroups() : List.of();
+            
+            // Additional validation: check symbols and groups list sizes
+            if (symbols.size() > MAX_SYMBOLS_PER_REQUEST) {
+                sendError(session, "Too many symbols in single request (max " + MAX_SYMBOLS_PER_REQUEST + ")");
                 log.warn("Session {} attempted to subscribe to {} symbols", 
-                    session.getId(), request.getSymbols().size());
+                    session.getId(), symbols.size());
+                return;
+            }
+            if (groupNames.size() > MAX_GROUPS_PER_REQUEST) {
+                sendError(session, "Too many groups in single request (max " + MAX_GROUPS_PER_REQUEST + ")");
+                log.warn("Session {} attempted to subscribe to {} groups", 
+                    session.getId(), groupNames.size());
                 return;
             }
             
             // Process the action
             if ("SUBSCRIBE".equals(request.getAction())) {
-                sessionManager.addSubscriptions(session.getId(), request.getSymbols());
-                log.info("Subscribed: sessionId={}, type={}, symbolCount={}", 
-                    session.getId(), request.getType(), request.getSymbols().size());
+                List<InstrumentGroup> groups = new ArrayList<>(groupNames.size());
+                for (String name : groupNames) {
+                    InstrumentGroup group = instrumentGroups.get(name);
+                    if (group == null) {
+                        sendError(session, "Unknown group: " + name);
+                        log.warn("Session {} attempted to subscribe to unknown group {}", session.getId(), name);
+                        return;
+                    }
+                    groups.add(group);
+                }
+                
+                Duration throttle = request.getThrottleInterval();
+                if (throttle != null && !sessionManager.setThrottle(session.getId(), throttle)) {
+                    log.warn("Session {} asked for a rate cap, which is not available in this outbound mode", 
+                        session.getId());
+                    throttle = null;
+                }
+                
+                List<String> requested = withGroupMembers(symbols, groups);
+                dictionaryPublisher.onSubscribing(session, requested);
+                if (!symbols.isEmpty()) {
+                    sessionManager.addSubscriptions(session.getId(), symbols);
+                }
+                if (!groups.isEmpty()) {
+                    sessionManager.addGroupSubscriptions(session.getId(), groups);
+                }
+                log.info("Subscribed: sessionId={}, type={}, symbolCount={}, groups={}", 
+                    session.getId(), request.getType(), symbols.size(), groupNames);
                 
                 // Send confirmation to client
-                sendConfirmation(session, "SUBSCRIBE", request.getSymbols());
+                sendConfirmation(session, "SUBSCRIBE", symbols, groupNames, throttle);
+                
+                // Then the last known ticks, so instruments that rarely trade are not left blank
+                snapshotPublisher.sendSnapshot(session, requested);
                 
             } else if ("UNSUBSCRIBE".equals(request.getAction())) {
-                sessionManager.removeSubscriptions(session.getId(), request.getSymbols());
-                log.info("Unsubscribed: sessionId={}, type={}, symbolCount={}", 
-                    session.getId(), request.getType(), request.getSymbols().size());
+                if (!symbols.isEmpty()) {
+                    sessionManager.removeSubscriptions(session.getId(), symbols);
+                }
+                if (!groupNames.isEmpty()) {
+                    sessionManager.removeGroupSubscriptions(session.getId(), groupNames);
+                }
+                log.info("Unsubscribed: sessionId={}, type={}, symbolCount={}, groups={}", 
+                    session.getId(), request.getType(), symbols.size(), groupNames);
                 
                 // Send confirmation to client
-                sendConfirmation(session, "UNSUBSCRIBE", request.getSymbols());
+                sendConfirmation(session, "UNSUBSCRIBE", symbols, groupNames, null);
             }
             
         } catch (Exception e) {
@@ -140,6 +249,20 @@ public class TickWebSocketHandler extends TextWebSocketHandler {
         }
     }
     
+    /**
+     * @return The requested symbols followed by the members of the requested groups
+     */
+    private static List<String> withGroupMembers(List<String> symbols, List<InstrumentGroup> groups) {
+        if (groups.isEmpty()) {
+            return symbols;
+        }
+        List<String> all = new ArrayList<>(symbols);
+        for (InstrumentGroup group : groups) {
+            all.addAll(group.symbols());
+        }
+        return all;
+    }
+    
     /**
      * Called when a WebSocket connection is closed.
      * Removes the session from SessionManager and cleans up all subscriptions.
@@ -174,7 +297,7 @@ public class TickWebSocketHandler extends TextWebSocketHandler {
             String sanitizedMessage = sanitizeErrorMessage(errorMessage);
             String errorJson = String.format("{\"error\":true,\"message\":\"%s\"}", 
                 sanitizedMessage.replace("\"", "\\\""));
-            session.sendMessage(new TextMessage(errorJson));
+            send(session, new TextMessage(errorJson));
         } catch (IOException e) {
             log.error("Failed to send error message to session {}", session.getId());
         }
@@ -215,19 +338,38 @@ public class TickWebSocketHandler extends TextWebSocketHandler {
      * @param session the WebSocket session
      * @param action the action that was performed (SUBSCRIBE or UNSUBSCRIBE)
      * @param symbols the list of symbols affected
+     * @param groups the list of group names affected (listed only if not empty)
+     * @param throttle the rate cap applied to the session (listed only if not null)
      */
-    private void sendConfirmation(WebSocketSession session, String action, java.util.List<String> symbols) {
+    private void sendConfirmation(WebSocketSession session, String action, List<String> symbols, List<String> groups,
+                                  Duration throttle) {
         try {
             String symbolsJson = objectMapper.writeValueAsString(symbols);
+            String groupsJson = groups.isEmpty() ? "" : ",\"groups\":" + objectMapper.writeValueAsString(groups);
+            String throttleJson = throttle == null ? "" : ",\"throttleMs\":" + throttle.toMillis();
             String confirmationJson = String.format(
-                "{\"success\":true,\"action\":\"%s\",\"symbols\":%s}", 
-                action, symbolsJson);
-            session.sendMessage(new TextMessage(confirmationJson));
+                "{\"success\":true,\"action\":\"%s\",\"symbols\":%s%s%s}", 
+                action, symbolsJson, groupsJson, throttleJson);
+            send(session, new TextMessage(confirmationJson));
         } catch (IOException e) {
             log.error("Failed to send confirmation message to session {}: {}", session.getId(), e.getMessage());
         }
     }
     
+    /**
+     * Sends a reply through the session's writer, so it never races a tick write on the socket.
+     * Sessions that are not registered (any more) are written to directly.
+     *
+     * @param session the WebSocket session
+     * @param message the reply to send
+     * @throws IOException if a direct write fails
+     */
+    private void send(WebSocketSession session, TextMessage message) throws IOException {
+        if (!sessionManager.sendControl(session.getId(), message)) {
+            session.sendMessage(message);
+        }
+    }
+
     /**
      * Extracts the endpoint path from the WebSocket session URI.
      * Determines which of the four endpoints the client connected to.
@@ -1,18 +1,26 @@
 package com.moneytree.socketengine.api.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
-import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Positive;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.Duration;
 import java.util.List;
 
 /**
  * Data Transfer Object for WebSocket subscription requests from clients.
- * Used to subscribe or unsubscribe to specific instrument symbols.
+ * Used to subscribe or unsubscribe to specific instrument symbols, named instrument groups
+ * (e.g. "NIFTY 50" constituents), or both. A SUBSCRIBE may also cap the session's rate per
+ * symbol with either {@code maxRatePerSymbol} or {@code throttleMs}.
  */
 @Data
 @NoArgsConstructor
@@ -38,6 +46,64 @@ public class SubscriptionRequestDto {
      * List of trading symbols to subscribe/unsubscribe
      * Example: ["NIFTY 50", "BANKNIFTY"] or ["RELIANCE", "INFY"]
      */
-    @NotEmpty(message = "Symbols list cannot be empty")
     private List<String> symbols;
+    
+    /**
+     * Names of instrument groups to subscribe/unsubscribe as a whole
+     * Example: ["NIFTY 50", "NIFTY BANK"]
+     */
+    private List<String> groups;
+    
+    /**
+     * Most ticks per second per symbol the session wants; the newest tick is sent once per
+     * interval. Example: 1 for a watchlist refreshed every second
+     */
+    @Positive(message = "maxRatePerSymbol must be positive")
+    @DecimalMax(value = "100", message = "maxRatePerSymbol must be at most 100")
+    private Double maxRatePerSymbol;
+    
+    /**
+     * Minimum milliseconds between two ticks of the same symbol, as an alternative to
+     * maxRatePerSymbol; 0 removes the session's cap
+     */
+    @Min(value = 0, message = "throttleMs must not be negative")
+    @Max(value = 60000, message = "throttleMs must be at most 60000")
+    private Integer throttleMs;
+    
+    public SubscriptionRequestDto(String action, String type, List<String> symbols) {
+        this(action, type, symbols, null, null, null);
+    }
+    
+    /**
+     * A request needs at least one symbol or group
+     */
+    @JsonIgnore
+    @AssertTrue(message = "Symbols or groups are required")
+    public boolean isSymbolsOrGroupsPresent() {
+        return (symbols != null && !symbols.isEmpty()) || (groups != null && !groups.isEmpty());
+    }
+    
+    /**
+     * A rate cap is given one way only
+     */
+    @JsonIgnore
+    @AssertTrue(message = "Specify maxRatePerSymbol or throttleMs, not both")
+    public boolean isSingleRateCap() {
+        return maxRatePerSymbol == null || throttleMs == null;
+    }
+    
+    /**
+     * @return Requested minimum time between two ticks of the same symbol, zero to remove the
+     *         cap, or null if the request does not touch the cap
+     */
+    @JsonIgnore
+    public Duration getThrottleInterval() {
+        if (throttleMs != null) {
+            return Duration.ofMillis(throttleMs);
+        }
+        if (maxRatePerSymbol != null && maxRatePerSymbol > 0) {
+            return Duration.ofNanos(Math.round(1_000_000_000L / maxRatePerSymbol));
+        }
+        return null;
+    }
 }
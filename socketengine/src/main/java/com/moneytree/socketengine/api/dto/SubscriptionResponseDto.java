@@ -1,5 +1,6 @@
 package com.moneytree.socketengine.api.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -23,6 +24,12 @@ public class SubscriptionResponseDto {
      */
     private String sessionId;
     
+    /**
+     * Cluster node serving the session (omitted outside a split deployment)
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String node;
+    
     /**
      * WebSocket endpoint path
      * Examples: "/ws/indices", "/ws/stocks", "/ws/indices/all", "/ws/stocks/nse/all"
@@ -34,8 +41,34 @@ public class SubscriptionResponseDto {
      */
     private Set<String> subscribedSymbols;
     
+    /**
+     * Names of instrument groups subscribed by this session (omitted if none)
+     */
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    private Set<String> subscribedGroups;
+    
     /**
      * Timestamp when the session was established
      */
     private Instant connectedAt;
+    
+    /**
+     * Ticks written to this session (queued mode)
+     */
+    private long ticksSent;
+    
+    /**
+     * Ticks replaced by a newer tick for the same symbol before being written (queued mode)
+     */
+    private long ticksConflated;
+    
+    /**
+     * Ticks dropped because this session's outbound queue was full (queued mode)
+     */
+    private long ticksDropped;
+    
+    /**
+     * Ticks waiting in this session's outbound queue (queued mode)
+     */
+    private int ticksPending;
 }
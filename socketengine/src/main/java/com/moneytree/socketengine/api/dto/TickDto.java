@@ -44,12 +44,12 @@ public class TickDto {
     private double lastTradedPrice;
     
     /**
-     * Trading volume
+     * Trading volume, null if the tick carried none (Kite LTP mode)
      */
-    private long volume;
+    private Long volume;
     
     /**
-     * Open, High, Low, Close prices
+     * Open, High, Low, Close prices, null if the tick carried none (Kite LTP mode)
      */
     private OHLCDto ohlc;
     
@@ -0,0 +1,57 @@
+package com.moneytree.socketengine.broadcast;
+
+import java.time.Duration;
+
+/**
+ * Batching window of one session sending multi-tick frames.
+ *
+ * <p>The session's writer waits for the current window (or until {@link #maxTicks()} ticks are
+ * queued), sends everything queued as frames, and reports each frame's size back. A frame that
+ * was at least half full means a burst and doubles the window, so bursts are sent as fewer,
+ * larger frames; a frame holding at most an eighth of the maximum means light load and halves
+ * the window, so quiet periods keep latency low. The window stays within its configured bounds.
+ *
+ * <p>Only the session's current writer uses it; writers hand over through the synchronized
+ * {@link SessionOutbound#drain()}.
+ */
+final class AdaptiveBatchWindow {
+
+    private final long minNanos;
+    private final long maxNanos;
+    private final int maxTicks;
+    private long windowNanos;
+
+    AdaptiveBatchWindow(Duration min, Duration max, int maxTicks) {
+        this.minNanos = min.toNanos();
+        this.maxNanos = Math.max(minNanos, max.toNanos());
+        this.maxTicks = maxTicks;
+        this.windowNanos = minNanos;
+    }
+
+    /**
+     * @return Current window in nanoseconds
+     */
+    long windowNanos() {
+        return windowNanos;
+    }
+
+    /**
+     * @return Most ticks per frame; reaching it ends the window early
+     */
+    int maxTicks() {
+        return maxTicks;
+    }
+
+    /**
+     * Adapts the window to the size of the frame just sent.
+     *
+     * @param ticks Ticks in the frame
+     */
+    void onFrame(int ticks) {
+        if (ticks * 2 >= maxTicks) {
+            windowNanos = Math.min(maxNanos, windowNanos * 2);
+        } else if (ticks * 8 <= maxTicks) {
+            windowNanos = Math.max(minNanos, windowNanos / 2);
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package com.moneytree.socketengine.broadcast;
+
+import com.moneytree.socketengine.domain.InstrumentType;
+import com.moneytree.socketengine.domain.Tick;
+import com.moneytree.socketengine.kite.InstrumentIndex;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntPredicate;
+
+/**
+ * Encoder of the binary WebSocket tick protocol ({@link WireProtocol#BINARY}).
+ *
+ * <p>Every message is little-endian and starts with a 4-byte header:
+ * <pre>
+ *   u8  message type ({@link #TYPE_TICKS} or {@link #TYPE_DICTIONARY})
+ *   u8  protocol version ({@link #VERSION})
+ *   u16 record count
+ * </pre>
+ *
+ * <p>A ticks message is followed by fixed {@value #TICK_RECORD_SIZE}-byte records:
+ * <pre>
+ *   i32 dense instrument id
+ *   i64 tick timestamp, epoch millis
+ *   i32 last traded price  \
+ *   i32 open                |  fixed point, price * {@value #PRICE_SCALE}
+ *   i32 high                |  (paise for NSE, as in the Kite packet)
+ *   i32 low                 |
+ *   i32 close              /
+ *   i64 volume ({@link Tick#NO_VOLUME} if the tick carried none)
+ * </pre>
+ *
+ * <p>Instrument ids are the dense ids of the current {@link InstrumentIndex} snapshot. Clients
+ * map them to symbols through dictionary messages, sent before the first tick of an instrument
+ * and again whenever the instruments are refreshed. Each dictionary entry is:
+ * <pre>
+ *   i32 dense instrument id
+ *   i64 Kite instrument token
+ *   u8  instrument type (0 = INDEX, 1 = STOCK)
+ *   u8  symbol length in bytes
+ *   ..  symbol, UTF-8
+ * </pre>
+ */
+public final class BinaryTickCodec {
+
+    public static final byte TYPE_TICKS = 1;
+    public static final byte TYPE_DICTIONARY = 2;
+    public static final byte VERSION = 1;
+
+    public static final int HEADER_SIZE = 4;
+    public static final int TICK_RECORD_SIZE = 40;
+    public static final int PRICE_SCALE = 100;
+
+    /**
+     * Most records one message can carry (the count is a u16)
+     */
+    public static final int MAX_RECORDS = 0xFFFF;
+
+    private static final int MAX_SYMBOL_BYTES = 0xFF;
+
+    private BinaryTickCodec() {
+    }
+
+    /**
+     * Encodes one tick as a single-record ticks message.
+     *
+     * @param instrumentId Dense id of the tick's instrument in the current snapshot
+     * @param tick Tick to encode
+     * @return Encoded message
+     */
+    public static byte[] encodeTick(int instrumentId, Tick tick) {
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + TICK_RECORD_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        putHeader(buffer, TYPE_TICKS, 1);
+        putTick(buffer, instrumentId, tick);
+        return buffer.array();
+    }
+
+    /**
+     * Encodes ticks as multi-record ticks messages, split into as many messages as the record
+     * count limit requires. Ticks of instruments missing from the index are left out.
+     *
+     * @param index Instrument snapshot whose dense ids the client's dictionary carries
+     * @param ticks Ticks to encode
+     * @return Encoded messages, empty if no tick could be encoded
+     */
+    public static List<byte[]> encodeTicks(InstrumentIndex index, List<Tick> ticks) {
+        List<Integer> ids = new ArrayList<>(ticks.size());
+        List<Tick> resolved = new ArrayList<>(ticks.size());
+        for (Tick tick : ticks) {
+            int id = index.resolve(tick.getInstrumentId(), tick.getInstrumentToken());
+            if (id != InstrumentIndex.NOT_FOUND) {
+                ids.add(id);
+                resolved.add(tick);
+            }
+        }
+        List<byte[]> messages = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += MAX_RECORDS) {
+            int count = Math.min(ids.size() - from, MAX_RECORDS);
+            ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + count * TICK_RECORD_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            putHeader(buffer, TYPE_TICKS, count);
+            for (int i = from; i < from + count; i++) {
+                putTick(buffer, ids.get(i), resolved.get(i));
+            }
+            messages.add(buffer.array());
+        }
+        return messages;
+    }
+
+    /**
+     * Writes one {@value #TICK_RECORD_SIZE}-byte tick record at the buffer's position.
+     *
+     * @param buffer Little-endian buffer with room for the record
+     * @param instrumentId Dense id of the tick's instrument in the current snapshot
+     * @param tick Tick to encode
+     */
+    public static void putTick(ByteBuffer buffer, int instrumentId, Tick tick) {
+        Tick.OHLC ohlc = tick.getOhlc();
+        buffer.putInt(instrumentId);
+        buffer.putLong(tick.getTimestamp() != null ? tick.getTimestamp().toEpochMilli() : 0L);
+        buffer.putInt(toFixedPoint(tick.getLastTradedPrice()));
+        buffer.putInt(ohlc != null ? toFixedPoint(ohlc.getOpen()) : 0);
+        buffer.putInt(ohlc != null ? toFixedPoint(ohlc.getHigh()) : 0);
+        buffer.putInt(ohlc != null ? toFixedPoint(ohlc.getLow()) : 0);
+        buffer.putInt(ohlc != null ? toFixedPoint(ohlc.getClose()) : 0);
+        buffer.putLong(tick.getVolume());
+    }
+
+    /**
+     * Encodes the id-to-symbol dictionary of the selected instruments, split into as many
+     * messages as the record count limit requires.
+     *
+     * @param index Instrument snapshot whose dense ids the ticks carry
+     * @param selected Selects the dense ids to include
+     * @return Dictionary messages, empty if nothing was selected
+     */
+    public static List<byte[]> encodeDictionary(InstrumentIndex index, IntPredicate selected) {
+        List<byte[]> messages = new ArrayList<>();
+        List<Integer> ids = new ArrayList<>();
+        for (int id = 0; id < index.size(); id++) {
+            if (selected.test(id)) {
+                ids.add(id);
+            }
+        }
+        for (int from = 0; from < ids.size(); from += MAX_RECORDS) {
+            messages.add(encodeDictionary(index, ids.subList(from, Math.min(ids.size(), from + MAX_RECORDS))));
+        }
+        return messages;
+    }
+
+    private static byte[] encodeDictionary(InstrumentIndex index, List<Integer> ids) {
+        byte[][] symbols = new byte[ids.size()][];
+        int size = HEADER_SIZE;
+        for (int i = 0; i < symbols.length; i++) {
+            symbols[i] = symbolBytes(index.symbolAt(ids.get(i)));
+            size += 4 + 8 + 1 + 1 + symbols[i].length;
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(size).order(ByteOrder.LITTLE_ENDIAN);
+        putHeader(buffer, TYPE_DICTIONARY, ids.size());
+        for (int i = 0; i < symbols.length; i++) {
+            int id = ids.get(i);
+            buffer.putInt(id);
+            buffer.putLong(index.tokenAt(id));
+            buffer.put((byte) (index.typeAt(id) == InstrumentType.INDEX ? 0 : 1));
+            buffer.put((byte) symbols[i].length);
+            buffer.put(symbols[i]);
+        }
+        return buffer.array();
+    }
+
+    /**
+     * Writes the message header at the buffer's position.
+     */
+    public static void putHeader(ByteBuffer buffer, byte type, int count) {
+        buffer.put(type);
+        buffer.put(VERSION);
+        buffer.putShort((short) count);
+    }
+
+    private static int toFixedPoint(double price) {
+        return (int) Math.round(price * PRICE_SCALE);
+    }
+
+    private static byte[] symbolBytes(String symbol) {
+        byte[] bytes = symbol != null ? symbol.getBytes(StandardCharsets.UTF_8) : new byte[0];
+        if (bytes.length > MAX_SYMBOL_BYTES) {
+            byte[] truncated = new byte[MAX_SYMBOL_BYTES];
+            System.arraycopy(bytes, 0, truncated, 0, MAX_SYMBOL_BYTES);
+            return truncated;
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,33 @@
+package com.moneytree.socketengine.broadcast;
+
+import com.moneytree.socketengine.domain.Tick;
+import org.springframework.web.socket.WebSocketMessage;
+
+/**
+ * Tick queued to a {@link WireProtocol#JSON_DELTA} session and not yet encoded.
+ *
+ * <p>What a delta contains depends on what the session was last sent for the instrument, which
+ * conflation or dropping may change after enqueueing, so the session's {@link TickDeltaState}
+ * encodes it only when it is about to be written. One instance is shared by every delta session
+ * the tick goes to; it is never written to a socket as is.
+ *
+ * @param instrumentId Dense id of the tick's instrument
+ * @param tick The tick
+ */
+record DeltaTick(int instrumentId, Tick tick) implements WebSocketMessage<Tick> {
+
+    @Override
+    public Tick getPayload() {
+        return tick;
+    }
+
+    @Override
+    public int getPayloadLength() {
+        return 0;
+    }
+
+    @Override
+    public boolean isLast() {
+        return true;
+    }
+}
@@ -0,0 +1,118 @@
+package com.moneytree.socketengine.broadcast;
+
+import com.moneytree.socketengine.kite.InstrumentIndex;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * A named set of instruments clients can subscribe to as a whole, such as the constituents of an
+ * index or sector or a saved screener result, resolved once against an {@link InstrumentIndex}.
+ *
+ * <p>Members are a bitset of dense ids that is never modified after construction, so one
+ * instance is shared by every session subscribed to the group and read by the broadcaster
+ * without locking; {@link #contains} is a single bit lookup. When membership or the index
+ * changes, {@link InstrumentGroups} resolves a new instance and swaps it in.
+ */
+public final class InstrumentGroup {
+
+    private final String name;
+    private final InstrumentIndex index;
+    private final BitSet members;
+    private final List<String> symbols;
+    private final int unresolved;
+
+    private InstrumentGroup(String name, InstrumentIndex index, BitSet members, List<String> symbols, int unresolved) {
+        this.name = name;
+        this.index = index;
+        this.members = members;
+        this.symbols = symbols;
+        this.unresolved = unresolved;
+    }
+
+    /**
+     * Resolves a group's symbols against an instrument index. Symbols the index does not know
+     * are left out, since no tick could be routed to them by id.
+     *
+     * @param name the group name
+     * @param symbols trading symbols of the members
+     * @param index the instrument index to resolve them in
+     * @return the resolved group
+     */
+    public static InstrumentGroup resolve(String name, Collection<String> symbols, InstrumentIndex index) {
+        BitSet members = new BitSet(index.size());
+        int unresolved = 0;
+        for (String symbol : symbols) {
+            int id = index.idOfSymbol(symbol);
+            if (id == InstrumentIndex.NOT_FOUND) {
+                unresolved++;
+            } else {
+                members.set(id);
+            }
+        }
+        List<String> resolved = new ArrayList<>(members.cardinality());
+        for (int id = members.nextSetBit(0); id >= 0; id = members.nextSetBit(id + 1)) {
+            resolved.add(index.symbolAt(id));
+        }
+        return new InstrumentGroup(name, index, members, List.copyOf(resolved), unresolved);
+    }
+
+    public String name() {
+        return name;
+    }
+
+    /**
+     * @return Trading symbols of the members, in dense id order
+     */
+    public List<String> symbols() {
+        return symbols;
+    }
+
+    /**
+     * @return Number of members
+     */
+    public int size() {
+        return symbols.size();
+    }
+
+    /**
+     * @return Number of listed symbols left out because the index did not know them
+     */
+    public int unresolved() {
+        return unresolved;
+    }
+
+    InstrumentIndex index() {
+        return index;
+    }
+
+    /**
+     * Hot path: checks whether a tick's instrument is a member.
+     *
+     * @param tickIndex the instrument index the id was resolved in
+     * @param instrumentId dense id of the tick's instrument (may be {@link InstrumentIndex#NOT_FOUND})
+     * @return true if the instrument belongs to the group
+     */
+    boolean contains(InstrumentIndex tickIndex, int instrumentId) {
+        int id = instrumentId;
+        if (id != InstrumentIndex.NOT_FOUND && tickIndex != index) {
+            // Index replaced and the group not re-resolved yet: translate through the token
+            id = index.idOf(tickIndex.tokenAt(id));
+        }
+        return id != InstrumentIndex.NOT_FOUND && members.get(id);
+    }
+
+    /**
+     * @return true if both groups have the same members
+     */
+    boolean sameMembers(InstrumentGroup other) {
+        return symbols.equals(other.symbols);
+    }
+
+    @Override
+    public String toString() {
+        return name + " (" + size() + " instruments)";
+    }
+}
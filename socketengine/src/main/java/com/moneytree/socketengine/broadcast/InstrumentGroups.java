@@ -0,0 +1,186 @@
+package com.moneytree.socketengine.broadcast;
+
+import com.moneytree.socketengine.config.SocketEngineProperties;
+import com.moneytree.socketengine.domain.events.InstrumentsRefreshedEvent;
+import com.moneytree.socketengine.kite.InstrumentIndex;
+import com.moneytree.socketengine.kite.InstrumentLoader;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Registry of the named {@link InstrumentGroup}s clients can subscribe to.
+ *
+ * <p>Definitions come from index and sector constituents in {@code nse_eq_sector_index} (one
+ * group per index name, e.g. "NIFTY 50" or "NIFTY BANK") and from
+ * {@code socketengine.groups.definitions}, e.g. saved screener results. They are reloaded every
+ * {@code socketengine.groups.refresh-interval} and whenever the instruments are refreshed.
+ *
+ * <p>All groups are resolved against the current {@link InstrumentIndex} into one immutable
+ * snapshot that is replaced in a single volatile write, then handed to the
+ * {@link SessionManager}, so every subscriber of a group switches to its new membership at
+ * once. A database failure keeps the previous definitions.
+ */
+@Component
+@Slf4j
+public class InstrumentGroups {
+
+    private static final String SECTOR_INDEX_SQL = """
+        SELECT pd_sector_index, symbol
+        FROM nse_eq_sector_index
+        ORDER BY pd_sector_index, symbol
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final InstrumentLoader instrumentLoader;
+    private final SessionManager sessionManager;
+    private final TickDictionaryPublisher dictionaryPublisher;
+    private final SocketEngineProperties.Groups config;
+
+    // Last loaded definitions, written under this object's lock
+    private volatile Map<String, List<String>> definitions;
+
+    private volatile Snapshot snapshot = new Snapshot(InstrumentIndex.EMPTY, Map.of());
+
+    public InstrumentGroups(
+            JdbcTemplate jdbcTemplate,
+            InstrumentLoader instrumentLoader,
+            SessionManager sessionManager,
+            TickDictionaryPublisher dictionaryPublisher,
+            SocketEngineProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.instrumentLoader = instrumentLoader;
+        this.sessionManager = sessionManager;
+        this.dictionaryPublisher = dictionaryPublisher;
+        this.config = properties.getGroups();
+    }
+
+    /**
+     * Looks up a group, resolved against the current instrument index.
+     *
+     * @param name the group name
+     * @return the group, or null if no group has that name
+     */
+    public InstrumentGroup get(String name) {
+        return current().groups().get(name);
+    }
+
+    /**
+     * @return Names of all groups, sorted
+     */
+    public Set<String> names() {
+        return new TreeSet<>(current().groups().keySet());
+    }
+
+    /**
+     * Reloads the group definitions and swaps in their resolved membership.
+     */
+    @Scheduled(fixedDelayString = "${socketengine.groups.refresh-interval:PT5M}")
+    public synchronized void reload() {
+        definitions = loadDefinitions();
+        publish(resolveAll(instrumentLoader.getIndex()));
+    }
+
+    /**
+     * Re-resolves every group against the refreshed instrument index, with fresh definitions.
+     */
+    @EventListener
+    public void onInstrumentsRefreshed(InstrumentsRefreshedEvent event) {
+        reload();
+    }
+
+    /**
+     * Returns the snapshot for the loader's current instrument index, first resolving the groups
+     * against it if the index has been replaced since (e.g. loaded after startup).
+     */
+    private Snapshot current() {
+        Snapshot current = snapshot;
+        if (current.index() == instrumentLoader.getIndex() && definitions != null) {
+            return current;
+        }
+        synchronized (this) {
+            InstrumentIndex index = instrumentLoader.getIndex();
+            if (definitions == null) {
+                definitions = loadDefinitions();
+            } else if (snapshot.index() == index) {
+                return snapshot;
+            }
+            return publish(resolveAll(index));
+        }
+    }
+
+    /**
+     * Publishes a new snapshot and moves the subscribers of its groups onto it. Binary sessions
+     * subscribed to a group that changed members first get the new members' dictionary queued,
+     * so it goes out before their ticks. Caller holds the lock.
+     */
+    private Snapshot publish(Snapshot resolved) {
+        Map<String, InstrumentGroup> changed = new HashMap<>();
+        resolved.groups().forEach((name, group) -> {
+            InstrumentGroup previous = snapshot.groups().get(name);
+            if (previous == null || !previous.sameMembers(group)) {
+                changed.put(name, group);
+            }
+        });
+        dictionaryPublisher.onGroupsChanging(changed);
+        snapshot = resolved;
+        sessionManager.replaceGroups(resolved.groups());
+        return resolved;
+    }
+
+    private Snapshot resolveAll(InstrumentIndex index) {
+        Map<String, InstrumentGroup> groups = new HashMap<>();
+        int unresolved = 0;
+        for (Map.Entry<String, List<String>> definition : definitions.entrySet()) {
+            InstrumentGroup group = InstrumentGroup.resolve(definition.getKey(), definition.getValue(), index);
+            groups.put(group.name(), group);
+            unresolved += group.unresolved();
+        }
+        log.info("Resolved {} instrument groups against {} instruments ({} unknown symbols left out)",
+            groups.size(), index.size(), unresolved);
+        return new Snapshot(index, Map.copyOf(groups));
+    }
+
+    /**
+     * Loads the sector index constituents and adds the configured groups. Caller holds the lock.
+     */
+    private Map<String, List<String>> loadDefinitions() {
+        Map<String, List<String>> loaded = new LinkedHashMap<>();
+        if (config.isSectorIndices()) {
+            try {
+                jdbcTemplate.query(SECTOR_INDEX_SQL, rs -> {
+                    loaded.computeIfAbsent(rs.getString("pd_sector_index"), name -> new ArrayList<>())
+                        .add(rs.getString("symbol"));
+                });
+                log.info("Loaded {} sector index groups from database", loaded.size());
+            } catch (Exception e) {
+                log.warn("Failed to load sector index groups, keeping the previous ones: {}", e.getMessage());
+                if (definitions != null) {
+                    definitions.forEach((name, symbols) -> {
+                        if (!config.getDefinitions().containsKey(name)) {
+                            loaded.put(name, symbols);
+                        }
+                    });
+                }
+            }
+        }
+        loaded.putAll(config.getDefinitions());
+        return loaded;
+    }
+
+    /**
+     * Groups resolved against one instrument index.
+     */
+    private record Snapshot(InstrumentIndex index, Map<String, InstrumentGroup> groups) {
+    }
+}
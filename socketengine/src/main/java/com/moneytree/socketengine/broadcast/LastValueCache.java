@@ -0,0 +1,223 @@
+package com.moneytree.socketengine.broadcast;
+
+import com.moneytree.socketengine.domain.Tick;
+import com.moneytree.socketengine.kite.InstrumentIndex;
+import com.moneytree.socketengine.kite.InstrumentLoader;
+import com.moneytree.socketengine.pipeline.TickBatchHandler;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.lang.invoke.VarHandle;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * In-memory last value of every instrument, so a new subscriber can be shown current prices
+ * right away instead of waiting for each instrument to trade again (see
+ * {@link TickSnapshotPublisher}).
+ *
+ * <p>Runs as the "last-value" consumer of the tick pipeline, on every node. The values live in
+ * primitive arrays indexed by dense instrument id, one fixed slot per instrument of the current
+ * {@link InstrumentIndex}, so recording a tick allocates nothing and reading one is a handful of
+ * array loads. Each slot is guarded by a sequence number the pipeline thread makes odd while it
+ * writes the slot; readers retry if it was odd or changed while they read, so they never lock
+ * and never see half of a tick. When the index is replaced the slots are carried over by
+ * instrument token. Ticks of instruments missing from the index are not kept. A tick without
+ * OHLC or volume (Kite LTP mode) updates the price and keeps the OHLC and volume already held.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class LastValueCache implements TickBatchHandler {
+
+    private final InstrumentLoader instrumentLoader;
+
+    // Replaced by the pipeline thread only
+    private volatile Slots slots = new Slots(InstrumentIndex.EMPTY);
+
+    @Override
+    public String consumerName() {
+        return "last-value";
+    }
+
+    /**
+     * Records the newest tick of each instrument in the batch.
+     *
+     * @param ticks Ticks of the batch
+     */
+    @Override
+    public void onBatch(List<Tick> ticks) {
+        InstrumentIndex index = instrumentLoader.getIndex();
+        Slots current = slots;
+        if (current.index != index) {
+            current = current.rebase(index);
+            slots = current;
+        }
+        for (int i = 0, n = ticks.size(); i < n; i++) {
+            Tick tick = ticks.get(i);
+            int id = index.resolve(tick.getInstrumentId(), tick.getInstrumentToken());
+            if (id != InstrumentIndex.NOT_FOUND) {
+                current.write(id, tick);
+            }
+        }
+    }
+
+    /**
+     * Reads the last known tick of each symbol. Symbols that have not ticked since startup, or
+     * that the index does not know, are left out.
+     *
+     * @param symbols Trading symbols
+     * @return Last ticks, in the order of the symbols, carrying their dense id in the index the
+     *         cache was last written against
+     */
+    public List<Tick> latest(Collection<String> symbols) {
+        Slots current = slots;
+        List<Tick> ticks = new ArrayList<>(symbols.size());
+        for (String symbol : symbols) {
+            int id = current.index.idOfSymbol(symbol);
+            if (id != InstrumentIndex.NOT_FOUND) {
+                Tick tick = current.read(id);
+                if (tick != null) {
+                    ticks.add(tick);
+                }
+            }
+        }
+        return ticks;
+    }
+
+    /**
+     * Last values of the instruments of one index snapshot. Written by the pipeline thread only.
+     */
+    private static final class Slots {
+
+        private static final int PRICES = 5;
+        private static final int LTP = 0;
+        private static final int OPEN = 1;
+        private static final int HIGH = 2;
+        private static final int LOW = 3;
+        private static final int CLOSE = 4;
+        private static final long NO_TIMESTAMP = Long.MIN_VALUE;
+
+        final InstrumentIndex index;
+        // 0 = never written, odd = being written
+        private final AtomicLongArray versions;
+        private final double[] prices;
+        private final long[] timestamps;
+        private final long[] volumes;
+        private final boolean[] hasOhlc;
+
+        Slots(InstrumentIndex index) {
+            int size = index.size();
+            this.index = index;
+            this.versions = new AtomicLongArray(size);
+            this.prices = new double[size * PRICES];
+            this.timestamps = new long[size];
+            this.volumes = new long[size];
+            this.hasOhlc = new boolean[size];
+            Arrays.fill(volumes, Tick.NO_VOLUME);
+        }
+
+        void write(int id, Tick tick) {
+            long version = versions.getPlain(id);
+            versions.setOpaque(id, version + 1);
+            VarHandle.storeStoreFence();
+
+            int at = id * PRICES;
+            Tick.OHLC ohlc = tick.getOhlc();
+            prices[at + LTP] = tick.getLastTradedPrice();
+            if (ohlc != null) {
+                prices[at + OPEN] = ohlc.getOpen();
+                prices[at + HIGH] = ohlc.getHigh();
+                prices[at + LOW] = ohlc.getLow();
+                prices[at + CLOSE] = ohlc.getClose();
+                hasOhlc[id] = true;
+            }
+            timestamps[id] = toEpochNanos(tick.getTimestamp());
+            // LTP-mode ticks keep the OHLC and volume of the instrument's last quote
+            if (tick.hasVolume()) {
+                volumes[id] = tick.getVolume();
+            }
+
+            versions.setRelease(id, version + 2);
+        }
+
+        /**
+         * @return The slot's tick, or null if the instrument has not ticked
+         */
+        Tick read(int id) {
+            while (true) {
+                long version = versions.getAcquire(id);
+                if (version == 0) {
+                    return null;
+                }
+                if ((version & 1) != 0) {
+                    Thread.onSpinWait();
+                    continue;
+                }
+
+                int at = id * PRICES;
+                double ltp = prices[at + LTP];
+                double open = prices[at + OPEN];
+                double high = prices[at + HIGH];
+                double low = prices[at + LOW];
+                double close = prices[at + CLOSE];
+                boolean ohlc = hasOhlc[id];
+                long timestamp = timestamps[id];
+                long volume = volumes[id];
+
+                VarHandle.loadLoadFence();
+                if (versions.getAcquire(id) != version) {
+                    continue;
+                }
+                return Tick.builder()
+                    .symbol(index.symbolAt(id))
+                    .instrumentToken(index.tokenAt(id))
+                    .instrumentId(id)
+                    .type(index.typeAt(id))
+                    .timestamp(timestamp != NO_TIMESTAMP ? Instant.ofEpochSecond(0, timestamp) : null)
+                    .lastTradedPrice(ltp)
+                    .volume(volume)
+                    .ohlc(ohlc ? Tick.OHLC.builder().open(open).high(high).low(low).close(close).build() : null)
+                    .build();
+            }
+        }
+
+        /**
+         * Copies the slots of instruments also present in a new index into fresh slots for it.
+         */
+        Slots rebase(InstrumentIndex newIndex) {
+            Slots rebased = new Slots(newIndex);
+            int carried = 0;
+            for (int id = 0; id < versions.length(); id++) {
+                if (versions.getPlain(id) == 0) {
+                    continue;
+                }
+                int newId = newIndex.idOf(index.tokenAt(id));
+                if (newId == InstrumentIndex.NOT_FOUND) {
+                    continue;
+                }
+                System.arraycopy(prices, id * PRICES, rebased.prices, newId * PRICES, PRICES);
+                rebased.hasOhlc[newId] = hasOhlc[id];
+                rebased.timestamps[newId] = timestamps[id];
+                rebased.volumes[newId] = volumes[id];
+                rebased.versions.setPlain(newId, 2);
+                carried++;
+            }
+            log.info("Last-value cache rebased onto {} instruments ({} last values carried over)",
+                newIndex.size(), carried);
+            return rebased;
+        }
+
+        private static long toEpochNanos(Instant timestamp) {
+            if (timestamp == null) {
+                return NO_TIMESTAMP;
+            }
+            return timestamp.getEpochSecond() * 1_000_000_000L + timestamp.getNano();
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.moneytree.socketengine.broadcast;
+
+/**
+ * How the broadcaster hands ticks to WebSocket sessions.
+ */
+public enum OutboundMode {
+    /**
+     * Send every tick synchronously on the broadcast thread. A slow socket delays all sessions.
+     */
+    DIRECT,
+
+    /**
+     * Enqueue ticks on each session's bounded outbound queue, drained by a per-session writer.
+     * The broadcast thread never waits for a socket; full queues follow the {@link OverflowPolicy}.
+     */
+    QUEUED
+}
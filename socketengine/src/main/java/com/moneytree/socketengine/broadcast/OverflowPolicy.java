@@ -0,0 +1,23 @@
+package com.moneytree.socketengine.broadcast;
+
+/**
+ * What a session's bounded outbound queue does when its client cannot keep up.
+ */
+public enum OverflowPolicy {
+    /**
+     * Keep only the latest tick per symbol; a new tick replaces the queued one for its symbol.
+     * When more symbols are queued than the capacity, the oldest symbol is dropped.
+     */
+    CONFLATE,
+
+    /**
+     * Queue every tick in order; when full, drop the oldest queued tick.
+     */
+    DROP_OLDEST,
+
+    /**
+     * Queue every tick in order; when full, drop the new tick, and close the session once the
+     * queue has stayed full for {@code disconnect-after}.
+     */
+    DISCONNECT
+}
@@ -1,135 +1,610 @@
 package com.moneytree.socketengine.broadcast;
 
+import com.moneytree.socketengine.config.SocketEngineProperties;
+import com.moneytree.socketengine.domain.InstrumentInterest;
+import com.moneytree.socketengine.domain.events.InstrumentsRefreshedEvent;
+import com.moneytree.socketengine.kite.InstrumentIndex;
+import com.moneytree.socketengine.kite.InstrumentLoader;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.BinaryMessage;
 import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
 import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.ConcurrentWebSocketSessionDecorator;
 
 import java.io.IOException;
+import java.time.Duration;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.stream.Collectors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
 
 /**
- * Manages WebSocket sessions and their subscriptions with thread-safe collections.
- * Maintains bidirectional mappings between sessions and their subscribed symbols.
+ * Manages WebSocket sessions and their subscriptions.
+ *
+ * Each session is one {@link SessionSlot} at a dense, reused slot number, holding its socket,
+ * endpoint, protocol, outbound queue and subscriptions. Subscriptions are a bitset of dense
+ * instrument ids from the {@link InstrumentLoader}'s index (symbols the index does not know are
+ * kept by name), so a session subscribed to hundreds of symbols costs a few hundred bytes.
+ *
+ * For the broadcast hot path it maintains copy-on-write arrays of session slots per
+ * {@code /all} endpoint and per dense instrument id. They are changed only on connect,
+ * disconnect, subscribe and unsubscribe (which are serialized), touching just the instruments
+ * involved, so the broadcaster reads them without locking, allocating or hashing strings.
+ * Per-instrument arrays leave out sessions already receiving the instrument through an
+ * {@code /all} endpoint, so no session gets a tick twice. When the instrument index is replaced
+ * (see {@link InstrumentsRefreshedEvent}) subscriptions are re-keyed by symbol onto the new ids.
+ *
+ * Sessions can also subscribe to whole {@link InstrumentGroup}s. A group is one shared, immutable
+ * member bitset with a copy-on-write array of its subscribers, kept in a short list of
+ * {@link GroupRoute}s, so subscribing to a 500-stock index touches one array instead of 500, and
+ * {@link InstrumentGroups} swaps refreshed membership in for all subscribers at once.
+ *
+ * Ticks can be sent directly ({@link #sendMessage}) or queued ({@link #sendTick}): in queued
+ * mode each session has a bounded outbound queue, drained by a per-session virtual-thread writer
+ * whenever its previous write has completed. A full queue follows the configured
+ * {@link OverflowPolicy}, so enqueueing never waits for a client's network. Confirmations,
+ * snapshots and dictionaries go through {@link #sendControl}, so they never race a tick write.
+ *
+ * Each session also records the {@link WireProtocol} negotiated when it connected, so the
+ * broadcaster can hand it JSON text or binary tick messages. Sessions on batch endpoints can
+ * opt into multi-tick frames, sent once per {@link AdaptiveBatchWindow} by their writer.
+ * Sessions can cap their rate per symbol: a {@link SessionThrottle} holds back all but the
+ * newest tick per interval, with releases scheduled on one shared {@link ThrottleWheel}.
+ * {@link WireProtocol#JSON_DELTA} sessions keep a {@link TickDeltaState}, so shared
+ * {@link DeltaTick}s are encoded against what each session was last sent right before writing.
+ *
+ * Also serves as the {@link InstrumentInterest} that drives which instruments the Kite feed
+ * subscribes to and in which mode.
  */
 @Component
 @Slf4j
-public class SessionManager {
-    
-    // Thread-safe collections for concurrent access
-    private final ConcurrentHashMap<String, WebSocketSession> sessions = new ConcurrentHashMap<>();
-    private final ConcurrentHashMap<String, String> sessionEndpoints = new ConcurrentHashMap<>();
-    private final ConcurrentHashMap<String, Set<String>> sessionSubscriptions = new ConcurrentHashMap<>();
-    
-    // Reverse index: symbol -> sessions subscribed to it
-    private final ConcurrentHashMap<String, Set<String>> symbolToSessions = new ConcurrentHashMap<>();
-    
-    /**
-     * Registers a new WebSocket session with its endpoint.
+public class SessionManager implements InstrumentInterest {
+
+    static final String INDICES_ALL_ENDPOINT = "/ws/indices/all";
+    static final String STOCKS_ALL_ENDPOINT = "/ws/stocks/nse/all";
+
+    private static final SessionSlot[] NO_SLOTS = new SessionSlot[0];
+    private static final GroupRoute[] NO_GROUP_ROUTES = new GroupRoute[0];
+    private static final int THROTTLE_WHEEL_SIZE = 512;
+    private static final int SEND_BUFFER_LIMIT = 512 * 1024;
+
+    private final InstrumentLoader instrumentLoader;
+
+    // Lookup by session id for connection handling and admin APIs (never used per tick)
+    private final ConcurrentHashMap<String, SessionSlot> sessionsById = new ConcurrentHashMap<>();
+
+    // Slot table and its free slots, guarded by this object's lock
+    private SessionSlot[] slotTable = new SessionSlot[16];
+    private final BitSet usedSlots = new BitSet();
+
+    // Copy-on-write broadcast snapshots, replaced under this object's lock
+    private volatile Routing routing = new Routing(InstrumentIndex.EMPTY, new AtomicReferenceArray<>(0));
+    private final ConcurrentHashMap<String, SessionSlot[]> unresolvedSubscribers = new ConcurrentHashMap<>();
+    private volatile SessionSlot[] indicesAllSlots = NO_SLOTS;
+    private volatile SessionSlot[] stocksAllSlots = NO_SLOTS;
+    private volatile GroupRoute[] groupRoutes = NO_GROUP_ROUTES;
+
+    // Bounded outbound queue per session
+    private final ThreadFactory writerThreadFactory = Thread.ofVirtual().name("ws-writer-", 0).factory();
+    private final OverflowPolicy overflowPolicy;
+    private final int outboundQueueCapacity;
+    private final long disconnectAfterNanos;
+    private final SocketEngineProperties.WebSocket webSocket;
+    private final ThrottleWheel throttleWheel;
+
+    // Bumped on every change of client interest
+    private final AtomicLong interestVersion = new AtomicLong();
+
+    // Counts of removed sessions, so totals never go down; guarded by this object's lock
+    private long retiredConflated = 0;
+    private long retiredDropped = 0;
+    private long retiredThrottled = 0;
+
+    public SessionManager(SocketEngineProperties properties, InstrumentLoader instrumentLoader) {
+        this.instrumentLoader = instrumentLoader;
+        this.webSocket = properties.getWebSocket();
+        this.overflowPolicy = webSocket.getOverflowPolicy();
+        this.outboundQueueCapacity = webSocket.getOutboundQueueCapacity();
+        this.disconnectAfterNanos = webSocket.getDisconnectAfter().toNanos();
+        this.throttleWheel = new ThrottleWheel(webSocket.getThrottleTick(), THROTTLE_WHEEL_SIZE);
+    }
+
+    /**
+     * Registers a new WebSocket session with its endpoint, using the JSON protocol.
      *
      * @param sessionId unique session identifier
      * @param endpoint the WebSocket endpoint path (e.g., /ws/indices, /ws/indices/all)
      * @param session the WebSocketSession object
      */
     public void registerSession(String sessionId, String endpoint, WebSocketSession session) {
-        sessions.put(sessionId, session);
-        sessionEndpoints.put(sessionId, endpoint);
-        sessionSubscriptions.put(sessionId, ConcurrentHashMap.newKeySet());
-        log.info("Registered session: {} on endpoint: {}", sessionId, endpoint);
+        registerSession(sessionId, endpoint, session, WireProtocol.JSON);
     }
-    
+
     /**
-     * Adds subscriptions for a session and updates the reverse index.
+     * Registers a new WebSocket session with its endpoint and negotiated wire protocol.
+     *
+     * @param sessionId unique session identifier
+     * @param endpoint the WebSocket endpoint path (e.g., /ws/indices, /ws/indices/all)
+     * @param session the WebSocketSession object
+     * @param protocol the wire protocol ticks are encoded in for this session
+     */
+    public synchronized void registerSession(String sessionId, String endpoint, WebSocketSession session,
+                                             WireProtocol protocol) {
+        SessionOutbound outbound = new SessionOutbound(overflowPolicy, outboundQueueCapacity, disconnectAfterNanos);
+        if (protocol == WireProtocol.JSON_DELTA) {
+            outbound.enableDeltas(new TickDeltaState(webSocket.getDeltaKeyframeInterval()));
+        }
+        int slotNumber = usedSlots.nextClearBit(0);
+        usedSlots.set(slotNumber);
+        if (slotNumber >= slotTable.length) {
+            slotTable = Arrays.copyOf(slotTable, Math.max(slotNumber + 1, slotTable.length * 2));
+        }
+        // Serializes the few sends that can come from several threads, e.g. ticks and
+        // confirmations in direct mode; a queued session's writer is its only sender anyway
+        WebSocketSession concurrent = new ConcurrentWebSocketSessionDecorator(
+            session, (int) webSocket.getDisconnectAfter().toMillis(), SEND_BUFFER_LIMIT);
+        SessionSlot slot = new SessionSlot(slotNumber, sessionId, concurrent, endpoint, protocol, outbound);
+        slotTable[slotNumber] = slot;
+        SessionSlot previous = sessionsById.put(sessionId, slot);
+        if (previous != null) {
+            detach(previous);
+        }
+        rebuildEndpointSnapshot(endpoint);
+        interestVersion.incrementAndGet();
+        log.info("Registered session: {} on endpoint: {} (slot {})", sessionId, endpoint, slotNumber);
+    }
+
+    /**
+     * Switches a session to multi-tick frames: its writer sends every tick queued within an
+     * adaptive window (or up to the frame size) as one frame, a JSON array or a multi-record
+     * binary message. Only possible in queued mode and on the configured batch endpoints.
+     *
+     * @param sessionId the session identifier
+     * @return true if batching was enabled
+     */
+    public boolean enableFrameBatching(String sessionId) {
+        SessionSlot slot = sessionsById.get(sessionId);
+        if (slot == null
+                || webSocket.getOutboundMode() != OutboundMode.QUEUED
+                || !webSocket.getBatchEndpoints().contains(slot.endpoint())) {
+            return false;
+        }
+        slot.outbound().enableBatching(new AdaptiveBatchWindow(
+            webSocket.getBatchWindowMin(),
+            webSocket.getBatchWindowMax(),
+            Math.min(webSocket.getBatchMaxTicks(), BinaryTickCodec.MAX_RECORDS)));
+        log.info("Enabled multi-tick frames for session {}", sessionId);
+        return true;
+    }
+
+    /**
+     * Caps the rate of a session at one tick per symbol per interval, always sending the newest
+     * tick once the interval is up. Replaces any previous cap; a zero interval removes it. Only
+     * possible in queued mode, since held ticks are released onto the outbound queue.
+     *
+     * @param sessionId the session identifier
+     * @param interval minimum time between two ticks of the same symbol
+     * @return true if the cap was applied
+     */
+    public synchronized boolean setThrottle(String sessionId, Duration interval) {
+        SessionSlot slot = sessionsById.get(sessionId);
+        if (slot == null || webSocket.getOutboundMode() != OutboundMode.QUEUED) {
+            return false;
+        }
+        SessionThrottle current = slot.throttle();
+        if (interval.isZero()) {
+            retire(current);
+            slot.throttle(null);
+            log.info("Removed rate cap of session {}", sessionId);
+            return true;
+        }
+        if (current == null || current.intervalNanos() != interval.toNanos()) {
+            retire(current);
+            slot.throttle(new SessionThrottle(interval.toNanos(), throttleWheel,
+                (symbol, message) -> offer(slot, symbol, message)));
+            log.info("Capped session {} at one tick per symbol every {} ms", sessionId, interval.toMillis());
+        }
+        return true;
+    }
+
+    /**
+     * Adds subscriptions for a session: sets the instruments' bits and adds the session to each
+     * instrument's broadcast snapshot.
      *
      * @param sessionId the session identifier
      * @param symbols list of symbols to subscribe to
      */
-    public void addSubscriptions(String sessionId, List<String> symbols) {
-        Set<String> subs = sessionSubscriptions.get(sessionId);
-        if (subs != null) {
-            subs.addAll(symbols);
-            
-            // Update reverse index: symbol -> sessions
-            symbols.forEach(symbol -> 
-                symbolToSessions.computeIfAbsent(symbol, k -> ConcurrentHashMap.newKeySet())
-                    .add(sessionId)
-            );
-            
-            log.debug("Added subscriptions for session {}: {}", sessionId, symbols);
-        } else {
+    public synchronized void addSubscriptions(String sessionId, List<String> symbols) {
+        SessionSlot slot = sessionsById.get(sessionId);
+        if (slot == null) {
             log.warn("Attempted to add subscriptions for unknown session: {}", sessionId);
+            return;
         }
+        Routing current = currentRouting();
+        for (String symbol : symbols) {
+            int id = current.index().idOfSymbol(symbol);
+            if (id == InstrumentIndex.NOT_FOUND) {
+                if (slot.unresolvedSymbols.add(symbol)) {
+                    unresolvedSubscribers.put(symbol, with(unresolvedSubscribers.get(symbol), slot));
+                }
+            } else if (!slot.instrumentIds.get(id)) {
+                slot.instrumentIds.set(id);
+                if (!coveredByAllEndpoint(slot, current.index(), id)) {
+                    current.byId().set(id, with(current.byId().get(id), slot));
+                }
+            }
+        }
+        interestVersion.incrementAndGet();
+        log.debug("Added subscriptions for session {}: {}", sessionId, symbols);
     }
-    
+
     /**
-     * Removes subscriptions for a session and cleans up the reverse index.
+     * Removes subscriptions for a session: clears the instruments' bits and takes the session
+     * out of each instrument's broadcast snapshot.
      *
      * @param sessionId the session identifier
      * @param symbols list of symbols to unsubscribe from
      */
-    public void removeSubscriptions(String sessionId, List<String> symbols) {
-        Set<String> subs = sessionSubscriptions.get(sessionId);
-        if (subs != null) {
-            subs.removeAll(symbols);
-            
-            // Update reverse index: remove session from symbol mappings
-            symbols.forEach(symbol -> {
-                Set<String> sessions = symbolToSessions.get(symbol);
-                if (sessions != null) {
-                    sessions.remove(sessionId);
-                    // Clean up empty sets
-                    if (sessions.isEmpty()) {
-                        symbolToSessions.remove(symbol);
-                    }
-                }
-            });
-            
-            log.debug("Removed subscriptions for session {}: {}", sessionId, symbols);
-        } else {
+    public synchronized void removeSubscriptions(String sessionId, List<String> symbols) {
+        SessionSlot slot = sessionsById.get(sessionId);
+        if (slot == null) {
             log.warn("Attempted to remove subscriptions for unknown session: {}", sessionId);
+            return;
+        }
+        Routing current = currentRouting();
+        for (String symbol : symbols) {
+            int id = current.index().idOfSymbol(symbol);
+            if (id == InstrumentIndex.NOT_FOUND) {
+                if (slot.unresolvedSymbols.remove(symbol)) {
+                    putOrRemove(symbol, without(unresolvedSubscribers.get(symbol), slot));
+                }
+            } else if (slot.instrumentIds.get(id)) {
+                slot.instrumentIds.clear(id);
+                current.byId().set(id, without(current.byId().get(id), slot));
+            }
+        }
+        forgetUndelivered(slot, symbols);
+        interestVersion.incrementAndGet();
+        log.debug("Removed subscriptions for session {}: {}", sessionId, symbols);
+    }
+
+    /**
+     * Adds group subscriptions for a session: adds the session to each group's broadcast
+     * snapshot. The session holds only the group names; members stay in the shared group.
+     *
+     * @param sessionId the session identifier
+     * @param groups resolved groups to subscribe to
+     */
+    public synchronized void addGroupSubscriptions(String sessionId, List<InstrumentGroup> groups) {
+        SessionSlot slot = sessionsById.get(sessionId);
+        if (slot == null) {
+            log.warn("Attempted to add group subscriptions for unknown session: {}", sessionId);
+            return;
+        }
+        for (InstrumentGroup group : groups) {
+            if (!slot.groups.add(group.name())) {
+                continue;
+            }
+            int i = routeOf(group.name());
+            if (i < 0) {
+                GroupRoute[] grown = Arrays.copyOf(groupRoutes, groupRoutes.length + 1);
+                grown[groupRoutes.length] = new GroupRoute(group, new SessionSlot[] {slot});
+                groupRoutes = grown;
+            } else {
+                GroupRoute route = groupRoutes[i];
+                replaceRoute(i, new GroupRoute(route.group(), with(route.subscribers(), slot)));
+            }
+        }
+        interestVersion.incrementAndGet();
+        log.debug("Added group subscriptions for session {}: {}", sessionId, groups);
+    }
+
+    /**
+     * Removes group subscriptions for a session. Names the session is not subscribed to are
+     * ignored.
+     *
+     * @param sessionId the session identifier
+     * @param groupNames names of the groups to unsubscribe from
+     */
+    public synchronized void removeGroupSubscriptions(String sessionId, Collection<String> groupNames) {
+        SessionSlot slot = sessionsById.get(sessionId);
+        if (slot == null) {
+            log.warn("Attempted to remove group subscriptions for unknown session: {}", sessionId);
+            return;
+        }
+        Set<String> members = new HashSet<>();
+        for (String name : groupNames) {
+            if (slot.groups.remove(name)) {
+                int i = routeOf(name);
+                if (i >= 0) {
+                    members.addAll(groupRoutes[i].group().symbols());
+                }
+                leaveGroup(name, slot);
+            }
+        }
+        forgetUndelivered(slot, members);
+        interestVersion.incrementAndGet();
+        log.debug("Removed group subscriptions for session {}: {}", sessionId, groupNames);
+    }
+
+    /**
+     * Swaps refreshed groups into the broadcast snapshot, keeping their subscribers. Groups
+     * missing from the refreshed set keep their last membership.
+     *
+     * @param refreshed resolved groups by name
+     * @return true if the membership of any subscribed group changed
+     */
+    public synchronized boolean replaceGroups(Map<String, InstrumentGroup> refreshed) {
+        GroupRoute[] routes = groupRoutes.clone();
+        boolean changed = false;
+        for (int i = 0; i < routes.length; i++) {
+            InstrumentGroup group = refreshed.get(routes[i].group().name());
+            if (group != null && group != routes[i].group()) {
+                changed |= !group.sameMembers(routes[i].group());
+                routes[i] = new GroupRoute(group, routes[i].subscribers());
+            }
+        }
+        groupRoutes = routes;
+        if (changed) {
+            interestVersion.incrementAndGet();
+        }
+        return changed;
+    }
+
+    /**
+     * Drops the throttle state of unsubscribed symbols the session no longer receives through
+     * another subscription, a group or its /all endpoint, so no held tick of theirs is released
+     * after the unsubscribe. Caller holds the lock.
+     */
+    private void forgetUndelivered(SessionSlot slot, Collection<String> unsubscribed) {
+        SessionThrottle throttle = slot.throttle();
+        if (throttle == null || unsubscribed.isEmpty()) {
+            return;
+        }
+        InstrumentIndex index = currentRouting().index();
+        Set<String> undelivered = new HashSet<>(unsubscribed);
+        undelivered.removeAll(symbolsOf(slot, index));
+        for (GroupRoute route : groupRoutes) {
+            if (slot.groups.contains(route.group().name())) {
+                undelivered.removeAll(route.group().symbols());
+            }
+        }
+        undelivered.removeIf(symbol -> {
+            int id = index.idOfSymbol(symbol);
+            return id != InstrumentIndex.NOT_FOUND && coveredByAllEndpoint(slot, index, id);
+        });
+        throttle.forget(undelivered);
+    }
+
+    /**
+     * Closes a replaced or removed throttle, so its scheduled releases are discarded, and keeps
+     * its count in the total. Caller holds the lock.
+     */
+    private void retire(SessionThrottle throttle) {
+        if (throttle != null) {
+            throttle.close();
+            retiredThrottled += throttle.throttled();
+        }
+    }
+
+    /**
+     * Takes a session out of a group's broadcast snapshot, dropping the group once it has no
+     * subscribers left. Caller holds the lock.
+     */
+    private void leaveGroup(String name, SessionSlot slot) {
+        int i = routeOf(name);
+        if (i < 0) {
+            return;
+        }
+        GroupRoute route = groupRoutes[i];
+        SessionSlot[] subscribers = without(route.subscribers(), slot);
+        if (subscribers != null) {
+            replaceRoute(i, new GroupRoute(route.group(), subscribers));
+            return;
+        }
+        GroupRoute[] shrunk = new GroupRoute[groupRoutes.length - 1];
+        System.arraycopy(groupRoutes, 0, shrunk, 0, i);
+        System.arraycopy(groupRoutes, i + 1, shrunk, i, groupRoutes.length - i - 1);
+        groupRoutes = shrunk;
+    }
+
+    private int routeOf(String name) {
+        for (int i = 0; i < groupRoutes.length; i++) {
+            if (groupRoutes[i].group().name().equals(name)) {
+                return i;
+            }
         }
+        return -1;
     }
-    
+
+    private void replaceRoute(int i, GroupRoute route) {
+        GroupRoute[] routes = groupRoutes.clone();
+        routes[i] = route;
+        groupRoutes = routes;
+    }
+
     /**
      * Removes a session and performs full cleanup of all associated data.
      *
      * @param sessionId the session identifier to remove
      */
-    public void removeSession(String sessionId) {
-        sessions.remove(sessionId);
-        sessionEndpoints.remove(sessionId);
-        
-        // Clean up subscriptions and reverse index
-        Set<String> subs = sessionSubscriptions.remove(sessionId);
-        if (subs != null) {
-            subs.forEach(symbol -> {
-                Set<String> sessions = symbolToSessions.get(symbol);
-                if (sessions != null) {
-                    sessions.remove(sessionId);
-                    // Clean up empty sets
-                    if (sessions.isEmpty()) {
-                        symbolToSessions.remove(symbol);
+    public synchronized void removeSession(String sessionId) {
+        SessionSlot slot = sessionsById.remove(sessionId);
+        if (slot != null) {
+            detach(slot);
+            log.info("Removed session: {}", sessionId);
+        }
+    }
+
+    /**
+     * Removes a session unless it has been removed (or replaced) already.
+     *
+     * @return true if this call removed it
+     */
+    private synchronized boolean removeSession(SessionSlot slot) {
+        if (!sessionsById.remove(slot.id(), slot)) {
+            return false;
+        }
+        detach(slot);
+        log.info("Removed session: {}", slot.id());
+        return true;
+    }
+
+    /**
+     * Takes a session out of every broadcast snapshot and frees its slot. Only the instruments
+     * it subscribed to are touched. Caller holds the lock.
+     */
+    private void detach(SessionSlot slot) {
+        slot.markRemoved();
+        retiredConflated += slot.outbound().conflated();
+        retiredDropped += slot.outbound().dropped();
+        retire(slot.throttle());
+        Routing current = currentRouting();
+        for (int id = slot.instrumentIds.nextSetBit(0); id >= 0; id = slot.instrumentIds.nextSetBit(id + 1)) {
+            current.byId().set(id, without(current.byId().get(id), slot));
+        }
+        for (String symbol : slot.unresolvedSymbols) {
+            putOrRemove(symbol, without(unresolvedSubscribers.get(symbol), slot));
+        }
+        for (String group : slot.groups) {
+            leaveGroup(group, slot);
+        }
+        if (slotTable[slot.slot()] == slot) {
+            slotTable[slot.slot()] = null;
+            usedSlots.clear(slot.slot());
+        }
+        rebuildEndpointSnapshot(slot.endpoint());
+        interestVersion.incrementAndGet();
+    }
+
+    /**
+     * Re-keys all subscriptions onto the refreshed instrument index right away, rather than on
+     * the next subscription change.
+     */
+    @EventListener
+    public synchronized void onInstrumentsRefreshed(InstrumentsRefreshedEvent event) {
+        currentRouting();
+    }
+
+    /**
+     * Returns the routing for the loader's current instrument index, first moving every
+     * session's subscriptions onto it (by symbol) if the index has been replaced. Caller holds
+     * the lock.
+     */
+    private Routing currentRouting() {
+        InstrumentIndex index = instrumentLoader.getIndex();
+        Routing current = routing;
+        if (index == current.index()) {
+            return current;
+        }
+        AtomicReferenceArray<SessionSlot[]> byId = new AtomicReferenceArray<>(index.size());
+        unresolvedSubscribers.clear();
+        for (SessionSlot slot : slotTable) {
+            if (slot == null) {
+                continue;
+            }
+            Set<String> symbols = symbolsOf(slot, current.index());
+            slot.instrumentIds.clear();
+            slot.unresolvedSymbols.clear();
+            for (String symbol : symbols) {
+                int id = index.idOfSymbol(symbol);
+                if (id == InstrumentIndex.NOT_FOUND) {
+                    slot.unresolvedSymbols.add(symbol);
+                    unresolvedSubscribers.put(symbol, with(unresolvedSubscribers.get(symbol), slot));
+                } else {
+                    slot.instrumentIds.set(id);
+                    if (!coveredByAllEndpoint(slot, index, id)) {
+                        byId.set(id, with(byId.get(id), slot));
                     }
                 }
-            });
+            }
+        }
+        Routing rebuilt = new Routing(index, byId);
+        routing = rebuilt;
+        log.info("Re-keyed subscriptions of {} sessions onto {} instruments", sessionsById.size(), index.size());
+        return rebuilt;
+    }
+
+    private static boolean coveredByAllEndpoint(SessionSlot slot, InstrumentIndex index, int id) {
+        return (index.isIndex(id) && INDICES_ALL_ENDPOINT.equals(slot.endpoint()))
+            || (index.isStock(id) && STOCKS_ALL_ENDPOINT.equals(slot.endpoint()));
+    }
+
+    private static SessionSlot[] with(SessionSlot[] slots, SessionSlot slot) {
+        if (slots == null) {
+            return new SessionSlot[] {slot};
+        }
+        SessionSlot[] grown = Arrays.copyOf(slots, slots.length + 1);
+        grown[slots.length] = slot;
+        return grown;
+    }
+
+    /**
+     * @return The array without the slot, the same array if it does not hold it, or null if
+     *         nothing is left
+     */
+    private static SessionSlot[] without(SessionSlot[] slots, SessionSlot slot) {
+        if (slots == null) {
+            return null;
+        }
+        for (int i = 0; i < slots.length; i++) {
+            if (slots[i] == slot) {
+                if (slots.length == 1) {
+                    return null;
+                }
+                SessionSlot[] shrunk = new SessionSlot[slots.length - 1];
+                System.arraycopy(slots, 0, shrunk, 0, i);
+                System.arraycopy(slots, i + 1, shrunk, i, slots.length - i - 1);
+                return shrunk;
+            }
+        }
+        return slots;
+    }
+
+    private void putOrRemove(String symbol, SessionSlot[] slots) {
+        if (slots == null) {
+            unresolvedSubscribers.remove(symbol);
+        } else {
+            unresolvedSubscribers.put(symbol, slots);
+        }
+    }
+
+    /**
+     * @return Symbols a session is subscribed to, with ids read against the given index
+     */
+    private static Set<String> symbolsOf(SessionSlot slot, InstrumentIndex index) {
+        Set<String> symbols = new HashSet<>(slot.unresolvedSymbols);
+        for (int id = slot.instrumentIds.nextSetBit(0); id >= 0; id = slot.instrumentIds.nextSetBit(id + 1)) {
+            symbols.add(index.symbolAt(id));
         }
-        
-        log.info("Removed session: {}", sessionId);
+        return symbols;
     }
-    
+
     /**
      * Gets all sessions that are subscribed to a specific symbol.
      *
      * @param symbol the symbol to query
      * @return set of session IDs subscribed to the symbol (empty set if none)
      */
-    public Set<String> getSessionsSubscribedTo(String symbol) {
-        Set<String> sessions = symbolToSessions.get(symbol);
-        return sessions != null ? new HashSet<>(sessions) : Collections.emptySet();
+    public synchronized Set<String> getSessionsSubscribedTo(String symbol) {
+        int id = currentRouting().index().idOfSymbol(symbol);
+        Set<String> subscribed = new HashSet<>();
+        for (SessionSlot slot : slotTable) {
+            if (slot != null && (id != InstrumentIndex.NOT_FOUND
+                    ? slot.instrumentIds.get(id)
+                    : slot.unresolvedSymbols.contains(symbol))) {
+                subscribed.add(slot.id());
+            }
+        }
+        return subscribed;
     }
-    
+
     /**
      * Gets all sessions connected to the /ws/indices/all endpoint.
      * These sessions receive all index ticks automatically.
@@ -137,12 +612,9 @@ public class SessionManager {
      * @return set of session IDs on the /ws/indices/all endpoint
      */
     public Set<String> getIndicesAllSessions() {
-        return sessionEndpoints.entrySet().stream()
-            .filter(e -> "/ws/indices/all".equals(e.getValue()))
-            .map(Map.Entry::getKey)
-            .collect(Collectors.toSet());
+        return idsOf(indicesAllSlots);
     }
-    
+
     /**
      * Gets all sessions connected to the /ws/stocks/nse/all endpoint.
      * These sessions receive all NSE stock ticks automatically.
@@ -150,12 +622,134 @@ public class SessionManager {
      * @return set of session IDs on the /ws/stocks/nse/all endpoint
      */
     public Set<String> getStocksAllSessions() {
-        return sessionEndpoints.entrySet().stream()
-            .filter(e -> "/ws/stocks/nse/all".equals(e.getValue()))
-            .map(Map.Entry::getKey)
-            .collect(Collectors.toSet());
+        return idsOf(stocksAllSlots);
     }
-    
+
+    private static Set<String> idsOf(SessionSlot[] slots) {
+        Set<String> ids = new HashSet<>();
+        for (SessionSlot slot : slots) {
+            ids.add(slot.id());
+        }
+        return ids;
+    }
+
+    /**
+     * Hot path: snapshot of the sessions on the /ws/indices/all endpoint.
+     * The array is shared and must not be modified.
+     *
+     * @return sessions on the /ws/indices/all endpoint
+     */
+    SessionSlot[] getIndicesAllSlots() {
+        return indicesAllSlots;
+    }
+
+    /**
+     * Hot path: snapshot of the sessions on the /ws/stocks/nse/all endpoint.
+     * The array is shared and must not be modified.
+     *
+     * @return sessions on the /ws/stocks/nse/all endpoint
+     */
+    SessionSlot[] getStocksAllSlots() {
+        return stocksAllSlots;
+    }
+
+    /**
+     * Hot path: snapshot of the sessions explicitly subscribed to an instrument, leaving out
+     * sessions that already receive it through their /all endpoint. Resolved by dense id; the
+     * symbol is only hashed for instruments missing from the index.
+     * The array is shared and must not be modified.
+     *
+     * @param index the instrument index the id was resolved in
+     * @param instrumentId dense id of the tick's instrument (may be {@link InstrumentIndex#NOT_FOUND})
+     * @param symbol the symbol of the tick
+     * @return sessions to send the tick to in addition to the matching /all sessions
+     */
+    SessionSlot[] getSubscriberSlots(InstrumentIndex index, int instrumentId, String symbol) {
+        Routing current = routing;
+        int id = instrumentId;
+        if (id != InstrumentIndex.NOT_FOUND && index != current.index()) {
+            // Index replaced and subscriptions not re-keyed yet: translate through the token
+            id = current.index().idOf(index.tokenAt(id));
+        }
+        SessionSlot[] subscribers;
+        if (id != InstrumentIndex.NOT_FOUND) {
+            subscribers = current.byId().get(id);
+        } else {
+            subscribers = symbol != null ? unresolvedSubscribers.get(symbol) : null;
+        }
+        return subscribers != null ? subscribers : NO_SLOTS;
+    }
+
+    /**
+     * Hot path: snapshot of the subscribed groups with their subscribers. A session may be
+     * reached through several of them and through its other subscriptions, so callers
+     * deduplicate with {@link SessionSlot#claim}.
+     * The array is shared and must not be modified.
+     *
+     * @return groups that have at least one subscriber
+     */
+    GroupRoute[] getGroupRoutes() {
+        return groupRoutes;
+    }
+
+    private void rebuildEndpointSnapshot(String endpoint) {
+        if (INDICES_ALL_ENDPOINT.equals(endpoint)) {
+            indicesAllSlots = slotsOn(endpoint);
+        } else if (STOCKS_ALL_ENDPOINT.equals(endpoint)) {
+            stocksAllSlots = slotsOn(endpoint);
+        }
+    }
+
+    private SessionSlot[] slotsOn(String endpoint) {
+        return Arrays.stream(slotTable)
+            .filter(slot -> slot != null && endpoint.equals(slot.endpoint()))
+            .toArray(SessionSlot[]::new);
+    }
+
+    /**
+     * Broadcast snapshot of explicit subscribers per dense id of one instrument index. Elements
+     * are replaced copy-on-write; a null element means no subscribers.
+     */
+    private record Routing(InstrumentIndex index, AtomicReferenceArray<SessionSlot[]> byId) {
+    }
+
+    /**
+     * Broadcast snapshot of one subscribed group and its subscribers. Replaced as a whole when
+     * either changes.
+     */
+    record GroupRoute(InstrumentGroup group, SessionSlot[] subscribers) {
+    }
+
+    @Override
+    public long interestVersion() {
+        return interestVersion.get();
+    }
+
+    @Override
+    public synchronized Set<String> watchedSymbols() {
+        InstrumentIndex index = currentRouting().index();
+        Set<String> watched = new HashSet<>();
+        for (SessionSlot slot : slotTable) {
+            if (slot != null) {
+                watched.addAll(symbolsOf(slot, index));
+            }
+        }
+        for (GroupRoute route : groupRoutes) {
+            watched.addAll(route.group().symbols());
+        }
+        return watched;
+    }
+
+    @Override
+    public boolean watchesAllIndices() {
+        return indicesAllSlots.length > 0;
+    }
+
+    @Override
+    public boolean watchesAllStocks() {
+        return stocksAllSlots.length > 0;
+    }
+
     /**
      * Sends a message to a specific session.
      * Handles IOException gracefully by logging and removing dead sessions.
@@ -165,39 +759,382 @@ public class SessionManager {
      * @throws IOException if the message cannot be sent
      */
     public void sendMessage(String sessionId, String message) throws IOException {
-        WebSocketSession session = sessions.get(sessionId);
-        if (session != null && session.isOpen()) {
+        sendMessage(sessionId, new TextMessage(message));
+    }
+
+    /**
+     * Sends an encoded binary message to a specific session.
+     * Handles IOException like {@link #sendMessage(String, String)}.
+     *
+     * @param sessionId the session identifier
+     * @param message the encoded message to send
+     * @throws IOException if the message cannot be sent
+     */
+    public void sendBinary(String sessionId, byte[] message) throws IOException {
+        sendMessage(sessionId, new BinaryMessage(message));
+    }
+
+    /**
+     * Sends a prepared message to a specific session. Text messages and delta ticks are
+     * immutable and may be shared across sessions; binary messages must not be, since sending
+     * consumes their buffer. A delta tick is encoded for the session right before the write.
+     * Handles IOException like {@link #sendMessage(String, String)}.
+     *
+     * @param sessionId the session identifier
+     * @param message the message to send
+     * @throws IOException if the message cannot be sent
+     */
+    public void sendMessage(String sessionId, WebSocketMessage<?> message) throws IOException {
+        SessionSlot slot = sessionsById.get(sessionId);
+        if (slot != null) {
+            sendMessage(slot, message);
+        } else {
+            log.debug("Session {} does not exist, not sending", sessionId);
+        }
+    }
+
+    /**
+     * Hot path: sends a prepared message to a session slot, like
+     * {@link #sendMessage(String, WebSocketMessage)}.
+     */
+    void sendMessage(SessionSlot slot, WebSocketMessage<?> message) throws IOException {
+        WebSocketSession session = slot.session();
+        if (!slot.isRemoved() && session.isOpen()) {
             try {
-                session.sendMessage(new TextMessage(message));
+                if (message instanceof DeltaTick) {
+                    message = slot.outbound().prepare(message);
+                }
+                session.sendMessage(message);
             } catch (IOException e) {
-                log.warn("Failed to send message to session {}, removing: {}", sessionId, e.getMessage());
-                removeSession(sessionId);
+                log.warn("Failed to send message to session {}, removing: {}", slot.id(), e.getMessage());
+                removeSession(slot);
                 throw e;
             }
         } else {
-            log.debug("Session {} is not open or does not exist, removing", sessionId);
-            removeSession(sessionId);
+            log.debug("Session {} is not open or was removed, removing", slot.id());
+            removeSession(slot);
+        }
+    }
+
+    /**
+     * Hot path: sends an encoded binary message to a session slot, like
+     * {@link #sendBinary(String, byte[])}.
+     */
+    void sendBinary(SessionSlot slot, byte[] message) throws IOException {
+        sendMessage(slot, new BinaryMessage(message));
+    }
+
+    /**
+     * Queues a tick to a session without blocking the caller. A full queue follows the
+     * configured overflow policy; with {@link OverflowPolicy#DISCONNECT} a session whose queue
+     * stays full for too long is closed and removed.
+     * Send failures are handled by the session's writer, which removes dead sessions.
+     *
+     * @param sessionId the session identifier
+     * @param symbol the symbol of the tick
+     * @param message the serialized tick
+     */
+    public void sendTick(String sessionId, String symbol, String message) {
+        sendTick(sessionId, symbol, new TextMessage(message));
+    }
+
+    /**
+     * Queues a prepared text or delta tick to a session, like
+     * {@link #sendTick(String, String, String)}. The same message instance can be queued to
+     * every target session; binary ticks go through {@link #sendBinaryTick}.
+     *
+     * @param sessionId the session identifier
+     * @param symbol the symbol of the tick
+     * @param message the prepared tick message
+     */
+    public void sendTick(String sessionId, String symbol, WebSocketMessage<?> message) {
+        SessionSlot slot = sessionsById.get(sessionId);
+        if (slot != null) {
+            enqueue(slot, symbol, message);
+        }
+    }
+
+    /**
+     * Queues a binary-encoded tick to a session, like {@link #sendTick(String, String, String)}.
+     *
+     * @param sessionId the session identifier
+     * @param symbol the symbol of the tick
+     * @param message the encoded tick
+     */
+    public void sendBinaryTick(String sessionId, String symbol, byte[] message) {
+        SessionSlot slot = sessionsById.get(sessionId);
+        if (slot != null) {
+            enqueue(slot, symbol, new BinaryMessage(message));
         }
     }
-    
+
+    /**
+     * Hot path: queues a prepared text or delta tick to a session slot, like
+     * {@link #sendTick(String, String, WebSocketMessage)}.
+     */
+    void sendTick(SessionSlot slot, String symbol, WebSocketMessage<?> message) {
+        enqueue(slot, symbol, message);
+    }
+
+    /**
+     * Hot path: queues a binary-encoded tick to a session slot, like
+     * {@link #sendBinaryTick(String, String, byte[])}.
+     */
+    void sendBinaryTick(SessionSlot slot, String symbol, byte[] message) {
+        enqueue(slot, symbol, new BinaryMessage(message));
+    }
+
+    private void enqueue(SessionSlot slot, String symbol, WebSocketMessage<?> message) {
+        if (slot.isRemoved()) {
+            return;
+        }
+        SessionThrottle throttle = slot.throttle();
+        if (throttle != null && !throttle.admit(symbol, message, System.nanoTime())) {
+            return;
+        }
+        offer(slot, symbol, message);
+    }
+
+    /**
+     * Offers a tick to a session's outbound queue and starts or wakes its writer as needed.
+     * Also receives ticks released by the session's throttle.
+     */
+    private void offer(SessionSlot slot, String symbol, WebSocketMessage<?> message) {
+        if (slot.isRemoved()) {
+            return;
+        }
+        handle(slot, slot.outbound().offer(symbol, message));
+    }
+
+    private void handle(SessionSlot slot, SessionOutbound.Offer offer) {
+        SessionOutbound outbound = slot.outbound();
+        switch (offer) {
+            case START_WRITER -> {
+                Thread writer = writerThreadFactory.newThread(() -> flush(slot));
+                outbound.writer(writer);
+                writer.start();
+            }
+            case WAKE_WRITER -> LockSupport.unpark(outbound.writer());
+            case DISCONNECT -> disconnectSlowSession(slot);
+            case QUEUED -> { }
+        }
+    }
+
+    /**
+     * Sends a control message (confirmation, error, snapshot, dictionary) to a session without
+     * racing its tick writes. In queued mode it goes to the session's writer, ahead of any ticks
+     * still queued; in direct mode it is sent right away, serialized with ticks by the session
+     * decorator. Send failures remove the session like tick failures do.
+     *
+     * @param sessionId the session identifier
+     * @param message the message to send
+     * @return true if the message was handed over, false if the session is not registered
+     */
+    public boolean sendControl(String sessionId, WebSocketMessage<?> message) {
+        SessionSlot slot = sessionsById.get(sessionId);
+        if (slot == null || slot.isRemoved()) {
+            return false;
+        }
+        if (webSocket.getOutboundMode() == OutboundMode.QUEUED) {
+            handle(slot, slot.outbound().offerControl(message));
+            return true;
+        }
+        try {
+            sendMessage(slot, message);
+        } catch (IOException e) {
+            log.debug("Failed to send control message to session {}: {}", slot.id(), e.getMessage());
+        }
+        return true;
+    }
+
+    /**
+     * Closes a session whose outbound queue overflowed for longer than the disconnect delay.
+     * The close itself may block on the socket, so it runs on its own virtual thread.
+     */
+    private void disconnectSlowSession(SessionSlot slot) {
+        if (!removeSession(slot)) {
+            return;
+        }
+        log.warn("Outbound queue of session {} overflowed for too long ({} ticks dropped), disconnecting",
+            slot.id(), slot.outbound().dropped());
+        writerThreadFactory.newThread(() -> {
+            try {
+                slot.session().close(CloseStatus.SESSION_NOT_RELIABLE);
+            } catch (IOException e) {
+                log.debug("Failed to close slow session {}: {}", slot.id(), e.getMessage());
+            }
+        }).start();
+    }
+
+    /**
+     * Writes queued ticks of a session until none are left. Only one writer runs per session,
+     * so each write waits for the socket to accept the previous one. A batching session's
+     * writer first waits out its window, then sends what was queued as multi-tick frames.
+     *
+     * A writer that fails is never released, so nothing would be written to the session again;
+     * the session is removed and closed instead.
+     */
+    private void flush(SessionSlot slot) {
+        try {
+            writeQueued(slot);
+        } catch (Exception e) {
+            log.warn("Failed to flush ticks to session {}, closing: {}", slot.id(), e.getMessage());
+            removeSession(slot);
+            try {
+                slot.session().close(CloseStatus.SERVER_ERROR);
+            } catch (IOException closeFailure) {
+                log.debug("Failed to close session {}: {}", slot.id(), closeFailure.getMessage());
+            }
+        }
+    }
+
+    private void writeQueued(SessionSlot slot) throws IOException {
+        SessionOutbound outbound = slot.outbound();
+        while (true) {
+            AdaptiveBatchWindow window = outbound.batchWindow();
+            if (window != null) {
+                awaitBatch(outbound, window);
+            }
+            SessionOutbound.Drained drained = outbound.drain();
+            if (drained.isEmpty()) {
+                return;
+            }
+            for (WebSocketMessage<?> control : drained.control()) {
+                if (slot.isRemoved()) {
+                    return;
+                }
+                sendMessage(slot, control);
+            }
+            List<WebSocketMessage<?>> messages = drained.ticks();
+            if (messages.isEmpty()) {
+                continue;
+            }
+            int ticksPerMessage = 1;
+            if (window != null) {
+                window.onFrame(Math.min(messages.size(), window.maxTicks()));
+                ticksPerMessage = window.maxTicks();
+            }
+            messages.replaceAll(outbound::prepare);
+            int remaining = messages.size();
+            List<WebSocketMessage<?>> frames = window != null ? TickFrames.merge(messages, window.maxTicks()) : messages;
+            for (WebSocketMessage<?> frame : frames) {
+                if (slot.isRemoved()) {
+                    return;
+                }
+                sendMessage(slot, frame);
+                int ticks = Math.min(ticksPerMessage, remaining);
+                outbound.sent(ticks);
+                remaining -= ticks;
+            }
+        }
+    }
+
+    /**
+     * Parks a batching writer until its window has elapsed, a full frame is queued or a control
+     * message is waiting.
+     */
+    private static void awaitBatch(SessionOutbound outbound, AdaptiveBatchWindow window) {
+        long deadline = System.nanoTime() + window.windowNanos();
+        long remaining;
+        while (outbound.depth() < window.maxTicks() && !outbound.hasControl()
+                && (remaining = deadline - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+
+    /**
+     * Gets the outbound queue counters of a session.
+     *
+     * @param sessionId the session identifier
+     * @return counters of the session (empty counters if session doesn't exist)
+     */
+    public SessionOutboundStats getOutboundStats(String sessionId) {
+        SessionSlot slot = sessionsById.get(sessionId);
+        return slot != null ? slot.outbound().stats() : SessionOutboundStats.EMPTY;
+    }
+
+    /**
+     * Gets the total number of ticks conflated since startup, including sessions that have
+     * disconnected since, so it never goes down.
+     *
+     * @return conflated ticks of active and removed sessions
+     */
+    public synchronized long getConflatedTickCount() {
+        return retiredConflated + sessionsById.values().stream().mapToLong(slot -> slot.outbound().conflated()).sum();
+    }
+
+    /**
+     * Gets the total number of ticks dropped by full outbound queues since startup, including
+     * sessions that have disconnected since, so it never goes down.
+     *
+     * @return dropped ticks of active and removed sessions
+     */
+    public synchronized long getDroppedTickCount() {
+        return retiredDropped + sessionsById.values().stream().mapToLong(slot -> slot.outbound().dropped()).sum();
+    }
+
+    /**
+     * Gets the total number of ticks held back by per-symbol rate caps since startup, i.e.
+     * replaced by a newer tick before their interval was up. Includes caps that have been
+     * replaced or removed and sessions that have disconnected since, so it never goes down.
+     *
+     * @return throttled ticks of active and retired caps
+     */
+    public synchronized long getThrottledTickCount() {
+        return retiredThrottled + sessionsById.values().stream()
+            .map(SessionSlot::throttle)
+            .filter(Objects::nonNull)
+            .mapToLong(SessionThrottle::throttled)
+            .sum();
+    }
+
+    /**
+     * Gets the number of ticks queued across all active sessions.
+     *
+     * @return sum of outbound queue depths
+     */
+    public long getOutboundQueueDepth() {
+        return sessionsById.values().stream().mapToLong(slot -> slot.outbound().depth()).sum();
+    }
+
+    /**
+     * Gets the deepest outbound queue of any active session, i.e. the slowest client's backlog.
+     *
+     * @return largest outbound queue depth, or 0 without sessions
+     */
+    public int getMaxOutboundQueueDepth() {
+        return sessionsById.values().stream().mapToInt(slot -> slot.outbound().depth()).max().orElse(0);
+    }
+
     /**
      * Gets the total number of active sessions.
      *
      * @return count of active sessions
      */
     public int getActiveSessionCount() {
-        return sessions.size();
+        return sessionsById.size();
     }
-    
+
     /**
      * Gets all active session IDs.
      *
      * @return set of all active session IDs
      */
     public Set<String> getAllSessionIds() {
-        return new HashSet<>(sessions.keySet());
+        return new HashSet<>(sessionsById.keySet());
     }
-    
+
+    /**
+     * Gets the wire protocol negotiated by a session.
+     *
+     * @param sessionId the session identifier
+     * @return the session's protocol, or null if session doesn't exist
+     */
+    public WireProtocol getSessionProtocol(String sessionId) {
+        SessionSlot slot = sessionsById.get(sessionId);
+        return slot != null ? slot.protocol() : null;
+    }
+
     /**
      * Gets the endpoint for a specific session.
      *
@@ -205,17 +1142,48 @@ public class SessionManager {
      * @return the endpoint path, or null if session doesn't exist
      */
     public String getSessionEndpoint(String sessionId) {
-        return sessionEndpoints.get(sessionId);
+        SessionSlot slot = sessionsById.get(sessionId);
+        return slot != null ? slot.endpoint() : null;
     }
-    
+
     /**
      * Gets all subscriptions for a specific session.
      *
      * @param sessionId the session identifier
      * @return set of subscribed symbols (empty set if session doesn't exist)
      */
-    public Set<String> getSessionSubscriptions(String sessionId) {
-        Set<String> subs = sessionSubscriptions.get(sessionId);
-        return subs != null ? new HashSet<>(subs) : Collections.emptySet();
+    public synchronized Set<String> getSessionSubscriptions(String sessionId) {
+        SessionSlot slot = sessionsById.get(sessionId);
+        return slot != null ? symbolsOf(slot, currentRouting().index()) : Collections.emptySet();
+    }
+
+    /**
+     * Gets the groups a specific session is subscribed to.
+     *
+     * @param sessionId the session identifier
+     * @return set of group names (empty set if session doesn't exist)
+     */
+    public synchronized Set<String> getSessionGroups(String sessionId) {
+        SessionSlot slot = sessionsById.get(sessionId);
+        return slot != null ? new HashSet<>(slot.groups) : Collections.emptySet();
+    }
+
+    /**
+     * Gets the members of every group a specific session is subscribed to.
+     *
+     * @param sessionId the session identifier
+     * @return set of member symbols (empty set if session doesn't exist)
+     */
+    public synchronized Set<String> getSessionGroupSymbols(String sessionId) {
+        SessionSlot slot = sessionsById.get(sessionId);
+        Set<String> symbols = new HashSet<>();
+        if (slot != null) {
+            for (GroupRoute route : groupRoutes) {
+                if (slot.groups.contains(route.group().name())) {
+                    symbols.addAll(route.group().symbols());
+                }
+            }
+        }
+        return symbols;
     }
 }
@@ -0,0 +1,250 @@
+package com.moneytree.socketengine.broadcast;
+
+import org.springframework.web.socket.WebSocketMessage;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+/**
+ * Bounded outbound tick queue of one WebSocket session.
+ *
+ * <p>The broadcaster offers ticks without blocking; a single writer per session drains the
+ * queue whenever its previous write has completed. When the client cannot keep up the queue
+ * never grows beyond its capacity and follows its {@link OverflowPolicy}:
+ * <ul>
+ *   <li>{@code CONFLATE} keeps only the latest tick per symbol ("dirty symbols"), in first-update
+ *       order, and drops the oldest symbol beyond capacity</li>
+ *   <li>{@code DROP_OLDEST} drops the oldest queued tick</li>
+ *   <li>{@code DISCONNECT} drops the new tick and asks for the session to be closed once the
+ *       queue has been full for the disconnect delay</li>
+ * </ul>
+ *
+ * <p>Control messages (confirmations, errors, snapshots, dictionaries) go through the same
+ * writer, so nothing else ever writes to the socket while it runs. They are queued apart from
+ * ticks ({@link #offerControl}), never conflated or dropped, and written ahead of the ticks
+ * drained with them.
+ *
+ * <p>Writer handoff: {@link #offer} and {@link #offerControl} return {@link Offer#START_WRITER}
+ * when the session has no active writer and the caller must start one; the writer keeps calling
+ * {@link #drain()} until it returns nothing, at which point it has released the session. A
+ * session sending multi-tick frames also has an {@link AdaptiveBatchWindow}; its writer waits out
+ * the window before draining and is woken early ({@link Offer#WAKE_WRITER}) once a full frame or
+ * a control message is queued.
+ * A {@link WireProtocol#JSON_DELTA} session queues {@link DeltaTick}s, which its
+ * {@link TickDeltaState} turns into text only when they are written ({@link #prepare}).
+ */
+final class SessionOutbound {
+
+    /**
+     * Outcome of offering a tick
+     */
+    enum Offer {
+        /** Queued (or dropped) while a writer is active */
+        QUEUED,
+        /** Queued; the caller must start a writer */
+        START_WRITER,
+        /** Queued; a full frame is waiting, so the caller should wake the batching writer */
+        WAKE_WRITER,
+        /** The queue overflowed for too long; the caller must close the session */
+        DISCONNECT
+    }
+
+    private final OverflowPolicy policy;
+    private final int capacity;
+    private final long disconnectAfterNanos;
+
+    // CONFLATE keeps the latest message per symbol, the other policies a FIFO
+    private final LinkedHashMap<String, WebSocketMessage<?>> latest = new LinkedHashMap<>();
+    private final ArrayDeque<WebSocketMessage<?>> fifo = new ArrayDeque<>();
+    private final ArrayDeque<WebSocketMessage<?>> control = new ArrayDeque<>();
+    private boolean writing = false;
+    private long overflowingSinceNanos = 0;
+    private volatile AdaptiveBatchWindow batchWindow;
+    private volatile Thread writer;
+    private volatile TickDeltaState deltas;
+
+    private long enqueued = 0;
+    private long sent = 0;
+    private long conflated = 0;
+    private long dropped = 0;
+
+    SessionOutbound(OverflowPolicy policy, int capacity, long disconnectAfterNanos) {
+        this.policy = policy;
+        this.capacity = capacity;
+        this.disconnectAfterNanos = disconnectAfterNanos;
+    }
+
+    /**
+     * Queues a tick according to the overflow policy.
+     *
+     * @param symbol Symbol of the tick (conflation key)
+     * @param message Encoded tick
+     * @return what the caller must do next
+     */
+    synchronized Offer offer(String symbol, WebSocketMessage<?> message) {
+        enqueued++;
+        if (policy == OverflowPolicy.CONFLATE) {
+            if (latest.put(symbol, message) != null) {
+                conflated++;
+            } else if (latest.size() > capacity) {
+                Iterator<String> eldest = latest.keySet().iterator();
+                eldest.next();
+                eldest.remove();
+                dropped++;
+            }
+        } else if (fifo.size() < capacity) {
+            fifo.addLast(message);
+            overflowingSinceNanos = 0;
+        } else if (policy == OverflowPolicy.DROP_OLDEST) {
+            fifo.pollFirst();
+            fifo.addLast(message);
+            dropped++;
+        } else {
+            dropped++;
+            long now = System.nanoTime();
+            if (overflowingSinceNanos == 0) {
+                overflowingSinceNanos = now;
+            } else if (now - overflowingSinceNanos >= disconnectAfterNanos) {
+                return Offer.DISCONNECT;
+            }
+        }
+
+        if (writing) {
+            AdaptiveBatchWindow window = batchWindow;
+            return window != null && depth() >= window.maxTicks() ? Offer.WAKE_WRITER : Offer.QUEUED;
+        }
+        writing = true;
+        return Offer.START_WRITER;
+    }
+
+    /**
+     * Queues a control message behind earlier control messages but ahead of queued ticks.
+     *
+     * @param message Message to write
+     * @return what the caller must do next (never {@link Offer#DISCONNECT})
+     */
+    synchronized Offer offerControl(WebSocketMessage<?> message) {
+        control.addLast(message);
+        if (writing) {
+            return batchWindow != null ? Offer.WAKE_WRITER : Offer.QUEUED;
+        }
+        writing = true;
+        return Offer.START_WRITER;
+    }
+
+    /**
+     * Takes all queued control messages and ticks, each in order. Releases the writer when
+     * nothing is queued.
+     *
+     * @return Messages to write, or empty messages once the writer has been released
+     */
+    synchronized Drained drain() {
+        List<WebSocketMessage<?>> messages;
+        if (policy == OverflowPolicy.CONFLATE) {
+            messages = new ArrayList<>(latest.values());
+            latest.clear();
+        } else {
+            messages = new ArrayList<>(fifo);
+            fifo.clear();
+        }
+        List<WebSocketMessage<?>> controlMessages = new ArrayList<>(control);
+        control.clear();
+        if (messages.isEmpty() && controlMessages.isEmpty()) {
+            writing = false;
+        }
+        return new Drained(controlMessages, messages);
+    }
+
+    /**
+     * @return true if a control message is waiting for the writer
+     */
+    synchronized boolean hasControl() {
+        return !control.isEmpty();
+    }
+
+    /**
+     * Switches the session to multi-tick frames.
+     */
+    void enableBatching(AdaptiveBatchWindow window) {
+        this.batchWindow = window;
+    }
+
+    /**
+     * @return Batching window, or null if ticks are sent one per message
+     */
+    AdaptiveBatchWindow batchWindow() {
+        return batchWindow;
+    }
+
+    /**
+     * Switches the session to field-level JSON deltas.
+     */
+    void enableDeltas(TickDeltaState deltas) {
+        this.deltas = deltas;
+    }
+
+    /**
+     * Turns a queued message into the message to write: a {@link DeltaTick} is encoded against
+     * what this session was last sent, anything else is returned as is.
+     *
+     * @param message Queued message
+     * @return Message to write
+     */
+    WebSocketMessage<?> prepare(WebSocketMessage<?> message) {
+        TickDeltaState state = deltas;
+        if (message instanceof DeltaTick delta && state != null) {
+            return state.encode(delta);
+        }
+        return message;
+    }
+
+    /**
+     * Records the thread of the session's current writer, so it can be woken.
+     */
+    void writer(Thread writer) {
+        this.writer = writer;
+    }
+
+    Thread writer() {
+        return writer;
+    }
+
+    /**
+     * Records messages written to the socket.
+     */
+    synchronized void sent(int count) {
+        sent += count;
+    }
+
+    synchronized int depth() {
+        return policy == OverflowPolicy.CONFLATE ? latest.size() : fifo.size();
+    }
+
+    synchronized long dropped() {
+        return dropped;
+    }
+
+    synchronized long conflated() {
+        return conflated;
+    }
+
+    /**
+     * @return Snapshot of this session's counters
+     */
+    synchronized SessionOutboundStats stats() {
+        return new SessionOutboundStats(enqueued, sent, conflated, dropped, depth());
+    }
+
+    /**
+     * Messages taken by one {@link #drain()}: control messages, written first, and ticks.
+     */
+    record Drained(List<WebSocketMessage<?>> control, List<WebSocketMessage<?>> ticks) {
+
+        boolean isEmpty() {
+            return control.isEmpty() && ticks.isEmpty();
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.moneytree.socketengine.broadcast;
+
+/**
+ * Outbound queue counters of one WebSocket session.
+ *
+ * @param enqueued Ticks offered to the session
+ * @param sent Ticks written to the socket
+ * @param conflated Ticks replaced by a newer tick for the same symbol before they were written
+ * @param dropped Ticks dropped because the queue was full
+ * @param pending Ticks currently queued
+ */
+public record SessionOutboundStats(long enqueued, long sent, long conflated, long dropped, int pending) {
+
+    public static final SessionOutboundStats EMPTY = new SessionOutboundStats(0, 0, 0, 0, 0);
+}
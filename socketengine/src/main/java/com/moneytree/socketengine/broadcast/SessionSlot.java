@@ -0,0 +1,115 @@
+package com.moneytree.socketengine.broadcast;
+
+import org.springframework.web.socket.WebSocketSession;
+
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * A registered WebSocket session: its socket, endpoint, negotiated protocol, outbound queue and
+ * subscriptions, held in one object at a dense slot number of the {@link SessionManager}.
+ *
+ * <p>The broadcast path receives slots straight from the SessionManager's copy-on-write arrays
+ * and reads the protocol and queue from them, without looking anything up by session id.
+ * Subscriptions are a bitset of dense instrument ids plus the few symbols the instrument index
+ * does not know, and the names of the {@link InstrumentGroup}s subscribed as a whole; all are
+ * only touched under the SessionManager's lock.
+ */
+final class SessionSlot {
+
+    private final int slot;
+    private final String id;
+    private final WebSocketSession session;
+    private final String endpoint;
+    private final WireProtocol protocol;
+    private final SessionOutbound outbound;
+
+    // Guarded by the SessionManager lock
+    final BitSet instrumentIds = new BitSet();
+    final Set<String> unresolvedSymbols = new HashSet<>();
+    final Set<String> groups = new HashSet<>();
+
+    // Written by the broadcast thread only
+    private long deliveryStamp;
+
+    private volatile boolean removed = false;
+    private volatile SessionThrottle throttle;
+
+    SessionSlot(int slot, String id, WebSocketSession session, String endpoint, WireProtocol protocol,
+                SessionOutbound outbound) {
+        this.slot = slot;
+        this.id = id;
+        this.session = session;
+        this.endpoint = endpoint;
+        this.protocol = protocol;
+        this.outbound = outbound;
+    }
+
+    int slot() {
+        return slot;
+    }
+
+    String id() {
+        return id;
+    }
+
+    WebSocketSession session() {
+        return session;
+    }
+
+    String endpoint() {
+        return endpoint;
+    }
+
+    WireProtocol protocol() {
+        return protocol;
+    }
+
+    SessionOutbound outbound() {
+        return outbound;
+    }
+
+    /**
+     * @return Per-symbol rate cap of the session, or null if every tick is sent
+     */
+    SessionThrottle throttle() {
+        return throttle;
+    }
+
+    void throttle(SessionThrottle throttle) {
+        this.throttle = throttle;
+    }
+
+    /**
+     * @return true once the session was removed; a stale broadcast snapshot may still hold it
+     */
+    boolean isRemoved() {
+        return removed;
+    }
+
+    void markRemoved() {
+        removed = true;
+    }
+
+    /**
+     * Broadcast thread only: claims the session for one tick's delivery, so a session reached
+     * through several routes (an /all endpoint, explicit subscriptions, overlapping groups) gets
+     * the tick once.
+     *
+     * @param stamp number of the tick being delivered, unique per broadcast
+     * @return false if the session was already claimed for this tick
+     */
+    boolean claim(long stamp) {
+        if (deliveryStamp == stamp) {
+            return false;
+        }
+        deliveryStamp = stamp;
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return id;
+    }
+}
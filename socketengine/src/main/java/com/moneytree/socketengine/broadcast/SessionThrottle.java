@@ -0,0 +1,139 @@
+package com.moneytree.socketengine.broadcast;
+
+import org.springframework.web.socket.WebSocketMessage;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * Per-symbol rate cap of one WebSocket session: at most one tick per symbol per interval, and
+ * always the newest one.
+ *
+ * <p>A tick arriving at least an interval after its symbol's last release goes straight through.
+ * Otherwise it is held, replacing any tick already held for the symbol, and the first held tick
+ * schedules one release on the shared {@link ThrottleWheel} for when the interval is up. The
+ * release hands the held tick on to the session's outbound queue, so a symbol ticking steadily
+ * reaches the client exactly once per interval with its latest value. Held ticks are encoded
+ * already; delta ticks are still encoded against what the session was last sent when written.
+ *
+ * <p>Unsubscribing {@linkplain #forget forgets} the symbols' held ticks, and a throttle that is
+ * replaced or removed is {@linkplain #close closed}; releases already scheduled on the wheel then
+ * find nothing to hand on.
+ */
+final class SessionThrottle {
+
+    private final long intervalNanos;
+    private final ThrottleWheel wheel;
+    private final BiConsumer<String, WebSocketMessage<?>> release;
+
+    // Guarded by this object's lock
+    private final Map<String, SymbolState> symbols = new HashMap<>();
+    private long throttled = 0;
+    private boolean closed = false;
+
+    /**
+     * @param intervalNanos Minimum time between two ticks of the same symbol
+     * @param wheel Timer wheel scheduling the releases
+     * @param release Receives each held tick once its interval is up
+     */
+    SessionThrottle(long intervalNanos, ThrottleWheel wheel, BiConsumer<String, WebSocketMessage<?>> release) {
+        this.intervalNanos = intervalNanos;
+        this.wheel = wheel;
+        this.release = release;
+    }
+
+    long intervalNanos() {
+        return intervalNanos;
+    }
+
+    /**
+     * Admits a tick now or holds it until its symbol's interval is up.
+     *
+     * @param symbol Symbol of the tick
+     * @param message Encoded tick
+     * @param nowNanos Current {@link System#nanoTime()}
+     * @return true if the tick may be queued right away, false if it is held
+     */
+    synchronized boolean admit(String symbol, WebSocketMessage<?> message, long nowNanos) {
+        if (closed) {
+            return true;
+        }
+        SymbolState state = symbols.get(symbol);
+        if (state == null) {
+            symbols.put(symbol, new SymbolState(nowNanos));
+            return true;
+        }
+        if (state.held == null && nowNanos - state.releasedAtNanos >= intervalNanos) {
+            state.releasedAtNanos = nowNanos;
+            return true;
+        }
+        if (state.held != null) {
+            throttled++;
+        }
+        state.held = message;
+        if (!state.scheduled) {
+            state.scheduled = true;
+            wheel.schedule(state.releasedAtNanos + intervalNanos, () -> release(symbol, state));
+        }
+        return false;
+    }
+
+    /**
+     * Drops the state of symbols the session no longer receives, including any tick held for
+     * them.
+     *
+     * @param unsubscribed Symbols to forget
+     */
+    synchronized void forget(Collection<String> unsubscribed) {
+        for (String symbol : unsubscribed) {
+            symbols.remove(symbol);
+        }
+    }
+
+    /**
+     * Drops every held tick and lets later ticks through, once this throttle was replaced or
+     * removed.
+     */
+    synchronized void close() {
+        closed = true;
+        symbols.clear();
+    }
+
+    /**
+     * Wheel thread: hands on the tick held for a symbol, unless its state was forgotten since.
+     */
+    private void release(String symbol, SymbolState state) {
+        WebSocketMessage<?> message;
+        synchronized (this) {
+            if (symbols.get(symbol) != state) {
+                return;
+            }
+            state.scheduled = false;
+            message = state.held;
+            state.held = null;
+            state.releasedAtNanos = System.nanoTime();
+        }
+        if (message != null) {
+            release.accept(symbol, message);
+        }
+    }
+
+    /**
+     * @return Ticks replaced by a newer tick of the same symbol while held
+     */
+    synchronized long throttled() {
+        return throttled;
+    }
+
+    private static final class SymbolState {
+        long releasedAtNanos;
+        WebSocketMessage<?> held;
+        boolean scheduled;
+
+        SymbolState(long releasedAtNanos) {
+            this.releasedAtNanos = releasedAtNanos;
+        }
+    }
+}
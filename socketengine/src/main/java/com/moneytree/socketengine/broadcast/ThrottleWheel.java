@@ -0,0 +1,148 @@
+package com.moneytree.socketengine.broadcast;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Hashed timer wheel releasing throttled ticks (see {@link SessionThrottle}).
+ *
+ * <p>One daemon thread advances the wheel one bucket per tick. A timeout lands in the bucket of
+ * its deadline tick with the number of full rotations still to wait, so scheduling and expiring
+ * cost O(1) however many timeouts are pending, rather than one timer per session and symbol.
+ * Deadlines are rounded up to the next tick. Schedulers only append to a lock-free queue that
+ * the wheel thread moves into buckets on its next tick.
+ *
+ * <p>The thread starts on first use and parks while nothing is scheduled, so an idle wheel
+ * costs nothing. Tasks run on the wheel thread and must not block.
+ */
+@Slf4j
+final class ThrottleWheel {
+
+    private final long tickNanos;
+    private final int mask;
+    private final ArrayDeque<Timeout>[] buckets;
+    private final long startNanos = System.nanoTime();
+
+    private final ConcurrentLinkedQueue<Timeout> added = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pending = new AtomicInteger();
+    private volatile boolean idle = false;
+    private volatile Thread worker;
+
+    // Wheel thread only
+    private long currentTick = 0;
+
+    /**
+     * @param tick Resolution of the wheel
+     * @param wheelSize Number of buckets, rounded up to a power of two
+     */
+    @SuppressWarnings("unchecked")
+    ThrottleWheel(Duration tick, int wheelSize) {
+        this.tickNanos = Math.max(1, tick.toNanos());
+        int size = Integer.highestOneBit(Math.max(1, wheelSize - 1)) << 1;
+        this.mask = size - 1;
+        this.buckets = new ArrayDeque[size];
+        for (int i = 0; i < size; i++) {
+            buckets[i] = new ArrayDeque<>();
+        }
+    }
+
+    /**
+     * Runs a task on the wheel thread at the first tick at or after a deadline.
+     *
+     * @param deadlineNanos {@link System#nanoTime()} at which the task is due
+     * @param task Non-blocking task
+     */
+    void schedule(long deadlineNanos, Runnable task) {
+        added.add(new Timeout(deadlineNanos, task));
+        pending.incrementAndGet();
+        Thread thread = worker;
+        if (thread == null) {
+            start();
+        } else if (idle) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    /**
+     * @return Number of timeouts not yet expired
+     */
+    int pending() {
+        return pending.get();
+    }
+
+    private synchronized void start() {
+        if (worker == null) {
+            worker = Thread.ofPlatform().name("throttle-wheel").daemon().start(this::run);
+        }
+    }
+
+    private void run() {
+        while (true) {
+            if (pending.get() == 0) {
+                idle = true;
+                if (pending.get() == 0) {
+                    LockSupport.park(this);
+                }
+                idle = false;
+                // Nothing was due while parked; resume from the current time
+                currentTick = Math.max(currentTick, (System.nanoTime() - startNanos) / tickNanos);
+                continue;
+            }
+            long wait = startNanos + (currentTick + 1) * tickNanos - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(this, wait);
+                continue;
+            }
+            currentTick++;
+            transferAdded();
+            expire(buckets[(int) (currentTick & mask)]);
+        }
+    }
+
+    /**
+     * Moves newly scheduled timeouts into the bucket of their deadline tick.
+     */
+    private void transferAdded() {
+        Timeout timeout;
+        while ((timeout = added.poll()) != null) {
+            long deadlineTick = Math.max(currentTick, Math.ceilDiv(timeout.deadlineNanos - startNanos, tickNanos));
+            timeout.rounds = (deadlineTick - currentTick) / buckets.length;
+            buckets[(int) (deadlineTick & mask)].add(timeout);
+        }
+    }
+
+    private void expire(ArrayDeque<Timeout> bucket) {
+        Iterator<Timeout> timeouts = bucket.iterator();
+        while (timeouts.hasNext()) {
+            Timeout timeout = timeouts.next();
+            if (timeout.rounds > 0) {
+                timeout.rounds--;
+                continue;
+            }
+            timeouts.remove();
+            pending.decrementAndGet();
+            try {
+                timeout.task.run();
+            } catch (Exception e) {
+                log.warn("Throttle wheel task failed: {}", e.getMessage());
+            }
+        }
+    }
+
+    private static final class Timeout {
+        final long deadlineNanos;
+        final Runnable task;
+        long rounds;
+
+        Timeout(long deadlineNanos, Runnable task) {
+            this.deadlineNanos = deadlineNanos;
+            this.task = task;
+        }
+    }
+}
@@ -1,48 +1,76 @@
 package com.moneytree.socketengine.broadcast;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.moneytree.socketengine.api.dto.TickDto;
+import com.moneytree.socketengine.config.SocketEngineProperties;
+import com.moneytree.socketengine.domain.InstrumentType;
 import com.moneytree.socketengine.domain.Tick;
-import com.moneytree.socketengine.domain.events.TickReceivedEvent;
+import com.moneytree.socketengine.kite.InstrumentIndex;
 import com.moneytree.socketengine.kite.InstrumentLoader;
+import com.moneytree.socketengine.pipeline.TickBatchHandler;
+import com.moneytree.socketengine.pipeline.TickLatencyMetrics;
+import com.moneytree.socketengine.pipeline.TickLatencyMetrics.Stage;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
 
-import java.util.HashSet;
-import java.util.Set;
+import java.util.List;
 
 /**
  * Hot path component that immediately broadcasts ticks to connected WebSocket clients.
- * This is a synchronous event listener that runs on the same thread as the Kite WebSocket receiver
- * to minimize latency. It converts ticks to DTOs once, serializes to JSON once, and broadcasts
- * to all relevant sessions.
+ * Runs as the "broadcast" consumer of the tick pipeline on its own thread, so slow sends never
+ * hold up the Kite WebSocket receiver. Each tick is encoded at most once per {@link WireProtocol}
+ * (JSON by the {@link TickJsonEncoder}, or a binary {@link BinaryTickCodec} record), and only for
+ * the protocols its target sessions actually use. The JSON form is one prepared, immutable
+ * {@link TextMessage} shared by every JSON session, so nothing is encoded or wrapped per session.
+ * {@link WireProtocol#JSON_DELTA} sessions share one {@link DeltaTick}, which each session's
+ * writer encodes against what it last sent that session.
  * 
  * Target sessions are determined by:
  * 1. Sessions with explicit subscriptions to the symbol
  * 2. /ws/indices/all sessions (if the tick is for an index)
  * 3. /ws/stocks/nse/all sessions (if the tick is for a stock)
+ * 4. Sessions subscribed to an {@link InstrumentGroup} the instrument belongs to
+ * 
+ * Only ticks of group members can reach a session by more than one route; those are stamped so
+ * each session still gets them once.
+ * 
+ * In {@link OutboundMode#QUEUED} mode (the default) broadcasting is pure enqueue onto each
+ * session's bounded outbound queue, so a slow client only loses updates according to its
+ * {@link OverflowPolicy} and never delays the broadcast thread. {@link OutboundMode#DIRECT}
+ * sends synchronously on this thread.
+ * 
+ * For sampled batches, encode, fan-out, per-send, arrival-to-send and exchange-to-send
+ * latencies are recorded in {@link TickLatencyMetrics}.
  */
 @Component
 @Slf4j
-public class TickBroadcaster {
+public class TickBroadcaster implements TickBatchHandler {
+    
+    private static final SessionSlot[] NO_SESSIONS = new SessionSlot[0];
+    private static final long NO_STAMP = 0;
     
     private final SessionManager sessionManager;
     private final InstrumentLoader instrumentLoader;
-    private final ObjectMapper objectMapper;
+    private final TickJsonEncoder jsonEncoder = new TickJsonEncoder();
+    private final TickLatencyMetrics latencyMetrics;
+    private final OutboundMode outboundMode;
     private final Counter ticksBroadcastCounter;
     
+    // Number of the last tick delivered to group subscribers, broadcast thread only
+    private long deliveryStamp = NO_STAMP;
+    
     public TickBroadcaster(
             SessionManager sessionManager,
             InstrumentLoader instrumentLoader,
-            ObjectMapper objectMapper,
+            SocketEngineProperties properties,
+            TickLatencyMetrics latencyMetrics,
             MeterRegistry meterRegistry) {
         this.sessionManager = sessionManager;
         this.instrumentLoader = instrumentLoader;
-        this.objectMapper = objectMapper;
+        this.latencyMetrics = latencyMetrics;
+        this.outboundMode = properties.getWebSocket().getOutboundMode();
         
         // Register counter for ticks broadcast
         this.ticksBroadcastCounter = Counter.builder("socketengine.ticks.broadcast")
@@ -50,94 +78,235 @@ public class TickBroadcaster {
             .register(meterRegistry);
     }
     
+    @Override
+    public String consumerName() {
+        return "broadcast";
+    }
+    
     /**
-     * Hot path: Synchronous event listener for immediate broadcast.
-     * This runs on the same thread as the Kite WebSocket receiver to minimize latency.
+     * Hot path: Broadcasts a batch of ticks (one or more whole Kite frames) as soon as the
+     * pipeline hands it over. The instrument snapshot and the /all endpoint session snapshots are
+     * read once per batch rather than once per tick.
      * 
-     * @param event The tick received event containing the parsed tick data
+     * Target sessions are iterated straight from the SessionManager's copy-on-write slot arrays:
+     * the /all sessions for the tick's type, then the explicit subscribers of the tick's dense
+     * instrument id that are not on that /all endpoint, so no session is sent the same tick
+     * twice, nothing is allocated per tick and no session id or symbol is hashed. Ticks of
+     * instruments in a subscribed group also go to the group's subscribers, checked with one bit
+     * lookup per group; a session already reached by another route is skipped by its stamp.
+     * 
+     * @param ticks The parsed ticks of the batch
      */
-    @EventListener
-    public void onTickReceived(TickReceivedEvent event) {
-        Tick tick = event.tick();
+    @Override
+    public void onBatch(List<Tick> ticks) {
+        InstrumentIndex index = instrumentLoader.getIndex();
+        SessionSlot[] indicesAllSessions = null;
+        SessionSlot[] stocksAllSessions = null;
+        SessionManager.GroupRoute[] groupRoutes = sessionManager.getGroupRoutes();
+        boolean sampled = latencyMetrics.sample();
         
-        try {
-            // Convert to DTO once
-            TickDto dto = toDto(tick);
-            
-            // Serialize to JSON once
-            String json = objectMapper.writeValueAsString(dto);
-            
-            // Determine which sessions should receive this tick
-            Set<String> targetSessions = new HashSet<>();
-            
-            // 1. Sessions with explicit subscriptions to this symbol
-            targetSessions.addAll(
-                sessionManager.getSessionsSubscribedTo(tick.getSymbol()));
-            
-            // 2. /ws/indices/all sessions (if this is an index tick)
-            boolean isIndex = instrumentLoader.isIndexToken(tick.getInstrumentToken());
-            if (isIndex) {
-                Set<String> indicesAllSessions = sessionManager.getIndicesAllSessions();
-                targetSessions.addAll(indicesAllSessions);
-                log.debug("INDEX TICK BROADCAST: {} (token: {}) to {} sessions", 
-                    tick.getSymbol(), tick.getInstrumentToken(), indicesAllSessions.size());
-            }
-            
-            // 3. /ws/stocks/nse/all sessions (if this is a stock tick)
-            boolean isStock = instrumentLoader.isStockToken(tick.getInstrumentToken());
-            if (isStock) {
-                targetSessions.addAll(sessionManager.getStocksAllSessions());
+        EncodedTick encoded = new EncodedTick(sampled);
+        
+        for (Tick tick : ticks) {
+            try {
+                // Resolve the instrument once, reusing the dense id assigned at ingestion
+                int instrumentId = index.resolve(tick.getInstrumentId(), tick.getInstrumentToken());
+                encoded.reset(tick, instrumentId);
+                
+                // 1. /ws/indices/all or /ws/stocks/nse/all sessions, depending on the instrument
+                InstrumentType type = null;
+                SessionSlot[] allSessions = NO_SESSIONS;
+                if (index.isIndex(instrumentId)) {
+                    if (indicesAllSessions == null) {
+                        indicesAllSessions = sessionManager.getIndicesAllSlots();
+                    }
+                    type = InstrumentType.INDEX;
+                    allSessions = indicesAllSessions;
+                    log.debug("INDEX TICK BROADCAST: {} (token: {}) to {} sessions", 
+                        tick.getSymbol(), tick.getInstrumentToken(), indicesAllSessions.length);
+                } else if (index.isStock(instrumentId)) {
+                    if (stocksAllSessions == null) {
+                        stocksAllSessions = sessionManager.getStocksAllSlots();
+                    }
+                    type = InstrumentType.STOCK;
+                    allSessions = stocksAllSessions;
+                }
+                
+                // 2. Sessions with explicit subscriptions to this instrument, minus those covered above
+                SessionSlot[] subscribers = sessionManager.getSubscriberSlots(index, instrumentId, tick.getSymbol());
+                int targetCount = allSessions.length + subscribers.length;
+                
+                // 3. Subscribers of groups containing this instrument; stamp deliveries to avoid duplicates
+                long stamp = NO_STAMP;
+                for (SessionManager.GroupRoute route : groupRoutes) {
+                    if (route.group().contains(index, instrumentId)) {
+                        if (stamp == NO_STAMP) {
+                            stamp = ++deliveryStamp;
+                        }
+                        targetCount += route.subscribers().length;
+                    }
+                }
+                
+                // Debug logging for troubleshooting
+                if (type == InstrumentType.INDEX && targetCount == 0) {
+                    log.warn("INDEX TICK {} has no target sessions! indicesAllSessions: {}", 
+                        tick.getSymbol(), indicesAllSessions.length);
+                }
+                
+                // Broadcast to all target sessions
+                // Individual send failures are handled gracefully to not affect other sessions
+                long fanoutStart = sampled ? System.nanoTime() : 0;
+                send(allSessions, encoded, sampled, stamp);
+                send(subscribers, encoded, sampled, stamp);
+                if (stamp != NO_STAMP) {
+                    for (SessionManager.GroupRoute route : groupRoutes) {
+                        if (route.group().contains(index, instrumentId)) {
+                            send(route.subscribers(), encoded, sampled, stamp);
+                        }
+                    }
+                }
+                if (sampled && targetCount > 0) {
+                    latencyMetrics.recordSince(Stage.FANOUT, fanoutStart);
+                    if (encoded.encodeNanos > 0) {
+                        latencyMetrics.record(Stage.ENCODE, encoded.encodeNanos);
+                    }
+                    latencyMetrics.recordSince(Stage.ARRIVAL_TO_SEND, tick.getReceivedAtNanos());
+                    latencyMetrics.recordExchangeToSend(tick.getType(), tick.getExchangeTimestamp());
+                }
+                
+            } catch (Exception e) {
+                // Catch any other unexpected errors to prevent disrupting the hot path
+                log.error("Error broadcasting tick for {}", tick.getSymbol(), e);
             }
-            
-            // Debug logging for troubleshooting
-            if (isIndex && targetSessions.isEmpty()) {
-                log.warn("INDEX TICK {} has no target sessions! indicesAllSessions: {}", 
-                    tick.getSymbol(), sessionManager.getIndicesAllSessions().size());
+        }
+    }
+    
+    /**
+     * Hands one tick, encoded in each session's protocol, to each of the given sessions.
+     * Binary sessions are skipped for instruments missing from the index, since the binary
+     * protocol identifies instruments by dense id only; delta sessions get plain JSON for them.
+     * With a delivery stamp, sessions already claimed for this tick are skipped.
+     */
+    private void send(SessionSlot[] sessions, EncodedTick encoded, boolean sampled, long stamp) {
+        String symbol = encoded.tick.getSymbol();
+        if (outboundMode == OutboundMode.QUEUED) {
+            // Enqueue only; each session's writer drains its queue when writable
+            int queued = 0;
+            for (SessionSlot session : sessions) {
+                if (stamp != NO_STAMP && !session.claim(stamp)) {
+                    continue;
+                }
+                WireProtocol protocol = session.protocol();
+                if (protocol != WireProtocol.BINARY) {
+                    sessionManager.sendTick(session, symbol, encoded.json(protocol));
+                    queued++;
+                } else if (encoded.hasBinary()) {
+                    sessionManager.sendBinaryTick(session, symbol, encoded.binary());
+                    queued++;
+                }
             }
-            
-            // Broadcast to all target sessions (non-blocking)
-            // Individual send failures are handled gracefully to not affect other sessions
-            targetSessions.forEach(sessionId -> {
-                try {
-                    sessionManager.sendMessage(sessionId, json);
-                    ticksBroadcastCounter.increment();
-                } catch (Exception e) {
-                    // Log warning (not error) since client disconnections are normal
-                    log.warn("Failed to send tick to session {}: {}", 
-                        sessionId, e.getMessage());
-                    // SessionManager already handles session cleanup on send failure
+            ticksBroadcastCounter.increment(queued);
+        } else {
+            for (SessionSlot session : sessions) {
+                if (stamp != NO_STAMP && !session.claim(stamp)) {
+                    continue;
                 }
-            });
-            
-        } catch (JsonProcessingException e) {
-            // This should rarely happen - log as error since it indicates a serialization issue
-            log.error("Error serializing tick for {}", tick.getSymbol(), e);
+                sendDirect(session, encoded, sampled);
+            }
+        }
+    }
+    
+    /**
+     * Sends one tick synchronously on the broadcast thread (direct mode).
+     */
+    private void sendDirect(SessionSlot session, EncodedTick encoded, boolean sampled) {
+        try {
+            long sendStart = sampled ? System.nanoTime() : 0;
+            WireProtocol protocol = session.protocol();
+            if (protocol != WireProtocol.BINARY) {
+                sessionManager.sendMessage(session, encoded.json(protocol));
+            } else if (encoded.hasBinary()) {
+                sessionManager.sendBinary(session, encoded.binary());
+            } else {
+                return;
+            }
+            if (sampled) {
+                latencyMetrics.recordSince(Stage.SEND, sendStart);
+            }
+            ticksBroadcastCounter.increment();
         } catch (Exception e) {
-            // Catch any other unexpected errors to prevent disrupting the hot path
-            log.error("Error broadcasting tick for {}", tick.getSymbol(), e);
+            // Log warning (not error) since client disconnections are normal
+            log.warn("Failed to send tick to session {}: {}", 
+                session.id(), e.getMessage());
+            // SessionManager already handles session cleanup on send failure
         }
     }
     
     /**
-     * Converts a domain Tick object to a TickDto for JSON serialization.
-     * 
-     * @param tick The domain tick object
-     * @return TickDto ready for JSON serialization
+     * Lazily encoded forms of the tick being broadcast. Each form is produced the first time a
+     * session needs it and reused for every other session of the same tick. Only used on the
+     * broadcast thread.
      */
-    private TickDto toDto(Tick tick) {
-        return TickDto.builder()
-            .symbol(tick.getSymbol())
-            .instrumentToken(tick.getInstrumentToken())
-            .type(tick.getType().name())  // Convert enum to string
-            .timestamp(tick.getTimestamp().toString())  // ISO 8601 format
-            .lastTradedPrice(tick.getLastTradedPrice())
-            .volume(tick.getVolume())
-            .ohlc(new TickDto.OHLCDto(
-                tick.getOhlc().getOpen(),
-                tick.getOhlc().getHigh(),
-                tick.getOhlc().getLow(),
-                tick.getOhlc().getClose()
-            ))
-            .build();
+    private final class EncodedTick {
+        private final boolean sampled;
+        private Tick tick;
+        private int instrumentId;
+        private TextMessage text;
+        private DeltaTick delta;
+        private byte[] binary;
+        private long encodeNanos;
+        
+        EncodedTick(boolean sampled) {
+            this.sampled = sampled;
+        }
+        
+        void reset(Tick tick, int instrumentId) {
+            this.tick = tick;
+            this.instrumentId = instrumentId;
+            this.text = null;
+            this.delta = null;
+            this.binary = null;
+            this.encodeNanos = 0;
+        }
+        
+        TextMessage text() {
+            if (text == null) {
+                long start = sampled ? System.nanoTime() : 0;
+                text = new TextMessage(jsonEncoder.encode(tick));
+                if (sampled) {
+                    encodeNanos += System.nanoTime() - start;
+                }
+            }
+            return text;
+        }
+        
+        /**
+         * @return The shared delta tick for delta sessions of a resolved instrument, otherwise
+         *         the shared JSON text message
+         */
+        WebSocketMessage<?> json(WireProtocol protocol) {
+            if (protocol != WireProtocol.JSON_DELTA || instrumentId == InstrumentIndex.NOT_FOUND) {
+                return text();
+            }
+            if (delta == null) {
+                delta = new DeltaTick(instrumentId, tick);
+            }
+            return delta;
+        }
+        
+        boolean hasBinary() {
+            return instrumentId != InstrumentIndex.NOT_FOUND;
+        }
+        
+        byte[] binary() {
+            if (binary == null) {
+                long start = sampled ? System.nanoTime() : 0;
+                binary = BinaryTickCodec.encodeTick(instrumentId, tick);
+                if (sampled) {
+                    encodeNanos += System.nanoTime() - start;
+                }
+            }
+            return binary;
+        }
     }
 }
@@ -0,0 +1,58 @@
+package com.moneytree.socketengine.broadcast;
+
+import com.moneytree.socketengine.domain.Tick;
+import org.springframework.web.socket.TextMessage;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * Per-session state of the {@link WireProtocol#JSON_DELTA} protocol: the last tick written to
+ * the session per dense instrument id.
+ *
+ * <p>An instrument's first tick is sent as a snapshot, later ones as deltas holding only the
+ * fields that changed. A snapshot is sent again once the keyframe interval has passed since the
+ * instrument's last one, and whenever its id now belongs to a different instrument token (ids
+ * are reassigned when instruments are refreshed).
+ *
+ * <p>Encodes on the session's writer (or, in direct mode, the broadcast thread) right before the
+ * write; synchronized for the handoff between successive writers.
+ */
+final class TickDeltaState {
+
+    private final long keyframeIntervalNanos;
+    private final TickJsonEncoder encoder = new TickJsonEncoder();
+    private Tick[] lastSent = new Tick[0];
+    private long[] keyframeAtNanos = new long[0];
+
+    TickDeltaState(Duration keyframeInterval) {
+        this.keyframeIntervalNanos = keyframeInterval.toNanos();
+    }
+
+    /**
+     * Encodes a tick as a snapshot or a delta against the last tick sent for its instrument,
+     * and records it as sent.
+     *
+     * @param delta The queued tick
+     * @return Text message to write
+     */
+    synchronized TextMessage encode(DeltaTick delta) {
+        int id = delta.instrumentId();
+        Tick tick = delta.tick();
+        if (id >= lastSent.length) {
+            int length = Math.max(id + 1, lastSent.length * 2);
+            lastSent = Arrays.copyOf(lastSent, length);
+            keyframeAtNanos = Arrays.copyOf(keyframeAtNanos, length);
+        }
+        Tick previous = lastSent[id];
+        long now = System.nanoTime();
+        lastSent[id] = tick;
+        if (previous == null
+                || previous.getInstrumentToken() != tick.getInstrumentToken()
+                || now - keyframeAtNanos[id] >= keyframeIntervalNanos) {
+            keyframeAtNanos[id] = now;
+            return new TextMessage(encoder.encodeSnapshot(id, tick));
+        }
+        return new TextMessage(encoder.encodeDelta(id, tick, previous));
+    }
+}
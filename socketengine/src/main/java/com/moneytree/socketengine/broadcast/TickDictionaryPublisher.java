@@ -0,0 +1,164 @@
+package com.moneytree.socketengine.broadcast;
+
+import com.moneytree.socketengine.domain.events.InstrumentsRefreshedEvent;
+import com.moneytree.socketengine.kite.InstrumentIndex;
+import com.moneytree.socketengine.kite.InstrumentLoader;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.IntPredicate;
+
+/**
+ * Sends the id-to-symbol dictionary messages of the binary tick protocol.
+ *
+ * Binary sessions receive the dictionary of their endpoint's instruments when they connect to
+ * an /all endpoint, the dictionary of the requested symbols before a subscription takes effect,
+ * and their whole dictionary again after the instruments were refreshed, since a new
+ * {@link InstrumentIndex} snapshot may assign different dense ids. When the members of a
+ * subscribed {@link InstrumentGroup} change, they receive the new members' dictionary before the
+ * group is swapped in. JSON sessions never receive dictionaries.
+ *
+ * Once a session is registered its dictionaries go through its writer
+ * ({@link SessionManager#sendControl}), ahead of any ticks still queued, so they never race a
+ * tick write and a tick never overtakes the dictionary queued before it.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class TickDictionaryPublisher {
+
+    private final SessionManager sessionManager;
+    private final InstrumentLoader instrumentLoader;
+
+    /**
+     * Sends the dictionary of an /all endpoint to a new binary session. Called before the session
+     * is registered, so no tick can reach it ahead of its dictionary and nothing else writes to
+     * it yet.
+     *
+     * @param session the new WebSocket session
+     * @param endpoint the endpoint it connected to
+     * @param protocol the negotiated wire protocol
+     * @throws IOException if the dictionary cannot be sent
+     */
+    public void onConnected(WebSocketSession session, String endpoint, WireProtocol protocol) throws IOException {
+        if (protocol != WireProtocol.BINARY) {
+            return;
+        }
+        InstrumentIndex index = instrumentLoader.getIndex();
+        IntPredicate selected = endpointSelector(index, endpoint);
+        if (selected != null) {
+            send(session, BinaryTickCodec.encodeDictionary(index, selected));
+        }
+    }
+
+    /**
+     * Queues the dictionary of newly requested symbols to a binary session. Called before the
+     * subscription is added, so no tick of these symbols can reach it ahead of its dictionary.
+     *
+     * @param session the subscribing WebSocket session
+     * @param symbols the symbols about to be subscribed
+     */
+    public void onSubscribing(WebSocketSession session, Collection<String> symbols) {
+        if (sessionManager.getSessionProtocol(session.getId()) != WireProtocol.BINARY) {
+            return;
+        }
+        InstrumentIndex index = instrumentLoader.getIndex();
+        Set<String> requested = new HashSet<>(symbols);
+        queue(session.getId(), BinaryTickCodec.encodeDictionary(index, id -> requested.contains(index.symbolAt(id))));
+    }
+
+    /**
+     * Queues the dictionary of the new members of their groups to the binary sessions subscribed
+     * to changed groups. Called before the groups are swapped in, so no tick of a new member can
+     * reach a session ahead of its dictionary.
+     *
+     * @param changed groups whose membership is about to change, by name
+     */
+    public void onGroupsChanging(Map<String, InstrumentGroup> changed) {
+        if (changed.isEmpty()) {
+            return;
+        }
+        InstrumentIndex index = instrumentLoader.getIndex();
+        for (String sessionId : sessionManager.getAllSessionIds()) {
+            if (sessionManager.getSessionProtocol(sessionId) != WireProtocol.BINARY) {
+                continue;
+            }
+            Set<String> members = new HashSet<>();
+            for (String name : sessionManager.getSessionGroups(sessionId)) {
+                InstrumentGroup group = changed.get(name);
+                if (group != null) {
+                    members.addAll(group.symbols());
+                }
+            }
+            if (!members.isEmpty()) {
+                queue(sessionId, BinaryTickCodec.encodeDictionary(index, id -> members.contains(index.symbolAt(id))));
+            }
+        }
+    }
+
+    /**
+     * Re-sends every binary session its dictionary against the refreshed instrument snapshot.
+     */
+    @EventListener
+    public void onInstrumentsRefreshed(InstrumentsRefreshedEvent event) {
+        resendDictionaries();
+    }
+
+    /**
+     * Re-sends every binary session its dictionary: the instruments of its /all endpoint, or its
+     * explicit subscriptions plus the members of its groups.
+     */
+    public void resendDictionaries() {
+        InstrumentIndex index = instrumentLoader.getIndex();
+        for (String sessionId : sessionManager.getAllSessionIds()) {
+            if (sessionManager.getSessionProtocol(sessionId) != WireProtocol.BINARY) {
+                continue;
+            }
+            IntPredicate selected = endpointSelector(index, sessionManager.getSessionEndpoint(sessionId));
+            if (selected == null) {
+                Set<String> subscribed = new HashSet<>(sessionManager.getSessionSubscriptions(sessionId));
+                subscribed.addAll(sessionManager.getSessionGroupSymbols(sessionId));
+                selected = id -> subscribed.contains(index.symbolAt(id));
+            }
+            queue(sessionId, BinaryTickCodec.encodeDictionary(index, selected));
+        }
+    }
+
+    /**
+     * @return Selector of an /all endpoint's instruments, or null for selective endpoints
+     */
+    private static IntPredicate endpointSelector(InstrumentIndex index, String endpoint) {
+        if (SessionManager.INDICES_ALL_ENDPOINT.equals(endpoint)) {
+            return index::isIndex;
+        }
+        if (SessionManager.STOCKS_ALL_ENDPOINT.equals(endpoint)) {
+            return index::isStock;
+        }
+        return null;
+    }
+
+    private static void send(WebSocketSession session, List<byte[]> messages) throws IOException {
+        for (byte[] message : messages) {
+            session.sendMessage(new BinaryMessage(message));
+        }
+    }
+
+    private void queue(String sessionId, List<byte[]> messages) {
+        for (byte[] message : messages) {
+            if (!sessionManager.sendControl(sessionId, new BinaryMessage(message))) {
+                log.debug("Session {} is gone, not sending its dictionary", sessionId);
+                return;
+            }
+        }
+    }
+}
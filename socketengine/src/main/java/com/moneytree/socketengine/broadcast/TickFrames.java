@@ -0,0 +1,66 @@
+package com.moneytree.socketengine.broadcast;
+
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Merges single-tick messages of one session into multi-tick frames.
+ *
+ * <p>JSON ticks become one JSON array text frame; binary ticks become one
+ * {@link BinaryTickCodec#TYPE_TICKS} message whose record count is the number of ticks.
+ */
+final class TickFrames {
+
+    private TickFrames() {
+    }
+
+    /**
+     * Merges queued single-tick messages, in order, into frames of at most {@code maxTicks}.
+     *
+     * @param messages Queued messages, all of the session's protocol
+     * @param maxTicks Most ticks per frame
+     * @return Frames to send
+     */
+    static List<WebSocketMessage<?>> merge(List<WebSocketMessage<?>> messages, int maxTicks) {
+        List<WebSocketMessage<?>> frames = new ArrayList<>((messages.size() + maxTicks - 1) / maxTicks);
+        for (int from = 0; from < messages.size(); from += maxTicks) {
+            List<WebSocketMessage<?>> chunk = messages.subList(from, Math.min(messages.size(), from + maxTicks));
+            frames.add(chunk.get(0) instanceof BinaryMessage ? mergeBinary(chunk) : mergeText(chunk));
+        }
+        return frames;
+    }
+
+    private static TextMessage mergeText(List<WebSocketMessage<?>> ticks) {
+        int length = 2 + ticks.size();
+        for (WebSocketMessage<?> tick : ticks) {
+            length += tick.getPayloadLength();
+        }
+        StringBuilder frame = new StringBuilder(length).append('[');
+        for (int i = 0; i < ticks.size(); i++) {
+            if (i > 0) {
+                frame.append(',');
+            }
+            frame.append(((TextMessage) ticks.get(i)).getPayload());
+        }
+        return new TextMessage(frame.append(']').toString());
+    }
+
+    private static BinaryMessage mergeBinary(List<WebSocketMessage<?>> ticks) {
+        ByteBuffer frame = ByteBuffer
+            .allocate(BinaryTickCodec.HEADER_SIZE + ticks.size() * BinaryTickCodec.TICK_RECORD_SIZE)
+            .order(ByteOrder.LITTLE_ENDIAN);
+        BinaryTickCodec.putHeader(frame, BinaryTickCodec.TYPE_TICKS, ticks.size());
+        for (WebSocketMessage<?> tick : ticks) {
+            ByteBuffer records = ((BinaryMessage) tick).getPayload().duplicate();
+            records.position(records.position() + BinaryTickCodec.HEADER_SIZE);
+            frame.put(records);
+        }
+        return new BinaryMessage(frame.array());
+    }
+}
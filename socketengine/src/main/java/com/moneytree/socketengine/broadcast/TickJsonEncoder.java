@@ -0,0 +1,293 @@
+package com.moneytree.socketengine.broadcast;
+
+import com.moneytree.socketengine.api.dto.TickDto;
+import com.moneytree.socketengine.domain.Tick;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Arrays;
+
+/**
+ * Hand-rolled JSON encoder for the tick messages sent to WebSocket clients.
+ *
+ * <p>Writes the {@link TickDto} schema straight from a {@link Tick} into a reused UTF-8 byte
+ * buffer, with the fields in the same order and format as Jackson produces for the DTO
+ * (including omitting null fields), but without building the DTO or reflecting over it. Longs
+ * are written digit by digit; doubles and the ISO-8601 timestamp use their JDK string forms,
+ * which match Jackson's output.
+ *
+ * <p>For sessions using {@link WireProtocol#JSON_DELTA} it also writes snapshots (the full
+ * DTO plus {@code "id"} and {@code "snapshot":true}) and deltas ({@code "id"} plus only the
+ * fields that differ from the previous tick sent, with a partial {@code "ohlc"} object), keyed
+ * by dense instrument id.
+ *
+ * <p>Not thread-safe: each instance owns its buffer and is meant for a single thread at a time.
+ */
+public final class TickJsonEncoder {
+
+    private static final byte[] SYMBOL = ascii("\"symbol\":");
+    private static final byte[] ID = ascii("{\"id\":");
+    private static final byte[] SNAPSHOT = ascii(",\"snapshot\":true");
+    private static final byte[] INSTRUMENT_TOKEN = ascii("\"instrumentToken\":");
+    private static final byte[] TYPE = ascii("\"type\":");
+    private static final byte[] TIMESTAMP = ascii("\"timestamp\":");
+    private static final byte[] LAST_TRADED_PRICE = ascii("\"lastTradedPrice\":");
+    private static final byte[] VOLUME = ascii("\"volume\":");
+    private static final byte[] OHLC = ascii("\"ohlc\":{");
+    private static final byte[] OPEN = ascii("\"open\":");
+    private static final byte[] HIGH = ascii("\"high\":");
+    private static final byte[] LOW = ascii("\"low\":");
+    private static final byte[] CLOSE = ascii("\"close\":");
+    private static final byte[] HEX = ascii("0123456789ABCDEF");
+    private static final byte[] LONG_MIN = ascii(Long.toString(Long.MIN_VALUE));
+
+    private byte[] buffer = new byte[512];
+    private int length;
+    private boolean first;
+
+    /**
+     * Encodes a tick as a {@link TickDto} JSON object.
+     *
+     * @param tick Tick to encode
+     * @return UTF-8 JSON, owned by the caller
+     */
+    public byte[] encode(Tick tick) {
+        length = 0;
+        first = true;
+        raw((byte) '{');
+        fields(tick);
+        return Arrays.copyOf(buffer, length);
+    }
+
+    /**
+     * Encodes a delta-mode snapshot: the full DTO keyed by dense instrument id.
+     *
+     * @param instrumentId Dense id of the tick's instrument
+     * @param tick Tick to encode
+     * @return UTF-8 JSON, owned by the caller
+     */
+    public byte[] encodeSnapshot(int instrumentId, Tick tick) {
+        length = 0;
+        raw(ID);
+        number(instrumentId);
+        raw(SNAPSHOT);
+        first = false;
+        fields(tick);
+        return Arrays.copyOf(buffer, length);
+    }
+
+    /**
+     * Encodes a delta-mode update carrying only the fields that changed since {@code previous},
+     * the last tick of the same instrument sent to the session. Symbol, token and type never
+     * change for an id and are left out.
+     *
+     * @param instrumentId Dense id of the tick's instrument
+     * @param tick Tick to encode
+     * @param previous Last tick of the instrument sent to the session
+     * @return UTF-8 JSON, owned by the caller
+     */
+    public byte[] encodeDelta(int instrumentId, Tick tick, Tick previous) {
+        length = 0;
+        raw(ID);
+        number(instrumentId);
+        first = false;
+        if (tick.getTimestamp() != null && !tick.getTimestamp().equals(previous.getTimestamp())) {
+            field(TIMESTAMP);
+            string(tick.getTimestamp().toString());
+        }
+        if (Double.compare(tick.getLastTradedPrice(), previous.getLastTradedPrice()) != 0) {
+            field(LAST_TRADED_PRICE);
+            number(tick.getLastTradedPrice());
+        }
+        if (tick.hasVolume() && tick.getVolume() != previous.getVolume()) {
+            field(VOLUME);
+            number(tick.getVolume());
+        }
+        Tick.OHLC ohlc = tick.getOhlc();
+        Tick.OHLC before = previous.getOhlc();
+        if (ohlc != null && !ohlc.equals(before)) {
+            field(OHLC);
+            first = true;
+            if (before == null || Double.compare(ohlc.getOpen(), before.getOpen()) != 0) {
+                field(OPEN);
+                number(ohlc.getOpen());
+            }
+            if (before == null || Double.compare(ohlc.getHigh(), before.getHigh()) != 0) {
+                field(HIGH);
+                number(ohlc.getHigh());
+            }
+            if (before == null || Double.compare(ohlc.getLow(), before.getLow()) != 0) {
+                field(LOW);
+                number(ohlc.getLow());
+            }
+            if (before == null || Double.compare(ohlc.getClose(), before.getClose()) != 0) {
+                field(CLOSE);
+                number(ohlc.getClose());
+            }
+            first = false;
+            raw((byte) '}');
+        }
+        raw((byte) '}');
+        return Arrays.copyOf(buffer, length);
+    }
+
+    /**
+     * Writes the DTO fields after the opening brace (and any fields already written).
+     */
+    private void fields(Tick tick) {
+        if (tick.getSymbol() != null) {
+            field(SYMBOL);
+            string(tick.getSymbol());
+        }
+        field(INSTRUMENT_TOKEN);
+        number(tick.getInstrumentToken());
+        if (tick.getType() != null) {
+            field(TYPE);
+            string(tick.getType().name());
+        }
+        Instant timestamp = tick.getTimestamp();
+        if (timestamp != null) {
+            field(TIMESTAMP);
+            string(timestamp.toString());
+        }
+        field(LAST_TRADED_PRICE);
+        number(tick.getLastTradedPrice());
+        if (tick.hasVolume()) {
+            field(VOLUME);
+            number(tick.getVolume());
+        }
+        Tick.OHLC ohlc = tick.getOhlc();
+        if (ohlc != null) {
+            field(OHLC);
+            raw(OPEN);
+            number(ohlc.getOpen());
+            raw((byte) ',');
+            raw(HIGH);
+            number(ohlc.getHigh());
+            raw((byte) ',');
+            raw(LOW);
+            number(ohlc.getLow());
+            raw((byte) ',');
+            raw(CLOSE);
+            number(ohlc.getClose());
+            raw((byte) '}');
+        }
+        raw((byte) '}');
+    }
+
+    /**
+     * Writes a field name, preceded by a comma unless it is the first field of the object.
+     */
+    private void field(byte[] name) {
+        if (!first) {
+            raw((byte) ',');
+        }
+        first = false;
+        raw(name);
+    }
+
+    private void string(String value) {
+        raw((byte) '"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c >= 0x20 && c < 0x80 && c != '"' && c != '\\') {
+                raw((byte) c);
+            } else if (c == '"' || c == '\\') {
+                raw((byte) '\\');
+                raw((byte) c);
+            } else if (c < 0x20) {
+                escapeControl(c);
+            } else {
+                // Non-ASCII: let the JDK produce UTF-8 for the rest of the string
+                utf8(value.substring(i).getBytes(StandardCharsets.UTF_8));
+                break;
+            }
+        }
+        raw((byte) '"');
+    }
+
+    private void escapeControl(char c) {
+        raw((byte) '\\');
+        switch (c) {
+            case '\b' -> raw((byte) 'b');
+            case '\t' -> raw((byte) 't');
+            case '\n' -> raw((byte) 'n');
+            case '\f' -> raw((byte) 'f');
+            case '\r' -> raw((byte) 'r');
+            default -> {
+                raw((byte) 'u');
+                raw((byte) '0');
+                raw((byte) '0');
+                raw(HEX[c >> 4]);
+                raw(HEX[c & 0xF]);
+            }
+        }
+    }
+
+    /**
+     * Writes the UTF-8 bytes of a string tail, escaping any quote, backslash or control
+     * character it contains (those are single-byte in UTF-8).
+     */
+    private void utf8(byte[] bytes) {
+        for (byte b : bytes) {
+            if (b == '"' || b == '\\') {
+                raw((byte) '\\');
+                raw(b);
+            } else if (b >= 0 && b < 0x20) {
+                escapeControl((char) b);
+            } else {
+                raw(b);
+            }
+        }
+    }
+
+    private void number(long value) {
+        if (value == Long.MIN_VALUE) {
+            raw(LONG_MIN);
+            return;
+        }
+        if (value < 0) {
+            raw((byte) '-');
+            value = -value;
+        }
+        int digits = 1;
+        for (long v = value; v >= 10; v /= 10) {
+            digits++;
+        }
+        ensure(digits);
+        for (int i = length + digits - 1; i >= length; i--) {
+            buffer[i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+        length += digits;
+    }
+
+    private void number(double value) {
+        String text = Double.toString(value);
+        ensure(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            buffer[length++] = (byte) text.charAt(i);
+        }
+    }
+
+    private void raw(byte[] bytes) {
+        ensure(bytes.length);
+        System.arraycopy(bytes, 0, buffer, length, bytes.length);
+        length += bytes.length;
+    }
+
+    private void raw(byte b) {
+        ensure(1);
+        buffer[length++] = b;
+    }
+
+    private void ensure(int extra) {
+        if (length + extra > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, length + extra));
+        }
+    }
+
+    private static byte[] ascii(String text) {
+        return text.getBytes(StandardCharsets.US_ASCII);
+    }
+}
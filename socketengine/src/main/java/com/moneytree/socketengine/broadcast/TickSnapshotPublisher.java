@@ -0,0 +1,78 @@
+package com.moneytree.socketengine.broadcast;
+
+import com.moneytree.socketengine.domain.Tick;
+import com.moneytree.socketengine.kite.InstrumentLoader;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Sends subscribing sessions the last known tick of each newly subscribed instrument, read from
+ * the {@link LastValueCache}, so illiquid instruments show a price straight away.
+ *
+ * The snapshot is a single message queued right after the subscription confirmation on the
+ * session's writer ({@link SessionManager#sendControl}), so it goes out ahead of any live tick
+ * still queued for the new subscriptions and never races a tick write. JSON and JSON delta
+ * sessions get {@code {"action":"SNAPSHOT","ticks":[...]}} with the ticks in the usual
+ * {@code TickDto} form; binary sessions get one multi-record ticks message, keyed by the dense
+ * ids of the dictionary they were just sent. Every entry carries its tick timestamp, so a
+ * client that already got a newer live tick of an instrument can keep it. Instruments that have
+ * not ticked since startup are left out, and nothing is sent if none has.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class TickSnapshotPublisher {
+
+    private static final byte[] SNAPSHOT_START = "{\"action\":\"SNAPSHOT\",\"ticks\":[".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] SNAPSHOT_END = "]}".getBytes(StandardCharsets.US_ASCII);
+
+    private final SessionManager sessionManager;
+    private final InstrumentLoader instrumentLoader;
+    private final LastValueCache lastValueCache;
+
+    /**
+     * Queues the last known ticks of the symbols a session just subscribed to. Send failures
+     * are handled by the session's writer; the subscription stays in place.
+     *
+     * @param session the subscribing WebSocket session
+     * @param symbols the subscribed symbols, including group members
+     */
+    public void sendSnapshot(WebSocketSession session, Collection<String> symbols) {
+        List<Tick> ticks = lastValueCache.latest(symbols);
+        if (ticks.isEmpty()) {
+            return;
+        }
+        String sessionId = session.getId();
+        if (sessionManager.getSessionProtocol(sessionId) == WireProtocol.BINARY) {
+            for (byte[] message : BinaryTickCodec.encodeTicks(instrumentLoader.getIndex(), ticks)) {
+                sessionManager.sendControl(sessionId, new BinaryMessage(message));
+            }
+        } else {
+            sessionManager.sendControl(sessionId, new TextMessage(encodeJson(ticks)));
+        }
+        log.debug("Queued snapshot of {} instruments to session {}", ticks.size(), sessionId);
+    }
+
+    private static byte[] encodeJson(List<Tick> ticks) {
+        TickJsonEncoder encoder = new TickJsonEncoder();
+        ByteArrayOutputStream json = new ByteArrayOutputStream(64 + ticks.size() * 256);
+        json.writeBytes(SNAPSHOT_START);
+        for (int i = 0; i < ticks.size(); i++) {
+            if (i > 0) {
+                json.write(',');
+            }
+            json.writeBytes(encoder.encode(ticks.get(i)));
+        }
+        json.writeBytes(SNAPSHOT_END);
+        return json.toByteArray();
+    }
+}
@@ -0,0 +1,54 @@
+package com.moneytree.socketengine.broadcast;
+
+/**
+ * Encoding of the tick messages sent to a WebSocket session, negotiated when it connects.
+ */
+public enum WireProtocol {
+    /**
+     * One JSON {@code TickDto} text message per tick (default, for compatibility)
+     */
+    JSON("moneytree.ticks.json"),
+
+    /**
+     * JSON keyed by dense instrument id: a full snapshot per instrument, then only the fields
+     * that changed since the last tick sent to the session, with periodic keyframes
+     * (see {@link TickDeltaState})
+     */
+    JSON_DELTA("moneytree.ticks.json-delta.v1"),
+
+    /**
+     * Fixed-layout little-endian binary messages, see {@link BinaryTickCodec}
+     */
+    BINARY("moneytree.ticks.binary.v1");
+
+    private final String subprotocol;
+
+    WireProtocol(String subprotocol) {
+        this.subprotocol = subprotocol;
+    }
+
+    /**
+     * @return WebSocket subprotocol name a client offers to select this protocol
+     */
+    public String subprotocol() {
+        return subprotocol;
+    }
+
+    /**
+     * Resolves the protocol of a new session from the accepted subprotocol or, for clients that
+     * cannot set one, the {@code format} query parameter.
+     *
+     * @param acceptedSubprotocol Subprotocol accepted in the handshake (may be null or empty)
+     * @param formatParameter Value of the {@code format} query parameter (may be null)
+     * @return Negotiated protocol, {@link #JSON} unless binary or delta was asked for
+     */
+    public static WireProtocol negotiate(String acceptedSubprotocol, String formatParameter) {
+        if (BINARY.subprotocol.equals(acceptedSubprotocol) || "binary".equalsIgnoreCase(formatParameter)) {
+            return BINARY;
+        }
+        if (JSON_DELTA.subprotocol.equals(acceptedSubprotocol) || "delta".equalsIgnoreCase(formatParameter)) {
+            return JSON_DELTA;
+        }
+        return JSON;
+    }
+}
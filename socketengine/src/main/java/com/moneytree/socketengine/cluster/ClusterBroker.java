@@ -0,0 +1,49 @@
+package com.moneytree.socketengine.cluster;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Transport between the nodes of a split deployment.
+ *
+ * <p>Carries the encoded tick batches from the ingest node to every edge node (fire and forget,
+ * in publication order) and holds one expiring state document per node, from which sessions and
+ * client interest are aggregated across the cluster.
+ */
+public interface ClusterBroker {
+
+    /**
+     * Publishes an encoded tick batch to every subscribed node.
+     *
+     * @param message Message produced by {@link TickFanoutCodec}
+     */
+    void publishTicks(byte[] message);
+
+    /**
+     * Registers a listener for tick batches. Messages are delivered one at a time, in
+     * publication order.
+     *
+     * @param listener Called with every message published after subscribing
+     */
+    void subscribeTicks(Consumer<byte[]> listener);
+
+    /**
+     * Removes a listener registered with {@link #subscribeTicks}.
+     */
+    void unsubscribeTicks(Consumer<byte[]> listener);
+
+    /**
+     * Stores this node's state, replacing the previous one.
+     *
+     * @param nodeId Node the state belongs to
+     * @param state Serialized {@link ClusterNodeState}
+     * @param ttl Time after which the state is dropped unless stored again
+     */
+    void putNodeState(String nodeId, String state, Duration ttl);
+
+    /**
+     * @return Serialized state of every node that has not expired, by node id
+     */
+    Map<String, String> getNodeStates();
+}
@@ -0,0 +1,16 @@
+package com.moneytree.socketengine.cluster;
+
+/**
+ * Selects the {@link ClusterBroker} implementation.
+ */
+public enum ClusterBrokerType {
+    /**
+     * Redis pub/sub for tick batches and expiring keys for node state
+     */
+    REDIS,
+
+    /**
+     * In-process broker, for tests and running ingest and edge in one JVM
+     */
+    LOCAL
+}
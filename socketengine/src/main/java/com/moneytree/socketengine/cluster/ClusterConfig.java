@@ -0,0 +1,35 @@
+package com.moneytree.socketengine.cluster;
+
+import com.moneytree.socketengine.config.SocketEngineProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+
+/**
+ * Wires the {@link ClusterBroker} selected by {@code socketengine.cluster.broker} when the node
+ * is part of a split deployment ({@code socketengine.cluster.enabled=true}).
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "socketengine.cluster", name = "enabled", havingValue = "true")
+public class ClusterConfig {
+
+    /**
+     * @param properties SocketEngine configuration
+     * @param connectionFactory Redis connection factory (auto-configured by Spring Boot)
+     * @param redisTemplate String template from {@code RedisConfig}
+     * @return Broker shared by the fan-out publisher, the edge source and the node registry
+     */
+    @Bean
+    public ClusterBroker clusterBroker(
+            SocketEngineProperties properties,
+            RedisConnectionFactory connectionFactory,
+            RedisTemplate<String, String> redisTemplate) {
+        SocketEngineProperties.Cluster cluster = properties.getCluster();
+        return switch (cluster.getBroker()) {
+            case REDIS -> new RedisClusterBroker(connectionFactory, redisTemplate, cluster.getTickChannel());
+            case LOCAL -> new LocalClusterBroker();
+        };
+    }
+}
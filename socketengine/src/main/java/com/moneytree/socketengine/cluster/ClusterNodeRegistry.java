@@ -0,0 +1,263 @@
+package com.moneytree.socketengine.cluster;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.moneytree.socketengine.api.dto.SubscriptionResponseDto;
+import com.moneytree.socketengine.broadcast.SessionManager;
+import com.moneytree.socketengine.broadcast.SessionOutboundStats;
+import com.moneytree.socketengine.config.SocketEngineProperties;
+import com.moneytree.socketengine.domain.InstrumentInterest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Membership of this node in a split deployment.
+ *
+ * <p>Every {@value #SYNC_INTERVAL_MILLIS} ms the node publishes its {@link ClusterNodeState} to
+ * the {@link ClusterBroker} if its client interest changed or a heartbeat is due, and reads the
+ * states of the other nodes. A node that misses {@value #MISSED_HEARTBEATS} heartbeats expires.
+ *
+ * <p>The registry is the node's {@link InstrumentInterest}: local sessions plus those of every
+ * other node. On the ingest node this makes the Kite subscription plan follow the clients of all
+ * edge nodes, so Kite keeps seeing one consumer however many edges serve clients. It also lists
+ * the sessions of the other nodes for {@code /api/ticks/subscriptions}.
+ */
+@Component
+@Primary
+@ConditionalOnProperty(prefix = "socketengine.cluster", name = "enabled", havingValue = "true")
+@Slf4j
+public class ClusterNodeRegistry implements InstrumentInterest {
+
+    static final long SYNC_INTERVAL_MILLIS = 500;
+    static final int MISSED_HEARTBEATS = 3;
+
+    private final SocketEngineProperties properties;
+    private final ClusterBroker broker;
+    private final SessionManager sessionManager;
+    private final ObjectMapper objectMapper;
+    private final String nodeId;
+
+    private volatile Map<String, ClusterNodeState> remoteNodes = Map.of();
+    private volatile RemoteInterest remoteInterest = RemoteInterest.NONE;
+    private final AtomicLong remoteInterestVersion = new AtomicLong();
+
+    // Written by the scheduler thread only
+    private long publishedInterestVersion = -1;
+    private long publishedAtNanos;
+
+    public ClusterNodeRegistry(
+            SocketEngineProperties properties,
+            ClusterBroker broker,
+            SessionManager sessionManager,
+            ObjectMapper objectMapper) {
+        this.properties = properties;
+        this.broker = broker;
+        this.sessionManager = sessionManager;
+        this.objectMapper = objectMapper;
+        this.nodeId = resolveNodeId(properties.getCluster().getNodeId());
+        log.info("Joined cluster as node {} ({} source)", nodeId, sourceName());
+    }
+
+    /**
+     * Publishes this node's state when due and refreshes the view of the other nodes.
+     * Broker failures are logged; the previous view is kept until the next sync.
+     */
+    @Scheduled(fixedDelay = SYNC_INTERVAL_MILLIS)
+    public void sync() {
+        try {
+            publishState();
+        } catch (Exception e) {
+            log.warn("Failed to publish cluster state of node {}: {}", nodeId, e.getMessage());
+        }
+        try {
+            refreshNodes();
+        } catch (Exception e) {
+            log.warn("Failed to read cluster node states: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Publishes this node's state if its client interest changed or a heartbeat is due.
+     */
+    void publishState() throws Exception {
+        Duration heartbeat = properties.getCluster().getHeartbeatInterval();
+        long version = sessionManager.interestVersion();
+        long now = System.nanoTime();
+        if (version == publishedInterestVersion && now - publishedAtNanos < heartbeat.toNanos()) {
+            return;
+        }
+
+        ClusterNodeState state = new ClusterNodeState(
+            nodeId,
+            sourceName(),
+            Instant.now(),
+            sessionManager.watchedSymbols(),
+            sessionManager.watchesAllIndices(),
+            sessionManager.watchesAllStocks(),
+            localSessions());
+        broker.putNodeState(nodeId, objectMapper.writeValueAsString(state), heartbeat.multipliedBy(MISSED_HEARTBEATS));
+        publishedInterestVersion = version;
+        publishedAtNanos = now;
+    }
+
+    /**
+     * Reads the states of the other nodes and bumps the interest version if their combined
+     * interest changed.
+     */
+    void refreshNodes() {
+        Map<String, ClusterNodeState> nodes = new HashMap<>();
+        broker.getNodeStates().forEach((id, json) -> {
+            if (id.equals(nodeId)) {
+                return;
+            }
+            try {
+                nodes.put(id, objectMapper.readValue(json, ClusterNodeState.class));
+            } catch (Exception e) {
+                log.warn("Ignoring unreadable state of cluster node {}: {}", id, e.getMessage());
+            }
+        });
+
+        RemoteInterest interest = RemoteInterest.of(nodes.values());
+        remoteNodes = Map.copyOf(nodes);
+        if (!interest.equals(remoteInterest)) {
+            remoteInterest = interest;
+            remoteInterestVersion.incrementAndGet();
+            log.debug("Cluster interest changed: {} watched symbols across {} other nodes",
+                interest.watchedSymbols().size(), nodes.size());
+        }
+    }
+
+    /**
+     * @return Name of this node in the cluster
+     */
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    /**
+     * @return Ids of this node and every other node currently known, sorted
+     */
+    public Set<String> getNodeIds() {
+        Set<String> ids = new TreeSet<>(remoteNodes.keySet());
+        ids.add(nodeId);
+        return ids;
+    }
+
+    /**
+     * @return Sessions of the other nodes as of their last heartbeat, tagged with their node
+     */
+    public List<SubscriptionResponseDto> getRemoteSessions() {
+        List<SubscriptionResponseDto> sessions = new ArrayList<>();
+        for (ClusterNodeState node : remoteNodes.values()) {
+            if (node.sessions() != null) {
+                sessions.addAll(node.sessions());
+            }
+        }
+        return sessions;
+    }
+
+    @Override
+    public long interestVersion() {
+        // Both counters only grow, so the sum changes whenever either does
+        return sessionManager.interestVersion() + remoteInterestVersion.get();
+    }
+
+    @Override
+    public Set<String> watchedSymbols() {
+        Set<String> local = sessionManager.watchedSymbols();
+        Set<String> remote = remoteInterest.watchedSymbols();
+        if (remote.isEmpty()) {
+            return local;
+        }
+        Set<String> watched = new HashSet<>(local);
+        watched.addAll(remote);
+        return watched;
+    }
+
+    @Override
+    public boolean watchesAllIndices() {
+        return sessionManager.watchesAllIndices() || remoteInterest.watchesAllIndices();
+    }
+
+    @Override
+    public boolean watchesAllStocks() {
+        return sessionManager.watchesAllStocks() || remoteInterest.watchesAllStocks();
+    }
+
+    private List<SubscriptionResponseDto> localSessions() {
+        List<SubscriptionResponseDto> sessions = new ArrayList<>();
+        for (String sessionId : sessionManager.getAllSessionIds()) {
+            SessionOutboundStats outbound = sessionManager.getOutboundStats(sessionId);
+            sessions.add(SubscriptionResponseDto.builder()
+                .sessionId(sessionId)
+                .node(nodeId)
+                .endpoint(sessionManager.getSessionEndpoint(sessionId))
+                .subscribedSymbols(sessionManager.getSessionSubscriptions(sessionId))
+                .subscribedGroups(sessionManager.getSessionGroups(sessionId))
+                .connectedAt(Instant.now())  // Note: actual connection time not tracked currently
+                .ticksSent(outbound.sent())
+                .ticksConflated(outbound.conflated())
+                .ticksDropped(outbound.dropped())
+                .ticksPending(outbound.pending())
+                .build());
+        }
+        return sessions;
+    }
+
+    private String sourceName() {
+        return properties.getSource().getType().name().toLowerCase(Locale.ROOT);
+    }
+
+    private static String resolveNodeId(String configured) {
+        if (configured != null && !configured.isBlank()) {
+            return configured;
+        }
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            host = "node";
+        }
+        // Several nodes may share a host
+        return host + "-" + ProcessHandle.current().pid();
+    }
+
+    /**
+     * Combined client interest of the other nodes.
+     */
+    private record RemoteInterest(Set<String> watchedSymbols, boolean watchesAllIndices, boolean watchesAllStocks) {
+
+        static final RemoteInterest NONE = new RemoteInterest(Set.of(), false, false);
+
+        static RemoteInterest of(Collection<ClusterNodeState> nodes) {
+            Set<String> watched = new HashSet<>();
+            boolean allIndices = false;
+            boolean allStocks = false;
+            for (ClusterNodeState node : nodes) {
+                if (node.watchedSymbols() != null) {
+                    watched.addAll(node.watchedSymbols());
+                }
+                allIndices |= node.watchesAllIndices();
+                allStocks |= node.watchesAllStocks();
+            }
+            return new RemoteInterest(Set.copyOf(watched), allIndices, allStocks);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.moneytree.socketengine.cluster;
+
+import com.moneytree.socketengine.api.dto.SubscriptionResponseDto;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * State a node publishes to the cluster on every heartbeat, serialized as JSON.
+ *
+ * @param nodeId Node the state belongs to
+ * @param source Tick source of the node ("kite" or "replay" for the ingest node, "edge" for edge nodes)
+ * @param updatedAt When the state was published
+ * @param watchedSymbols Symbols explicitly subscribed by the node's clients
+ * @param watchesAllIndices true if a client of the node receives every index tick
+ * @param watchesAllStocks true if a client of the node receives every stock tick
+ * @param sessions The node's WebSocket sessions, tagged with the node id
+ */
+public record ClusterNodeState(
+    String nodeId,
+    String source,
+    Instant updatedAt,
+    Set<String> watchedSymbols,
+    boolean watchesAllIndices,
+    boolean watchesAllStocks,
+    List<SubscriptionResponseDto> sessions
+) {
+}
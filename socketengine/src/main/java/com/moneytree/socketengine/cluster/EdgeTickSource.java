@@ -0,0 +1,175 @@
+package com.moneytree.socketengine.cluster;
+
+import com.moneytree.socketengine.domain.InstrumentType;
+import com.moneytree.socketengine.domain.Tick;
+import com.moneytree.socketengine.kite.InstrumentIndex;
+import com.moneytree.socketengine.kite.InstrumentLoader;
+import com.moneytree.socketengine.kite.KiteTickParser;
+import com.moneytree.socketengine.kite.KiteTickView;
+import com.moneytree.socketengine.kite.TickSource;
+import com.moneytree.socketengine.pipeline.TickLatencyMetrics;
+import com.moneytree.socketengine.pipeline.TickPipeline;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Tick source of an edge node: receives the batches the ingest node fans out through the
+ * {@link ClusterBroker} and publishes them into the local pipeline, where the broadcaster serves
+ * this node's clients. The edge never connects to Kite.
+ *
+ * <p>Each message is decoded with {@link KiteTickParser} in flyweight mode and published as one
+ * batch. Every packet is routed from its {@link KiteTickView}: the token is resolved to a dense
+ * id against this node's own instrument index (dense ids are not shared between nodes), read
+ * once per message, and the tick is materialized without a copy of its packet, which only the
+ * ingest node's persistence and fan-out read. The broker delivers messages one at a time, so
+ * the decode view is reused.
+ */
+@Component
+@ConditionalOnProperty(prefix = "socketengine.source", name = "type", havingValue = "edge")
+@Slf4j
+public class EdgeTickSource implements TickSource, SmartLifecycle {
+
+    private final ClusterBroker broker;
+    private final TickPipeline tickPipeline;
+    private final KiteTickParser tickParser;
+    private final InstrumentLoader instrumentLoader;
+    private final TickLatencyMetrics latencyMetrics;
+    private final KiteTickView view = new KiteTickView();
+    private final Consumer<byte[]> listener = this::onMessage;
+
+    // Written by the broker's delivery thread only
+    private volatile long messagesReceived = 0;
+    private volatile long ticksReceived = 0;
+    private volatile long messagesRejected = 0;
+    private volatile Instant lastMessageAt;
+
+    private volatile boolean running = false;
+
+    public EdgeTickSource(
+            ClusterBroker broker,
+            TickPipeline tickPipeline,
+            KiteTickParser tickParser,
+            InstrumentLoader instrumentLoader,
+            TickLatencyMetrics latencyMetrics) {
+        this.broker = broker;
+        this.tickPipeline = tickPipeline;
+        this.tickParser = tickParser;
+        this.instrumentLoader = instrumentLoader;
+        this.latencyMetrics = latencyMetrics;
+    }
+
+    @Override
+    public String getName() {
+        return "edge";
+    }
+
+    /**
+     * Loads instruments for symbol resolution and subscribes to the tick channel.
+     * The pipeline is started first because this bean depends on it.
+     */
+    @Override
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+
+        try {
+            log.info("Loaded {} instruments for edge node", instrumentLoader.loadAllInstruments().size());
+        } catch (Exception e) {
+            log.warn("Could not load instruments for edge node, ticks will carry tokens as symbols: {}", e.getMessage());
+        }
+
+        broker.subscribeTicks(listener);
+        running = true;
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        broker.unsubscribeTicks(listener);
+        log.info("Edge source stopped after {} messages ({} ticks)", messagesReceived, ticksReceived);
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public void shutdown() {
+        stop();
+    }
+
+    /**
+     * @return true while subscribed to the ingest node's tick channel
+     */
+    @Override
+    public boolean isConnected() {
+        return running;
+    }
+
+    @Override
+    public Map<String, Object> getSubscriptionStatus() {
+        var status = new HashMap<String, Object>();
+        status.put("source", getName());
+        status.put("connected", isConnected());
+        status.put("messagesReceived", messagesReceived);
+        status.put("ticksReceived", ticksReceived);
+        status.put("messagesRejected", messagesRejected);
+        status.put("lastMessageAt", lastMessageAt);
+        return status;
+    }
+
+    /**
+     * Decodes one fanned-out batch and publishes it into the pipeline.
+     */
+    void onMessage(byte[] message) {
+        long receivedAtNanos = System.nanoTime();
+        List<Tick> batch = new ArrayList<>();
+        try {
+            Instant publishedAt = TickFanoutCodec.publishedAt(message);
+            InstrumentIndex index = instrumentLoader.getIndex();
+            tickParser.decode(TickFanoutCodec.frame(message), view,
+                packet -> batch.add(toTick(packet, index, publishedAt, receivedAtNanos)));
+        } catch (RuntimeException e) {
+            messagesRejected++;
+            log.warn("Rejected tick fan-out message of {} bytes: {}", message.length, e.getMessage());
+            return;
+        }
+        if (latencyMetrics.sample()) {
+            latencyMetrics.recordSince(TickLatencyMetrics.Stage.DECODE, receivedAtNanos);
+        }
+
+        tickPipeline.publishBatch(batch);
+        messagesReceived++;
+        ticksReceived += batch.size();
+        lastMessageAt = Instant.now();
+    }
+
+    /**
+     * Materializes the packet held by the view, resolving its token against the given snapshot.
+     */
+    private static Tick toTick(KiteTickView packet, InstrumentIndex index, Instant publishedAt, long receivedAtNanos) {
+        long instrumentToken = packet.getInstrumentToken();
+        int instrumentId = index.idOf(instrumentToken);
+        if (instrumentId == InstrumentIndex.NOT_FOUND) {
+            log.warn("Instrument token {} not found on edge node, using token as symbol", instrumentToken);
+            return packet.materializeWithoutPacket(instrumentId, String.valueOf(instrumentToken), InstrumentType.STOCK,
+                publishedAt, receivedAtNanos);
+        }
+        return packet.materializeWithoutPacket(instrumentId, index.symbolAt(instrumentId), index.typeAt(instrumentId),
+            publishedAt, receivedAtNanos);
+    }
+}
@@ -0,0 +1,61 @@
+package com.moneytree.socketengine.cluster;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * In-process {@link ClusterBroker}: tick batches are handed to the listeners on the publishing
+ * thread and node states live in a map. Stands in for Redis in tests and when the ingest and
+ * edge roles share one JVM.
+ */
+@Slf4j
+public class LocalClusterBroker implements ClusterBroker {
+
+    private final List<Consumer<byte[]>> listeners = new CopyOnWriteArrayList<>();
+    private final Map<String, NodeState> states = new ConcurrentHashMap<>();
+
+    @Override
+    public synchronized void publishTicks(byte[] message) {
+        for (Consumer<byte[]> listener : listeners) {
+            try {
+                listener.accept(message);
+            } catch (Exception e) {
+                log.error("Cluster tick listener failed", e);
+            }
+        }
+    }
+
+    @Override
+    public void subscribeTicks(Consumer<byte[]> listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public void unsubscribeTicks(Consumer<byte[]> listener) {
+        listeners.remove(listener);
+    }
+
+    @Override
+    public void putNodeState(String nodeId, String state, Duration ttl) {
+        states.put(nodeId, new NodeState(state, System.nanoTime() + ttl.toNanos()));
+    }
+
+    @Override
+    public Map<String, String> getNodeStates() {
+        long now = System.nanoTime();
+        states.values().removeIf(state -> now - state.expiresAtNanos() > 0);
+        Map<String, String> result = new HashMap<>();
+        states.forEach((nodeId, state) -> result.put(nodeId, state.value()));
+        return result;
+    }
+
+    private record NodeState(String value, long expiresAtNanos) {
+    }
+}
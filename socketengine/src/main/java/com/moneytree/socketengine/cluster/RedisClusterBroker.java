@@ -0,0 +1,129 @@
+package com.moneytree.socketengine.cluster;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+/**
+ * {@link ClusterBroker} on Redis.
+ *
+ * <p>Tick batches are published as raw bytes on a pub/sub channel. Pub/sub keeps no backlog, so
+ * an edge node only sees batches published while it is subscribed; that is all a live broadcast
+ * needs. Received messages are dispatched on a single thread, which keeps them in publication
+ * order (the listener container would otherwise hand each message to a new thread).
+ *
+ * <p>Node state is a string key per node ({@code socketengine:node:{id}}) expiring after the
+ * heartbeat TTL, plus a set of known node ids ({@code socketengine:nodes}) pruned of expired
+ * nodes on read.
+ */
+@Slf4j
+public class RedisClusterBroker implements ClusterBroker, DisposableBean {
+
+    private static final String NODES_KEY = "socketengine:nodes";
+    private static final String NODE_KEY_PREFIX = "socketengine:node:";
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final byte[] channel;
+    private final ChannelTopic topic;
+    private final RedisMessageListenerContainer container;
+    private final ExecutorService dispatcher;
+    private final Map<Consumer<byte[]>, MessageListener> listeners = new ConcurrentHashMap<>();
+
+    public RedisClusterBroker(
+            RedisConnectionFactory connectionFactory,
+            RedisTemplate<String, String> redisTemplate,
+            String channel) {
+        this.redisTemplate = redisTemplate;
+        this.channel = channel.getBytes(StandardCharsets.UTF_8);
+        this.topic = new ChannelTopic(channel);
+        this.dispatcher = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "cluster-ticks");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.setTaskExecutor(dispatcher);
+        container.afterPropertiesSet();
+    }
+
+    @Override
+    public void publishTicks(byte[] message) {
+        redisTemplate.execute((RedisCallback<Long>) connection -> connection.publish(channel, message));
+    }
+
+    @Override
+    public synchronized void subscribeTicks(Consumer<byte[]> listener) {
+        MessageListener messageListener = (message, pattern) -> listener.accept(message.getBody());
+        listeners.put(listener, messageListener);
+        container.addMessageListener(messageListener, topic);
+        if (!container.isRunning()) {
+            container.start();
+        }
+        log.info("Subscribed to cluster tick channel {}", topic.getTopic());
+    }
+
+    @Override
+    public synchronized void unsubscribeTicks(Consumer<byte[]> listener) {
+        MessageListener messageListener = listeners.remove(listener);
+        if (messageListener != null) {
+            container.removeMessageListener(messageListener, topic);
+        }
+    }
+
+    @Override
+    public void putNodeState(String nodeId, String state, Duration ttl) {
+        redisTemplate.opsForValue().set(NODE_KEY_PREFIX + nodeId, state, ttl);
+        redisTemplate.opsForSet().add(NODES_KEY, nodeId);
+    }
+
+    @Override
+    public Map<String, String> getNodeStates() {
+        Set<String> nodeIds = redisTemplate.opsForSet().members(NODES_KEY);
+        if (nodeIds == null || nodeIds.isEmpty()) {
+            return Map.of();
+        }
+
+        List<String> ids = new ArrayList<>(nodeIds);
+        List<String> values = redisTemplate.opsForValue().multiGet(
+            ids.stream().map(id -> NODE_KEY_PREFIX + id).toList());
+
+        Map<String, String> states = new HashMap<>();
+        List<String> expired = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i++) {
+            String value = values != null ? values.get(i) : null;
+            if (value != null) {
+                states.put(ids.get(i), value);
+            } else {
+                expired.add(ids.get(i));
+            }
+        }
+        if (!expired.isEmpty()) {
+            redisTemplate.opsForSet().remove(NODES_KEY, expired.toArray());
+        }
+        return states;
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        container.destroy();
+        dispatcher.shutdownNow();
+    }
+}
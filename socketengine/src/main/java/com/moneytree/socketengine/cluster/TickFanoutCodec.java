@@ -0,0 +1,106 @@
+package com.moneytree.socketengine.cluster;
+
+import com.moneytree.socketengine.domain.Tick;
+import com.moneytree.socketengine.kite.KitePacketEncoder;
+import com.moneytree.socketengine.kite.KiteTickParser;
+import com.moneytree.socketengine.kite.TickFrameFile;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Wire format of the tick batches fanned out from the ingest node to the edge nodes.
+ *
+ * <p>A batch is re-sent as the Kite packets it was parsed from, the most compact form the ticks
+ * exist in (8 to 184 bytes per instrument), so edge nodes decode it with the same
+ * {@link KiteTickParser} path as the live feed. Layout (big-endian):
+ * <pre>
+ *   u8  version ({@link #VERSION})
+ *   i64 published at, epoch micros (timestamp for packets without an exchange timestamp)
+ *   ..  Kite frame: u16 packet count, packets
+ * </pre>
+ * Frames are rebuilt from each tick's packet as written by {@link KitePacketEncoder#putPacket},
+ * at most {@link TickFrameFile#MAX_PACKETS_PER_FRAME} packets per message.
+ */
+public final class TickFanoutCodec {
+
+    public static final byte VERSION = 1;
+
+    public static final int HEADER_SIZE = 1 + Long.BYTES;
+
+    private static final int FRAME_COUNT_SIZE = 2;
+
+    private TickFanoutCodec() {
+    }
+
+    /**
+     * Encodes a batch of ticks into as many messages as the packet limit requires.
+     *
+     * @param ticks Ticks of the batch, in arrival order
+     * @param publishedAt Publication time carried by every message
+     * @return Messages, empty if no tick has a packet
+     */
+    public static List<byte[]> encode(List<Tick> ticks, Instant publishedAt) {
+        List<byte[]> messages = new ArrayList<>();
+        long publishedAtMicros = ChronoUnit.MICROS.between(Instant.EPOCH, publishedAt);
+        int from = 0;
+        while (from < ticks.size()) {
+            int packets = 0;
+            int length = HEADER_SIZE + FRAME_COUNT_SIZE;
+            int to = from;
+            for (; to < ticks.size() && packets < TickFrameFile.MAX_PACKETS_PER_FRAME; to++) {
+                int size = KitePacketEncoder.packetSize(ticks.get(to));
+                if (size > 0) {
+                    packets++;
+                    length += size;
+                }
+            }
+            if (packets > 0) {
+                ByteBuffer buffer = ByteBuffer.allocate(length).order(ByteOrder.BIG_ENDIAN);
+                buffer.put(VERSION);
+                buffer.putLong(publishedAtMicros);
+                buffer.putShort((short) packets);
+                for (int i = from; i < to; i++) {
+                    KitePacketEncoder.putPacket(buffer, ticks.get(i));
+                }
+                messages.add(buffer.array());
+            }
+            from = to;
+        }
+        return messages;
+    }
+
+    /**
+     * @param message Encoded message
+     * @return Publication time of the message
+     * @throws IllegalArgumentException if the message is too short or of another version
+     */
+    public static Instant publishedAt(byte[] message) {
+        validate(message);
+        long micros = ByteBuffer.wrap(message, 1, Long.BYTES).order(ByteOrder.BIG_ENDIAN).getLong();
+        return Instant.EPOCH.plus(micros, ChronoUnit.MICROS);
+    }
+
+    /**
+     * @param message Encoded message
+     * @return Big-endian view of the Kite frame, as read by {@link KiteTickParser#decode}
+     * @throws IllegalArgumentException if the message is too short or of another version
+     */
+    public static ByteBuffer frame(byte[] message) {
+        validate(message);
+        return ByteBuffer.wrap(message, HEADER_SIZE, message.length - HEADER_SIZE).slice().order(ByteOrder.BIG_ENDIAN);
+    }
+
+    private static void validate(byte[] message) {
+        if (message.length < HEADER_SIZE + FRAME_COUNT_SIZE) {
+            throw new IllegalArgumentException("Tick fan-out message too short: " + message.length + " bytes");
+        }
+        if (message[0] != VERSION) {
+            throw new IllegalArgumentException("Unsupported tick fan-out message version " + message[0]);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.moneytree.socketengine.cluster;
+
+import com.moneytree.socketengine.domain.Tick;
+import com.moneytree.socketengine.pipeline.TickBatchHandler;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Pipeline consumer of the ingest node that fans every batch out to the edge nodes through the
+ * {@link ClusterBroker}, encoded with {@link TickFanoutCodec}.
+ *
+ * <p>Runs on its own pipeline thread like the cache and persistence consumers, so a slow broker
+ * only makes this consumer fall behind. Edge nodes skip it, as they receive ticks already fanned out.
+ *
+ * <p>Metrics: {@code socketengine.cluster.fanout.messages} and {@code socketengine.cluster.fanout.bytes}.
+ */
+@Component
+@ConditionalOnProperty(prefix = "socketengine.cluster", name = "enabled", havingValue = "true")
+@Slf4j
+public class TickFanoutPublisher implements TickBatchHandler {
+
+    private final ClusterBroker broker;
+    private final Counter messagesCounter;
+    private final Counter bytesCounter;
+
+    public TickFanoutPublisher(ClusterBroker broker, MeterRegistry meterRegistry) {
+        this.broker = broker;
+        this.messagesCounter = Counter.builder("socketengine.cluster.fanout.messages")
+            .description("Tick batch messages published to the edge nodes")
+            .register(meterRegistry);
+        this.bytesCounter = Counter.builder("socketengine.cluster.fanout.bytes")
+            .description("Bytes of tick batch messages published to the edge nodes")
+            .register(meterRegistry);
+    }
+
+    @Override
+    public String consumerName() {
+        return "fanout";
+    }
+
+    @Override
+    public boolean ingestOnly() {
+        return true;
+    }
+
+    /**
+     * Encodes the batch and publishes it. Broker failures are logged and the batch is lost for
+     * the edge nodes; they keep receiving the following batches.
+     *
+     * @param ticks The ticks to fan out
+     */
+    @Override
+    public void onBatch(List<Tick> ticks) {
+        try {
+            for (byte[] message : TickFanoutCodec.encode(ticks, Instant.now())) {
+                broker.publishTicks(message);
+                messagesCounter.increment();
+                bytesCounter.increment(message.length);
+            }
+        } catch (Exception e) {
+            log.error("Error fanning out {} ticks to edge nodes: {}", ticks.size(), e.getMessage());
+            // Don't rethrow - fan-out failures shouldn't affect other consumers
+        }
+    }
+}
@@ -0,0 +1,6 @@
+/**
+ * Split deployment layer (internal).
+ * Fans tick batches out from the ingest node to edge nodes over a broker and shares each node's
+ * sessions and client interest, so the edges scale clients while Kite sees one consumer.
+ */
+package com.moneytree.socketengine.cluster;
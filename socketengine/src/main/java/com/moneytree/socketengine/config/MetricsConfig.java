@@ -1,8 +1,9 @@
 package com.moneytree.socketengine.config;
 
 import com.moneytree.socketengine.broadcast.SessionManager;
-import com.moneytree.socketengine.kite.KiteWebSocketClient;
+import com.moneytree.socketengine.kite.TickSource;
 import com.moneytree.socketengine.persistence.TickBatchBuffer;
+import io.micrometer.core.instrument.FunctionCounter;
 import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.annotation.PostConstruct;
@@ -11,24 +12,25 @@ import org.springframework.context.annotation.Configuration;
 
 /**
  * Configuration for Micrometer metrics in SocketEngine.
- * Registers gauges for monitoring key system metrics.
+ * Registers gauges for monitoring key system metrics, and counters for totals that must never
+ * go down (such as ticks conflated), even when a session disconnects.
  */
 @Configuration
 @Slf4j
 public class MetricsConfig {
     
     private final MeterRegistry meterRegistry;
-    private final KiteWebSocketClient kiteClient;
+    private final TickSource tickSource;
     private final TickBatchBuffer tickBuffer;
     private final SessionManager sessionManager;
     
     public MetricsConfig(
             MeterRegistry meterRegistry,
-            KiteWebSocketClient kiteClient,
+            TickSource tickSource,
             TickBatchBuffer tickBuffer,
             SessionManager sessionManager) {
         this.meterRegistry = meterRegistry;
-        this.kiteClient = kiteClient;
+        this.tickSource = tickSource;
         this.tickBuffer = tickBuffer;
         this.sessionManager = sessionManager;
     }
@@ -41,7 +43,7 @@ public class MetricsConfig {
         log.info("Registering SocketEngine metrics");
         
         // Gauge for Kite connection status (1 = connected, 0 = disconnected)
-        Gauge.builder("socketengine.kite.connection.status", kiteClient, 
+        Gauge.builder("socketengine.kite.connection.status", tickSource, 
                 client -> client.isConnected() ? 1.0 : 0.0)
             .description("Kite WebSocket connection status (1=connected, 0=disconnected)")
             .register(meterRegistry);
@@ -58,6 +60,34 @@ public class MetricsConfig {
             .description("Number of active WebSocket client sessions")
             .register(meterRegistry);
         
+        // Counter for ticks replaced by newer ticks before being written to slow sessions
+        FunctionCounter.builder("socketengine.ticks.conflated", sessionManager,
+                manager -> manager.getConflatedTickCount())
+            .description("Ticks conflated across all WebSocket sessions since startup")
+            .register(meterRegistry);
+        
+        // Counter for ticks held back by per-symbol rate caps of sessions
+        FunctionCounter.builder("socketengine.ticks.throttled", sessionManager,
+                manager -> manager.getThrottledTickCount())
+            .description("Ticks replaced by a newer tick while held by session rate caps since startup")
+            .register(meterRegistry);
+        
+        // Counter and gauges for the bounded per-session outbound queues
+        FunctionCounter.builder("socketengine.ticks.dropped", sessionManager,
+                manager -> manager.getDroppedTickCount())
+            .description("Ticks dropped by full WebSocket outbound queues since startup")
+            .register(meterRegistry);
+        
+        Gauge.builder("socketengine.outbound.queue.depth", sessionManager, 
+                manager -> manager.getOutboundQueueDepth())
+            .description("Ticks queued for writing across active WebSocket sessions")
+            .register(meterRegistry);
+        
+        Gauge.builder("socketengine.outbound.queue.depth.max", sessionManager, 
+                manager -> manager.getMaxOutboundQueueDepth())
+            .description("Outbound queue depth of the most backlogged WebSocket session")
+            .register(meterRegistry);
+        
         // Note: Reconnection attempts are now handled internally by KiteTicker
         // No longer exposing this metric as it's managed by the official library
         
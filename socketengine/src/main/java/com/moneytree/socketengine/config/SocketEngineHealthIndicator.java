@@ -1,7 +1,7 @@
 package com.moneytree.socketengine.config;
 
 import com.moneytree.socketengine.broadcast.SessionManager;
-import com.moneytree.socketengine.kite.KiteWebSocketClient;
+import com.moneytree.socketengine.kite.TickSource;
 import com.moneytree.socketengine.persistence.TickBatchBuffer;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.actuate.health.Health;
@@ -28,17 +28,17 @@ public class SocketEngineHealthIndicator implements HealthIndicator {
     // Increased from 5x to 10x to account for normal accumulation during market hours and slow persistence
     private static final double BUFFER_CRITICAL_MULTIPLIER = 10.0;
     
-    private final KiteWebSocketClient kiteClient;
+    private final TickSource tickSource;
     private final TickBatchBuffer tickBuffer;
     private final SessionManager sessionManager;
     private final SocketEngineProperties properties;
     
     public SocketEngineHealthIndicator(
-            KiteWebSocketClient kiteClient,
+            TickSource tickSource,
             TickBatchBuffer tickBuffer,
             SessionManager sessionManager,
             SocketEngineProperties properties) {
-        this.kiteClient = kiteClient;
+        this.tickSource = tickSource;
         this.tickBuffer = tickBuffer;
         this.sessionManager = sessionManager;
         this.properties = properties;
@@ -47,7 +47,7 @@ public class SocketEngineHealthIndicator implements HealthIndicator {
     @Override
     public Health health() {
         try {
-            boolean kiteConnected = kiteClient.isConnected();
+            boolean kiteConnected = tickSource.isConnected();
             long bufferSize = tickBuffer.getBufferSize();
             int activeSessions = sessionManager.getActiveSessionCount();
             long maxBufferSize = properties.getPersistence().getMaxBufferSize();
@@ -1,13 +1,33 @@
 package com.moneytree.socketengine.config;
 
+import com.moneytree.socketengine.broadcast.OutboundMode;
+import com.moneytree.socketengine.broadcast.OverflowPolicy;
+import com.moneytree.socketengine.cluster.ClusterBrokerType;
+import com.moneytree.socketengine.domain.InstrumentType;
+import com.moneytree.socketengine.kite.SubscriptionMode;
+import com.moneytree.socketengine.kite.TickSourceType;
+import com.moneytree.socketengine.pipeline.WaitStrategyType;
+import com.moneytree.socketengine.redis.TickStoreType;
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
 import org.springframework.validation.annotation.Validated;
 
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Configuration properties for the SocketEngine module.
@@ -30,8 +50,33 @@ public class SocketEngineProperties {
     @NotNull
     private WebSocket webSocket = new WebSocket();
 
+    @Valid
+    @NotNull
+    private Pipeline pipeline = new Pipeline();
+
+    @Valid
+    @NotNull
+    private Source source = new Source();
+
+    @Valid
+    @NotNull
+    private Cluster cluster = new Cluster();
+
+    @Valid
+    @NotNull
+    private Groups groups = new Groups();
+
+    @Valid
+    @NotNull
+    private Cache cache = new Cache();
+
+    @Valid
+    @NotNull
+    private Intraday intraday = new Intraday();
+
     /**
-     * Kite API configuration
+     * Kite API configuration. Credentials are only needed by the live source and are checked
+     * when it starts, so replay runs without them.
      */
     @Data
     public static class Kite {
@@ -44,20 +89,70 @@ public class SocketEngineProperties {
         /**
          * Kite API key
          */
-        @NotBlank
         private String apiKey;
 
         /**
          * Kite API secret
          */
-        @NotBlank
         private String apiSecret;
 
         /**
          * Kite access token
          */
-        @NotBlank
         private String accessToken;
+
+        /**
+         * Minimum number of ticker connections to open. More are opened when the instrument
+         * set does not fit into this many connections.
+         */
+        @Positive
+        private int connections = 1;
+
+        /**
+         * Maximum number of instruments subscribed on a single ticker connection (Kite allows 3000)
+         */
+        @Positive
+        private int maxInstrumentsPerConnection = 3000;
+
+        @Valid
+        @NotNull
+        private Subscription subscription = new Subscription();
+    }
+
+    /**
+     * Demand-driven Kite subscription configuration
+     */
+    @Data
+    public static class Subscription {
+        /**
+         * Derive the subscribed instruments and their modes from client interest. When false,
+         * every instrument is subscribed in {@link #watchedMode}.
+         */
+        private boolean demandDriven = true;
+
+        /**
+         * Instrument types always subscribed so that persistence captures them, even unwatched
+         */
+        @NotNull
+        private Set<InstrumentType> persistTypes = EnumSet.allOf(InstrumentType.class);
+
+        /**
+         * Mode for instruments at least one client watches
+         */
+        @NotNull
+        private SubscriptionMode watchedMode = SubscriptionMode.FULL;
+
+        /**
+         * Mode for instruments subscribed only for persistence
+         */
+        @NotNull
+        private SubscriptionMode unwatchedMode = SubscriptionMode.LTP;
+
+        /**
+         * Quiet period after a client interest change before subscriptions are updated
+         */
+        @NotNull
+        private Duration debounce = Duration.ofMillis(500);
     }
 
     /**
@@ -105,5 +200,278 @@ public class SocketEngineProperties {
          * Allowed origins for CORS (comma-separated)
          */
         private String allowedOrigins = "*";
+
+        /**
+         * How ticks are handed to sessions: queued (bounded per-session queue drained by its own
+         * writer, slow sessions never hold back others) or direct (sent on the broadcast thread)
+         */
+        @NotNull
+        private OutboundMode outboundMode = OutboundMode.QUEUED;
+
+        /**
+         * Maximum ticks (or symbols, when conflating) queued per session
+         */
+        @Positive
+        private int outboundQueueCapacity = 1024;
+
+        /**
+         * What a full outbound queue does: conflate, drop_oldest or disconnect
+         */
+        @NotNull
+        private OverflowPolicy overflowPolicy = OverflowPolicy.CONFLATE;
+
+        /**
+         * With the disconnect policy, how long a queue may stay full before the session is closed
+         */
+        @NotNull
+        private Duration disconnectAfter = Duration.ofSeconds(10);
+
+        /**
+         * Endpoints whose sessions may ask for multi-tick frames with {@code ?batch=true}
+         * (queued mode only)
+         */
+        @NotNull
+        private Set<String> batchEndpoints = new HashSet<>(Set.of("/ws/indices/all", "/ws/stocks/nse/all"));
+
+        /**
+         * Shortest batching window, used under light load
+         */
+        @NotNull
+        private Duration batchWindowMin = Duration.ofMillis(50);
+
+        /**
+         * Longest batching window, reached under sustained bursts
+         */
+        @NotNull
+        private Duration batchWindowMax = Duration.ofMillis(250);
+
+        /**
+         * Most ticks per frame; a frame is sent as soon as this many are queued
+         */
+        @Positive
+        private int batchMaxTicks = 500;
+
+        /**
+         * How often a delta-mode session is sent a full snapshot of each instrument again, so a
+         * client that lost state resynchronizes
+         */
+        @NotNull
+        private Duration deltaKeyframeInterval = Duration.ofSeconds(30);
+
+        /**
+         * Resolution of the timer wheel releasing rate-capped ticks; caps are rounded up to it
+         */
+        @NotNull
+        private Duration throttleTick = Duration.ofMillis(10);
+    }
+
+    /**
+     * Tick pipeline configuration
+     */
+    @Data
+    public static class Pipeline {
+        /**
+         * Number of ring buffer slots (must be a power of two).
+         * A consumer that falls further behind than this skips the oldest ticks.
+         */
+        @Positive
+        private int ringSize = 65536;
+
+        /**
+         * Maximum number of ticks handed to a batch consumer in one call
+         */
+        @Positive
+        private int maxBatchSize = 4096;
+
+        /**
+         * Wait strategy used by consumers without an explicit override
+         */
+        @NotNull
+        private WaitStrategyType waitStrategy = WaitStrategyType.BLOCKING;
+
+        /**
+         * Per-consumer wait strategy overrides, keyed by consumer name (broadcast, cache, persistence)
+         */
+        @NotNull
+        private Map<String, WaitStrategyType> consumerWaitStrategies = new HashMap<>();
+
+        /**
+         * Stage latencies are recorded for roughly one in this many frames or batches (1 = all)
+         */
+        @Positive
+        private int latencySampleRate = 8;
+    }
+
+    /**
+     * Tick source configuration
+     */
+    @Data
+    public static class Source {
+        /**
+         * Active tick source
+         */
+        @NotNull
+        private TickSourceType type = TickSourceType.KITE;
+
+        /**
+         * File to append live Kite frames to for later replay (blank disables recording)
+         */
+        private String recordPath;
+
+        @Valid
+        @NotNull
+        private Replay replay = new Replay();
+    }
+
+    /**
+     * Replay source configuration
+     */
+    @Data
+    public static class Replay {
+        /**
+         * Frame recording to replay; when blank, rows from kite_ticks_data are replayed instead
+         */
+        private String path;
+
+        /**
+         * Replay speed relative to the recorded arrival times (1 = real time, 0 = as fast as possible)
+         */
+        @PositiveOrZero
+        private double speed = 1.0;
+
+        /**
+         * Maximum number of distinct instruments to replay (0 = all)
+         */
+        @PositiveOrZero
+        private int instrumentLimit = 0;
+
+        /**
+         * Start over when the end of the recording is reached
+         */
+        private boolean loop = false;
+
+        /**
+         * Start of the kite_ticks_data range to replay (defaults to one day before {@link #to})
+         */
+        private Instant from;
+
+        /**
+         * End of the kite_ticks_data range to replay (defaults to now)
+         */
+        private Instant to;
+    }
+
+    /**
+     * Split deployment configuration: one ingest node (source type kite or replay) fans tick
+     * batches out to edge nodes (source type edge) that serve the WebSocket clients
+     */
+    @Data
+    public static class Cluster {
+        /**
+         * Join the cluster: ingest nodes publish tick batches, every node publishes its sessions
+         * and client interest
+         */
+        private boolean enabled = false;
+
+        /**
+         * Transport for tick batches and node state
+         */
+        @NotNull
+        private ClusterBrokerType broker = ClusterBrokerType.REDIS;
+
+        /**
+         * Name of this node in the cluster (defaults to the host name)
+         */
+        private String nodeId;
+
+        /**
+         * Pub/sub channel carrying the encoded tick batches
+         */
+        @NotBlank
+        private String tickChannel = "socketengine:ticks";
+
+        /**
+         * How often each node republishes its state; a node missing three heartbeats is dropped
+         */
+        @NotNull
+        private Duration heartbeatInterval = Duration.ofSeconds(2);
+    }
+
+    /**
+     * Named instrument groups clients can subscribe to as a whole
+     */
+    @Data
+    public static class Groups {
+        /**
+         * Load index and sector constituents from nse_eq_sector_index, one group per index name
+         */
+        private boolean sectorIndices = true;
+
+        /**
+         * Further groups, e.g. saved screener results: group name to trading symbols. These
+         * replace a sector index group of the same name.
+         */
+        @NotNull
+        private Map<String, List<String>> definitions = new HashMap<>();
+
+        /**
+         * How often group membership is reloaded (ISO-8601, e.g. PT5M)
+         */
+        @NotNull
+        private Duration refreshInterval = Duration.ofMinutes(5);
+    }
+
+    /**
+     * Intraday Redis tick cache configuration
+     */
+    @Data
+    public static class Cache {
+        /**
+         * Tick store: list (one Redis list per symbol and day) or stream (one Redis stream per
+         * symbol and day, with O(result) time-window reads and consumer groups)
+         */
+        @NotNull
+        private TickStoreType store = TickStoreType.LIST;
+
+        /**
+         * Approximate number of entries a stream is trimmed to (stream store only)
+         */
+        @Positive
+        private long streamMaxLength = 1_000_000;
+
+        /**
+         * Consumer groups created on every stream so other nodes can tail it (stream store only)
+         */
+        @NotNull
+        private List<String> streamConsumerGroups = new ArrayList<>();
+    }
+
+    /**
+     * Local memory-mapped store of the current trading day's ticks
+     */
+    @Data
+    public static class Intraday {
+        /**
+         * Store ticks locally and serve today's ticks from the store instead of Redis
+         */
+        private boolean enabled = false;
+
+        /**
+         * Directory holding one subdirectory of segment files per trading day
+         */
+        @NotBlank
+        private String path = "data/intraday";
+
+        /**
+         * Disk space all days' segments may take; earlier days are deleted first to stay within it
+         */
+        @NotNull
+        private DataSize diskBudget = DataSize.ofGigabytes(4);
+
+        /**
+         * Size of each memory-mapped segment file
+         */
+        @NotNull
+        private DataSize segmentSize = DataSize.ofMegabytes(64);
     }
 }
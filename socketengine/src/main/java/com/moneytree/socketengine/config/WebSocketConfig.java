@@ -18,7 +18,8 @@ import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry
  * - /ws/indices/all: Automatic streaming of all NSE indices
  * - /ws/stocks/nse/all: Automatic streaming of all NSE equity stocks
  * 
- * Enables SockJS fallback for browsers without native WebSocket support.
+ * Each endpoint accepts plain WebSocket connections, which can negotiate the binary tick
+ * protocol, and SockJS fallback for browsers without native WebSocket support (JSON only).
  * Configures CORS allowed origins from application properties.
  */
 @Configuration
@@ -43,7 +44,8 @@ public class WebSocketConfig implements WebSocketConfigurer {
      * 
      * Configuration:
      * - Allowed origins: Configurable via socketengine.websocket.allowed-origins property
-     * - SockJS fallback: Enabled for browser compatibility
+     * - Plain WebSocket: Exact endpoint paths, JSON or binary tick protocol
+     * - SockJS fallback: Enabled for browser compatibility under the endpoint paths
      * 
      * Security:
      * - CORS origins should be restricted in production (not "*")
@@ -65,6 +67,14 @@ public class WebSocketConfig implements WebSocketConfigurer {
                     "This should be restricted in production environments.");
         }
         
+        // Plain WebSocket: required for binary frames, which SockJS cannot carry
+        registry.addHandler(tickWebSocketHandler, 
+                "/ws/indices",
+                "/ws/stocks",
+                "/ws/indices/all",
+                "/ws/stocks/nse/all")
+            .setAllowedOriginPatterns(origins);
+        
         registry.addHandler(tickWebSocketHandler, 
                 "/ws/indices",           // Selective index subscriptions
                 "/ws/stocks",            // Selective stock subscriptions
@@ -0,0 +1,30 @@
+package com.moneytree.socketengine.domain;
+
+import java.util.Set;
+
+/**
+ * Live client interest in instruments, used to decide which instruments the market data feed
+ * needs in which detail. Implemented by the WebSocket session registry.
+ */
+public interface InstrumentInterest {
+
+    /**
+     * @return Counter that changes whenever the interest changes, so callers can cheaply poll
+     */
+    long interestVersion();
+
+    /**
+     * @return Symbols explicitly subscribed by at least one client
+     */
+    Set<String> watchedSymbols();
+
+    /**
+     * @return true if a client receives every index tick
+     */
+    boolean watchesAllIndices();
+
+    /**
+     * @return true if a client receives every stock tick
+     */
+    boolean watchesAllStocks();
+}
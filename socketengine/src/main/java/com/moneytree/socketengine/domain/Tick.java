@@ -12,6 +12,16 @@ import java.time.Instant;
 @Value
 @Builder
 public class Tick {
+    /**
+     * Value of {@link #instrumentId} for instruments missing from the index
+     */
+    public static final int UNRESOLVED_INSTRUMENT_ID = -1;
+
+    /**
+     * Value of {@link #volume} for ticks that carry no volume (Kite LTP mode)
+     */
+    public static final long NO_VOLUME = -1;
+
     /**
      * Trading symbol (e.g., "NIFTY 50", "RELIANCE")
      */
@@ -21,7 +31,15 @@ public class Tick {
      * Unique numeric identifier for the instrument in Kite system
      */
     long instrumentToken;
-    
+
+    /**
+     * Dense instrument id assigned by the InstrumentIndex snapshot current at ingestion,
+     * or {@link #UNRESOLVED_INSTRUMENT_ID} if the token was unknown. Consumers re-validate it
+     * against {@link #instrumentToken} before using it as an array index.
+     */
+    @Builder.Default
+    int instrumentId = UNRESOLVED_INSTRUMENT_ID;
+
     /**
      * Type of instrument (INDEX or STOCK)
      */
@@ -31,6 +49,17 @@ public class Tick {
      * Timestamp when the tick was generated
      */
     Instant timestamp;
+
+    /**
+     * Exchange timestamp reported by Kite (second resolution), or null if the packet had none
+     */
+    Instant exchangeTimestamp;
+
+    /**
+     * {@link System#nanoTime()} when the tick's frame arrived, used as the origin for per-stage
+     * latency measurements; 0 if the tick did not come from a live or replayed frame
+     */
+    long receivedAtNanos;
     
     /**
      * Last traded price
@@ -38,21 +67,87 @@ public class Tick {
     double lastTradedPrice;
     
     /**
-     * Trading volume
+     * Trading volume, or {@link #NO_VOLUME} if the tick carried none
      */
     long volume;
     
     /**
-     * Open, High, Low, Close prices
+     * Open, High, Low, Close prices, or null if the tick carried none (Kite LTP mode)
      */
     OHLC ohlc;
+
+    /**
+     * Kite mode the tick was received in, which decides the fields it carries
+     */
+    @Builder.Default
+    Mode mode = Mode.FULL;
+
+    /**
+     * Quantity of the last trade (Quote and Full mode)
+     */
+    long lastTradedQuantity;
+
+    /**
+     * Average traded price of the day (Quote and Full mode)
+     */
+    double averageTradedPrice;
+
+    /**
+     * Total quantity pending on the buy side (Quote and Full mode)
+     */
+    long totalBuyQuantity;
+
+    /**
+     * Total quantity pending on the sell side (Quote and Full mode)
+     */
+    long totalSellQuantity;
+
+    /**
+     * Time of the last trade in epoch seconds, or 0 if the tick carried none (Full mode)
+     */
+    long lastTradedTime;
+
+    /**
+     * Open interest, with its day high and low (Full mode, derivatives only)
+     */
+    long openInterest;
+    long openInterestDayHigh;
+    long openInterestDayLow;
     
     /**
-     * Original binary data received from Kite WebSocket API.
-     * Stored for persistence to TimescaleDB without parsing overhead.
+     * Binary data received from Kite WebSocket API for this instrument only,
+     * as a single-packet Kite frame (never the whole multi-packet frame), or null for live
+     * ticks, whose packet is encoded from the fields above only by the consumers that need it.
      */
     byte[] rawBinaryData;
+
+    /**
+     * @return true if the tick carried a volume
+     */
+    public boolean hasVolume() {
+        return volume != NO_VOLUME;
+    }
     
+    /**
+     * Kite ticker modes, from least to most detail
+     */
+    public enum Mode {
+        /**
+         * Last traded price only
+         */
+        LTP,
+
+        /**
+         * Price, quantities, volume and OHLC, without open interest or the exchange timestamp
+         */
+        QUOTE,
+
+        /**
+         * Everything, including OHLC, open interest and the exchange timestamp
+         */
+        FULL
+    }
+
     /**
      * Nested value object for OHLC (Open, High, Low, Close) data
      */
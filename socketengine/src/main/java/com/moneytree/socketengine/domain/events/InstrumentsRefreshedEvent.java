@@ -0,0 +1,27 @@
+package com.moneytree.socketengine.domain.events;
+
+import com.moneytree.socketengine.domain.InstrumentInfo;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Domain event published after the instrument universe has been reloaded from the database.
+ * Ingestion listens for it to rebalance its Kite connection partitions.
+ * 
+ * @param instruments The complete instrument set after the refresh, indices first
+ * @param refreshedAt Timestamp when the refresh completed
+ */
+public record InstrumentsRefreshedEvent(
+    List<InstrumentInfo> instruments,
+    Instant refreshedAt
+) {
+    /**
+     * Convenience constructor that automatically sets refreshedAt to current time
+     * 
+     * @param instruments The complete instrument set after the refresh
+     */
+    public InstrumentsRefreshedEvent(List<InstrumentInfo> instruments) {
+        this(instruments, Instant.now());
+    }
+}
@@ -0,0 +1,28 @@
+package com.moneytree.socketengine.domain.events;
+
+import com.moneytree.socketengine.domain.Tick;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Domain event carrying every tick of one Kite frame.
+ * Published into the tick pipeline as a unit, so consumers pay per-frame costs
+ * (instrument snapshot reads, session lookups, Redis round trips) once per frame.
+ * 
+ * @param ticks The parsed ticks of the frame, in arrival order
+ * @param receivedAt Timestamp when the frame was received
+ */
+public record TickBatchReceivedEvent(
+    List<Tick> ticks,
+    Instant receivedAt
+) {
+    /**
+     * Convenience constructor that automatically sets receivedAt to current time
+     * 
+     * @param ticks The parsed ticks of the frame
+     */
+    public TickBatchReceivedEvent(List<Tick> ticks) {
+        this(ticks, Instant.now());
+    }
+}
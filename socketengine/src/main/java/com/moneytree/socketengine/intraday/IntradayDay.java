@@ -0,0 +1,392 @@
+package com.moneytree.socketengine.intraday;
+
+import com.moneytree.socketengine.domain.InstrumentType;
+import com.moneytree.socketengine.domain.Tick;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The ticks of one trading day, in memory-mapped segment files of one directory.
+ *
+ * <p>Segments ({@code segment-00000.dat}, ...) are fixed-size files split into chunks. A chunk
+ * belongs to one instrument and holds up to {@value #CHUNK_TICKS} of its ticks column by column,
+ * little-endian:
+ * <pre>
+ *   header (32 bytes): i32 magic, u32 instrument token, u8 type (0 = INDEX, 1 = STOCK),
+ *                      3 bytes padding, i32 tick count, 16 bytes reserved
+ *   i64[128] timestamps, epoch millis
+ *   i32[128] last traded price  \
+ *   i32[128] open                |  fixed point, price * {@value #PRICE_SCALE}
+ *   i32[128] high                |
+ *   i32[128] low                 |
+ *   i32[128] close              /
+ *   i64[128] volume ({@link Tick#NO_VOLUME} if the tick carried none)
+ *   u8[128]  flags ({@link #FLAG_OHLC} if the OHLC prices are present)
+ * </pre>
+ *
+ * <p>Chunks are handed out in file order as instruments fill them. Each instrument's chunk index
+ * (chunk numbers and the first timestamp of each) is kept on the heap, written by the pipeline
+ * thread only, and rebuilt from the chunk headers when the directory is reopened after a restart.
+ * Timestamps never go backwards within an instrument: a tick older than the instrument's last
+ * stored tick is stored at that tick's timestamp. Reads binary search the chunk index, then the
+ * timestamp column of the first chunk, and decode straight from the mapped files.
+ *
+ * <p>The tick count of a chunk is published with release semantics after the tick's columns are
+ * written, so readers on other threads never see a partly written tick.
+ */
+final class IntradayDay {
+
+    static final int CHUNK_TICKS = 128;
+    static final int CHUNK_BYTES = 32 + CHUNK_TICKS * (8 + 5 * 4 + 8 + 1);
+    static final int PRICE_SCALE = 100;
+    static final int FLAG_OHLC = 1;
+
+    private static final int MAGIC = 0x314B4954; // "TIK1"
+    private static final int MAGIC_OFFSET = 0;
+    private static final int TOKEN_OFFSET = 4;
+    private static final int TYPE_OFFSET = 8;
+    private static final int COUNT_OFFSET = 12;
+    private static final int TIME_OFFSET = 32;
+    private static final int LTP_OFFSET = TIME_OFFSET + CHUNK_TICKS * 8;
+    private static final int OPEN_OFFSET = LTP_OFFSET + CHUNK_TICKS * 4;
+    private static final int HIGH_OFFSET = OPEN_OFFSET + CHUNK_TICKS * 4;
+    private static final int LOW_OFFSET = HIGH_OFFSET + CHUNK_TICKS * 4;
+    private static final int CLOSE_OFFSET = LOW_OFFSET + CHUNK_TICKS * 4;
+    private static final int VOLUME_OFFSET = CLOSE_OFFSET + CHUNK_TICKS * 4;
+    private static final int FLAGS_OFFSET = VOLUME_OFFSET + CHUNK_TICKS * 8;
+    private static final byte INDEX = 0;
+    private static final byte STOCK = 1;
+
+    private static final VarHandle COUNT =
+        MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.LITTLE_ENDIAN);
+
+    private final String tradingDate;
+    private final Path directory;
+    private final long segmentBytes;
+    private final int chunksPerSegment;
+    private final Map<Long, Series> series = new ConcurrentHashMap<>();
+
+    // Grown by the pipeline thread only, before any chunk of a new segment is published
+    private volatile MappedByteBuffer[] segments = new MappedByteBuffer[0];
+    private int nextChunk;
+    private int maxSegments = Integer.MAX_VALUE;
+
+    private IntradayDay(String tradingDate, Path directory, long segmentBytes) {
+        this.tradingDate = tradingDate;
+        this.directory = directory;
+        this.chunksPerSegment = (int) Math.min(segmentBytes / CHUNK_BYTES, Integer.MAX_VALUE / CHUNK_BYTES);
+        this.segmentBytes = (long) chunksPerSegment * CHUNK_BYTES;
+        if (chunksPerSegment == 0) {
+            throw new IllegalArgumentException("Segment size " + segmentBytes + " is smaller than one chunk (" + CHUNK_BYTES + " bytes)");
+        }
+    }
+
+    /**
+     * Opens a trading day's directory, mapping the segments written before a restart and
+     * rebuilding the chunk index from their headers. Nothing is created until the first append.
+     *
+     * @param tradingDate Trading date (YYYY-MM-DD, IST)
+     * @param directory Directory of the day's segments
+     * @param segmentBytes Size of new segments; existing segments keep the size they were created with
+     * @return The opened day
+     * @throws IOException if an existing segment cannot be mapped
+     */
+    static IntradayDay open(String tradingDate, Path directory, long segmentBytes) throws IOException {
+        Path first = segmentPath(directory, 0);
+        IntradayDay day = new IntradayDay(tradingDate, directory,
+            Files.exists(first) ? Files.size(first) : segmentBytes);
+        day.reopen();
+        return day;
+    }
+
+    String tradingDate() {
+        return tradingDate;
+    }
+
+    Path directory() {
+        return directory;
+    }
+
+    /**
+     * @return Bytes of disk taken by the day's segments
+     */
+    long diskBytes() {
+        return segments.length * segmentBytes;
+    }
+
+    long segmentBytes() {
+        return segmentBytes;
+    }
+
+    /**
+     * Caps the number of segments the day may grow to (disk budget).
+     */
+    void setMaxSegments(int maxSegments) {
+        this.maxSegments = maxSegments;
+    }
+
+    /**
+     * Appends a tick to its instrument's last chunk, taking a new chunk when that one is full.
+     * Called from the pipeline thread only.
+     *
+     * @param tick Tick to store
+     * @return false if a new segment was needed but the disk budget does not allow one
+     * @throws IOException if a new segment could not be created
+     */
+    boolean append(Tick tick) throws IOException {
+        long token = tick.getInstrumentToken();
+        Series instrument = series.get(token);
+        if (instrument == null) {
+            instrument = new Series();
+            series.put(token, instrument);
+        }
+
+        long millis = tick.getTimestamp() != null ? tick.getTimestamp().toEpochMilli() : System.currentTimeMillis();
+        millis = Math.max(millis, instrument.lastMillis);
+
+        if (instrument.chunkCount == 0 || instrument.tailCount == CHUNK_TICKS) {
+            int chunk = allocateChunk(token, tick.getType());
+            if (chunk < 0) {
+                return false;
+            }
+            instrument.addChunk(chunk, millis);
+            instrument.tailCount = 0;
+        }
+
+        int chunk = instrument.chunks[instrument.chunkCount - 1];
+        MappedByteBuffer segment = segments[chunk / chunksPerSegment];
+        int base = (chunk % chunksPerSegment) * CHUNK_BYTES;
+        int i = instrument.tailCount;
+        Tick.OHLC ohlc = tick.getOhlc();
+        segment.putLong(base + TIME_OFFSET + i * 8, millis);
+        segment.putInt(base + LTP_OFFSET + i * 4, toFixedPoint(tick.getLastTradedPrice()));
+        segment.putInt(base + OPEN_OFFSET + i * 4, ohlc != null ? toFixedPoint(ohlc.getOpen()) : 0);
+        segment.putInt(base + HIGH_OFFSET + i * 4, ohlc != null ? toFixedPoint(ohlc.getHigh()) : 0);
+        segment.putInt(base + LOW_OFFSET + i * 4, ohlc != null ? toFixedPoint(ohlc.getLow()) : 0);
+        segment.putInt(base + CLOSE_OFFSET + i * 4, ohlc != null ? toFixedPoint(ohlc.getClose()) : 0);
+        segment.putLong(base + VOLUME_OFFSET + i * 8, tick.getVolume());
+        segment.put(base + FLAGS_OFFSET + i, (byte) (ohlc != null ? FLAG_OHLC : 0));
+        COUNT.setRelease(segment, base + COUNT_OFFSET, i + 1);
+
+        instrument.tailCount = i + 1;
+        instrument.lastMillis = millis;
+        return true;
+    }
+
+    /**
+     * Reads an instrument's ticks after a point in time, oldest first. Safe to call from any
+     * thread while the pipeline appends.
+     *
+     * @param instrumentToken Kite instrument token
+     * @param symbol Symbol set on the returned ticks
+     * @param fromMillis Only ticks after this epoch millis ({@link Long#MIN_VALUE} for all)
+     * @return Ticks, empty if the instrument has none
+     */
+    List<Tick> read(long instrumentToken, String symbol, long fromMillis) {
+        Series instrument = series.get(instrumentToken);
+        if (instrument == null) {
+            return Collections.emptyList();
+        }
+        int chunkCount = instrument.chunkCount;
+        int[] chunks = instrument.chunks;
+        long[] firstMillis = instrument.firstMillis;
+        MappedByteBuffer[] mapped = segments;
+
+        // The window starts in the last chunk beginning at or before fromMillis
+        int first = Math.max(upperBound(firstMillis, chunkCount, fromMillis) - 1, 0);
+        List<Tick> ticks = new ArrayList<>();
+        for (int c = first; c < chunkCount; c++) {
+            MappedByteBuffer segment = mapped[chunks[c] / chunksPerSegment];
+            int base = (chunks[c] % chunksPerSegment) * CHUNK_BYTES;
+            int count = (int) COUNT.getAcquire(segment, base + COUNT_OFFSET);
+            InstrumentType type = segment.get(base + TYPE_OFFSET) == INDEX ? InstrumentType.INDEX : InstrumentType.STOCK;
+            int i = c == first ? firstAfter(segment, base, count, fromMillis) : 0;
+            for (; i < count; i++) {
+                ticks.add(decode(segment, base, i, instrumentToken, symbol, type));
+            }
+        }
+        return ticks;
+    }
+
+    /**
+     * Flushes the mapped segments to disk.
+     */
+    void force() {
+        for (MappedByteBuffer segment : segments) {
+            segment.force();
+        }
+    }
+
+    private int allocateChunk(long token, InstrumentType type) throws IOException {
+        if (nextChunk == segments.length * chunksPerSegment) {
+            if (segments.length >= maxSegments) {
+                return -1;
+            }
+            addSegment();
+        }
+        int chunk = nextChunk++;
+        MappedByteBuffer segment = segments[chunk / chunksPerSegment];
+        int base = (chunk % chunksPerSegment) * CHUNK_BYTES;
+        segment.putInt(base + TOKEN_OFFSET, (int) token);
+        segment.put(base + TYPE_OFFSET, type == InstrumentType.INDEX ? INDEX : STOCK);
+        segment.putInt(base + MAGIC_OFFSET, MAGIC);
+        return chunk;
+    }
+
+    private void addSegment() throws IOException {
+        Files.createDirectories(directory);
+        Path path = segmentPath(directory, segments.length);
+        MappedByteBuffer segment;
+        try (FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentBytes);
+        }
+        segment.order(ByteOrder.LITTLE_ENDIAN);
+        MappedByteBuffer[] grown = Arrays.copyOf(segments, segments.length + 1);
+        grown[segments.length] = segment;
+        segments = grown;
+    }
+
+    /**
+     * Maps the existing segments and rebuilds each instrument's chunk index. Chunks are handed
+     * out in file order, so the first chunk without a header ends the scan.
+     */
+    private void reopen() throws IOException {
+        List<MappedByteBuffer> mapped = new ArrayList<>();
+        for (int n = 0; Files.exists(segmentPath(directory, n)); n++) {
+            try (FileChannel channel = FileChannel.open(segmentPath(directory, n),
+                    StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                MappedByteBuffer segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentBytes);
+                segment.order(ByteOrder.LITTLE_ENDIAN);
+                mapped.add(segment);
+            }
+        }
+        segments = mapped.toArray(new MappedByteBuffer[0]);
+
+        int totalChunks = segments.length * chunksPerSegment;
+        while (nextChunk < totalChunks) {
+            MappedByteBuffer segment = segments[nextChunk / chunksPerSegment];
+            int base = (nextChunk % chunksPerSegment) * CHUNK_BYTES;
+            if (segment.getInt(base + MAGIC_OFFSET) != MAGIC) {
+                break;
+            }
+            long token = Integer.toUnsignedLong(segment.getInt(base + TOKEN_OFFSET));
+            int count = segment.getInt(base + COUNT_OFFSET);
+            Series instrument = series.computeIfAbsent(token, t -> new Series());
+            instrument.addChunk(nextChunk, count > 0 ? segment.getLong(base + TIME_OFFSET) : instrument.lastMillis);
+            instrument.tailCount = count;
+            if (count > 0) {
+                instrument.lastMillis = segment.getLong(base + TIME_OFFSET + (count - 1) * 8);
+            }
+            nextChunk++;
+        }
+    }
+
+    private static Tick decode(MappedByteBuffer segment, int base, int i, long instrumentToken, String symbol, InstrumentType type) {
+        boolean hasOhlc = (segment.get(base + FLAGS_OFFSET + i) & FLAG_OHLC) != 0;
+        return Tick.builder()
+            .symbol(symbol)
+            .instrumentToken(instrumentToken)
+            .type(type)
+            .timestamp(Instant.ofEpochMilli(segment.getLong(base + TIME_OFFSET + i * 8)))
+            .lastTradedPrice(fromFixedPoint(segment.getInt(base + LTP_OFFSET + i * 4)))
+            .volume(segment.getLong(base + VOLUME_OFFSET + i * 8))
+            .ohlc(hasOhlc ? Tick.OHLC.builder()
+                .open(fromFixedPoint(segment.getInt(base + OPEN_OFFSET + i * 4)))
+                .high(fromFixedPoint(segment.getInt(base + HIGH_OFFSET + i * 4)))
+                .low(fromFixedPoint(segment.getInt(base + LOW_OFFSET + i * 4)))
+                .close(fromFixedPoint(segment.getInt(base + CLOSE_OFFSET + i * 4)))
+                .build() : null)
+            .build();
+    }
+
+    /**
+     * @return Index of the first of {@code count} sorted values greater than {@code millis}
+     */
+    private static int upperBound(long[] values, int count, long millis) {
+        int low = 0;
+        int high = count;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (values[mid] <= millis) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * @return Index of the chunk's first tick after {@code millis}
+     */
+    private static int firstAfter(MappedByteBuffer segment, int base, int count, long millis) {
+        int low = 0;
+        int high = count;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (segment.getLong(base + TIME_OFFSET + mid * 8) <= millis) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static Path segmentPath(Path directory, int n) {
+        return directory.resolve(String.format("segment-%05d.dat", n));
+    }
+
+    private static int toFixedPoint(double price) {
+        return (int) Math.round(price * PRICE_SCALE);
+    }
+
+    private static double fromFixedPoint(int value) {
+        return (double) value / PRICE_SCALE;
+    }
+
+    /**
+     * Chunk index of one instrument. The arrays and count are published for readers; the
+     * tail fields are used by the pipeline thread only.
+     */
+    private static final class Series {
+        private volatile int[] chunks = new int[4];
+        private volatile long[] firstMillis = new long[4];
+        private volatile int chunkCount;
+
+        private int tailCount;
+        private long lastMillis = Long.MIN_VALUE;
+
+        private void addChunk(int chunk, long first) {
+            int n = chunkCount;
+            if (n == chunks.length) {
+                int[] grownChunks = Arrays.copyOf(chunks, n * 2);
+                long[] grownFirstMillis = Arrays.copyOf(firstMillis, n * 2);
+                grownChunks[n] = chunk;
+                grownFirstMillis[n] = first;
+                chunks = grownChunks;
+                firstMillis = grownFirstMillis;
+            } else {
+                chunks[n] = chunk;
+                firstMillis[n] = first;
+            }
+            chunkCount = n + 1;
+        }
+    }
+}
@@ -0,0 +1,236 @@
+package com.moneytree.socketengine.intraday;
+
+import com.moneytree.socketengine.config.SocketEngineProperties;
+import com.moneytree.socketengine.domain.Tick;
+import com.moneytree.socketengine.kite.InstrumentIndex;
+import com.moneytree.socketengine.kite.InstrumentLoader;
+import com.moneytree.socketengine.pipeline.TickBatchHandler;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Local, memory-mapped store of the current trading day's ticks, serving
+ * {@code /api/ticks/today} without a network hop (see {@link IntradayDay} for the file layout).
+ *
+ * <p>Enabled with {@code socketengine.intraday.enabled}. Runs as the "intraday" consumer of the
+ * tick pipeline on every node, so edge nodes answer queries from their own disk as well. Each
+ * trading day (IST) gets its own directory under {@code socketengine.intraday.path}; the first
+ * batch after midnight rolls over to a new one. On startup, today's directory is reopened and
+ * its chunk index rebuilt, so a restarted node keeps the ticks it stored earlier in the day.
+ *
+ * <p>Segments of all days count against {@code socketengine.intraday.disk-budget}. When today
+ * needs a segment the budget has no room for, the directories of earlier days are deleted,
+ * oldest first; when only today is left, further ticks of the day are dropped and counted.
+ *
+ * <p>Metrics: {@code socketengine.intraday.ticks.stored}, {@code socketengine.intraday.ticks.dropped}
+ * and {@code socketengine.intraday.disk.bytes}.
+ */
+@Component
+@ConditionalOnProperty(prefix = "socketengine.intraday", name = "enabled", havingValue = "true")
+@Slf4j
+public class IntradayTickStore implements TickBatchHandler {
+
+    private static final ZoneId TRADING_ZONE = ZoneId.of("Asia/Kolkata");
+
+    private final SocketEngineProperties.Intraday config;
+    private final InstrumentLoader instrumentLoader;
+    private final Counter storedCounter;
+    private final Counter droppedCounter;
+
+    // Replaced by the pipeline thread only
+    private volatile IntradayDay day;
+    private boolean dayFull;
+
+    public IntradayTickStore(
+            SocketEngineProperties properties,
+            InstrumentLoader instrumentLoader,
+            MeterRegistry meterRegistry) {
+        this.config = properties.getIntraday();
+        this.instrumentLoader = instrumentLoader;
+        this.storedCounter = Counter.builder("socketengine.intraday.ticks.stored")
+            .description("Ticks stored in the local intraday store")
+            .register(meterRegistry);
+        this.droppedCounter = Counter.builder("socketengine.intraday.ticks.dropped")
+            .description("Ticks not stored in the local intraday store because the disk budget was used up")
+            .register(meterRegistry);
+        Gauge.builder("socketengine.intraday.disk.bytes", this, store -> store.day != null ? store.day.diskBytes() : 0)
+            .description("Bytes of disk taken by today's intraday segments")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Opens today's directory, reopening the segments of an earlier run of the same day.
+     *
+     * @throws IOException if the store directory cannot be created or a segment cannot be mapped
+     */
+    @PostConstruct
+    public void open() throws IOException {
+        Files.createDirectories(basePath());
+        openDay(getTradingDate());
+    }
+
+    @Override
+    public String consumerName() {
+        return "intraday";
+    }
+
+    /**
+     * Appends a batch of ticks to today's segments, rolling over to a new day first if the
+     * trading date changed.
+     *
+     * @param ticks Ticks of the batch
+     * @throws IOException if a new segment could not be created or the day could not be rolled over
+     */
+    @Override
+    public void onBatch(List<Tick> ticks) throws IOException {
+        String tradingDate = getTradingDate();
+        if (!tradingDate.equals(day.tradingDate())) {
+            day.force();
+            openDay(tradingDate);
+        }
+
+        IntradayDay current = day;
+        int stored = 0;
+        for (int i = 0, n = ticks.size(); i < n; i++) {
+            if (!dayFull && !current.append(ticks.get(i))) {
+                // Out of budget: make room by deleting earlier days, once per day
+                applyBudget();
+                dayFull = !current.append(ticks.get(i));
+                if (dayFull) {
+                    log.warn("Intraday store for {} reached the disk budget of {}, dropping further ticks of the day",
+                        tradingDate, config.getDiskBudget());
+                }
+            }
+            if (dayFull) {
+                droppedCounter.increment(n - i);
+                break;
+            }
+            stored++;
+        }
+        storedCounter.increment(stored);
+    }
+
+    /**
+     * Retrieves today's ticks for a symbol from the local store, optionally filtered by time window.
+     *
+     * @param symbol The trading symbol
+     * @param lastMinutes Optional time window in minutes (null = all ticks)
+     * @return Ticks oldest first, empty if the symbol is unknown or has not ticked today
+     */
+    public List<Tick> getTodayTicks(String symbol, Integer lastMinutes) {
+        IntradayDay current = day;
+        if (current == null || !current.tradingDate().equals(getTradingDate())) {
+            return Collections.emptyList();
+        }
+        InstrumentIndex index = instrumentLoader.getIndex();
+        int id = index.idOfSymbol(symbol);
+        if (id == InstrumentIndex.NOT_FOUND) {
+            return Collections.emptyList();
+        }
+        long cutoffMillis = lastMinutes != null
+            ? Instant.now().minus(Duration.ofMinutes(lastMinutes)).toEpochMilli()
+            : Long.MIN_VALUE;
+        return current.read(index.tokenAt(id), symbol, cutoffMillis);
+    }
+
+    /**
+     * Flushes today's segments to disk.
+     */
+    @PreDestroy
+    public void close() {
+        if (day != null) {
+            log.info("Closing intraday store for {} ({} bytes)", day.tradingDate(), day.diskBytes());
+            day.force();
+        }
+    }
+
+    private void openDay(String tradingDate) throws IOException {
+        IntradayDay opened = IntradayDay.open(tradingDate, basePath().resolve(tradingDate), config.getSegmentSize().toBytes());
+        day = opened;
+        dayFull = false;
+        applyBudget();
+        log.info("Opened intraday store for {} at {} ({} bytes)", tradingDate, opened.directory().toAbsolutePath(), opened.diskBytes());
+    }
+
+    /**
+     * Deletes earlier days, oldest first, until today can grow by a segment within the disk
+     * budget, then caps today's segments at what the budget leaves.
+     */
+    private void applyBudget() throws IOException {
+        IntradayDay current = day;
+        long budget = config.getDiskBudget().toBytes();
+        List<Path> earlierDays = new ArrayList<>();
+        try (Stream<Path> days = Files.list(basePath())) {
+            days.filter(Files::isDirectory)
+                .filter(path -> !path.equals(current.directory()))
+                .sorted(Comparator.comparing(path -> path.getFileName().toString()))
+                .forEach(earlierDays::add);
+        }
+
+        long earlierBytes = 0;
+        for (Path earlierDay : earlierDays) {
+            earlierBytes += directorySize(earlierDay);
+        }
+        while (!earlierDays.isEmpty() && earlierBytes + current.diskBytes() + current.segmentBytes() > budget) {
+            Path oldest = earlierDays.remove(0);
+            earlierBytes -= directorySize(oldest);
+            deleteDirectory(oldest);
+            log.info("Deleted intraday store {} to stay within the disk budget", oldest.getFileName());
+        }
+        current.setMaxSegments((int) Math.min(Math.max(budget - earlierBytes, 0) / current.segmentBytes(), Integer.MAX_VALUE));
+    }
+
+    private Path basePath() {
+        return Path.of(config.getPath());
+    }
+
+    private static long directorySize(Path directory) throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            long size = 0;
+            for (Path file : (Iterable<Path>) files::iterator) {
+                if (Files.isRegularFile(file)) {
+                    size += Files.size(file);
+                }
+            }
+            return size;
+        }
+    }
+
+    private static void deleteDirectory(Path directory) throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    /**
+     * Gets the current trading date in IST timezone.
+     *
+     * @return Trading date in YYYY-MM-DD format
+     */
+    private String getTradingDate() {
+        return ZonedDateTime.now(TRADING_ZONE)
+            .toLocalDate()
+            .toString();
+    }
+}
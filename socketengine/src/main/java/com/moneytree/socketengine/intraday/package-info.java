@@ -0,0 +1,5 @@
+/**
+ * Local intraday tick store (internal).
+ * Keeps the current trading day's ticks in memory-mapped columnar files on local disk.
+ */
+package com.moneytree.socketengine.intraday;
@@ -0,0 +1,220 @@
+package com.moneytree.socketengine.kite;
+
+import com.moneytree.socketengine.domain.InstrumentInfo;
+import com.moneytree.socketengine.domain.InstrumentType;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable snapshot of instrument metadata optimised for per-tick lookups.
+ *
+ * <p>Every instrument gets a dense id (0..size-1) in load order. Metadata is stored as
+ * struct-of-arrays indexed by that id, and instrument tokens are mapped to ids through an
+ * open-addressing {@code long -> int} table with linear probing, so lookups never box the token.
+ *
+ * <p>The hot path resolves a token once per packet with {@link #idOf(long)} and passes the
+ * dense id downstream on the Tick. Consumers re-validate that id against the token with
+ * {@link #resolve(int, long)}, because {@link InstrumentLoader} may have published a newer
+ * snapshot in between.
+ *
+ * <p>Trading symbols are mapped to ids as well ({@link #idOfSymbol(String)}), for subscription
+ * changes that arrive by symbol; that lookup hashes the string and is not meant for per-tick use.
+ */
+public final class InstrumentIndex {
+
+    /**
+     * Dense id returned for tokens that are not part of the snapshot
+     */
+    public static final int NOT_FOUND = -1;
+
+    /**
+     * Exchange recorded for instruments loaded by {@link InstrumentLoader} (NSE only for now)
+     */
+    public static final String DEFAULT_EXCHANGE = "NSE";
+
+    /**
+     * Empty snapshot used before instruments are loaded
+     */
+    public static final InstrumentIndex EMPTY = build(List.of());
+
+    // Open-addressing token -> dense id table; a slot holding NOT_FOUND is empty
+    private final long[] keys;
+    private final int[] ids;
+    private final int mask;
+
+    // Struct-of-arrays instrument metadata, indexed by dense id
+    private final long[] tokens;
+    private final String[] symbols;
+    private final InstrumentType[] types;
+    private final String[] exchanges;
+    private final InstrumentInfo[] infos;
+
+    // Trading symbol -> dense id, first occurrence wins
+    private final Map<String, Integer> symbolIds = new HashMap<>();
+
+    private InstrumentIndex(int size, int capacity) {
+        this.keys = new long[capacity];
+        this.ids = new int[capacity];
+        this.mask = capacity - 1;
+        this.tokens = new long[size];
+        this.symbols = new String[size];
+        this.types = new InstrumentType[size];
+        this.exchanges = new String[size];
+        this.infos = new InstrumentInfo[size];
+        Arrays.fill(ids, NOT_FOUND);
+    }
+
+    /**
+     * Builds a snapshot from the given instruments. Dense ids follow list order; if a token
+     * appears more than once, the first occurrence wins.
+     *
+     * @param instruments Instruments to index
+     * @return Immutable snapshot
+     */
+    public static InstrumentIndex build(List<InstrumentInfo> instruments) {
+        // Keep the load factor at or below 0.5 for short probe sequences
+        int capacity = Integer.highestOneBit(Math.max(4, instruments.size() * 2 - 1)) << 1;
+        InstrumentIndex index = new InstrumentIndex(instruments.size(), capacity);
+
+        int size = 0;
+        for (InstrumentInfo info : instruments) {
+            if (index.insert(info.getInstrumentToken(), size)) {
+                index.tokens[size] = info.getInstrumentToken();
+                index.symbols[size] = info.getTradingSymbol();
+                index.types[size] = info.getType();
+                index.exchanges[size] = DEFAULT_EXCHANGE;
+                index.infos[size] = info;
+                index.symbolIds.putIfAbsent(info.getTradingSymbol(), size);
+                size++;
+            }
+        }
+        return size == instruments.size() ? index : index.trimmed(size);
+    }
+
+    private boolean insert(long token, int id) {
+        int slot = hash(token) & mask;
+        while (ids[slot] != NOT_FOUND) {
+            if (keys[slot] == token) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = token;
+        ids[slot] = id;
+        return true;
+    }
+
+    private InstrumentIndex trimmed(int size) {
+        InstrumentIndex copy = new InstrumentIndex(size, keys.length);
+        System.arraycopy(keys, 0, copy.keys, 0, keys.length);
+        System.arraycopy(ids, 0, copy.ids, 0, ids.length);
+        System.arraycopy(tokens, 0, copy.tokens, 0, size);
+        System.arraycopy(symbols, 0, copy.symbols, 0, size);
+        System.arraycopy(types, 0, copy.types, 0, size);
+        System.arraycopy(exchanges, 0, copy.exchanges, 0, size);
+        System.arraycopy(infos, 0, copy.infos, 0, size);
+        copy.symbolIds.putAll(symbolIds);
+        return copy;
+    }
+
+    /**
+     * Mixes the token bits (MurmurHash3 finalizer) so sequential tokens spread across the table.
+     */
+    private static int hash(long token) {
+        long h = token;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        return (int) h;
+    }
+
+    /**
+     * Looks up the dense id for an instrument token without boxing.
+     *
+     * @param instrumentToken Kite instrument token
+     * @return Dense id, or {@link #NOT_FOUND} if the token is unknown
+     */
+    public int idOf(long instrumentToken) {
+        int slot = hash(instrumentToken) & mask;
+        int id;
+        while ((id = ids[slot]) != NOT_FOUND) {
+            if (keys[slot] == instrumentToken) {
+                return id;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return NOT_FOUND;
+    }
+
+    /**
+     * Looks up the dense id of a trading symbol.
+     *
+     * @param symbol Trading symbol (may be null)
+     * @return Dense id, or {@link #NOT_FOUND} if no instrument has the symbol
+     */
+    public int idOfSymbol(String symbol) {
+        Integer id = symbol != null ? symbolIds.get(symbol) : null;
+        return id != null ? id : NOT_FOUND;
+    }
+
+    /**
+     * Validates a dense id carried on a tick against this snapshot, falling back to a
+     * token lookup if the id was assigned by a different snapshot or not assigned at all.
+     *
+     * @param instrumentId Dense id carried downstream (may be {@link #NOT_FOUND})
+     * @param instrumentToken Instrument token of the same tick
+     * @return Dense id in this snapshot, or {@link #NOT_FOUND}
+     */
+    public int resolve(int instrumentId, long instrumentToken) {
+        if (instrumentId >= 0 && instrumentId < tokens.length && tokens[instrumentId] == instrumentToken) {
+            return instrumentId;
+        }
+        return idOf(instrumentToken);
+    }
+
+    /**
+     * @return Number of instruments in the snapshot
+     */
+    public int size() {
+        return tokens.length;
+    }
+
+    public long tokenAt(int id) {
+        return tokens[id];
+    }
+
+    public String symbolAt(int id) {
+        return symbols[id];
+    }
+
+    public InstrumentType typeAt(int id) {
+        return types[id];
+    }
+
+    public String exchangeAt(int id) {
+        return exchanges[id];
+    }
+
+    public InstrumentInfo infoAt(int id) {
+        return infos[id];
+    }
+
+    /**
+     * @param id Dense id (may be {@link #NOT_FOUND})
+     * @return true if the id refers to an index instrument
+     */
+    public boolean isIndex(int id) {
+        return id >= 0 && types[id] == InstrumentType.INDEX;
+    }
+
+    /**
+     * @param id Dense id (may be {@link #NOT_FOUND})
+     * @return true if the id refers to a stock instrument
+     */
+    public boolean isStock(int id) {
+        return id >= 0 && types[id] == InstrumentType.STOCK;
+    }
+}
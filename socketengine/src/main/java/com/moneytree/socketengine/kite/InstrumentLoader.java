@@ -4,7 +4,9 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.moneytree.socketengine.domain.InstrumentInfo;
 import com.moneytree.socketengine.domain.InstrumentType;
+import com.moneytree.socketengine.domain.events.InstrumentsRefreshedEvent;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Component;
@@ -12,18 +14,17 @@ import org.springframework.stereotype.Component;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 import java.util.Objects;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 /**
  * Component responsible for loading instrument metadata from the database
- * and caching it in Redis for fast access. Maintains in-memory maps for
- * quick lookups during tick processing.
+ * and caching it in Redis for fast access. Publishes an immutable
+ * {@link InstrumentIndex} snapshot for allocation-free lookups during tick processing.
  * 
  * Instruments are loaded on startup and cached in Redis with 1-day TTL.
- * The cache can be manually refreshed via the admin endpoint.
+ * The cache can be manually refreshed via the admin endpoint, which publishes an
+ * {@link InstrumentsRefreshedEvent} so ingestion can rebalance its subscriptions.
  */
 @Component
 @Slf4j
@@ -36,18 +37,20 @@ public class InstrumentLoader {
     private final JdbcTemplate jdbcTemplate;
     private final RedisTemplate<String, String> redisTemplate;
     private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
     
-    // In-memory maps for fast lookups during tick processing
-    private final Map<Long, InstrumentInfo> indicesMap = new ConcurrentHashMap<>();
-    private final Map<Long, InstrumentInfo> stocksMap = new ConcurrentHashMap<>();
+    // Immutable snapshot for fast lookups during tick processing, swapped atomically on (re)load
+    private volatile InstrumentIndex index = InstrumentIndex.EMPTY;
     
     public InstrumentLoader(
             JdbcTemplate jdbcTemplate,
             RedisTemplate<String, String> redisTemplate,
-            ObjectMapper objectMapper) {
+            ObjectMapper objectMapper,
+            ApplicationEventPublisher eventPublisher) {
         this.jdbcTemplate = jdbcTemplate;
         this.redisTemplate = redisTemplate;
         this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
     }
     
     /**
@@ -57,20 +60,23 @@ public class InstrumentLoader {
      * @return List of all loaded instruments
      */
     public List<InstrumentInfo> loadAllInstruments() {
-        loadIndices();
-        loadStocks();
-        
-        List<InstrumentInfo> all = new ArrayList<>();
-        all.addAll(indicesMap.values());
-        all.addAll(stocksMap.values());
+        return instrumentsOf(publish(loadIndices(), loadStocks()));
+    }
+    
+    private static List<InstrumentInfo> instrumentsOf(InstrumentIndex snapshot) {
+        List<InstrumentInfo> all = new ArrayList<>(snapshot.size());
+        for (int id = 0; id < snapshot.size(); id++) {
+            all.add(snapshot.infoAt(id));
+        }
         return all;
     }
     
     /**
      * Loads NSE indices from Redis cache or database.
-     * Populates the indicesMap for fast lookups.
+     * 
+     * @return List of index instruments
      */
-    private void loadIndices() {
+    private List<InstrumentInfo> loadIndices() {
         // Try to load from Redis cache first
         List<InstrumentInfo> indices = loadFromCache(INDICES_CACHE_KEY);
         
@@ -81,9 +87,7 @@ public class InstrumentLoader {
         } else {
             log.info("Loaded {} NSE indices from cache", indices.size());
         }
-        
-        // Populate in-memory map
-        indices.forEach(info -> indicesMap.put(info.getInstrumentToken(), info));
+        return indices;
     }
     
     /**
@@ -116,9 +120,10 @@ public class InstrumentLoader {
     
     /**
      * Loads NSE equity stocks from Redis cache or database.
-     * Populates the stocksMap for fast lookups.
+     * 
+     * @return List of stock instruments
      */
-    private void loadStocks() {
+    private List<InstrumentInfo> loadStocks() {
         // Try to load from Redis cache first
         List<InstrumentInfo> stocks = loadFromCache(STOCKS_CACHE_KEY);
         
@@ -129,9 +134,7 @@ public class InstrumentLoader {
         } else {
             log.info("Loaded {} NSE equity stocks from cache", stocks.size());
         }
-        
-        // Populate in-memory map
-        stocks.forEach(info -> stocksMap.put(info.getInstrumentToken(), info));
+        return stocks;
     }
     
     /**
@@ -244,10 +247,25 @@ public class InstrumentLoader {
         }
     }
     
+    /**
+     * Builds a new index from the given instruments and publishes it in one volatile write,
+     * so readers always see either the old or the new snapshot, never a partially filled one.
+     * Indices come first, so a token listed as both resolves to the index entry.
+     */
+    private InstrumentIndex publish(List<InstrumentInfo> indices, List<InstrumentInfo> stocks) {
+        List<InstrumentInfo> all = new ArrayList<>(indices.size() + stocks.size());
+        all.addAll(indices);
+        all.addAll(stocks);
+        InstrumentIndex built = InstrumentIndex.build(all);
+        this.index = built;
+        return built;
+    }
+    
     /**
      * Manually refresh instrument cache from database.
      * Can be called via admin endpoint or scheduled job.
-     * Clears existing in-memory maps and reloads from database.
+     * Reloads from database, swaps in a new index snapshot and publishes an
+     * {@link InstrumentsRefreshedEvent} with the new instrument set.
      */
     public void refreshCache() {
         log.info("Manually refreshing instrument cache");
@@ -255,16 +273,25 @@ public class InstrumentLoader {
         // Reload indices
         List<InstrumentInfo> indices = loadIndicesFromDatabase();
         cacheInstruments(INDICES_CACHE_KEY, indices);
-        indicesMap.clear();
-        indices.forEach(info -> indicesMap.put(info.getInstrumentToken(), info));
         
         // Reload stocks
         List<InstrumentInfo> stocks = loadStocksFromDatabase();
         cacheInstruments(STOCKS_CACHE_KEY, stocks);
-        stocksMap.clear();
-        stocks.forEach(info -> stocksMap.put(info.getInstrumentToken(), info));
         
+        InstrumentIndex refreshed = publish(indices, stocks);
         log.info("Instrument cache refreshed successfully");
+        
+        eventPublisher.publishEvent(new InstrumentsRefreshedEvent(instrumentsOf(refreshed)));
+    }
+    
+    /**
+     * Returns the current instrument snapshot. Hot paths should read it once per frame
+     * or batch and resolve tokens through it rather than calling the per-token methods below.
+     * 
+     * @return Current immutable instrument index
+     */
+    public InstrumentIndex getIndex() {
+        return index;
     }
     
     /**
@@ -274,7 +301,8 @@ public class InstrumentLoader {
      * @return true if the token represents an index, false otherwise
      */
     public boolean isIndexToken(long instrumentToken) {
-        return indicesMap.containsKey(instrumentToken);
+        InstrumentIndex current = index;
+        return current.isIndex(current.idOf(instrumentToken));
     }
     
     /**
@@ -284,21 +312,19 @@ public class InstrumentLoader {
      * @return true if the token represents a stock, false otherwise
      */
     public boolean isStockToken(long instrumentToken) {
-        return stocksMap.containsKey(instrumentToken);
+        InstrumentIndex current = index;
+        return current.isStock(current.idOf(instrumentToken));
     }
     
     /**
      * Retrieves instrument information for the given token.
-     * Searches both indices and stocks maps.
      * 
      * @param instrumentToken Instrument token to look up
      * @return InstrumentInfo if found, null otherwise
      */
     public InstrumentInfo getInstrumentInfo(long instrumentToken) {
-        InstrumentInfo info = indicesMap.get(instrumentToken);
-        if (info == null) {
-            info = stocksMap.get(instrumentToken);
-        }
-        return info;
+        InstrumentIndex current = index;
+        int id = current.idOf(instrumentToken);
+        return id == InstrumentIndex.NOT_FOUND ? null : current.infoAt(id);
     }
 }
@@ -0,0 +1,82 @@
+package com.moneytree.socketengine.kite;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Splits the instrument token set across Kite ticker connections.
+ *
+ * <p>Partitioning is sticky: a token that is still wanted stays on the connection that already
+ * carries it, so a refresh only subscribes new tokens and unsubscribes removed ones instead of
+ * reshuffling the whole universe. New tokens go to the least loaded connection.
+ */
+final class InstrumentPartitioner {
+
+    private InstrumentPartitioner() {
+    }
+
+    /**
+     * Computes the number of connections needed for the given instrument count.
+     *
+     * @param instrumentCount Number of distinct instruments to subscribe
+     * @param minConnections Configured minimum number of connections
+     * @param maxPerConnection Maximum instruments per connection
+     * @return Number of connections to keep open
+     */
+    static int connectionsFor(int instrumentCount, int minConnections, int maxPerConnection) {
+        int required = (instrumentCount + maxPerConnection - 1) / maxPerConnection;
+        return Math.max(Math.max(1, minConnections), required);
+    }
+
+    /**
+     * Rebalances the token set across connections, keeping existing assignments where possible.
+     *
+     * @param current Tokens currently assigned to each connection, by connection index
+     * @param tokens Complete token set after the refresh
+     * @param minConnections Configured minimum number of connections
+     * @param maxPerConnection Maximum instruments per connection
+     * @return Tokens to assign to each connection; connections beyond the returned size are closed
+     */
+    static List<Set<Long>> rebalance(
+            List<? extends Set<Long>> current,
+            Collection<Long> tokens,
+            int minConnections,
+            int maxPerConnection) {
+        Set<Long> wanted = new LinkedHashSet<>(tokens);
+        int count = connectionsFor(wanted.size(), minConnections, maxPerConnection);
+
+        List<Set<Long>> partitions = new ArrayList<>(count);
+        Set<Long> assigned = new LinkedHashSet<>(wanted.size());
+        for (int i = 0; i < count; i++) {
+            Set<Long> partition = new LinkedHashSet<>();
+            if (i < current.size()) {
+                for (Long token : current.get(i)) {
+                    if (partition.size() < maxPerConnection && wanted.contains(token) && assigned.add(token)) {
+                        partition.add(token);
+                    }
+                }
+            }
+            partitions.add(partition);
+        }
+
+        for (Long token : wanted) {
+            if (!assigned.contains(token)) {
+                leastLoaded(partitions).add(token);
+            }
+        }
+        return partitions;
+    }
+
+    private static Set<Long> leastLoaded(List<Set<Long>> partitions) {
+        Set<Long> smallest = partitions.get(0);
+        for (Set<Long> partition : partitions) {
+            if (partition.size() < smallest.size()) {
+                smallest = partition;
+            }
+        }
+        return smallest;
+    }
+}
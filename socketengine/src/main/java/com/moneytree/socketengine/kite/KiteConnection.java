@@ -0,0 +1,292 @@
+package com.moneytree.socketengine.kite;
+
+import com.zerodhatech.kiteconnect.kitehttp.exceptions.KiteException;
+import com.zerodhatech.models.Tick;
+import com.zerodhatech.ticker.KiteTicker;
+import com.zerodhatech.ticker.OnConnect;
+import com.zerodhatech.ticker.OnDisconnect;
+import com.zerodhatech.ticker.OnError;
+import com.zerodhatech.ticker.OnTicks;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * One Kite ticker connection carrying a partition of the instrument set.
+ *
+ * <p>Each connection owns its own {@link KiteTicker}, and therefore its own WebSocket receive
+ * thread; frames are handed to the shared frame handler on that thread. Every instrument of the
+ * partition carries its {@link SubscriptionMode}. The partition can be changed while connected,
+ * in which case only the difference is subscribed, unsubscribed or switched to its new mode.
+ *
+ * <p>Metrics are tagged with {@code connection=<id>}:
+ * <ul>
+ *   <li>{@code socketengine.kite.connection.ticks} - ticks received</li>
+ *   <li>{@code socketengine.kite.connection.reconnects} - connections re-established after the first</li>
+ *   <li>{@code socketengine.kite.connection.lag} - milliseconds between the newest exchange
+ *       timestamp of the last frame and its arrival</li>
+ *   <li>{@code socketengine.kite.connection.instruments} - instruments in the partition</li>
+ * </ul>
+ */
+@Slf4j
+class KiteConnection {
+
+    private final int id;
+    private final KiteTicker ticker;
+    private final Consumer<ArrayList<Tick>> frameHandler;
+    private final MeterRegistry meterRegistry;
+    private final Counter ticksCounter;
+    private final Counter reconnectsCounter;
+    private final List<Meter> meters = new ArrayList<>();
+
+    // Guarded by this; the receive thread and rebalancing both touch the subscription
+    private Map<Long, SubscriptionMode> modes = new LinkedHashMap<>();
+    private boolean everConnected = false;
+
+    private volatile boolean connected = false;
+    private volatile boolean shouldReconnect = true;
+    private volatile long lagMillis = 0;
+
+    KiteConnection(int id, KiteTicker ticker, Consumer<ArrayList<Tick>> frameHandler, MeterRegistry meterRegistry) {
+        this.id = id;
+        this.ticker = ticker;
+        this.frameHandler = frameHandler;
+        this.meterRegistry = meterRegistry;
+
+        String tag = String.valueOf(id);
+        this.ticksCounter = Counter.builder("socketengine.kite.connection.ticks")
+            .description("Ticks received on a Kite ticker connection")
+            .tag("connection", tag)
+            .register(meterRegistry);
+        this.reconnectsCounter = Counter.builder("socketengine.kite.connection.reconnects")
+            .description("Times a Kite ticker connection was re-established")
+            .tag("connection", tag)
+            .register(meterRegistry);
+        meters.add(ticksCounter);
+        meters.add(reconnectsCounter);
+        meters.add(Gauge.builder("socketengine.kite.connection.lag", this, c -> c.lagMillis)
+            .description("Milliseconds between the exchange timestamp and arrival of the last frame")
+            .tag("connection", tag)
+            .baseUnit("milliseconds")
+            .register(meterRegistry));
+        meters.add(Gauge.builder("socketengine.kite.connection.instruments", this, KiteConnection::getInstrumentCount)
+            .description("Instruments subscribed on a Kite ticker connection")
+            .tag("connection", tag)
+            .register(meterRegistry));
+    }
+
+    /**
+     * Registers listeners and opens the connection. The partition is subscribed once connected.
+     */
+    void connect() {
+        ticker.setTryReconnection(true);
+
+        ticker.setOnConnectedListener(new OnConnect() {
+            @Override
+            public void onConnected() {
+                handleConnected();
+            }
+        });
+
+        ticker.setOnDisconnectedListener(new OnDisconnect() {
+            @Override
+            public void onDisconnected() {
+                handleDisconnected();
+            }
+        });
+
+        ticker.setOnTickerArrivalListener(new OnTicks() {
+            @Override
+            public void onTicks(ArrayList<Tick> ticks) {
+                handleTicks(ticks);
+            }
+        });
+
+        ticker.setOnErrorListener(new OnError() {
+            @Override
+            public void onError(Exception exception) {
+                handleError(exception.getMessage(), exception);
+            }
+
+            @Override
+            public void onError(String error) {
+                handleError(error, null);
+            }
+
+            @Override
+            public void onError(KiteException kiteException) {
+                handleError(kiteException.message, kiteException);
+            }
+        });
+
+        log.info("Connecting Kite ticker connection #{} for {} instruments", id, getInstrumentCount());
+        ticker.connect();
+    }
+
+    /**
+     * Disconnects without reconnecting and removes this connection's meters.
+     */
+    void close() {
+        shouldReconnect = false;
+        try {
+            ticker.setTryReconnection(false);
+            ticker.disconnect();
+        } catch (Exception e) {
+            log.error("Error disconnecting Kite ticker connection #{}", id, e);
+        }
+        connected = false;
+        meters.forEach(meterRegistry::remove);
+    }
+
+    /**
+     * Replaces the partition. If the connection is open, only added tokens are subscribed,
+     * removed ones unsubscribed and tokens whose mode changed switched to their new mode.
+     *
+     * @param partition Tokens this connection should carry, with their mode
+     */
+    synchronized void assign(Map<Long, SubscriptionMode> partition) {
+        ArrayList<Long> added = new ArrayList<>();
+        Map<SubscriptionMode, ArrayList<Long>> modeChanges = new EnumMap<>(SubscriptionMode.class);
+        partition.forEach((token, mode) -> {
+            SubscriptionMode current = modes.get(token);
+            if (current == null) {
+                added.add(token);
+            } else if (current != mode) {
+                modeChanges.computeIfAbsent(mode, m -> new ArrayList<>()).add(token);
+            }
+        });
+        ArrayList<Long> removed = new ArrayList<>();
+        for (Long token : modes.keySet()) {
+            if (!partition.containsKey(token)) {
+                removed.add(token);
+            }
+        }
+        modes = new LinkedHashMap<>(partition);
+
+        if (connected) {
+            if (!removed.isEmpty()) {
+                ticker.unsubscribe(removed);
+            }
+            subscribe(added);
+            modeChanges.forEach((mode, tokens) -> ticker.setMode(tokens, mode.kiteMode()));
+        }
+        int changed = modeChanges.values().stream().mapToInt(List::size).sum();
+        if (!added.isEmpty() || !removed.isEmpty() || changed > 0) {
+            log.info("Kite ticker connection #{} updated: +{} -{} instruments, {} mode changes (now {})",
+                id, added.size(), removed.size(), changed, modes.size());
+        }
+    }
+
+    private synchronized void handleConnected() {
+        connected = true;
+        if (everConnected) {
+            reconnectsCounter.increment();
+            log.info("✅ Kite ticker connection #{} re-established", id);
+        } else {
+            everConnected = true;
+            log.info("✅ Kite ticker connection #{} established", id);
+        }
+        // Subscriptions do not survive a reconnect, so always send the whole partition
+        subscribe(new ArrayList<>(modes.keySet()));
+    }
+
+    private void handleDisconnected() {
+        connected = false;
+        log.warn("❌ Kite ticker connection #{} disconnected{}", id,
+            shouldReconnect ? ", waiting for KiteTicker to reconnect" : "");
+    }
+
+    private void handleTicks(ArrayList<Tick> ticks) {
+        long receivedAt = System.currentTimeMillis();
+        long newest = 0;
+        for (Tick tick : ticks) {
+            if (tick.getTickTimestamp() != null) {
+                newest = Math.max(newest, tick.getTickTimestamp().getTime());
+            }
+        }
+        if (newest > 0) {
+            lagMillis = Math.max(0, receivedAt - newest);
+        }
+        ticksCounter.increment(ticks.size());
+        frameHandler.accept(ticks);
+    }
+
+    private void handleError(String message, Throwable ex) {
+        String errorMessage = message != null ? message.toLowerCase() : "";
+
+        // Check for authentication failures
+        if (errorMessage.contains("401") ||
+            errorMessage.contains("unauthorized") ||
+            errorMessage.contains("authentication")) {
+
+            log.error("❌ Kite authentication failed on connection #{} - stopping reconnection attempts. " +
+                     "Please check API credentials.", id, ex);
+            connected = false;
+            shouldReconnect = false;
+            ticker.setTryReconnection(false);
+
+        } else {
+            log.error("❌ Kite ticker connection #{} error: {}", id, message, ex);
+        }
+    }
+
+    private void subscribe(ArrayList<Long> added) {
+        if (added.isEmpty()) {
+            return;
+        }
+        ticker.subscribe(added);
+        // Kite subscribes in quote mode by default, so set every token's planned mode
+        Map<SubscriptionMode, ArrayList<Long>> byMode = new EnumMap<>(SubscriptionMode.class);
+        for (Long token : added) {
+            byMode.computeIfAbsent(modes.get(token), m -> new ArrayList<>()).add(token);
+        }
+        byMode.forEach((mode, tokens) -> ticker.setMode(tokens, mode.kiteMode()));
+    }
+
+    int getId() {
+        return id;
+    }
+
+    boolean isConnected() {
+        return connected;
+    }
+
+    boolean isShouldReconnect() {
+        return shouldReconnect;
+    }
+
+    long getLagMillis() {
+        return lagMillis;
+    }
+
+    synchronized Set<Long> getTokens() {
+        return new LinkedHashSet<>(modes.keySet());
+    }
+
+    synchronized SubscriptionMode getMode(long token) {
+        return modes.get(token);
+    }
+
+    synchronized int getInstrumentCount() {
+        return modes.size();
+    }
+
+    double getTicksReceived() {
+        return ticksCounter.count();
+    }
+
+    double getReconnects() {
+        return reconnectsCounter.count();
+    }
+}
@@ -0,0 +1,127 @@
+package com.moneytree.socketengine.kite;
+
+import com.moneytree.socketengine.domain.InstrumentType;
+import com.moneytree.socketengine.domain.Tick;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Encodes live ticks back into Kite's binary packet format.
+ *
+ * <p>KiteTicker parses frames internally and does not expose the raw bytes, so live ticks carry
+ * no {@link Tick#getRawBinaryData()}. The consumers that need packets (persistence, the frame
+ * recorder and the cluster fan-out) encode them here, off the ticker's receive thread, in the
+ * layout of the tick's {@link Tick#getMode() mode}: an LTP tick becomes a 10-byte LTP packet, a
+ * Quote tick a Quote packet and a Full tick a Full packet, exactly as {@link KiteTickParser}
+ * reads them. Decoding therefore yields only the fields the tick was received with; Quote
+ * packets have no OHLC, so the OHLC KiteTicker reports in Quote mode is not kept. Ticks that
+ * already carry the packet they were decoded from are passed through unchanged.
+ *
+ * <p>The tradable flag is not part of the domain tick and is encoded as false for indices, which
+ * Kite does not trade, and true for everything else.
+ *
+ * <p>Like a frame straight from Kite, a Full packet's timestamp field holds the exchange
+ * timestamp (epoch seconds). The live domain tick, and with it {@code kite_ticks_data.tick_timestamp},
+ * is stamped with the frame's arrival time instead, so a decoded row can report an earlier,
+ * whole-second time than its {@code tick_timestamp} column. The arrival time is only encoded
+ * for Full ticks without an exchange timestamp. LTP and Quote packets carry no timestamp.
+ */
+public final class KitePacketEncoder {
+
+    private static final int FRAME_COUNT_SIZE = 2;
+
+    private KitePacketEncoder() {
+    }
+
+    /**
+     * Returns the tick's packet as a single-packet frame.
+     *
+     * @param tick Domain tick
+     * @return The tick's raw binary data if it has any, otherwise a new frame holding one packet
+     *         in the layout of the tick's mode
+     */
+    public static byte[] packetFrame(Tick tick) {
+        if (tick.getRawBinaryData() != null) {
+            return tick.getRawBinaryData();
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(FRAME_COUNT_SIZE + packetSize(tick)).order(ByteOrder.BIG_ENDIAN);
+        buffer.putShort((short) 1);
+        putPacket(buffer, tick);
+        return buffer.array();
+    }
+
+    /**
+     * @param tick Domain tick
+     * @return Size in bytes of the packet {@link #putPacket} writes for the tick, 0 if none
+     */
+    public static int packetSize(Tick tick) {
+        byte[] raw = tick.getRawBinaryData();
+        if (raw != null) {
+            return raw.length > FRAME_COUNT_SIZE ? raw.length - FRAME_COUNT_SIZE : 0;
+        }
+        return switch (tick.getMode()) {
+            case LTP -> KiteTickParser.LTP_PACKET_SIZE;
+            case QUOTE -> KiteTickParser.QUOTE_PACKET_SIZE;
+            case FULL -> KiteTickParser.FULL_PACKET_SIZE;
+        };
+    }
+
+    /**
+     * Writes the tick's packet, without a packet count, at the buffer's position: the packet
+     * of its raw binary data if it has any, otherwise its fields in the layout of its mode.
+     *
+     * @param buffer Big-endian destination with at least {@link #packetSize} bytes remaining
+     * @param tick Domain tick
+     */
+    public static void putPacket(ByteBuffer buffer, Tick tick) {
+        byte[] raw = tick.getRawBinaryData();
+        if (raw != null) {
+            if (raw.length > FRAME_COUNT_SIZE) {
+                // The tick carries a single-packet frame; strip its packet count
+                buffer.put(raw, FRAME_COUNT_SIZE, raw.length - FRAME_COUNT_SIZE);
+            }
+            return;
+        }
+
+        Tick.Mode mode = tick.getMode();
+        int packetMode = switch (mode) {
+            case LTP -> KiteTickParser.MODE_LTP;
+            case QUOTE -> KiteTickParser.MODE_QUOTE;
+            case FULL -> KiteTickParser.MODE_FULL;
+        };
+        buffer.putInt((int) tick.getInstrumentToken());
+        buffer.put((byte) (tick.getType() != InstrumentType.INDEX ? 1 : 0));
+        buffer.put((byte) packetMode);
+        buffer.putInt(toFixedPoint(tick.getLastTradedPrice()));
+        if (mode == Tick.Mode.LTP) {
+            return;
+        }
+
+        buffer.putInt((int) tick.getLastTradedQuantity());
+        buffer.putInt(toFixedPoint(tick.getAverageTradedPrice()));
+        buffer.putInt(tick.hasVolume() ? (int) tick.getVolume() : 0);
+        buffer.putInt((int) tick.getTotalBuyQuantity());
+        buffer.putInt((int) tick.getTotalSellQuantity());
+        if (mode == Tick.Mode.QUOTE) {
+            return;
+        }
+
+        Tick.OHLC ohlc = tick.getOhlc();
+        buffer.putInt(ohlc != null ? toFixedPoint(ohlc.getOpen()) : 0);
+        buffer.putInt(ohlc != null ? toFixedPoint(ohlc.getHigh()) : 0);
+        buffer.putInt(ohlc != null ? toFixedPoint(ohlc.getLow()) : 0);
+        buffer.putInt(ohlc != null ? toFixedPoint(ohlc.getClose()) : 0);
+        buffer.putInt((int) tick.getLastTradedTime());
+        buffer.putInt((int) tick.getOpenInterest());
+        buffer.putInt((int) tick.getOpenInterestDayHigh());
+        buffer.putInt((int) tick.getOpenInterestDayLow());
+        buffer.putInt((int) (tick.getExchangeTimestamp() != null
+            ? tick.getExchangeTimestamp().getEpochSecond()
+            : tick.getTimestamp() != null ? tick.getTimestamp().getEpochSecond() : 0));
+    }
+
+    private static int toFixedPoint(double price) {
+        return (int) Math.round(price * KiteTickView.PRICE_SCALE);
+    }
+}
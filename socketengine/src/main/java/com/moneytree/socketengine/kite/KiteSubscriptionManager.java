@@ -0,0 +1,143 @@
+package com.moneytree.socketengine.kite;
+
+import com.moneytree.socketengine.config.SocketEngineProperties;
+import com.moneytree.socketengine.domain.InstrumentInfo;
+import com.moneytree.socketengine.domain.InstrumentInterest;
+import com.moneytree.socketengine.domain.InstrumentType;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Decides which instruments the Kite feed subscribes to and in which {@link SubscriptionMode}.
+ *
+ * <p>The required set is the always-on persistence set ({@code persist-types}) plus every
+ * instrument a client watches, either explicitly or through an {@code /all} endpoint. Watched
+ * instruments get {@code watched-mode} (FULL), persistence-only instruments are downgraded to
+ * {@code unwatched-mode} (LTP) and everything else is not subscribed at all.
+ *
+ * <p>Client interest is polled through {@link InstrumentInterest#interestVersion()}. A re-plan
+ * becomes due once the interest has been quiet for {@code debounce}, or at the latest after four
+ * debounce periods of continuous change, so a burst of subscribe messages turns into one set of
+ * incremental subscribe, unsubscribe and mode-change calls.
+ *
+ * <p>Metrics: {@code socketengine.kite.subscriptions{mode}} - instruments planned per mode.
+ */
+@Component
+@ConditionalOnProperty(prefix = "socketengine.source", name = "type", havingValue = "kite", matchIfMissing = true)
+@Slf4j
+public class KiteSubscriptionManager {
+
+    private static final int MAX_DEBOUNCE_PERIODS = 4;
+
+    private final SocketEngineProperties.Subscription config;
+    private final InstrumentInterest interest;
+    private final int[] plannedPerMode = new int[SubscriptionMode.values().length];
+
+    // Guarded by this
+    private long plannedVersion = -1;
+    private long seenVersion = -1;
+    private long seenAtNanos = 0;
+    private long pendingSinceNanos = 0;
+
+    public KiteSubscriptionManager(
+            SocketEngineProperties properties,
+            InstrumentInterest interest,
+            MeterRegistry meterRegistry) {
+        this.config = properties.getKite().getSubscription();
+        this.interest = interest;
+
+        for (SubscriptionMode mode : SubscriptionMode.values()) {
+            Gauge.builder("socketengine.kite.subscriptions", plannedPerMode, counts -> counts[mode.ordinal()])
+                .description("Kite instruments subscribed per mode")
+                .tag("mode", mode.name())
+                .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Computes the required subscription for the given instrument universe from the current
+     * client interest.
+     *
+     * @param instruments All known instruments
+     * @return Mode per instrument token to subscribe, in instrument order
+     */
+    public synchronized Map<Long, SubscriptionMode> plan(List<InstrumentInfo> instruments) {
+        long version = interest.interestVersion();
+        Map<Long, SubscriptionMode> plan = new LinkedHashMap<>();
+
+        if (!config.isDemandDriven()) {
+            instruments.forEach(instrument -> plan.put(instrument.getInstrumentToken(), config.getWatchedMode()));
+        } else {
+            Set<String> watched = interest.watchedSymbols();
+            boolean allIndices = interest.watchesAllIndices();
+            boolean allStocks = interest.watchesAllStocks();
+            Set<InstrumentType> persistTypes = config.getPersistTypes();
+
+            for (InstrumentInfo instrument : instruments) {
+                InstrumentType type = instrument.getType();
+                if (watched.contains(instrument.getTradingSymbol())
+                        || (allIndices && type == InstrumentType.INDEX)
+                        || (allStocks && type == InstrumentType.STOCK)) {
+                    plan.put(instrument.getInstrumentToken(), config.getWatchedMode());
+                } else if (persistTypes.contains(type)) {
+                    plan.put(instrument.getInstrumentToken(), config.getUnwatchedMode());
+                }
+            }
+        }
+
+        int[] counts = new int[plannedPerMode.length];
+        plan.values().forEach(mode -> counts[mode.ordinal()]++);
+        System.arraycopy(counts, 0, plannedPerMode, 0, counts.length);
+        plannedVersion = version;
+        seenVersion = version;
+
+        log.debug("Planned Kite subscriptions for interest version {}: {} instruments (LTP {}, QUOTE {}, FULL {})",
+            version, plan.size(), counts[SubscriptionMode.LTP.ordinal()],
+            counts[SubscriptionMode.QUOTE.ordinal()], counts[SubscriptionMode.FULL.ordinal()]);
+        return plan;
+    }
+
+    /**
+     * Checks whether client interest changed since the last plan and has settled.
+     * Called periodically; cheap when nothing changed.
+     *
+     * @return true if {@link #plan} should be called again
+     */
+    public synchronized boolean isReplanDue() {
+        if (!config.isDemandDriven()) {
+            return false;
+        }
+        long version = interest.interestVersion();
+        if (version == plannedVersion) {
+            return false;
+        }
+
+        long now = System.nanoTime();
+        if (seenVersion == plannedVersion) {
+            pendingSinceNanos = now;
+        }
+        if (version != seenVersion) {
+            seenVersion = version;
+            seenAtNanos = now;
+        }
+        long debounceNanos = config.getDebounce().toNanos();
+        return now - seenAtNanos >= debounceNanos
+            || now - pendingSinceNanos >= debounceNanos * MAX_DEBOUNCE_PERIODS;
+    }
+
+    /**
+     * @param mode Subscription mode
+     * @return Instruments planned in the given mode by the last plan
+     */
+    public synchronized int getPlannedCount(SubscriptionMode mode) {
+        return plannedPerMode[mode.ordinal()];
+    }
+}
@@ -2,7 +2,6 @@ package com.moneytree.socketengine.kite;
 
 import com.moneytree.socketengine.domain.InstrumentType;
 import com.moneytree.socketengine.domain.Tick;
-// We'll create a utility method to use Kite's parsing logic
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
@@ -47,6 +46,13 @@ import java.util.List;
  * <p>All multi-byte integers are in big-endian (network byte order).
  * Prices are sent as integers and need to be divided by 100 to get actual price.
  * 
+ * <p>Two decoding modes are supported:
+ * <ul>
+ *   <li>{@link #decode} - flyweight mode, repositions a reusable {@link KiteTickView}
+ *       over each packet without allocating per tick</li>
+ *   <li>{@link #parse} - materializes an immutable {@link Tick} per packet for cold paths</li>
+ * </ul>
+ * 
  * @see <a href="https://kite.trade/docs/connect/v3/websocket/">Kite WebSocket Documentation</a>
  */
 @Component
@@ -55,22 +61,36 @@ import java.util.List;
 public class KiteTickParser {
     
     private final InstrumentLoader instrumentLoader;
-    private int debugMessageCount = 0;
     
-    // Packet mode constants (as defined in Kite Connect API)
-    private static final int MODE_LTP = 1;
-    private static final int MODE_QUOTE = 2;
-    private static final int MODE_FULL = 3;
+    // Packet mode constants (as defined in Kite Connect API), shared with KitePacketEncoder
+    static final int MODE_LTP = 1;
+    static final int MODE_QUOTE = 2;
+    static final int MODE_FULL = 3;
+    
+    // Packet layout constants (bytes, including the 6-byte token/tradable/mode header)
+    static final int PACKET_HEADER_SIZE = 6;                      // 4 (token) + 1 (tradable) + 1 (mode)
+    static final int LTP_PACKET_SIZE = 10;                        // header + 4 (ltp)
+    private static final int QUOTE_MIN_PACKET_SIZE = 26;          // header + 5 mandatory quote fields
+    static final int QUOTE_PACKET_SIZE = 30;                      // header + 6 quote fields
+    private static final int FULL_MIN_PACKET_SIZE = 46;           // header + 10 mandatory full fields
+    static final int FULL_PACKET_SIZE = 66;                       // header + 15 full fields
     
-    // Packet size constants (after 2-byte header)
-    private static final int LTP_PACKET_SIZE = 10;     // 4 (token) + 1 (tradable) + 1 (mode) + 4 (ltp)
-    private static final int QUOTE_PACKET_SIZE = 30;   // LTP + 20 bytes additional quote fields
-    private static final int FULL_PACKET_SIZE = 50;    // Quote + 20 bytes additional full fields
+    /**
+     * Callback invoked for every packet decoded in flyweight mode.
+     * The view passed in is reused for the next packet once the callback returns.
+     */
+    @FunctionalInterface
+    public interface TickVisitor {
+        void visit(KiteTickView view);
+    }
     
     /**
      * Parses binary tick data from Kite WebSocket into a list of Tick domain objects.
      * Based on the official Kite Connect Java library implementation.
      * 
+     * <p>This materializes one immutable Tick per packet and is meant for cold paths.
+     * Hot paths should use {@link #decode(ByteBuffer, KiteTickView, TickVisitor)} instead.
+     * 
      * @param binaryData Raw binary data received from Kite WebSocket
      * @return List of parsed Tick objects
      * @throws TickParseException if the binary data is malformed or cannot be parsed
@@ -80,45 +100,73 @@ public class KiteTickParser {
             throw new TickParseException("Binary data is null or too short (minimum 2 bytes required)");
         }
         
+        // Frame arrival time is taken once and shared by all packets without an exchange timestamp
+        Instant receivedAt = Instant.now();
+        long receivedAtNanos = System.nanoTime();
+        InstrumentIndex index = instrumentLoader.getIndex();
+        List<Tick> ticks = new ArrayList<>();
+        decode(ByteBuffer.wrap(binaryData), new KiteTickView(),
+            view -> ticks.add(materialize(view, index, receivedAt, receivedAtNanos)));
+        return ticks;
+    }
+    
+    /**
+     * Decodes a binary Kite frame in flyweight mode.
+     * 
+     * <p>No objects are allocated per packet: the supplied view is repositioned on each packet
+     * of the frame and handed to the visitor. The frame is read with absolute offsets through one
+     * big-endian duplicate per frame, so its position, limit and byte order are left untouched.
+     * 
+     * @param frame Buffer holding one Kite frame starting at its current position
+     * @param view Reusable view owned by the calling thread
+     * @param visitor Callback invoked once per decoded packet
+     * @return Number of packets handed to the visitor
+     * @throws TickParseException if the frame header is malformed
+     */
+    public int decode(ByteBuffer frame, KiteTickView view, TickVisitor visitor) {
+        if (frame == null || frame.remaining() < 2) {
+            throw new TickParseException("Binary data is null or too short (minimum 2 bytes required)");
+        }
+        
         try {
-            // CRITICAL FIX: Use the exact same approach as official Kite Java library
-            ByteBuffer buffer = ByteBuffer.wrap(binaryData);
-            buffer.order(ByteOrder.BIG_ENDIAN); // Kite uses big-endian
+            // Kite uses big-endian; read through a view so the caller's byte order is kept
+            ByteBuffer buffer = frame.duplicate().order(ByteOrder.BIG_ENDIAN);
             
-            // Read number of packets (2 bytes)
-            int packetCount = buffer.getShort() & 0xFFFF;
+            int position = buffer.position();
+            int limit = buffer.limit();
             
-            if (debugMessageCount < 3) {
-                debugMessageCount++;
-                log.info("🔍 KITE PARSING DEBUG #{}: packet count: {}, data length: {}", 
-                    debugMessageCount, packetCount, binaryData.length);
-            }
+            // Read number of packets (2 bytes)
+            int packetCount = buffer.getShort(position) & 0xFFFF;
+            position += 2;
             
             if (packetCount <= 0 || packetCount > 1000) {
                 throw new TickParseException("Invalid packet count: " + packetCount);
             }
             
-            List<Tick> ticks = new ArrayList<>(packetCount);
-            
-            // Parse each packet
+            int decoded = 0;
             for (int i = 0; i < packetCount; i++) {
-                if (buffer.remaining() < 6) {
-                    log.warn("Insufficient data for packet {}, remaining: {}", i, buffer.remaining());
+                if (limit - position < PACKET_HEADER_SIZE) {
+                    log.warn("Insufficient data for packet {}, remaining: {}", i, limit - position);
                     break;
                 }
                 
+                int packetLength = decodePacket(buffer, position, limit, view);
+                if (packetLength <= 0) {
+                    // Packet length is unknown, so the rest of the frame cannot be located reliably
+                    break;
+                }
+                position += packetLength;
+                
                 try {
-                    Tick tick = parseKitePacket(buffer, binaryData);
-                    if (tick != null) {
-                        ticks.add(tick);
-                    }
+                    visitor.visit(view);
+                    decoded++;
                 } catch (Exception e) {
-                    log.warn("Error parsing packet {}: {}", i, e.getMessage());
+                    log.warn("Error processing packet {}: {}", i, e.getMessage());
                     // Continue with next packet
                 }
             }
             
-            return ticks;
+            return decoded;
             
         } catch (TickParseException e) {
             throw e;
@@ -128,224 +176,163 @@ public class KiteTickParser {
     }
     
     /**
-     * Parses a single tick packet from the buffer using Kite's exact binary format.
-     * Based on the official Kite Connect Java library implementation.
+     * Materializes the packet currently held by the view into an immutable Tick,
+     * resolving the trading symbol and instrument type from the instrument loader.
      * 
-     * @param buffer ByteBuffer positioned at the start of a packet
-     * @param originalData Original binary data for storage
-     * @return Parsed Tick object, or null if packet should be skipped
+     * @param view View positioned on a decoded packet
+     * @param receivedAt Frame arrival time, used for packets without an exchange timestamp
+     * @return Immutable tick
      */
-    private Tick parseKitePacket(ByteBuffer buffer, byte[] originalData) {
-        // Read instrument token (4 bytes, big-endian)
-        long instrumentToken = buffer.getInt() & 0xFFFFFFFFL;
-        
-        // Read tradable flag (1 byte) - indicates if instrument is tradable
-        byte tradable = buffer.get();
-        
-        // Read mode (1 byte) - determines packet structure
-        int mode = buffer.get() & 0xFF;
-        
-        if (debugMessageCount <= 3) {
-            log.info("🔍 KITE PACKET: token={}, tradable={}, mode={}, remaining={}", 
-                instrumentToken, tradable, mode, buffer.remaining());
-        }
-        
-        // Parse based on mode (official Kite approach)
-        switch (mode) {
-            case MODE_LTP:
-                return parseKiteLTPMode(buffer, instrumentToken, originalData);
-            case MODE_QUOTE:
-                return parseKiteQuoteMode(buffer, instrumentToken, originalData);
-            case MODE_FULL:
-                return parseKiteFullMode(buffer, instrumentToken, originalData);
-            default:
-                log.warn("Unknown mode {} for instrument {}, skipping packet", mode, instrumentToken);
-                return null;
-        }
+    public Tick materialize(KiteTickView view, Instant receivedAt) {
+        return materialize(view, instrumentLoader.getIndex(), receivedAt, 0L);
     }
     
     /**
-     * Parses LTP mode packet (4 bytes after instrument token and mode).
-     * Based on official Kite Connect Java library.
+     * Materializes the packet currently held by the view and stamps it with the frame's
+     * {@link System#nanoTime()} arrival time for latency measurements.
+     * 
+     * @param view View positioned on a decoded packet
+     * @param receivedAt Frame arrival time, used for packets without an exchange timestamp
+     * @param receivedAtNanos {@link System#nanoTime()} at frame arrival
+     * @return Immutable tick
      */
-    private Tick parseKiteLTPMode(ByteBuffer buffer, long instrumentToken, byte[] originalData) {
-        if (buffer.remaining() < 4) {
-            log.warn("Insufficient data for LTP mode, remaining: {}", buffer.remaining());
-            return null;
-        }
-        
-        // LTP packet: last_price (4 bytes)
-        int rawPrice = buffer.getInt();
-        double lastPrice = rawPrice / 100.0;
-        
-        if (debugMessageCount <= 3) {
-            log.info("🔍 KITE LTP: token={}, rawPrice={}, price={}", instrumentToken, rawPrice, lastPrice);
-        }
-        
-        return buildTick(instrumentToken, lastPrice, 0, 0, 0, 0, 0, Instant.now(), originalData);
+    public Tick materialize(KiteTickView view, Instant receivedAt, long receivedAtNanos) {
+        return materialize(view, instrumentLoader.getIndex(), receivedAt, receivedAtNanos);
     }
     
     /**
-     * Parses Quote mode packet (20 bytes after instrument token and mode).
-     * Based on official Kite Connect Java library.
+     * Materializes the packet currently held by the view, resolving the instrument token
+     * against the given snapshot. Callers decoding a whole frame read the snapshot once
+     * and pass it here for every packet.
      */
-    private Tick parseKiteQuoteMode(ByteBuffer buffer, long instrumentToken, byte[] originalData) {
-        if (buffer.remaining() < 20) {
-            log.warn("Insufficient data for Quote mode, remaining: {}", buffer.remaining());
-            return null;
-        }
+    private Tick materialize(KiteTickView view, InstrumentIndex index, Instant receivedAt, long receivedAtNanos) {
+        long instrumentToken = view.getInstrumentToken();
+        int instrumentId = index.idOf(instrumentToken);
         
-        // Quote packet structure (after token, tradable, mode):
-        // last_price (4), last_quantity (4), average_price (4), volume (4), buy_quantity (4), sell_quantity (4)
-        int rawLastPrice = buffer.getInt();
-        int rawLastQuantity = buffer.getInt();
-        int rawAvgPrice = buffer.getInt();
-        int rawVolume = buffer.getInt();
-        int rawBuyQuantity = buffer.getInt();
-        
-        // Skip sell_quantity if not enough data
-        if (buffer.remaining() >= 4) {
-            int rawSellQuantity = buffer.getInt();
-        }
-        
-        double lastPrice = rawLastPrice / 100.0;
-        long lastQuantity = rawLastQuantity & 0xFFFFFFFFL;
-        double avgPrice = rawAvgPrice / 100.0;
-        long volume = rawVolume & 0xFFFFFFFFL;
-        long buyQuantity = rawBuyQuantity & 0xFFFFFFFFL;
-        
-        if (debugMessageCount <= 3) {
-            log.info("🔍 KITE QUOTE: token={}, rawPrice={}, price={}, volume={}", 
-                instrumentToken, rawLastPrice, lastPrice, volume);
+        if (instrumentId == InstrumentIndex.NOT_FOUND) {
+            // Fallback if instrument not found
+            log.warn("Instrument token {} not found in loader, using token as symbol", instrumentToken);
+            return view.materialize(instrumentId, String.valueOf(instrumentToken), InstrumentType.STOCK, receivedAt,
+                receivedAtNanos);
         }
-        
-        return buildTick(instrumentToken, lastPrice, volume, 0, 0, 0, 0, Instant.now(), originalData);
+        return view.materialize(instrumentId, index.symbolAt(instrumentId), index.typeAt(instrumentId), receivedAt,
+            receivedAtNanos);
     }
     
     /**
-     * Parses Full mode packet (40 bytes after instrument token and mode).
-     * Based on official Kite Connect Java library.
+     * Parses the packet for one instrument from a stored payload.
+     * 
+     * <p>Persisted rows normally hold a single-packet frame for their instrument, but rows
+     * written before per-packet storage hold the whole multi-packet Kite frame. In both cases
+     * only the packet matching the instrument token is materialized.
+     * 
+     * @param binaryData Stored payload (single-packet frame or legacy whole frame)
+     * @param instrumentToken Instrument whose packet should be returned
+     * @param fallbackTimestamp Timestamp used when the packet has no exchange timestamp
+     * @return Parsed tick, or null if the payload has no packet for the instrument
+     * @throws TickParseException if the payload is malformed
      */
-    private Tick parseKiteFullMode(ByteBuffer buffer, long instrumentToken, byte[] originalData) {
-        if (buffer.remaining() < 40) {
-            log.warn("Insufficient data for Full mode, remaining: {}", buffer.remaining());
-            return null;
-        }
-        
-        // Full packet structure (after token, tradable, mode - all values are 4 bytes each):
-        // last_price, last_quantity, average_price, volume, buy_quantity, sell_quantity,
-        // open, high, low, close, last_trade_time, oi, oi_day_high, oi_day_low, timestamp
-        
-        int rawLastPrice = buffer.getInt();
-        int rawLastQuantity = buffer.getInt();
-        int rawAvgPrice = buffer.getInt();
-        int rawVolume = buffer.getInt();
-        int rawBuyQuantity = buffer.getInt();
-        int rawSellQuantity = buffer.getInt();
-        
-        int rawOpen = buffer.getInt();
-        int rawHigh = buffer.getInt();
-        int rawLow = buffer.getInt();
-        int rawClose = buffer.getInt();
-        
-        // Convert raw values to proper types
-        double lastPrice = rawLastPrice / 100.0;
-        long lastQuantity = rawLastQuantity & 0xFFFFFFFFL;
-        double avgPrice = rawAvgPrice / 100.0;
-        long volume = rawVolume & 0xFFFFFFFFL;
-        long buyQuantity = rawBuyQuantity & 0xFFFFFFFFL;
-        long sellQuantity = rawSellQuantity & 0xFFFFFFFFL;
-        
-        double open = rawOpen / 100.0;
-        double high = rawHigh / 100.0;
-        double low = rawLow / 100.0;
-        double close = rawClose / 100.0;
-        
-        // Optional fields - check if enough data remains
-        long lastTradeTime = 0;
-        long oi = 0;
-        long oiDayHigh = 0;
-        long oiDayLow = 0;
-        long timestamp = 0;
-        
-        if (buffer.remaining() >= 20) { // 5 more fields * 4 bytes each
-            lastTradeTime = buffer.getInt() & 0xFFFFFFFFL;
-            oi = buffer.getInt() & 0xFFFFFFFFL;
-            oiDayHigh = buffer.getInt() & 0xFFFFFFFFL;
-            oiDayLow = buffer.getInt() & 0xFFFFFFFFL;
-            timestamp = buffer.getInt() & 0xFFFFFFFFL;
-        }
-        
-        // Convert Unix timestamp to Instant
-        Instant tickTimestamp = timestamp > 0 ? Instant.ofEpochSecond(timestamp) : Instant.now();
-        
-        if (debugMessageCount <= 3) {
-            log.info("🔍 KITE FULL: token={}, rawPrice={}, price={}, volume={}, OHLC=[{},{},{},{}]", 
-                instrumentToken, rawLastPrice, lastPrice, volume, open, high, low, close);
+    public Tick parsePacket(byte[] binaryData, long instrumentToken, Instant fallbackTimestamp) {
+        if (binaryData == null || binaryData.length < 2) {
+            throw new TickParseException("Binary data is null or too short (minimum 2 bytes required)");
         }
         
-        return buildTick(instrumentToken, lastPrice, volume, open, high, low, close, tickTimestamp, originalData);
+        InstrumentIndex index = instrumentLoader.getIndex();
+        Tick[] match = new Tick[1];
+        decode(ByteBuffer.wrap(binaryData), new KiteTickView(), view -> {
+            if (match[0] == null && view.getInstrumentToken() == instrumentToken) {
+                match[0] = materialize(view, index, fallbackTimestamp, 0L);
+            }
+        });
+        return match[0];
     }
     
     /**
-     * Builds a Tick domain object from parsed fields.
+     * Decodes a single packet at the given offset into the view using Kite's binary format.
+     * 
+     * @return Number of bytes consumed by the packet, or -1 if the packet cannot be decoded
      */
-    private Tick buildTick(long instrumentToken, double lastPrice, long volume,
-                          double open, double high, double low, double close,
-                          Instant timestamp, byte[] originalData) {
+    private int decodePacket(ByteBuffer frame, int offset, int limit, KiteTickView view) {
+        view.reset(frame, offset);
         
-        // Look up instrument info to get symbol and type
-        var instrumentInfo = instrumentLoader.getInstrumentInfo(instrumentToken);
+        // Read instrument token (4 bytes), tradable flag (1 byte) and mode (1 byte)
+        view.instrumentToken = frame.getInt(offset) & 0xFFFFFFFFL;
+        view.tradable = frame.get(offset + 4) != 0;
+        view.mode = frame.get(offset + 5) & 0xFF;
         
-        String symbol;
-        InstrumentType type;
+        int available = limit - offset;
+        int p = offset + PACKET_HEADER_SIZE;
         
-        if (instrumentInfo != null) {
-            symbol = instrumentInfo.getTradingSymbol();
-            type = instrumentInfo.getType();
-            
-            // Log index ticks for debugging
-            if (type == InstrumentType.INDEX) {
-                log.info("INDEX TICK RECEIVED: {} (token: {}) = ₹{}", symbol, instrumentToken, lastPrice);
+        switch (view.mode) {
+            case MODE_LTP -> {
+                if (available < LTP_PACKET_SIZE) {
+                    log.warn("Insufficient data for LTP mode, remaining: {}", available - PACKET_HEADER_SIZE);
+                    return -1;
+                }
+                view.lastPrice = frame.getInt(p);
+                view.length = LTP_PACKET_SIZE;
+            }
+            case MODE_QUOTE -> {
+                if (available < QUOTE_MIN_PACKET_SIZE) {
+                    log.warn("Insufficient data for Quote mode, remaining: {}", available - PACKET_HEADER_SIZE);
+                    return -1;
+                }
+                readQuoteFields(frame, p, view);
+                if (available >= QUOTE_PACKET_SIZE) {
+                    view.sellQuantity = frame.getInt(p + 20) & 0xFFFFFFFFL;
+                    view.length = QUOTE_PACKET_SIZE;
+                } else {
+                    view.length = QUOTE_MIN_PACKET_SIZE;
+                }
+            }
+            case MODE_FULL -> {
+                if (available < FULL_MIN_PACKET_SIZE) {
+                    log.warn("Insufficient data for Full mode, remaining: {}", available - PACKET_HEADER_SIZE);
+                    return -1;
+                }
+                readQuoteFields(frame, p, view);
+                view.sellQuantity = frame.getInt(p + 20) & 0xFFFFFFFFL;
+                view.open = frame.getInt(p + 24);
+                view.high = frame.getInt(p + 28);
+                view.low = frame.getInt(p + 32);
+                view.close = frame.getInt(p + 36);
+                
+                // Optional fields - only present if the full packet was sent
+                if (available >= FULL_PACKET_SIZE) {
+                    view.lastTradeTime = frame.getInt(p + 40) & 0xFFFFFFFFL;
+                    view.openInterest = frame.getInt(p + 44) & 0xFFFFFFFFL;
+                    view.openInterestDayHigh = frame.getInt(p + 48) & 0xFFFFFFFFL;
+                    view.openInterestDayLow = frame.getInt(p + 52) & 0xFFFFFFFFL;
+                    view.exchangeTimestamp = frame.getInt(p + 56) & 0xFFFFFFFFL;
+                    view.length = FULL_PACKET_SIZE;
+                } else {
+                    view.length = FULL_MIN_PACKET_SIZE;
+                }
+            }
+            default -> {
+                log.warn("Unknown mode {} for instrument {}, skipping rest of frame",
+                    view.mode, view.instrumentToken);
+                return -1;
             }
-        } else {
-            // Fallback if instrument not found
-            symbol = String.valueOf(instrumentToken);
-            type = InstrumentType.STOCK;  // Default to STOCK
-            log.warn("Instrument token {} not found in loader, using token as symbol", instrumentToken);
         }
         
-        return Tick.builder()
-            .symbol(symbol)
-            .instrumentToken(instrumentToken)
-            .type(type)
-            .timestamp(timestamp)
-            .lastTradedPrice(lastPrice)
-            .volume(volume)
-            .ohlc(Tick.OHLC.builder()
-                .open(open)
-                .high(high)
-                .low(low)
-                .close(close)
-                .build())
-            .rawBinaryData(originalData)
-            .build();
+        if (log.isTraceEnabled()) {
+            log.trace("Decoded Kite packet: token={}, mode={}, rawPrice={}, volume={}",
+                view.instrumentToken, view.mode, view.lastPrice, view.volume);
+        }
+        return view.length;
     }
     
     /**
-     * Skips remaining packet data based on mode when packet cannot be parsed.
+     * Reads the five mandatory quote fields shared by Quote and Full mode packets:
+     * last_price, last_quantity, average_price, volume, buy_quantity.
      */
-    private void skipRemainingPacketData(ByteBuffer buffer, int mode) {
-        int bytesToSkip = switch (mode) {
-            case MODE_LTP -> 4;
-            case MODE_QUOTE -> 24;
-            case MODE_FULL -> 40;
-            default -> 0;
-        };
-        
-        if (buffer.remaining() >= bytesToSkip) {
-            buffer.position(buffer.position() + bytesToSkip);
-        }
+    private void readQuoteFields(ByteBuffer frame, int p, KiteTickView view) {
+        view.lastPrice = frame.getInt(p);
+        view.lastQuantity = frame.getInt(p + 4) & 0xFFFFFFFFL;
+        view.averagePrice = frame.getInt(p + 8);
+        view.volume = frame.getInt(p + 12) & 0xFFFFFFFFL;
+        view.buyQuantity = frame.getInt(p + 16) & 0xFFFFFFFFL;
     }
     
     /**
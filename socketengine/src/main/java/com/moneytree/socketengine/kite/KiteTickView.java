@@ -0,0 +1,209 @@
+package com.moneytree.socketengine.kite;
+
+import com.moneytree.socketengine.domain.InstrumentType;
+import com.moneytree.socketengine.domain.Tick;
+import lombok.Getter;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+
+/**
+ * Reusable, mutable view over a single Kite packet inside a binary frame.
+ *
+ * <p>The view is a flyweight: {@link KiteTickParser#decode} repositions the same instance
+ * on every packet of a frame, so consumers can read prices and volumes without allocating
+ * a {@link Tick} per packet. Prices are kept in Kite's fixed-point representation
+ * (paise, i.e. price * {@value #PRICE_SCALE}) and the exchange timestamp as raw epoch seconds.
+ *
+ * <p>A view is only valid inside the visitor callback that received it. Consumers that need
+ * to keep the data beyond that point must call {@link #materialize} to obtain an immutable copy,
+ * or {@link #toPacketFrame()} to keep just this instrument's bytes.
+ * Instances are not thread-safe; use one view per decoding thread.
+ */
+@Getter
+public final class KiteTickView {
+
+    /**
+     * Divisor used to convert Kite fixed-point prices to rupees
+     */
+    public static final int PRICE_SCALE = 100;
+
+    // Location of the packet inside the frame
+    ByteBuffer frame;
+    int offset;
+    int length;
+
+    // Packet header
+    long instrumentToken;
+    boolean tradable;
+    int mode;
+
+    // Quote fields (fixed-point prices)
+    int lastPrice;
+    long lastQuantity;
+    int averagePrice;
+    long volume;
+    long buyQuantity;
+    long sellQuantity;
+
+    // Full mode fields (fixed-point prices)
+    int open;
+    int high;
+    int low;
+    int close;
+    long lastTradeTime;
+    long openInterest;
+    long openInterestDayHigh;
+    long openInterestDayLow;
+
+    /**
+     * Exchange timestamp in epoch seconds, or 0 when the packet does not carry one
+     */
+    long exchangeTimestamp;
+
+    /**
+     * Clears all fields before the view is positioned on the next packet.
+     */
+    void reset(ByteBuffer frame, int offset) {
+        this.frame = frame;
+        this.offset = offset;
+        this.length = 0;
+        this.instrumentToken = 0;
+        this.tradable = false;
+        this.mode = 0;
+        this.lastPrice = 0;
+        this.lastQuantity = 0;
+        this.averagePrice = 0;
+        this.volume = 0;
+        this.buyQuantity = 0;
+        this.sellQuantity = 0;
+        this.open = 0;
+        this.high = 0;
+        this.low = 0;
+        this.close = 0;
+        this.lastTradeTime = 0;
+        this.openInterest = 0;
+        this.openInterestDayHigh = 0;
+        this.openInterestDayLow = 0;
+        this.exchangeTimestamp = 0;
+    }
+
+    /**
+     * @return last traded price in rupees
+     */
+    public double lastTradedPrice() {
+        return (double) lastPrice / PRICE_SCALE;
+    }
+
+    /**
+     * @return true if the packet carried an exchange timestamp (Full mode)
+     */
+    public boolean hasExchangeTimestamp() {
+        return exchangeTimestamp > 0;
+    }
+
+    /**
+     * Returns a zero-copy view of this packet's bytes inside the frame.
+     * The returned buffer shares content with the frame and is only valid while the frame is.
+     *
+     * @return Read-only buffer positioned on the packet (token, tradable, mode and fields)
+     */
+    public ByteBuffer slice() {
+        return frame.asReadOnlyBuffer().position(offset).limit(offset + length).slice();
+    }
+
+    /**
+     * Returns this packet as a compact, self-contained single-packet Kite frame
+     * (2-byte packet count of 1 followed by the packet bytes), so it can outlive the
+     * original frame and still be decoded by {@link KiteTickParser}.
+     *
+     * <p>When the frame already consists of exactly this one packet, its backing array is
+     * returned as-is instead of being copied.
+     *
+     * @return Single-packet frame bytes
+     */
+    public byte[] toPacketFrame() {
+        if (frame.hasArray() && frame.arrayOffset() == 0
+                && offset == 2 && offset + length == frame.array().length) {
+            return frame.array();
+        }
+        byte[] packetFrame = new byte[2 + length];
+        packetFrame[0] = 0;
+        packetFrame[1] = 1;
+        frame.get(offset, packetFrame, 2, length);
+        return packetFrame;
+    }
+
+    /**
+     * Creates an immutable {@link Tick} from the current packet.
+     * Intended for cold paths (REST queries, persistence) that need to retain the data.
+     * Fields the packet's mode does not carry are left absent: LTP ticks have no OHLC and
+     * {@link Tick#NO_VOLUME}, Quote ticks no OHLC.
+     *
+     * @param instrumentId Dense id resolved for the instrument token, or {@link InstrumentIndex#NOT_FOUND}
+     * @param symbol Trading symbol resolved for the instrument token
+     * @param type Instrument type resolved for the instrument token
+     * @param receivedAt Frame arrival time, used when the packet has no exchange timestamp
+     * @param receivedAtNanos {@link System#nanoTime()} at frame arrival, or 0 if unknown
+     * @return Immutable tick holding a copy of the current values
+     */
+    public Tick materialize(int instrumentId, String symbol, InstrumentType type, Instant receivedAt,
+            long receivedAtNanos) {
+        return builder(instrumentId, symbol, type, receivedAt, receivedAtNanos)
+            .rawBinaryData(toPacketFrame())
+            .build();
+    }
+
+    /**
+     * Like {@link #materialize}, but without copying the packet's bytes into the tick, for
+     * consumers that never persist, record or fan out the packet again.
+     *
+     * @return Immutable tick holding a copy of the current values and no raw binary data
+     */
+    public Tick materializeWithoutPacket(int instrumentId, String symbol, InstrumentType type, Instant receivedAt,
+            long receivedAtNanos) {
+        return builder(instrumentId, symbol, type, receivedAt, receivedAtNanos).build();
+    }
+
+    private Tick.TickBuilder builder(int instrumentId, String symbol, InstrumentType type, Instant receivedAt,
+            long receivedAtNanos) {
+        Instant exchangeTime = hasExchangeTimestamp() ? Instant.ofEpochSecond(exchangeTimestamp) : null;
+        Tick.Mode tickMode = tickMode();
+        return Tick.builder()
+            .symbol(symbol)
+            .instrumentToken(instrumentToken)
+            .instrumentId(instrumentId)
+            .type(type)
+            .timestamp(exchangeTime != null ? exchangeTime : receivedAt)
+            .exchangeTimestamp(exchangeTime)
+            .receivedAtNanos(receivedAtNanos)
+            .lastTradedPrice(lastTradedPrice())
+            .volume(tickMode != Tick.Mode.LTP ? volume : Tick.NO_VOLUME)
+            .ohlc(tickMode == Tick.Mode.FULL ? Tick.OHLC.builder()
+                .open((double) open / PRICE_SCALE)
+                .high((double) high / PRICE_SCALE)
+                .low((double) low / PRICE_SCALE)
+                .close((double) close / PRICE_SCALE)
+                .build() : null)
+            .mode(tickMode)
+            .lastTradedQuantity(lastQuantity)
+            .averageTradedPrice((double) averagePrice / PRICE_SCALE)
+            .totalBuyQuantity(buyQuantity)
+            .totalSellQuantity(sellQuantity)
+            .lastTradedTime(lastTradeTime)
+            .openInterest(openInterest)
+            .openInterestDayHigh(openInterestDayHigh)
+            .openInterestDayLow(openInterestDayLow);
+    }
+
+    /**
+     * @return Domain mode of the current packet; only the fields of that mode are materialized
+     */
+    private Tick.Mode tickMode() {
+        return switch (mode) {
+            case KiteTickParser.MODE_LTP -> Tick.Mode.LTP;
+            case KiteTickParser.MODE_QUOTE -> Tick.Mode.QUOTE;
+            default -> Tick.Mode.FULL;
+        };
+    }
+}
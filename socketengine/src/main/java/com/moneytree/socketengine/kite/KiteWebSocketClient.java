@@ -1,67 +1,89 @@
 package com.moneytree.socketengine.kite;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.moneytree.socketengine.config.SocketEngineProperties;
 import com.moneytree.socketengine.domain.InstrumentInfo;
 import com.moneytree.socketengine.domain.InstrumentType;
-import com.moneytree.socketengine.domain.events.TickReceivedEvent;
-import com.zerodhatech.kiteconnect.KiteConnect;
+import com.moneytree.socketengine.domain.events.InstrumentsRefreshedEvent;
+import com.moneytree.socketengine.pipeline.TickLatencyMetrics;
+import com.moneytree.socketengine.pipeline.TickPipeline;
 import com.zerodhatech.models.Tick;
 import com.zerodhatech.ticker.KiteTicker;
-import com.zerodhatech.ticker.OnConnect;
-import com.zerodhatech.ticker.OnDisconnect;
-import com.zerodhatech.ticker.OnError;
-import com.zerodhatech.ticker.OnTicks;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.annotation.PostConstruct;
 import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.TimeUnit;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 /**
- * Manages the WebSocket connection to Kite market data API using the official Kite Connect library.
+ * Manages the WebSocket connections to Kite market data API using the official Kite Connect library.
  * Uses KiteTicker from the official library for reliable binary parsing and connection management.
  * 
  * <p>Features:
  * <ul>
  *   <li>Official Kite Connect library integration</li>
- *   <li>Automatic binary parsing using Kite's proven implementation</li>
+ *   <li>Instrument set partitioned across several {@link KiteConnection}s, each within Kite's
+ *       per-connection instrument cap and with its own receive thread</li>
+ *   <li>Demand-driven subscription set and modes from the {@link KiteSubscriptionManager},
+ *       applied incrementally when client interest changes</li>
+ *   <li>Sticky rebalancing of partitions when instruments are refreshed</li>
  *   <li>Automatic reconnection handled by KiteTicker</li>
- *   <li>Event publishing for tick data</li>
+ *   <li>Publishing of tick data from every connection to the same {@link TickPipeline}</li>
+ *   <li>Optional capture of every frame by the {@link TickFrameRecorder}</li>
  * </ul>
+ * 
+ * <p>This is the default {@link TickSource}; it is replaced by {@link ReplayTickSource} when
+ * {@code socketengine.source.type=replay}.
  */
 @Component
+@ConditionalOnProperty(prefix = "socketengine.source", name = "type", havingValue = "kite", matchIfMissing = true)
 @Slf4j
-public class KiteWebSocketClient {
+public class KiteWebSocketClient implements TickSource {
+    
+    private static final long INTEREST_POLL_MILLIS = 100;
     
     private final SocketEngineProperties properties;
-    private final ApplicationEventPublisher eventPublisher;
+    private final TickPipeline tickPipeline;
     private final InstrumentLoader instrumentLoader;
+    private final TickFrameRecorder frameRecorder;
+    private final TickLatencyMetrics latencyMetrics;
+    private final KiteSubscriptionManager subscriptionManager;
+    private final MeterRegistry meterRegistry;
     private final Counter ticksReceivedCounter;
     
-    private KiteTicker kiteTicker;
-    private volatile boolean connected = false;
+    // Guarded by this; frames never touch the connection list
+    private final List<KiteConnection> connections = new ArrayList<>();
     private volatile boolean shouldReconnect = true;
-    private List<InstrumentInfo> instruments;
-    private int debugMessageCount = 0;
+    private volatile List<InstrumentInfo> instruments;
+    private final AtomicInteger debugMessageCount = new AtomicInteger();
     
     public KiteWebSocketClient(
             SocketEngineProperties properties,
-            ApplicationEventPublisher eventPublisher,
+            TickPipeline tickPipeline,
             InstrumentLoader instrumentLoader,
+            TickFrameRecorder frameRecorder,
+            TickLatencyMetrics latencyMetrics,
+            KiteSubscriptionManager subscriptionManager,
             MeterRegistry meterRegistry) {
         this.properties = properties;
-        this.eventPublisher = eventPublisher;
+        this.tickPipeline = tickPipeline;
         this.instrumentLoader = instrumentLoader;
+        this.frameRecorder = frameRecorder;
+        this.latencyMetrics = latencyMetrics;
+        this.subscriptionManager = subscriptionManager;
+        this.meterRegistry = meterRegistry;
         
         // Register counter for ticks received from Kite
         this.ticksReceivedCounter = Counter.builder("socketengine.ticks.received")
@@ -69,9 +91,14 @@ public class KiteWebSocketClient {
             .register(meterRegistry);
     }
     
+    @Override
+    public String getName() {
+        return "kite";
+    }
+    
     /**
-     * Initializes the Kite WebSocket client using official KiteTicker.
-     * Loads instruments from database/cache and establishes connection.
+     * Initializes the Kite WebSocket connections using official KiteTicker.
+     * Loads instruments from database/cache, partitions them and connects every partition.
      */
     @PostConstruct
     public void initialize() {
@@ -81,139 +108,164 @@ public class KiteWebSocketClient {
         instruments = instrumentLoader.loadAllInstruments();
         log.info("Loaded {} instruments for subscription", instruments.size());
         
-        // Initialize and connect using official KiteTicker
-        initializeKiteTicker();
+        // Validate credentials are present (but don't log them)
+        if (!hasCredentials()) {
+            log.error("Kite API credentials are missing or empty. Please check configuration.");
+            return;
+        }
+        
+        rebalance(instruments);
+    }
+    
+    /**
+     * Rebalances the connection partitions after the instrument universe was refreshed.
+     * Tokens that are still wanted stay on their connection; only the difference is
+     * subscribed or unsubscribed.
+     */
+    @EventListener
+    public void onInstrumentsRefreshed(InstrumentsRefreshedEvent event) {
+        instruments = event.instruments();
+        if (!shouldReconnect || !hasCredentials()) {
+            return;
+        }
+        log.info("Instruments refreshed, rebalancing {} instruments across Kite connections", instruments.size());
+        rebalance(instruments);
+    }
+    
+    /**
+     * Applies client interest changes once the subscription manager's debounce has elapsed.
+     */
+    @Scheduled(fixedDelay = INTEREST_POLL_MILLIS)
+    public void applyInterestChanges() {
+        List<InstrumentInfo> instruments = this.instruments;
+        if (instruments == null || !shouldReconnect || !hasCredentials() || !subscriptionManager.isReplanDue()) {
+            return;
+        }
+        rebalance(instruments);
     }
     
     /**
      * Cleanup on application shutdown.
-     * Disconnects KiteTicker gracefully.
+     * Disconnects every KiteTicker gracefully.
      */
     @PreDestroy
+    @Override
     public void shutdown() {
         log.warn("🛑 SHUTDOWN INITIATED - Kite WebSocket client shutdown starting");
         shouldReconnect = false;
         
-        if (kiteTicker != null) {
-            try {
-                log.warn("🔒 DISCONNECTING KiteTicker...");
-                kiteTicker.disconnect();
-                log.warn("✅ KiteTicker disconnected successfully");
-            } catch (Exception e) {
-                log.error("❌ ERROR during KiteTicker shutdown", e);
-            }
+        synchronized (this) {
+            log.warn("🔒 DISCONNECTING {} KiteTicker connection(s)...", connections.size());
+            connections.forEach(KiteConnection::close);
+            connections.clear();
         }
         
-        // Final cleanup
-        kiteTicker = null;
-        connected = false;
-        
         log.warn("🏁 Kite WebSocket client shutdown COMPLETED");
     }
     
     /**
-     * Initializes KiteTicker with official Kite Connect library.
-     * Sets up event handlers and establishes connection.
+     * Plans the subscription for the instrument set and assigns it to connections, opening
+     * connections that are now needed and closing those that are no longer needed.
      */
-    private void initializeKiteTicker() {
-        try {
-            String apiKey = properties.getKite().getApiKey();
-            String accessToken = properties.getKite().getAccessToken();
-            
-            // Validate credentials are present (but don't log them)
-            if (apiKey == null || apiKey.isEmpty() || 
-                accessToken == null || accessToken.isEmpty()) {
-                log.error("Kite API credentials are missing or empty. Please check configuration.");
-                return;
-            }
-            
-            log.info("Initializing KiteTicker with official Kite Connect library");
-            
-            // Create KiteTicker instance
-            kiteTicker = new KiteTicker(accessToken, apiKey);
-            
-            // Set up event handlers
-            kiteTicker.setOnConnectedListener(new OnConnect() {
-                @Override
-                public void onConnected() {
-                    handleKiteConnected();
-                }
-            });
-            
-            kiteTicker.setOnDisconnectedListener(new OnDisconnect() {
-                @Override
-                public void onDisconnected() {
-                    handleKiteDisconnected();
-                }
-            });
-            
-            kiteTicker.setOnTickerArrivalListener(new OnTicks() {
-                @Override
-                public void onTicks(ArrayList<Tick> ticks) {
-                    handleKiteTicks(ticks);
-                }
-            });
-            
-            kiteTicker.setOnErrorListener(new OnError() {
-                @Override
-                public void onError(Exception exception) {
-                    handleKiteError(exception);
-                }
-                
-                @Override
-                public void onError(String error) {
-                    handleKiteError(new RuntimeException(error));
-                }
-                
-                @Override
-                public void onError(com.zerodhatech.kiteconnect.kitehttp.exceptions.KiteException kiteException) {
-                    handleKiteException(kiteException);
+    synchronized void rebalance(List<InstrumentInfo> instrumentSet) {
+        SocketEngineProperties.Kite kite = properties.getKite();
+        Map<Long, SubscriptionMode> plan = subscriptionManager.plan(instrumentSet);
+        List<Long> tokens = new ArrayList<>(plan.keySet());
+        List<Set<Long>> current = connections.stream()
+            .map(KiteConnection::getTokens)
+            .toList();
+        List<Set<Long>> partitions = InstrumentPartitioner.rebalance(
+            current, tokens, kite.getConnections(), kite.getMaxInstrumentsPerConnection());
+        
+        // Close surplus connections first so their tokens are never subscribed twice for long
+        while (connections.size() > partitions.size()) {
+            KiteConnection surplus = connections.remove(connections.size() - 1);
+            log.info("Closing Kite ticker connection #{} (no longer needed)", surplus.getId());
+            surplus.close();
+        }
+        
+        for (int i = 0; i < partitions.size(); i++) {
+            Map<Long, SubscriptionMode> partition = new LinkedHashMap<>();
+            partitions.get(i).forEach(token -> partition.put(token, plan.get(token)));
+            if (i < connections.size()) {
+                connections.get(i).assign(partition);
+            } else {
+                KiteConnection connection = openConnection(i);
+                connection.assign(partition);
+                connections.add(connection);
+                try {
+                    connection.connect();
+                } catch (Exception e) {
+                    log.error("Failed to connect Kite ticker connection #{}", i, e);
                 }
-            });
-            
-            // Connect to Kite
-            log.info("Connecting to Kite WebSocket using official KiteTicker...");
-            kiteTicker.connect();
-            
-        } catch (Exception e) {
-            log.error("Failed to initialize KiteTicker", e);
+            }
         }
+        
+        log.info("Partitioned {} of {} instruments (LTP {}, QUOTE {}, FULL {}) across {} Kite connection(s)", 
+            tokens.size(), instrumentSet.size(),
+            subscriptionManager.getPlannedCount(SubscriptionMode.LTP),
+            subscriptionManager.getPlannedCount(SubscriptionMode.QUOTE),
+            subscriptionManager.getPlannedCount(SubscriptionMode.FULL),
+            connections.size());
+    }
+    
+    private KiteConnection openConnection(int id) {
+        SocketEngineProperties.Kite kite = properties.getKite();
+        return new KiteConnection(id, newTicker(kite.getAccessToken(), kite.getApiKey()),
+            this::handleKiteTicks, meterRegistry);
     }
     
     /**
-     * Handles KiteTicker connection established event.
-     * Subscribes to all loaded instruments.
+     * Creates the KiteTicker for a new connection. Overridden in tests.
      */
-    private void handleKiteConnected() {
-        log.info("✅ Connected to Kite WebSocket using official KiteTicker");
-        connected = true;
-        
-        // Subscribe to all instruments
-        subscribeToInstruments();
+    KiteTicker newTicker(String accessToken, String apiKey) {
+        return new KiteTicker(accessToken, apiKey);
+    }
+    
+    private boolean hasCredentials() {
+        String apiKey = properties.getKite().getApiKey();
+        String accessToken = properties.getKite().getAccessToken();
+        return apiKey != null && !apiKey.isEmpty() && accessToken != null && !accessToken.isEmpty();
     }
     
     /**
-     * Handles incoming tick data from KiteTicker.
-     * Converts Kite ticks to our domain objects and publishes events.
+     * Handles incoming tick data from any ticker connection, on that connection's receive thread.
+     * Converts Kite ticks to our domain objects and publishes them to the pipeline.
      */
-    private void handleKiteTicks(ArrayList<Tick> kiteTicks) {
+    void handleKiteTicks(ArrayList<Tick> kiteTicks) {
+        // Latency origin for every tick of the frame
+        long receivedAtNanos = System.nanoTime();
         try {
-            if (debugMessageCount < 3) {
-                debugMessageCount++;
+            int debugCount = debugMessageCount.get();
+            if (debugCount < 3) {
+                debugCount = debugMessageCount.incrementAndGet();
                 log.info("🔍 RECEIVED {} TICKS from official KiteTicker (debug #{})", 
-                    kiteTicks.size(), debugMessageCount);
+                    kiteTicks.size(), debugCount);
             }
             
-            // Convert Kite ticks to our domain objects and publish events
+            // Read the instrument snapshot once per frame and convert every tick of the frame
+            Instant receivedAt = Instant.now();
+            boolean sampled = latencyMetrics.sample();
+            long lookupNanos = 0;
+            InstrumentIndex index = instrumentLoader.getIndex();
+            List<com.moneytree.socketengine.domain.Tick> frame = new ArrayList<>(kiteTicks.size());
             for (Tick kiteTick : kiteTicks) {
                 try {
-                    com.moneytree.socketengine.domain.Tick domainTick = convertKiteTickToDomain(kiteTick);
+                    // Resolve the token once; downstream stages reuse the dense id
+                    long lookupStart = sampled ? System.nanoTime() : 0;
+                    int instrumentId = index.idOf(kiteTick.getInstrumentToken());
+                    if (sampled) {
+                        lookupNanos += System.nanoTime() - lookupStart;
+                    }
+                    
+                    com.moneytree.socketengine.domain.Tick domainTick =
+                        convertKiteTickToDomain(kiteTick, index, instrumentId, receivedAt, receivedAtNanos);
                     if (domainTick != null) {
-                        eventPublisher.publishEvent(new TickReceivedEvent(domainTick));
-                        ticksReceivedCounter.increment();
+                        frame.add(domainTick);
                         
                         // Log index ticks for debugging
-                        if (domainTick.getType() == InstrumentType.INDEX && debugMessageCount <= 3) {
+                        if (domainTick.getType() == InstrumentType.INDEX && domainTick.getOhlc() != null
+                                && debugCount <= 3) {
                             log.info("✅ INDEX TICK: {} = ₹{} (OHLC: {},{},{},{})", 
                                 domainTick.getSymbol(), domainTick.getLastTradedPrice(),
                                 domainTick.getOhlc().getOpen(), domainTick.getOhlc().getHigh(),
@@ -225,101 +277,72 @@ public class KiteWebSocketClient {
                 }
             }
             
-        } catch (Exception e) {
-            log.error("Unexpected error processing tick data from KiteTicker", e);
-        }
-    }
-    
-    /**
-     * Handles KiteTicker disconnection event.
-     */
-    private void handleKiteDisconnected() {
-        log.warn("❌ KiteTicker disconnected from Kite WebSocket");
-        connected = false;
-        
-        if (shouldReconnect) {
-            log.info("Will attempt to reconnect (handled by KiteTicker automatically)");
-        } else {
-            log.info("Reconnection disabled, not attempting to reconnect");
-        }
-    }
-    
-    /**
-     * Handles KiteTicker errors.
-     * Special handling for authentication failures.
-     */
-    private void handleKiteError(Exception ex) {
-        String errorMessage = ex.getMessage() != null ? ex.getMessage().toLowerCase() : "";
-        
-        // Check for authentication failures
-        if (errorMessage.contains("401") || 
-            errorMessage.contains("unauthorized") || 
-            errorMessage.contains("authentication")) {
-            
-            log.error("❌ Kite authentication failed - stopping reconnection attempts. " +
-                     "Please check API credentials.", ex);
-            connected = false;
-            shouldReconnect = false;
-            
-        } else {
-            log.error("❌ KiteTicker error (reconnection handled automatically by KiteTicker)", ex);
-        }
-    }
-    
-    /**
-     * Handles KiteException errors from the official library.
-     */
-    private void handleKiteException(com.zerodhatech.kiteconnect.kitehttp.exceptions.KiteException ex) {
-        String errorMessage = ex.getMessage() != null ? ex.getMessage().toLowerCase() : "";
-        
-        // Check for authentication failures
-        if (errorMessage.contains("401") || 
-            errorMessage.contains("unauthorized") || 
-            errorMessage.contains("authentication")) {
+            if (sampled) {
+                latencyMetrics.record(TickLatencyMetrics.Stage.LOOKUP, lookupNanos);
+                latencyMetrics.recordSince(TickLatencyMetrics.Stage.DECODE, receivedAtNanos);
+            }
             
-            log.error("❌ Kite authentication failed (KiteException) - stopping reconnection attempts. " +
-                     "Please check API credentials.", ex);
-            connected = false;
-            shouldReconnect = false;
+            // Publish the whole frame at once so consumers pay per-frame costs once
+            tickPipeline.publishBatch(frame);
+            ticksReceivedCounter.increment(frame.size());
+            frameRecorder.record(frame, receivedAt);
             
-        } else {
-            log.error("❌ KiteTicker KiteException (reconnection handled automatically by KiteTicker)", ex);
+        } catch (Exception e) {
+            log.error("Unexpected error processing tick data from KiteTicker", e);
         }
     }
     
     /**
      * Converts Kite Connect library Tick to our domain Tick object.
+     * LTP-mode ticks carry no OHLC and {@link com.moneytree.socketengine.domain.Tick#NO_VOLUME}.
+     * No raw binary data is attached: the consumers that need the packet encode it from the
+     * tick's fields with {@link KitePacketEncoder}, off this receive thread.
+     * The dense instrument id resolved by the caller is carried on the tick, together with the
+     * frame's arrival stamps.
      */
-    private com.moneytree.socketengine.domain.Tick convertKiteTickToDomain(Tick kiteTick) {
+    private com.moneytree.socketengine.domain.Tick convertKiteTickToDomain(
+            Tick kiteTick, InstrumentIndex index, int instrumentId, Instant receivedAt, long receivedAtNanos) {
         try {
-            // Look up instrument info
-            var instrumentInfo = instrumentLoader.getInstrumentInfo(kiteTick.getInstrumentToken());
-            
             String symbol;
             InstrumentType type;
             
-            if (instrumentInfo != null) {
-                symbol = instrumentInfo.getTradingSymbol();
-                type = instrumentInfo.getType();
+            if (instrumentId != InstrumentIndex.NOT_FOUND) {
+                symbol = index.symbolAt(instrumentId);
+                type = index.typeAt(instrumentId);
             } else {
                 symbol = String.valueOf(kiteTick.getInstrumentToken());
                 type = InstrumentType.STOCK;
                 log.warn("Instrument token {} not found, using token as symbol", kiteTick.getInstrumentToken());
             }
             
+            // LTP-mode packets carry the last price only; leave OHLC and volume absent, not zero
+            com.moneytree.socketengine.domain.Tick.Mode mode = modeOf(kiteTick.getMode());
+            boolean ltp = mode == com.moneytree.socketengine.domain.Tick.Mode.LTP;
             return com.moneytree.socketengine.domain.Tick.builder()
                 .symbol(symbol)
                 .instrumentToken(kiteTick.getInstrumentToken())
+                .instrumentId(instrumentId)
                 .type(type)
-                .timestamp(Instant.now())
+                .timestamp(receivedAt)
+                .exchangeTimestamp(kiteTick.getTickTimestamp() != null ? kiteTick.getTickTimestamp().toInstant() : null)
+                .receivedAtNanos(receivedAtNanos)
                 .lastTradedPrice(kiteTick.getLastTradedPrice())
-                .volume(kiteTick.getVolumeTradedToday())
-                .ohlc(com.moneytree.socketengine.domain.Tick.OHLC.builder()
+                .volume(ltp ? com.moneytree.socketengine.domain.Tick.NO_VOLUME : kiteTick.getVolumeTradedToday())
+                .ohlc(ltp ? null : com.moneytree.socketengine.domain.Tick.OHLC.builder()
                     .open(kiteTick.getOpenPrice())
                     .high(kiteTick.getHighPrice())
                     .low(kiteTick.getLowPrice())
                     .close(kiteTick.getClosePrice())
                     .build())
+                .mode(mode)
+                .lastTradedQuantity((long) kiteTick.getLastTradedQuantity())
+                .averageTradedPrice(kiteTick.getAverageTradePrice())
+                .totalBuyQuantity((long) kiteTick.getTotalBuyQuantity())
+                .totalSellQuantity((long) kiteTick.getTotalSellQuantity())
+                .lastTradedTime(kiteTick.getLastTradedTime() != null ? kiteTick.getLastTradedTime().getTime() / 1000 : 0)
+                .openInterest((long) kiteTick.getOi())
+                .openInterestDayHigh((long) kiteTick.getOpenInterestDayHigh())
+                .openInterestDayLow((long) kiteTick.getOpenInterestDayLow())
                 .build();
                 
         } catch (Exception e) {
@@ -330,61 +353,26 @@ public class KiteWebSocketClient {
     }
     
     /**
-     * Subscribes to all instruments using KiteTicker.
+     * Maps a KiteTicker mode name to the domain tick mode. Ticks without a mode are treated as Full.
      */
-    private void subscribeToInstruments() {
-        try {
-            if (instruments == null || instruments.isEmpty()) {
-                log.warn("No instruments to subscribe to");
-                return;
-            }
-            
-            // Extract instrument tokens as ArrayList<Long> (required by KiteTicker)
-            ArrayList<Long> tokens = instruments.stream()
-                .map(InstrumentInfo::getInstrumentToken)
-                .collect(Collectors.toCollection(ArrayList::new));
-            
-            // Log breakdown by type for debugging
-            long indexCount = instruments.stream()
-                .filter(i -> i.getType() == InstrumentType.INDEX)
-                .count();
-            long stockCount = instruments.stream()
-                .filter(i -> i.getType() == InstrumentType.STOCK)
-                .count();
-            
-            log.info("Subscribing to {} instruments using KiteTicker: {} indices, {} stocks", 
-                tokens.size(), indexCount, stockCount);
-            
-            // Log first few index tokens for verification
-            List<Long> indexTokens = instruments.stream()
-                .filter(i -> i.getType() == InstrumentType.INDEX)
-                .map(InstrumentInfo::getInstrumentToken)
-                .limit(10)
-                .collect(Collectors.toList());
-            log.info("Sample index tokens being subscribed: {}", indexTokens);
-            
-            // Subscribe using KiteTicker (handles all the WebSocket messaging internally)
-            kiteTicker.subscribe(tokens);
-            
-            // Set mode to FULL to get complete OHLC data
-            kiteTicker.setMode(tokens, KiteTicker.modeFull);
-            
-            log.info("✅ Subscription completed using official KiteTicker");
-            
-        } catch (Exception e) {
-            log.error("❌ Failed to subscribe to instruments using KiteTicker", e);
+    private static com.moneytree.socketengine.domain.Tick.Mode modeOf(String kiteMode) {
+        if (SubscriptionMode.LTP.kiteMode().equals(kiteMode)) {
+            return com.moneytree.socketengine.domain.Tick.Mode.LTP;
+        }
+        if (SubscriptionMode.QUOTE.kiteMode().equals(kiteMode)) {
+            return com.moneytree.socketengine.domain.Tick.Mode.QUOTE;
         }
+        return com.moneytree.socketengine.domain.Tick.Mode.FULL;
     }
     
-
-    
     /**
-     * Checks if the KiteTicker connection is currently active.
+     * Checks if the Kite feed is fully connected, i.e. every ticker connection is open.
      * 
-     * @return true if connected, false otherwise
+     * @return true if all connections are connected, false otherwise
      */
-    public boolean isConnected() {
-        return connected && kiteTicker != null;
+    @Override
+    public synchronized boolean isConnected() {
+        return !connections.isEmpty() && connections.stream().allMatch(KiteConnection::isConnected);
     }
     
     /**
@@ -400,13 +388,36 @@ public class KiteWebSocketClient {
      * 
      * @return Map containing subscription details
      */
-    public java.util.Map<String, Object> getSubscriptionStatus() {
+    @Override
+    public synchronized java.util.Map<String, Object> getSubscriptionStatus() {
+        List<InstrumentInfo> instruments = this.instruments;
         var status = new java.util.HashMap<String, Object>();
+        status.put("source", getName());
+        status.put("recording", frameRecorder.isRecording());
         status.put("connected", isConnected());
-        status.put("shouldReconnect", shouldReconnect);
+        status.put("shouldReconnect", shouldReconnect 
+            && connections.stream().allMatch(KiteConnection::isShouldReconnect));
         status.put("instrumentCount", instruments != null ? instruments.size() : 0);
+        var subscriptionModes = new java.util.HashMap<String, Object>();
+        for (SubscriptionMode mode : SubscriptionMode.values()) {
+            subscriptionModes.put(mode.name(), subscriptionManager.getPlannedCount(mode));
+        }
+        status.put("subscriptionModes", subscriptionModes);
         status.put("usingOfficialKiteTicker", true);
         
+        List<java.util.Map<String, Object>> connectionStatus = new ArrayList<>(connections.size());
+        for (KiteConnection connection : connections) {
+            var entry = new java.util.HashMap<String, Object>();
+            entry.put("id", connection.getId());
+            entry.put("connected", connection.isConnected());
+            entry.put("instrumentCount", connection.getInstrumentCount());
+            entry.put("ticksReceived", (long) connection.getTicksReceived());
+            entry.put("reconnects", (long) connection.getReconnects());
+            entry.put("lagMillis", connection.getLagMillis());
+            connectionStatus.add(entry);
+        }
+        status.put("connections", connectionStatus);
+        
         if (instruments != null && !instruments.isEmpty()) {
             // Sample of subscribed instruments
             List<String> sampleInstruments = instruments.stream()
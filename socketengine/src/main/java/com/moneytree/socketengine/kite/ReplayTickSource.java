@@ -0,0 +1,305 @@
+package com.moneytree.socketengine.kite;
+
+import com.moneytree.socketengine.config.SocketEngineProperties;
+import com.moneytree.socketengine.domain.Tick;
+import com.moneytree.socketengine.pipeline.TickLatencyMetrics;
+import com.moneytree.socketengine.pipeline.TickPipeline;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Tick source that re-emits recorded market data into the tick pipeline, for load testing and
+ * reproducing market-open bursts without Kite credentials.
+ *
+ * <p>Frames are read from a {@link TickFrameFile} recording ({@code socketengine.source.replay.path})
+ * or, when no path is set, rebuilt from {@code kite_ticks_data} rows with the same tick timestamp.
+ * Every frame is parsed with {@link KiteTickParser} and published as one batch, exactly like the
+ * live feed, so the parser, broadcaster, cache and persistence stages all see realistic load.
+ *
+ * <p>Pacing follows the recorded arrival times divided by {@code speed}; a speed of 0 replays as
+ * fast as the pipeline accepts frames. {@code instrument-limit} keeps only the first N distinct
+ * instruments encountered.
+ */
+@Component
+@ConditionalOnProperty(prefix = "socketengine.source", name = "type", havingValue = "replay")
+@Slf4j
+public class ReplayTickSource implements TickSource, SmartLifecycle {
+
+    private static final String SELECT_TICKS_SQL =
+        "SELECT instrument_token, tick_timestamp, raw_tick_data FROM kite_ticks_data " +
+        "WHERE tick_timestamp >= ? AND tick_timestamp < ? ORDER BY tick_timestamp, instrument_token";
+
+    private static final int FETCH_SIZE = 10_000;
+
+    private final SocketEngineProperties properties;
+    private final TickPipeline tickPipeline;
+    private final KiteTickParser tickParser;
+    private final InstrumentLoader instrumentLoader;
+    private final JdbcTemplate jdbcTemplate;
+    private final TickLatencyMetrics latencyMetrics;
+
+    // Written by the replay thread only
+    private final Set<Long> admittedTokens = new HashSet<>();
+    private volatile long framesReplayed = 0;
+    private volatile long ticksReplayed = 0;
+    private volatile int passes = 0;
+
+    private volatile boolean running = false;
+    private volatile boolean replaying = false;
+    private Thread replayThread;
+
+    public ReplayTickSource(
+            SocketEngineProperties properties,
+            TickPipeline tickPipeline,
+            KiteTickParser tickParser,
+            InstrumentLoader instrumentLoader,
+            JdbcTemplate jdbcTemplate,
+            TickLatencyMetrics latencyMetrics) {
+        this.properties = properties;
+        this.tickPipeline = tickPipeline;
+        this.tickParser = tickParser;
+        this.instrumentLoader = instrumentLoader;
+        this.jdbcTemplate = jdbcTemplate;
+        this.latencyMetrics = latencyMetrics;
+    }
+
+    @Override
+    public String getName() {
+        return "replay";
+    }
+
+    /**
+     * Loads instruments for symbol resolution and starts the replay thread.
+     * The pipeline is started first because this bean depends on it.
+     */
+    @Override
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+
+        try {
+            log.info("Loaded {} instruments for replay", instrumentLoader.loadAllInstruments().size());
+        } catch (Exception e) {
+            log.warn("Could not load instruments for replay, ticks will carry tokens as symbols: {}", e.getMessage());
+        }
+
+        running = true;
+        replaying = true;
+        replayThread = new Thread(this::run, "tick-replay");
+        replayThread.setDaemon(true);
+        replayThread.start();
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        replayThread.interrupt();
+        try {
+            replayThread.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        log.info("Replay stopped after {} frames ({} ticks)", framesReplayed, ticksReplayed);
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public void shutdown() {
+        stop();
+    }
+
+    /**
+     * @return true while frames are still being replayed
+     */
+    @Override
+    public boolean isConnected() {
+        return running && replaying;
+    }
+
+    @Override
+    public Map<String, Object> getSubscriptionStatus() {
+        SocketEngineProperties.Replay replay = properties.getSource().getReplay();
+        var status = new java.util.HashMap<String, Object>();
+        status.put("source", getName());
+        status.put("connected", isConnected());
+        status.put("replaySource", isFileReplay() ? replay.getPath() : "kite_ticks_data");
+        status.put("speed", replay.getSpeed());
+        status.put("loop", replay.isLoop());
+        status.put("instrumentLimit", replay.getInstrumentLimit());
+        status.put("passes", passes);
+        status.put("framesReplayed", framesReplayed);
+        status.put("ticksReplayed", ticksReplayed);
+        return status;
+    }
+
+    private boolean isFileReplay() {
+        String path = properties.getSource().getReplay().getPath();
+        return path != null && !path.isBlank();
+    }
+
+    private void run() {
+        SocketEngineProperties.Replay replay = properties.getSource().getReplay();
+        log.info("Starting replay from {} at {}", isFileReplay() ? replay.getPath() : "kite_ticks_data",
+            replay.getSpeed() > 0 ? replay.getSpeed() + "x" : "max speed");
+        try {
+            do {
+                Pacer pacer = new Pacer(replay.getSpeed());
+                if (isFileReplay()) {
+                    replayFile(Path.of(replay.getPath()), pacer);
+                } else {
+                    replayRows(pacer);
+                }
+                passes++;
+                log.info("Replay pass {} completed: {} frames, {} ticks so far", passes, framesReplayed, ticksReplayed);
+            } while (running && replay.isLoop());
+        } catch (Exception e) {
+            log.error("Replay failed", e);
+        } finally {
+            replaying = false;
+        }
+    }
+
+    /**
+     * Replays every record of a frame recording.
+     */
+    void replayFile(Path path, Pacer pacer) throws IOException {
+        KiteTickView view = new KiteTickView();
+        try (TickFrameFile.Reader reader = new TickFrameFile.Reader(path)) {
+            while (running && reader.next()) {
+                pacer.await(reader.receivedAtMicros());
+                Instant receivedAt = Instant.now();
+                long receivedAtNanos = System.nanoTime();
+                List<Tick> frame = new ArrayList<>();
+                tickParser.decode(reader.frame(), view, packet -> {
+                    if (admit(packet.getInstrumentToken())) {
+                        frame.add(tickParser.materialize(packet, receivedAt, receivedAtNanos));
+                    }
+                });
+                if (latencyMetrics.sample()) {
+                    latencyMetrics.recordSince(TickLatencyMetrics.Stage.DECODE, receivedAtNanos);
+                }
+                publish(frame);
+            }
+        }
+    }
+
+    /**
+     * Replays persisted rows, grouping rows with the same tick timestamp into one frame.
+     */
+    void replayRows(Pacer pacer) {
+        SocketEngineProperties.Replay replay = properties.getSource().getReplay();
+        Instant to = replay.getTo() != null ? replay.getTo() : Instant.now();
+        Instant from = replay.getFrom() != null ? replay.getFrom() : to.minus(Duration.ofDays(1));
+
+        List<Tick> frame = new ArrayList<>();
+        long[] frameMicros = {Long.MIN_VALUE};
+
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(SELECT_TICKS_SQL);
+            ps.setFetchSize(FETCH_SIZE);
+            ps.setTimestamp(1, Timestamp.from(from));
+            ps.setTimestamp(2, Timestamp.from(to));
+            return ps;
+        }, rs -> {
+            if (!running) {
+                return;
+            }
+            long token = rs.getLong("instrument_token");
+            Instant tickTimestamp = rs.getTimestamp("tick_timestamp").toInstant();
+            long micros = TimeUnit.SECONDS.toMicros(tickTimestamp.getEpochSecond()) + tickTimestamp.getNano() / 1000;
+
+            if (micros != frameMicros[0]) {
+                publish(frame);
+                frame.clear();
+                frameMicros[0] = micros;
+                pacer.await(micros);
+            }
+            if (admit(token)) {
+                Tick tick = tickParser.parsePacket(rs.getBytes("raw_tick_data"), token, tickTimestamp);
+                if (tick != null) {
+                    frame.add(tick);
+                }
+            }
+        });
+        publish(frame);
+    }
+
+    private boolean admit(long instrumentToken) {
+        int limit = properties.getSource().getReplay().getInstrumentLimit();
+        if (limit <= 0 || admittedTokens.contains(instrumentToken)) {
+            return true;
+        }
+        if (admittedTokens.size() < limit) {
+            admittedTokens.add(instrumentToken);
+            return true;
+        }
+        return false;
+    }
+
+    private void publish(List<Tick> frame) {
+        if (frame.isEmpty() || !running) {
+            return;
+        }
+        tickPipeline.publishBatch(List.copyOf(frame));
+        framesReplayed++;
+        ticksReplayed += frame.size();
+    }
+
+    /**
+     * Spaces frames by their recorded arrival times scaled by the replay speed.
+     */
+    static final class Pacer {
+
+        private final double speed;
+        private long firstSourceMicros = Long.MIN_VALUE;
+        private long startNanos;
+
+        Pacer(double speed) {
+            this.speed = speed;
+        }
+
+        /**
+         * Parks the replay thread until the frame recorded at {@code sourceMicros} is due.
+         */
+        void await(long sourceMicros) {
+            if (speed <= 0) {
+                return;
+            }
+            if (firstSourceMicros == Long.MIN_VALUE) {
+                firstSourceMicros = sourceMicros;
+                startNanos = System.nanoTime();
+                return;
+            }
+            long dueNanos = startNanos + (long) ((sourceMicros - firstSourceMicros) * 1000 / speed);
+            long waitNanos;
+            while ((waitNanos = dueNanos - System.nanoTime()) > 0 && !Thread.currentThread().isInterrupted()) {
+                LockSupport.parkNanos(waitNanos);
+            }
+        }
+    }
+}
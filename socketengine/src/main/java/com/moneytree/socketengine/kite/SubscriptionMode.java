@@ -0,0 +1,36 @@
+package com.moneytree.socketengine.kite;
+
+import com.zerodhatech.ticker.KiteTicker;
+
+/**
+ * Kite ticker subscription modes, from least to most detail.
+ */
+public enum SubscriptionMode {
+    /**
+     * Last traded price only (8-byte packet)
+     */
+    LTP(KiteTicker.modeLTP),
+
+    /**
+     * LTP, volume and OHLC without market depth (44-byte packet)
+     */
+    QUOTE(KiteTicker.modeQuote),
+
+    /**
+     * Everything including market depth (184-byte packet)
+     */
+    FULL(KiteTicker.modeFull);
+
+    private final String kiteMode;
+
+    SubscriptionMode(String kiteMode) {
+        this.kiteMode = kiteMode;
+    }
+
+    /**
+     * @return Mode name expected by {@link KiteTicker#setMode}
+     */
+    public String kiteMode() {
+        return kiteMode;
+    }
+}
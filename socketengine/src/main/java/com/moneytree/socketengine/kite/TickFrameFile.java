@@ -0,0 +1,166 @@
+package com.moneytree.socketengine.kite;
+
+import com.moneytree.socketengine.domain.Tick;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+/**
+ * Compact append-only file format for recorded Kite frames.
+ *
+ * <p>Layout (big-endian):
+ * <pre>
+ *   header : int magic "MTKF", short version
+ *   record : long receivedAt (epoch micros), int length, byte[length] Kite frame
+ * </pre>
+ * Each frame has exactly the layout {@link KiteTickParser} reads: a 2-byte packet count followed
+ * by the packets. Frames are rebuilt from each tick's packet as written by
+ * {@link KitePacketEncoder#putPacket}, at most {@link #MAX_PACKETS_PER_FRAME} packets per record.
+ */
+public final class TickFrameFile {
+
+    /**
+     * File magic, "MTKF" in ASCII
+     */
+    public static final int MAGIC = 0x4D544B46;
+
+    public static final short VERSION = 1;
+
+    /**
+     * Largest packet count {@link KiteTickParser} accepts in one frame
+     */
+    public static final int MAX_PACKETS_PER_FRAME = 1000;
+
+    private static final int FRAME_COUNT_SIZE = 2;
+
+    private TickFrameFile() {
+    }
+
+    /**
+     * Writes the file header.
+     */
+    static void writeHeader(DataOutputStream out) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeShort(VERSION);
+    }
+
+    /**
+     * Writes one record holding the given ticks as a single Kite frame.
+     *
+     * @param out Destination positioned after the header or a previous record
+     * @param ticks Ticks of the frame (at most {@link #MAX_PACKETS_PER_FRAME})
+     * @param receivedAt Frame arrival time
+     * @return Number of bytes written, or 0 if no tick has a packet
+     */
+    static int writeRecord(DataOutputStream out, List<Tick> ticks, Instant receivedAt) throws IOException {
+        int packets = 0;
+        int length = FRAME_COUNT_SIZE;
+        for (Tick tick : ticks) {
+            int size = KitePacketEncoder.packetSize(tick);
+            if (size > 0) {
+                packets++;
+                length += size;
+            }
+        }
+        if (packets == 0) {
+            return 0;
+        }
+
+        ByteBuffer frame = ByteBuffer.allocate(length).order(ByteOrder.BIG_ENDIAN);
+        frame.putShort((short) packets);
+        for (Tick tick : ticks) {
+            KitePacketEncoder.putPacket(frame, tick);
+        }
+        out.writeLong(toEpochMicros(receivedAt));
+        out.writeInt(length);
+        out.write(frame.array());
+        return Long.BYTES + Integer.BYTES + length;
+    }
+
+    private static long toEpochMicros(Instant instant) {
+        return ChronoUnit.MICROS.between(Instant.EPOCH, instant);
+    }
+
+    /**
+     * Sequential reader over a recorded frame file. Reuses its frame buffer between records.
+     */
+    public static final class Reader implements Closeable {
+
+        private final DataInputStream in;
+        private byte[] buffer = new byte[4096];
+        private long receivedAtMicros;
+        private int length;
+
+        /**
+         * Opens a recording and validates its header.
+         *
+         * @param path Recorded frame file
+         * @throws IOException if the file cannot be read or is not a frame recording
+         */
+        public Reader(Path path) throws IOException {
+            this.in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path), 1 << 16));
+            try {
+                int magic = in.readInt();
+                short version = in.readShort();
+                if (magic != MAGIC || version != VERSION) {
+                    throw new IOException("Not a tick frame recording (version " + VERSION + "): " + path);
+                }
+            } catch (IOException e) {
+                in.close();
+                throw e;
+            }
+        }
+
+        /**
+         * Advances to the next record.
+         *
+         * @return false at end of file (a truncated trailing record is treated as end of file)
+         */
+        public boolean next() throws IOException {
+            try {
+                receivedAtMicros = in.readLong();
+                length = in.readInt();
+                if (length < FRAME_COUNT_SIZE) {
+                    throw new IOException("Corrupt frame record length: " + length);
+                }
+                if (buffer.length < length) {
+                    buffer = new byte[Integer.highestOneBit(length) << 1];
+                }
+                in.readFully(buffer, 0, length);
+                return true;
+            } catch (EOFException e) {
+                return false;
+            }
+        }
+
+        /**
+         * @return Arrival time of the current record in epoch microseconds
+         */
+        public long receivedAtMicros() {
+            return receivedAtMicros;
+        }
+
+        /**
+         * @return Big-endian view of the current frame, valid until the next call to {@link #next()}
+         */
+        public ByteBuffer frame() {
+            return ByteBuffer.wrap(buffer, 0, length).slice().order(ByteOrder.BIG_ENDIAN);
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+}
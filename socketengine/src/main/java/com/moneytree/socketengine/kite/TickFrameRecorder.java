@@ -0,0 +1,135 @@
+package com.moneytree.socketengine.kite;
+
+import com.moneytree.socketengine.config.SocketEngineProperties;
+import com.moneytree.socketengine.domain.Tick;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Captures the frames of the live Kite feed to a {@link TickFrameFile} recording for later replay
+ * with {@link ReplayTickSource}.
+ *
+ * <p>Recording is enabled by setting {@code socketengine.source.record-path}. Frames from every
+ * ticker connection are appended through one buffered stream; the buffer is flushed on shutdown,
+ * so the tail of a recording may be lost if the process is killed.
+ */
+@Component
+@ConditionalOnProperty(prefix = "socketengine.source", name = "type", havingValue = "kite", matchIfMissing = true)
+@Slf4j
+public class TickFrameRecorder {
+
+    private final SocketEngineProperties properties;
+
+    private DataOutputStream out;
+    private long framesRecorded = 0;
+    private long bytesRecorded = 0;
+
+    public TickFrameRecorder(SocketEngineProperties properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * Opens the recording file if recording is configured. Appends to an existing recording.
+     */
+    @PostConstruct
+    public synchronized void open() {
+        String recordPath = properties.getSource().getRecordPath();
+        if (recordPath == null || recordPath.isBlank()) {
+            return;
+        }
+
+        try {
+            Path path = Path.of(recordPath);
+            boolean fresh = !Files.exists(path) || Files.size(path) == 0;
+            out = new DataOutputStream(new BufferedOutputStream(
+                Files.newOutputStream(path, StandardOpenOption.CREATE, StandardOpenOption.APPEND), 1 << 16));
+            if (fresh) {
+                TickFrameFile.writeHeader(out);
+            }
+            log.info("Recording Kite frames to {}", path.toAbsolutePath());
+        } catch (IOException e) {
+            log.error("Failed to open tick recording {}, recording disabled", recordPath, e);
+            out = null;
+        }
+    }
+
+    /**
+     * @return true if frames are being written to a recording
+     */
+    public synchronized boolean isRecording() {
+        return out != null;
+    }
+
+    /**
+     * Appends one frame to the recording. Does nothing if recording is disabled.
+     * Called on the receive thread of every ticker connection.
+     *
+     * @param frame Ticks of one Kite frame, in arrival order
+     * @param receivedAt Frame arrival time
+     */
+    public synchronized void record(List<Tick> frame, Instant receivedAt) {
+        if (out == null || frame.isEmpty()) {
+            return;
+        }
+
+        try {
+            for (int from = 0; from < frame.size(); from += TickFrameFile.MAX_PACKETS_PER_FRAME) {
+                int to = Math.min(frame.size(), from + TickFrameFile.MAX_PACKETS_PER_FRAME);
+                int written = TickFrameFile.writeRecord(out, frame.subList(from, to), receivedAt);
+                if (written > 0) {
+                    framesRecorded++;
+                    bytesRecorded += written;
+                }
+            }
+        } catch (IOException e) {
+            log.error("Failed to record Kite frame, recording disabled", e);
+            closeQuietly();
+        }
+    }
+
+    /**
+     * @return Number of frame records written since startup
+     */
+    public synchronized long getFramesRecorded() {
+        return framesRecorded;
+    }
+
+    /**
+     * @return Number of bytes written since startup
+     */
+    public synchronized long getBytesRecorded() {
+        return bytesRecorded;
+    }
+
+    /**
+     * Flushes and closes the recording.
+     */
+    @PreDestroy
+    public synchronized void close() {
+        if (out != null) {
+            log.info("Closing tick recording after {} frames ({} bytes)", framesRecorded, bytesRecorded);
+            closeQuietly();
+        }
+    }
+
+    private void closeQuietly() {
+        try {
+            out.close();
+        } catch (IOException e) {
+            log.warn("Error closing tick recording", e);
+        }
+        out = null;
+    }
+}
@@ -0,0 +1,41 @@
+package com.moneytree.socketengine.kite;
+
+import java.util.Map;
+
+/**
+ * Source of market data ticks feeding the tick pipeline.
+ * 
+ * <p>Exactly one source is active, selected with {@code socketengine.source.type}:
+ * <ul>
+ *   <li>{@link TickSourceType#KITE} - the live Kite feed ({@link KiteWebSocketClient}), optionally
+ *       captured to a file by {@link TickFrameRecorder}</li>
+ *   <li>{@link TickSourceType#REPLAY} - recorded frames or {@code kite_ticks_data} rows
+ *       re-emitted by {@link ReplayTickSource}, no Kite credentials required</li>
+ *   <li>{@link TickSourceType#EDGE} - tick batches fanned out by an ingest node, received by
+ *       {@code EdgeTickSource} on the edge nodes of a split deployment</li>
+ * </ul>
+ */
+public interface TickSource {
+    
+    /**
+     * @return Short name of the source for status reporting (e.g. "kite", "replay")
+     */
+    String getName();
+    
+    /**
+     * @return true while the source is delivering ticks
+     */
+    boolean isConnected();
+    
+    /**
+     * Get current subscription status for monitoring.
+     * 
+     * @return Map containing source-specific status details
+     */
+    Map<String, Object> getSubscriptionStatus();
+    
+    /**
+     * Stops delivering ticks and releases the source's connections or files.
+     */
+    void shutdown();
+}
@@ -0,0 +1,21 @@
+package com.moneytree.socketengine.kite;
+
+/**
+ * Selects the active {@link TickSource}.
+ */
+public enum TickSourceType {
+    /**
+     * Live Kite WebSocket feed
+     */
+    KITE,
+    
+    /**
+     * Replay of recorded frames or persisted ticks
+     */
+    REPLAY,
+
+    /**
+     * Ticks fanned out by an ingest node over the cluster broker (edge node)
+     */
+    EDGE
+}
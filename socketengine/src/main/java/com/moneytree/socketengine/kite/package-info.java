@@ -1,5 +1,6 @@
 /**
  * Kite integration layer (internal).
- * Handles WebSocket connection to Kite API, tick parsing, and reconnection logic.
+ * Handles WebSocket connection to Kite API, demand-driven subscriptions, tick parsing,
+ * and reconnection logic, plus the pluggable tick sources (live feed, frame recording and replay).
  */
 package com.moneytree.socketengine.kite;
@@ -1,12 +1,11 @@
 package com.moneytree.socketengine.persistence;
 
-import com.moneytree.socketengine.domain.InstrumentInfo;
-import com.moneytree.socketengine.domain.events.TickReceivedEvent;
+import com.moneytree.socketengine.domain.Tick;
+import com.moneytree.socketengine.kite.InstrumentIndex;
 import com.moneytree.socketengine.kite.InstrumentLoader;
+import com.moneytree.socketengine.kite.KitePacketEncoder;
+import com.moneytree.socketengine.pipeline.TickBatchHandler;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.context.event.EventListener;
-import org.springframework.core.annotation.Order;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
@@ -27,7 +26,7 @@ import java.util.concurrent.atomic.AtomicLong;
  */
 @Component
 @Slf4j
-public class TickBatchBuffer {
+public class TickBatchBuffer implements TickBatchHandler {
     
     private final InstrumentLoader instrumentLoader;
     
@@ -41,46 +40,60 @@ public class TickBatchBuffer {
         this.instrumentLoader = instrumentLoader;
     }
     
+    @Override
+    public String consumerName() {
+        return "persistence";
+    }
+    
     /**
-     * Cold path: Asynchronous event listener for buffering ticks.
-     * Runs on separate thread pool (tickPersistenceExecutor) to avoid blocking the hot path.
-     * 
-     * Order(2) ensures this runs after TickCacheService (Order(1)) and TickBroadcaster (synchronous).
+     * Ticks are persisted once, by the ingest node.
+     */
+    @Override
+    public boolean ingestOnly() {
+        return true;
+    }
+    
+    /**
+     * Cold path: Buffers a batch of ticks from the pipeline's persistence consumer thread.
+     * The instrument snapshot is read and the buffer size updated once per batch.
      * 
-     * @param event The tick received event containing tick data
+     * @param ticks The ticks to buffer
      */
-    @Async("tickPersistenceExecutor")
-    @EventListener
-    @Order(2)
-    public void onTickReceived(TickReceivedEvent event) {
-        try {
-            var tick = event.tick();
-            
-            // Lookup instrument metadata to get tradingsymbol and exchange
-            InstrumentInfo info = instrumentLoader.getInstrumentInfo(tick.getInstrumentToken());
-            
-            // Create entity with instrument metadata and raw binary data
-            TickEntity entity = TickEntity.builder()
-                .instrumentToken(tick.getInstrumentToken())
-                .tradingSymbol(info != null ? info.getTradingSymbol() : tick.getSymbol())
-                .exchange(info != null ? getExchange(info) : "NSE")
-                .tickTimestamp(tick.getTimestamp())
-                .rawTickData(tick.getRawBinaryData())  // Store raw binary from Kite
-                .build();
-            
-            // Add to buffer (thread-safe operation)
-            buffer.offer(entity);
-            long size = bufferSize.incrementAndGet();
-            
-            // Log buffer size every 10,000 ticks for monitoring
-            if (size % 10000 == 0) {
-                log.info("Buffer size: {} ticks", size);
+    @Override
+    public void onBatch(List<Tick> ticks) {
+        InstrumentIndex index = instrumentLoader.getIndex();
+        List<TickEntity> entities = new ArrayList<>(ticks.size());
+        
+        for (Tick tick : ticks) {
+            try {
+                // Lookup instrument metadata to get tradingsymbol and exchange
+                int instrumentId = index.resolve(tick.getInstrumentId(), tick.getInstrumentToken());
+                boolean known = instrumentId != InstrumentIndex.NOT_FOUND;
+                
+                // Create entity with instrument metadata and the instrument's packet, encoded here
+                // for live ticks so the Kite receive thread does not pay for it
+                entities.add(TickEntity.builder()
+                    .instrumentToken(tick.getInstrumentToken())
+                    .tradingSymbol(known ? index.symbolAt(instrumentId) : tick.getSymbol())
+                    .exchange(known ? index.exchangeAt(instrumentId) : InstrumentIndex.DEFAULT_EXCHANGE)
+                    .tickTimestamp(tick.getTimestamp())
+                    .rawTickData(KitePacketEncoder.packetFrame(tick))  // Single-packet frame for this instrument
+                    .build());
+                
+            } catch (Exception e) {
+                log.error("Error buffering tick for {}: {}", 
+                    tick.getSymbol(), e.getMessage(), e);
+                // Don't rethrow - buffering failures shouldn't affect other consumers
             }
-            
-        } catch (Exception e) {
-            log.error("Error buffering tick for {}: {}", 
-                event.tick().getSymbol(), e.getMessage(), e);
-            // Don't rethrow - buffering failures shouldn't affect other consumers
+        }
+        
+        // Add to buffer (thread-safe operation)
+        buffer.addAll(entities);
+        long size = bufferSize.addAndGet(entities.size());
+        
+        // Log buffer size every 10,000 ticks for monitoring
+        if (size / 10000 > (size - entities.size()) / 10000) {
+            log.info("Buffer size: {} ticks", size);
         }
     }
     
@@ -138,17 +151,4 @@ public class TickBatchBuffer {
         
         log.warn("Re-added {} ticks to buffer for retry", batch.size());
     }
-    
-    /**
-     * Determines the exchange for an instrument based on its type.
-     * NSE is used for both indices and stocks in this implementation.
-     * 
-     * @param info Instrument information
-     * @return Exchange code (e.g., "NSE")
-     */
-    private String getExchange(InstrumentInfo info) {
-        // For now, all instruments are NSE
-        // This can be extended to support other exchanges (BSE, NFO, etc.)
-        return "NSE";
-    }
 }
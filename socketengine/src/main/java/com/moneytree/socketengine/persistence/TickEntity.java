@@ -51,8 +51,9 @@ public class TickEntity {
     private Instant tickTimestamp;
     
     /**
-     * Raw binary data received from Kite WebSocket API.
-     * Stored as-is without parsing to minimize storage overhead.
+     * Raw binary data received from Kite WebSocket API for this instrument,
+     * stored as a single-packet Kite frame without parsing to minimize storage overhead.
+     * Rows written before per-packet storage may hold the whole multi-packet frame.
      * Can be parsed on-demand when querying historical data.
      */
     @Column(name = "raw_tick_data", nullable = false, columnDefinition = "bytea")
@@ -50,6 +50,7 @@ public class TickPersistenceService {
         // Register timer for batch persistence duration
         this.batchPersistenceTimer = Timer.builder("socketengine.persistence.batch.duration")
             .description("Duration of batch persistence operations")
+            .publishPercentiles(0.5, 0.99, 0.999)
             .register(meterRegistry);
     }
     
@@ -0,0 +1,41 @@
+package com.moneytree.socketengine.pipeline;
+
+import com.moneytree.socketengine.domain.Tick;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Adapts a {@link TickBatchHandler} to the per-tick consumer loop by accumulating ticks
+ * until the end of the available batch (or the maximum batch size) and then flushing them
+ * in one {@link TickBatchHandler#onBatch} call.
+ */
+final class BatchingTickEventHandler implements TickEventHandler {
+
+    private final TickBatchHandler delegate;
+    private final int maxBatchSize;
+    private final List<Tick> batch;
+
+    BatchingTickEventHandler(TickBatchHandler delegate, int maxBatchSize) {
+        this.delegate = delegate;
+        this.maxBatchSize = maxBatchSize;
+        this.batch = new ArrayList<>(maxBatchSize);
+    }
+
+    @Override
+    public void onEvent(Tick tick, long sequence, boolean endOfBatch) throws Exception {
+        batch.add(tick);
+        if (endOfBatch || batch.size() >= maxBatchSize) {
+            try {
+                delegate.onBatch(batch);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    @Override
+    public String consumerName() {
+        return delegate.consumerName();
+    }
+}
@@ -0,0 +1,34 @@
+package com.moneytree.socketengine.pipeline;
+
+import com.moneytree.socketengine.domain.Tick;
+
+import java.util.List;
+
+/**
+ * Pipeline consumer that processes ticks a batch at a time.
+ *
+ * <p>{@link TickPipeline} collects the ticks available to the consumer, up to
+ * {@code socketengine.pipeline.max-batch-size}, and hands them over in a single {@link #onBatch}
+ * call, so fixed costs are paid once per batch rather than once per tick. Batches end on frame
+ * boundaries, except that a frame with more ticks than max-batch-size is split across calls.
+ */
+public interface TickBatchHandler extends TickEventHandler {
+
+    /**
+     * Called with the next batch of ticks, in sequence order. The list is reused by the
+     * pipeline and is only valid for the duration of the call.
+     *
+     * @param ticks Ticks of the batch
+     * @throws Exception Logged by the pipeline; the consumer moves on to the next batch
+     */
+    void onBatch(List<Tick> ticks) throws Exception;
+
+    /**
+     * Handles a single tick as a batch of one. The pipeline never calls this for batch handlers;
+     * it exists so a batch handler can still be driven tick by tick.
+     */
+    @Override
+    default void onEvent(Tick tick, long sequence, boolean endOfBatch) throws Exception {
+        onBatch(List.of(tick));
+    }
+}
@@ -0,0 +1,120 @@
+package com.moneytree.socketengine.pipeline;
+
+import com.moneytree.socketengine.domain.Tick;
+import io.micrometer.core.instrument.Counter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drains the ring buffer for a single {@link TickEventHandler} on a dedicated thread.
+ *
+ * <p>The consumer reads every sequence up to the highest published one as a batch and
+ * records its progress once per batch. If it falls more than a ring's worth behind, the
+ * skipped ticks are counted as overruns and it resumes at the oldest tick still in the ring.
+ * For sampled batches, the dispatch latency of the batch's oldest tick is recorded.
+ */
+@Slf4j
+final class TickConsumer implements Runnable {
+
+    private final TickRingBuffer ringBuffer;
+    private final TickEventHandler handler;
+    private final WaitStrategy waitStrategy;
+    private final Counter overrunCounter;
+    private final TickLatencyMetrics latencyMetrics;
+    private final AtomicLong sequence = new AtomicLong(-1L);
+    private volatile boolean running = true;
+
+    TickConsumer(TickRingBuffer ringBuffer, TickEventHandler handler, WaitStrategy waitStrategy,
+            Counter overrunCounter, TickLatencyMetrics latencyMetrics) {
+        this.ringBuffer = ringBuffer;
+        this.handler = handler;
+        this.waitStrategy = waitStrategy;
+        this.overrunCounter = overrunCounter;
+        this.latencyMetrics = latencyMetrics;
+    }
+
+    @Override
+    public void run() {
+        long next = sequence.get() + 1;
+
+        // Keep going after stop() until everything already published has been handled
+        while (running || next <= ringBuffer.getCursor()) {
+            long available;
+            try {
+                available = waitStrategy.waitFor(next, ringBuffer::getCursor, this::isRunning);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            if (available < next) {
+                continue;
+            }
+
+            long oldest = available - ringBuffer.capacity() + 1;
+            if (next < oldest) {
+                skip(next, oldest);
+                next = oldest;
+            }
+
+            boolean sampled = latencyMetrics.sample();
+            while (next <= available) {
+                Tick tick = ringBuffer.get(next);
+                if (tick == null) {
+                    // Overwritten while we were behind; jump to the oldest tick still in the ring
+                    long resume = Math.max(next + 1, ringBuffer.getCursor() - ringBuffer.capacity() + 1);
+                    skip(next, resume);
+                    next = resume;
+                    break;
+                }
+                if (sampled) {
+                    latencyMetrics.recordDispatch(handler.consumerName(), tick.getReceivedAtNanos());
+                    sampled = false;
+                }
+                try {
+                    handler.onEvent(tick, next, next == available);
+                } catch (Exception e) {
+                    log.error("Consumer {} failed to handle tick {} at sequence {}",
+                        handler.consumerName(), tick.getSymbol(), next, e);
+                }
+                next++;
+            }
+            sequence.lazySet(next - 1);
+        }
+        log.info("Pipeline consumer {} stopped at sequence {}", handler.consumerName(), sequence.get());
+    }
+
+    private void skip(long from, long to) {
+        long dropped = to - from;
+        overrunCounter.increment(dropped);
+        log.warn("Pipeline consumer {} overrun: skipped {} ticks ({}..{})",
+            handler.consumerName(), dropped, from, to - 1);
+    }
+
+    void stop() {
+        running = false;
+    }
+
+    boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * @return Number of published ticks this consumer has not processed yet
+     */
+    long lag() {
+        return Math.max(0, ringBuffer.getCursor() - sequence.get());
+    }
+
+    long getSequence() {
+        return sequence.get();
+    }
+
+    WaitStrategy getWaitStrategy() {
+        return waitStrategy;
+    }
+
+    TickEventHandler getHandler() {
+        return handler;
+    }
+}
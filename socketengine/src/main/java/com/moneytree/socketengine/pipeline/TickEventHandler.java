@@ -0,0 +1,40 @@
+package com.moneytree.socketengine.pipeline;
+
+import com.moneytree.socketengine.domain.Tick;
+
+/**
+ * Consumer of the tick pipeline. Every Spring bean implementing this interface gets its own
+ * consumer thread and sequence in {@link TickPipeline}.
+ *
+ * <p>Handlers are invoked from a single thread, in sequence order. The {@code endOfBatch} flag
+ * marks the last tick currently available, so handlers can accumulate work and flush it once
+ * per batch instead of once per tick.
+ */
+public interface TickEventHandler {
+
+    /**
+     * Called for every tick published to the pipeline.
+     *
+     * @param tick The tick
+     * @param sequence Ring buffer sequence of the tick
+     * @param endOfBatch true if this is the last tick available to the consumer right now
+     * @throws Exception Logged by the pipeline; the consumer moves on to the next tick
+     */
+    void onEvent(Tick tick, long sequence, boolean endOfBatch) throws Exception;
+
+    /**
+     * @return Short consumer name used for thread names, metrics tags and configuration keys
+     */
+    String consumerName();
+
+    /**
+     * Consumers that must see every tick once per deployment (storage, fan-out to edge nodes)
+     * run only on the node ingesting the feed. Edge nodes ({@code socketengine.source.type=edge})
+     * receive ticks the ingest node has already handled and skip these consumers.
+     *
+     * @return true if the consumer only runs on the ingesting node
+     */
+    default boolean ingestOnly() {
+        return false;
+    }
+}
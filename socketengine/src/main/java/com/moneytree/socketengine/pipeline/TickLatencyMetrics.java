@@ -0,0 +1,165 @@
+package com.moneytree.socketengine.pipeline;
+
+import com.moneytree.socketengine.config.SocketEngineProperties;
+import com.moneytree.socketengine.domain.InstrumentType;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-stage latency histograms for the tick pipeline.
+ *
+ * <p>Every tick carries {@link com.moneytree.socketengine.domain.Tick#getReceivedAtNanos()}, the
+ * {@link System#nanoTime()} of its frame's arrival, so each stage can be measured against a
+ * common origin. Timers are backed by Micrometer's HdrHistogram recorders and publish
+ * p50/p99/p999 plus a percentile histogram to the Prometheus endpoint.
+ *
+ * <p>Recording is sampled per frame or batch: callers ask {@link #sample()} once and only take
+ * timestamps when it returns true, so unsampled batches pay a single random draw.
+ *
+ * <p>Metrics:
+ * <ul>
+ *   <li>{@code socketengine.pipeline.stage.latency{stage}} - time spent in each {@link Stage}</li>
+ *   <li>{@code socketengine.pipeline.dispatch.latency{consumer}} - frame arrival until a consumer
+ *       picks the tick up from the ring</li>
+ *   <li>{@code socketengine.tick.exchange.to.send{type}} - exchange timestamp until the tick was
+ *       written to the last client socket (exchange timestamps have second resolution)</li>
+ * </ul>
+ */
+@Component
+public class TickLatencyMetrics {
+
+    /**
+     * Measured pipeline stages
+     */
+    public enum Stage {
+        /** Turning a received frame into domain ticks (KiteTicker conversion or binary parse) */
+        DECODE,
+        /** Resolving instrument tokens against the InstrumentIndex, per frame */
+        LOOKUP,
+        /** Building the outbound DTO and serializing it, per tick */
+        ENCODE,
+        /** Sending one tick to all of its target sessions */
+        FANOUT,
+        /** A single socket write */
+        SEND,
+        /** Frame arrival until the tick was written to its last target session */
+        ARRIVAL_TO_SEND,
+        /** Writing a batch to Redis */
+        CACHE;
+
+        String tag() {
+            return name().toLowerCase();
+        }
+    }
+
+    private static final double[] PERCENTILES = {0.5, 0.99, 0.999};
+
+    private final MeterRegistry meterRegistry;
+    private final int sampleRate;
+    private final Timer[] stageTimers;
+    private final Timer[] exchangeToSendTimers;
+    private final Map<String, Timer> dispatchTimers = new ConcurrentHashMap<>();
+
+    public TickLatencyMetrics(SocketEngineProperties properties, MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.sampleRate = Math.max(1, properties.getPipeline().getLatencySampleRate());
+
+        Stage[] stages = Stage.values();
+        this.stageTimers = new Timer[stages.length];
+        for (Stage stage : stages) {
+            stageTimers[stage.ordinal()] = histogram("socketengine.pipeline.stage.latency",
+                    "Latency of a tick pipeline stage", Duration.ofNanos(100), Duration.ofSeconds(10))
+                .tag("stage", stage.tag())
+                .register(meterRegistry);
+        }
+
+        InstrumentType[] types = InstrumentType.values();
+        this.exchangeToSendTimers = new Timer[types.length];
+        for (InstrumentType type : types) {
+            exchangeToSendTimers[type.ordinal()] = histogram("socketengine.tick.exchange.to.send",
+                    "Exchange timestamp until the tick was sent to clients", Duration.ofMillis(1), Duration.ofMinutes(1))
+                .tag("type", type.name())
+                .register(meterRegistry);
+        }
+    }
+
+    private static Timer.Builder histogram(String name, String description, Duration min, Duration max) {
+        return Timer.builder(name)
+            .description(description)
+            .publishPercentiles(PERCENTILES)
+            .publishPercentileHistogram()
+            .minimumExpectedValue(min)
+            .maximumExpectedValue(max);
+    }
+
+    /**
+     * Decides whether the caller's current frame or batch is measured.
+     *
+     * @return true for roughly one in {@code latency-sample-rate} calls
+     */
+    public boolean sample() {
+        return sampleRate == 1 || ThreadLocalRandom.current().nextInt(sampleRate) == 0;
+    }
+
+    /**
+     * Records a stage duration.
+     *
+     * @param stage Measured stage
+     * @param nanos Duration in nanoseconds
+     */
+    public void record(Stage stage, long nanos) {
+        stageTimers[stage.ordinal()].record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Records the time elapsed since {@code startNanos}. Does nothing for unstamped ticks (0).
+     *
+     * @param stage Measured stage
+     * @param startNanos {@link System#nanoTime()} at the start of the stage
+     */
+    public void recordSince(Stage stage, long startNanos) {
+        if (startNanos != 0) {
+            record(stage, System.nanoTime() - startNanos);
+        }
+    }
+
+    /**
+     * Records how long a tick waited between frame arrival and a consumer picking it up.
+     *
+     * @param consumerName Consumer name
+     * @param receivedAtNanos Frame arrival stamp of the tick (0 = unstamped, ignored)
+     */
+    public void recordDispatch(String consumerName, long receivedAtNanos) {
+        if (receivedAtNanos == 0) {
+            return;
+        }
+        dispatchTimers.computeIfAbsent(consumerName, name ->
+                histogram("socketengine.pipeline.dispatch.latency",
+                        "Frame arrival until a pipeline consumer picked up the tick", Duration.ofNanos(100), Duration.ofSeconds(10))
+                    .tag("consumer", name)
+                    .register(meterRegistry))
+            .record(System.nanoTime() - receivedAtNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Records exchange-timestamp-to-send latency for one tick.
+     *
+     * @param type Instrument type of the tick
+     * @param exchangeTimestamp Exchange timestamp (null = unknown, ignored)
+     */
+    public void recordExchangeToSend(InstrumentType type, Instant exchangeTimestamp) {
+        if (type == null || exchangeTimestamp == null) {
+            return;
+        }
+        long millis = Math.max(0, System.currentTimeMillis() - exchangeTimestamp.toEpochMilli());
+        exchangeToSendTimers[type.ordinal()].record(millis, TimeUnit.MILLISECONDS);
+    }
+}
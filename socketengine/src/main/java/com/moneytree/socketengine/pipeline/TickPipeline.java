@@ -0,0 +1,217 @@
+package com.moneytree.socketengine.pipeline;
+
+import com.moneytree.socketengine.config.SocketEngineProperties;
+import com.moneytree.socketengine.domain.Tick;
+import com.moneytree.socketengine.domain.events.TickBatchReceivedEvent;
+import com.moneytree.socketengine.domain.events.TickReceivedEvent;
+import com.moneytree.socketengine.kite.TickSourceType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Dispatches ingested ticks to the broadcast, cache and persistence consumers through a
+ * preallocated {@link TickRingBuffer}.
+ *
+ * <p>Each {@link TickEventHandler} bean gets its own consumer thread, sequence and
+ * {@link WaitStrategy}, so a slow consumer (e.g. Redis) only falls behind on its own and
+ * never blocks ingestion or the other consumers. Consumer lag is exposed as the
+ * {@code socketengine.pipeline.lag} gauge and dropped ticks as {@code socketengine.pipeline.overruns},
+ * both tagged by consumer.
+ *
+ * <p>On edge nodes, which receive their ticks from an ingest node, the
+ * {@link TickEventHandler#ingestOnly() ingest-only} consumers are not registered.
+ *
+ * <p>Publication is serialized, so the ring only ever sees one writer at a time.
+ */
+@Component
+@Slf4j
+public class TickPipeline implements SmartLifecycle {
+
+    private static final long STOP_TIMEOUT_MILLIS = 5000;
+
+    private final TickRingBuffer ringBuffer;
+    private final List<TickConsumer> consumers = new ArrayList<>();
+    private final WaitStrategy[] waitStrategies;
+    private final List<Thread> threads = new ArrayList<>();
+    private final Counter publishedCounter;
+    private volatile boolean running = false;
+
+    public TickPipeline(
+            SocketEngineProperties properties,
+            List<TickEventHandler> handlers,
+            TickLatencyMetrics latencyMetrics,
+            MeterRegistry meterRegistry) {
+        SocketEngineProperties.Pipeline config = properties.getPipeline();
+        this.ringBuffer = new TickRingBuffer(config.getRingSize());
+
+        boolean edge = properties.getSource().getType() == TickSourceType.EDGE;
+        for (TickEventHandler handler : handlers) {
+            String name = handler.consumerName();
+            if (edge && handler.ingestOnly()) {
+                log.info("Skipping pipeline consumer {} on edge node", name);
+                continue;
+            }
+            WaitStrategyType strategy = config.getConsumerWaitStrategies()
+                .getOrDefault(name, config.getWaitStrategy());
+
+            Counter overruns = Counter.builder("socketengine.pipeline.overruns")
+                .description("Ticks skipped because the consumer fell more than a ring behind")
+                .tag("consumer", name)
+                .register(meterRegistry);
+            TickEventHandler consumerHandler = handler instanceof TickBatchHandler batchHandler
+                ? new BatchingTickEventHandler(batchHandler, config.getMaxBatchSize())
+                : handler;
+            TickConsumer consumer = new TickConsumer(
+                ringBuffer, consumerHandler, strategy.create(), overruns, latencyMetrics);
+            consumers.add(consumer);
+
+            Gauge.builder("socketengine.pipeline.lag", consumer, TickConsumer::lag)
+                .description("Number of published ticks not yet processed by the consumer")
+                .tag("consumer", name)
+                .register(meterRegistry);
+
+            log.info("Registered pipeline consumer {} with {} wait strategy", name, strategy);
+        }
+        this.waitStrategies = consumers.stream()
+            .map(TickConsumer::getWaitStrategy)
+            .toArray(WaitStrategy[]::new);
+
+        this.publishedCounter = Counter.builder("socketengine.pipeline.published")
+            .description("Total number of ticks published to the pipeline")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Publishes a tick to all consumers. Never blocks on consumers.
+     *
+     * @param tick Tick to publish
+     */
+    public synchronized void publish(Tick tick) {
+        ringBuffer.publish(tick);
+        publishedCounter.increment();
+        signalConsumers();
+    }
+
+    /**
+     * Publishes all ticks of a frame as one unit: the cursor moves once and consumers are
+     * signalled once, so no consumer ever sees a partial frame. Never blocks on consumers.
+     *
+     * @param ticks Ticks of the frame, in arrival order
+     */
+    public synchronized void publishBatch(List<Tick> ticks) {
+        if (ticks.isEmpty()) {
+            return;
+        }
+        ringBuffer.publish(ticks);
+        publishedCounter.increment(ticks.size());
+        signalConsumers();
+    }
+
+    private void signalConsumers() {
+        for (WaitStrategy waitStrategy : waitStrategies) {
+            waitStrategy.signalAllWhenBlocking();
+        }
+    }
+
+    /**
+     * Bridges ticks published as Spring events (e.g. from tests or tools) into the pipeline.
+     *
+     * @param event The tick received event
+     */
+    @EventListener
+    public void onTickReceived(TickReceivedEvent event) {
+        publish(event.tick());
+    }
+
+    /**
+     * Bridges whole frames published as Spring events into the pipeline.
+     *
+     * @param event The batch event carrying every tick of a frame
+     */
+    @EventListener
+    public void onTickBatchReceived(TickBatchReceivedEvent event) {
+        publishBatch(event.ticks());
+    }
+
+    @Override
+    public void start() {
+        for (TickConsumer consumer : consumers) {
+            Thread thread = new Thread(consumer, "tick-" + consumer.getHandler().consumerName());
+            thread.setDaemon(true);
+            thread.start();
+            threads.add(thread);
+        }
+        running = true;
+        log.info("Tick pipeline started with ring size {} and {} consumers",
+            ringBuffer.capacity(), consumers.size());
+    }
+
+    @Override
+    public void stop() {
+        consumers.forEach(TickConsumer::stop);
+        signalConsumers();
+        for (Thread thread : threads) {
+            try {
+                thread.join(STOP_TIMEOUT_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        threads.clear();
+        running = false;
+        log.info("Tick pipeline stopped");
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * @param consumerName Consumer name as returned by {@link TickEventHandler#consumerName()}
+     * @return Number of ticks the consumer still has to process, or -1 if there is no such consumer
+     */
+    public long getLag(String consumerName) {
+        return consumers.stream()
+            .filter(consumer -> consumer.getHandler().consumerName().equals(consumerName))
+            .mapToLong(TickConsumer::lag)
+            .findFirst()
+            .orElse(-1L);
+    }
+
+    /**
+     * @return Highest sequence published so far, or -1 if nothing has been published
+     */
+    public long getCursor() {
+        return ringBuffer.getCursor();
+    }
+
+    /**
+     * Waits until every consumer has processed all ticks published so far.
+     * Intended for tests and graceful shutdown.
+     *
+     * @param timeout Maximum time to wait
+     * @param unit Time unit of the timeout
+     * @return true if all consumers caught up within the timeout
+     */
+    public boolean awaitDrained(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        while (consumers.stream().anyMatch(consumer -> consumer.lag() > 0)) {
+            if (System.nanoTime() >= deadline) {
+                return false;
+            }
+            Thread.sleep(1);
+        }
+        return true;
+    }
+}
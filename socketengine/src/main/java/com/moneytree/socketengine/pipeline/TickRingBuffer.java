@@ -0,0 +1,119 @@
+package com.moneytree.socketengine.pipeline;
+
+import com.moneytree.socketengine.domain.Tick;
+
+import java.lang.invoke.VarHandle;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Preallocated single-producer ring buffer of ticks.
+ *
+ * <p>The producer never waits for consumers: once the ring wraps, the oldest slots are
+ * overwritten. Each slot carries the sequence it holds, so a consumer that falls more than
+ * {@link #capacity()} ticks behind detects the overrun in {@link #get(long)} and skips ahead
+ * instead of stalling ingestion.
+ *
+ * <p>The publish methods must only be called from one thread at a time.
+ */
+public final class TickRingBuffer {
+
+    private static final long EMPTY = -1L;
+
+    private final Slot[] slots;
+    private final int mask;
+    private final AtomicLong cursor = new AtomicLong(EMPTY);
+
+    // Only touched by the producer
+    private long nextSequence;
+
+    /**
+     * @param capacity Number of slots; must be a power of two
+     */
+    public TickRingBuffer(int capacity) {
+        if (capacity < 1 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Ring buffer capacity must be a power of two: " + capacity);
+        }
+        this.slots = new Slot[capacity];
+        this.mask = capacity - 1;
+        for (int i = 0; i < capacity; i++) {
+            slots[i] = new Slot();
+        }
+    }
+
+    /**
+     * Publishes a tick into the next slot, overwriting the oldest tick once the ring is full.
+     *
+     * @param tick Tick to publish
+     * @return Sequence assigned to the tick
+     */
+    public long publish(Tick tick) {
+        long sequence = write(tick);
+        cursor.set(sequence);
+        return sequence;
+    }
+
+    /**
+     * Publishes a batch of ticks and advances the cursor once, after the last one, so
+     * consumers always see the batch as a whole.
+     *
+     * @param ticks Ticks to publish, in order; must not be empty
+     * @return Sequence assigned to the last tick
+     */
+    public long publish(List<Tick> ticks) {
+        long sequence = EMPTY;
+        for (int i = 0, n = ticks.size(); i < n; i++) {
+            sequence = write(ticks.get(i));
+        }
+        cursor.set(sequence);
+        return sequence;
+    }
+
+    private long write(Tick tick) {
+        long sequence = nextSequence++;
+        Slot slot = slots[(int) (sequence & mask)];
+
+        // Invalidate the slot before replacing its tick so concurrent readers notice the overwrite
+        slot.sequence = EMPTY;
+        VarHandle.storeStoreFence();
+        slot.tick = tick;
+        slot.sequence = sequence;
+        return sequence;
+    }
+
+    /**
+     * Reads the tick published at the given sequence.
+     *
+     * @param sequence Sequence to read; must not be above {@link #getCursor()}
+     * @return The tick, or null if the slot has already been overwritten by a newer sequence
+     */
+    public Tick get(long sequence) {
+        Slot slot = slots[(int) (sequence & mask)];
+        if (slot.sequence != sequence) {
+            return null;
+        }
+        Tick tick = slot.tick;
+        // Re-check after reading: the producer may have started overwriting the slot meanwhile
+        VarHandle.loadLoadFence();
+        return slot.sequence == sequence ? tick : null;
+    }
+
+    /**
+     * @return Highest published sequence, or -1 if nothing has been published yet
+     */
+    public long getCursor() {
+        return cursor.get();
+    }
+
+    /**
+     * @return Number of slots in the ring
+     */
+    public int capacity() {
+        return slots.length;
+    }
+
+    private static final class Slot {
+        volatile long sequence = EMPTY;
+        Tick tick;
+    }
+}
@@ -0,0 +1,29 @@
+package com.moneytree.socketengine.pipeline;
+
+import java.util.function.BooleanSupplier;
+import java.util.function.LongSupplier;
+
+/**
+ * Strategy used by a consumer to wait for the producer to publish a sequence.
+ * Trades latency against CPU usage; see {@link WaitStrategyType} for the available strategies.
+ */
+public interface WaitStrategy {
+
+    /**
+     * Waits until the cursor reaches the given sequence or the consumer is stopped.
+     *
+     * @param sequence Next sequence the consumer wants to read
+     * @param cursor Highest sequence published by the producer
+     * @param running Returns false once the consumer should stop waiting
+     * @return Highest published sequence, which may be below {@code sequence} if the consumer was stopped
+     * @throws InterruptedException if the consumer thread is interrupted while waiting
+     */
+    long waitFor(long sequence, LongSupplier cursor, BooleanSupplier running) throws InterruptedException;
+
+    /**
+     * Wakes up consumers blocked in {@link #waitFor}. Called by the producer after every publish,
+     * so implementations that never block must keep this a no-op.
+     */
+    default void signalAllWhenBlocking() {
+    }
+}
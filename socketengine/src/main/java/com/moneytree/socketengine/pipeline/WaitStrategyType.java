@@ -0,0 +1,138 @@
+package com.moneytree.socketengine.pipeline;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BooleanSupplier;
+import java.util.function.LongSupplier;
+
+/**
+ * Wait strategies available to pipeline consumers, from the most CPU friendly to the lowest latency.
+ */
+public enum WaitStrategyType {
+
+    /**
+     * Parks on a condition until the producer signals. Lowest CPU usage, highest wake-up latency.
+     */
+    BLOCKING {
+        @Override
+        public WaitStrategy create() {
+            return new BlockingWaitStrategy();
+        }
+    },
+
+    /**
+     * Spins briefly, then yields, then parks for short intervals. Good default for shared hosts.
+     */
+    SLEEPING {
+        @Override
+        public WaitStrategy create() {
+            return (sequence, cursor, running) -> {
+                long available;
+                int counter = 200;
+                while ((available = cursor.getAsLong()) < sequence && running.getAsBoolean()) {
+                    if (counter > 100) {
+                        Thread.onSpinWait();
+                    } else if (counter > 0) {
+                        Thread.yield();
+                    } else {
+                        LockSupport.parkNanos(100_000L);
+                    }
+                    if (counter > 0) {
+                        counter--;
+                    }
+                }
+                return available;
+            };
+        }
+    },
+
+    /**
+     * Spins for a while, then yields the CPU between checks. Low latency, keeps one core busy.
+     */
+    YIELDING {
+        @Override
+        public WaitStrategy create() {
+            return (sequence, cursor, running) -> {
+                long available;
+                int counter = 100;
+                while ((available = cursor.getAsLong()) < sequence && running.getAsBoolean()) {
+                    if (counter > 0) {
+                        counter--;
+                        Thread.onSpinWait();
+                    } else {
+                        Thread.yield();
+                    }
+                }
+                return available;
+            };
+        }
+    },
+
+    /**
+     * Busy-spins on the cursor. Lowest latency; dedicates a core to the consumer.
+     */
+    BUSY_SPIN {
+        @Override
+        public WaitStrategy create() {
+            return (sequence, cursor, running) -> {
+                long available;
+                while ((available = cursor.getAsLong()) < sequence && running.getAsBoolean()) {
+                    Thread.onSpinWait();
+                }
+                return available;
+            };
+        }
+    };
+
+    /**
+     * @return New strategy instance; each consumer gets its own
+     */
+    public abstract WaitStrategy create();
+
+    /**
+     * Lock and condition based strategy. The producer only takes the lock when a consumer
+     * has announced that it is about to block, so publishing stays cheap while consumers keep up.
+     */
+    static final class BlockingWaitStrategy implements WaitStrategy {
+
+        private static final long MAX_PARK_MILLIS = 100;
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Condition published = lock.newCondition();
+        private volatile boolean signalNeeded;
+
+        @Override
+        public long waitFor(long sequence, LongSupplier cursor, BooleanSupplier running) throws InterruptedException {
+            long available;
+            while ((available = cursor.getAsLong()) < sequence && running.getAsBoolean()) {
+                lock.lock();
+                try {
+                    signalNeeded = true;
+                    if (cursor.getAsLong() >= sequence) {
+                        continue;
+                    }
+                    // Bounded wait so stop requests are noticed even without a signal
+                    published.await(MAX_PARK_MILLIS, TimeUnit.MILLISECONDS);
+                } finally {
+                    lock.unlock();
+                }
+            }
+            return available;
+        }
+
+        @Override
+        public void signalAllWhenBlocking() {
+            if (signalNeeded) {
+                lock.lock();
+                try {
+                    signalNeeded = false;
+                    published.signalAll();
+                } finally {
+                    lock.unlock();
+                }
+            }
+        }
+    }
+}
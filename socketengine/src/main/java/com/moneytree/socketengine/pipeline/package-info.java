@@ -0,0 +1,6 @@
+/**
+ * Tick pipeline (internal).
+ * Hands ticks from the ingestion thread to the broadcast, cache and persistence consumers
+ * through a preallocated ring buffer, so each consumer progresses at its own pace.
+ */
+package com.moneytree.socketengine.pipeline;
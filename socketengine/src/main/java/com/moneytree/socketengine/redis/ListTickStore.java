@@ -0,0 +1,135 @@
+package com.moneytree.socketengine.redis;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.moneytree.socketengine.api.dto.TickDto;
+import com.moneytree.socketengine.domain.Tick;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * {@link TickStore} keeping each symbol's ticks of a day in one Redis list.
+ *
+ * Redis key format: "ticks:{tradingDate}:{symbol}"
+ * Value: List of fixed-width binary tick records (see {@link TickRecordCodec})
+ * TTL: 2 days, set the first time this node writes a key each trading day
+ *
+ * A batch goes out as one pipeline: one RPUSH with all of a symbol's ticks per key, plus an
+ * EXPIRE for keys not yet given their TTL today. Reads fetch the whole day (LRANGE 0 -1) and
+ * decode the records in place; with a time window, only the timestamps of older records are read.
+ */
+@Slf4j
+public class ListTickStore implements TickStore {
+
+    private final RedisTemplate<String, byte[]> tickRedisTemplate;
+    private final ObjectMapper objectMapper;
+
+    // Keys of the current trading date whose TTL has been set, cache consumer thread only
+    private final Set<String> keysWithTtl = new HashSet<>();
+    private String keysWithTtlDate;
+
+    public ListTickStore(RedisTemplate<String, byte[]> tickRedisTemplate, ObjectMapper objectMapper) {
+        this.tickRedisTemplate = tickRedisTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void append(String tradingDate, Map<String, List<Tick>> ticksBySymbol) {
+        if (!tradingDate.equals(keysWithTtlDate)) {
+            // Keys carry the trading date, so yesterday's keys are never written again
+            keysWithTtl.clear();
+            keysWithTtlDate = tradingDate;
+        }
+        List<String> keys = new ArrayList<>(ticksBySymbol.size());
+        tickRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            ticksBySymbol.forEach((symbol, ticks) -> {
+                String key = key(tradingDate, symbol);
+                byte[] rawKey = key.getBytes(StandardCharsets.UTF_8);
+                byte[][] records = new byte[ticks.size()][];
+                for (int i = 0; i < records.length; i++) {
+                    records[i] = TickRecordCodec.encode(ticks.get(i));
+                }
+                // Append to Redis List (RPUSH is O(1) per element)
+                connection.listCommands().rPush(rawKey, records);
+                if (!keysWithTtl.contains(key)) {
+                    connection.keyCommands().expire(rawKey, TTL.toSeconds());
+                }
+                keys.add(key);
+            });
+            return null;
+        });
+        keysWithTtl.addAll(keys);
+    }
+
+    /**
+     * Reads the whole day's list and keeps the ticks after {@code fromMillis}. JSON ticks cached
+     * before the binary format are still decoded.
+     */
+    @Override
+    public List<Tick> read(String tradingDate, String symbol, long fromMillis) {
+        List<byte[]> records = tickRedisTemplate.opsForList().range(key(tradingDate, symbol), 0, -1);
+        if (records == null || records.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        List<Tick> ticks = new ArrayList<>(records.size());
+        for (byte[] record : records) {
+            Tick tick;
+            if (TickRecordCodec.isRecord(record)) {
+                if (TickRecordCodec.timestampMillis(record) <= fromMillis) {
+                    continue;
+                }
+                tick = TickRecordCodec.decode(symbol, record);
+            } else {
+                tick = fromJson(record);
+                if (tick == null || tick.getTimestamp().toEpochMilli() <= fromMillis) {
+                    continue;
+                }
+            }
+            ticks.add(tick);
+        }
+        return ticks;
+    }
+
+    private static String key(String tradingDate, String symbol) {
+        return String.format("ticks:%s:%s", tradingDate, symbol);
+    }
+
+    /**
+     * Deserializes a JSON TickDto cached before the binary record format to a Tick.
+     *
+     * @param json UTF-8 JSON representation of TickDto
+     * @return Tick domain object, or null if deserialization fails
+     */
+    private Tick fromJson(byte[] json) {
+        try {
+            TickDto dto = objectMapper.readValue(json, TickDto.class);
+            return Tick.builder()
+                .symbol(dto.getSymbol())
+                .instrumentToken(dto.getInstrumentToken())
+                .type(com.moneytree.socketengine.domain.InstrumentType.valueOf(dto.getType()))
+                .timestamp(Instant.parse(dto.getTimestamp()))
+                .lastTradedPrice(dto.getLastTradedPrice())
+                .volume(dto.getVolume() != null ? dto.getVolume() : Tick.NO_VOLUME)
+                .ohlc(dto.getOhlc() != null ? Tick.OHLC.builder()
+                    .open(dto.getOhlc().getOpen())
+                    .high(dto.getOhlc().getHigh())
+                    .low(dto.getOhlc().getLow())
+                    .close(dto.getOhlc().getClose())
+                    .build() : null)
+                .build();
+        } catch (Exception e) {
+            log.warn("Failed to deserialize tick from JSON: {}", e.getMessage());
+            return null;
+        }
+    }
+}
@@ -1,14 +1,17 @@
 package com.moneytree.socketengine.redis;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.moneytree.socketengine.config.SocketEngineProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
 /**
  * Redis configuration for tick caching and instrument caching.
- * Configures RedisTemplate with String serializers for keys and values.
+ * Configures RedisTemplates with String keys and either String or raw byte values.
  */
 @Configuration
 public class RedisConfig {
@@ -35,4 +38,41 @@ public class RedisConfig {
         template.afterPropertiesSet();
         return template;
     }
+    
+    /**
+     * Configures RedisTemplate for String keys and raw byte values.
+     * Used for the intraday tick lists, which hold binary {@link TickRecordCodec} records.
+     * 
+     * @param connectionFactory Redis connection factory (auto-configured by Spring Boot)
+     * @return Configured RedisTemplate
+     */
+    @Bean
+    public RedisTemplate<String, byte[]> tickRedisTemplate(RedisConnectionFactory connectionFactory) {
+        RedisTemplate<String, byte[]> template = new RedisTemplate<>();
+        template.setConnectionFactory(connectionFactory);
+        template.setKeySerializer(new StringRedisSerializer());
+        template.setValueSerializer(RedisSerializer.byteArray());
+        template.afterPropertiesSet();
+        return template;
+    }
+    
+    /**
+     * Selects the intraday tick store configured by {@code socketengine.cache.store}.
+     * 
+     * @param properties SocketEngine configuration
+     * @param tickRedisTemplate Template for raw byte values
+     * @param objectMapper Mapper for JSON ticks cached before the binary record format
+     * @return Configured TickStore
+     */
+    @Bean
+    public TickStore tickStore(
+            SocketEngineProperties properties,
+            RedisTemplate<String, byte[]> tickRedisTemplate,
+            ObjectMapper objectMapper) {
+        SocketEngineProperties.Cache cache = properties.getCache();
+        return switch (cache.getStore()) {
+            case LIST -> new ListTickStore(tickRedisTemplate, objectMapper);
+            case STREAM -> new StreamTickStore(tickRedisTemplate, cache.getStreamMaxLength(), cache.getStreamConsumerGroups());
+        };
+    }
 }
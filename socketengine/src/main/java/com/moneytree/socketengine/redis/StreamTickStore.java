@@ -0,0 +1,186 @@
+package com.moneytree.socketengine.redis;
+
+import com.moneytree.socketengine.domain.Tick;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.Limit;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisStreamCommands.XAddOptions;
+import org.springframework.data.redis.connection.stream.ByteRecord;
+import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@link TickStore} keeping each symbol's ticks of a day in one Redis stream.
+ *
+ * Redis key format: "tickstream:{tradingDate}:{symbol}"
+ * Entry: one field "t" holding a binary tick record (see {@link TickRecordCodec})
+ * Entry id: "{tick epoch millis}-{sequence}", so ids order and window ticks by tick time
+ * TTL: 2 days, set the first time this node writes a key each trading day
+ *
+ * A batch goes out as one pipeline of XADDs with explicit ids and approximate MAXLEN trimming.
+ * Ids never go backwards: a tick older than the last entry of its stream is added at the last
+ * entry's millisecond with the next sequence number. Time windows are read with XRANGE starting
+ * at the window's first id, so a read costs O(result) rather than O(day).
+ *
+ * The first time this node writes a key each day, it seeds the key's last id with XREVRANGE
+ * (the ingest node may have restarted mid-session) and creates the configured consumer groups
+ * so other socketengine or backend nodes can tail the stream with XREADGROUP. The TTL of such a
+ * key is set in the append pipeline after its XADDs, since EXPIRE on a missing stream is a no-op.
+ */
+@Slf4j
+public class StreamTickStore implements TickStore {
+
+    private static final byte[] FIELD = "t".getBytes(StandardCharsets.UTF_8);
+
+    private final RedisTemplate<String, byte[]> tickRedisTemplate;
+    private final XAddOptions addOptions;
+    private final List<String> consumerGroups;
+
+    // Last entry id per key of the current trading date, cache consumer thread only
+    private final Map<String, long[]> lastIds = new HashMap<>();
+    private String lastIdsDate;
+
+    /**
+     * @param tickRedisTemplate Template for raw byte values
+     * @param maxLength Approximate number of entries a stream is trimmed to
+     * @param consumerGroups Consumer groups created on every stream
+     */
+    public StreamTickStore(RedisTemplate<String, byte[]> tickRedisTemplate, long maxLength, List<String> consumerGroups) {
+        this.tickRedisTemplate = tickRedisTemplate;
+        this.addOptions = XAddOptions.maxlen(maxLength).approximateTrimming(true);
+        this.consumerGroups = List.copyOf(consumerGroups);
+    }
+
+    @Override
+    public void append(String tradingDate, Map<String, List<Tick>> ticksBySymbol) {
+        if (!tradingDate.equals(lastIdsDate)) {
+            // Keys carry the trading date, so yesterday's keys are never written again
+            lastIds.clear();
+            lastIdsDate = tradingDate;
+        }
+
+        List<String> newKeys = new ArrayList<>();
+        for (String symbol : ticksBySymbol.keySet()) {
+            String key = key(tradingDate, symbol);
+            if (!lastIds.containsKey(key)) {
+                newKeys.add(key);
+            }
+        }
+        if (!newKeys.isEmpty()) {
+            prepare(newKeys);
+        }
+
+        tickRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            ticksBySymbol.forEach((symbol, ticks) -> {
+                String key = key(tradingDate, symbol);
+                byte[] rawKey = key.getBytes(StandardCharsets.UTF_8);
+                long[] lastId = lastIds.get(key);
+                for (Tick tick : ticks) {
+                    long millis = tick.getTimestamp() != null ? tick.getTimestamp().toEpochMilli() : System.currentTimeMillis();
+                    if (millis > lastId[0]) {
+                        lastId[0] = millis;
+                        lastId[1] = 0;
+                    } else {
+                        lastId[1]++;
+                    }
+                    ByteRecord entry = StreamRecords.rawBytes(Map.of(FIELD, TickRecordCodec.encode(tick)))
+                        .withStreamKey(rawKey)
+                        .withId(RecordId.of(lastId[0], lastId[1]));
+                    connection.streamCommands().xAdd(entry, addOptions);
+                }
+            });
+            for (String key : newKeys) {
+                connection.keyCommands().expire(key.getBytes(StandardCharsets.UTF_8), TTL.toSeconds());
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Reads the entries from the window's first id on (XRANGE), or the whole stream without
+     * a window.
+     */
+    @Override
+    public List<Tick> read(String tradingDate, String symbol, long fromMillis) {
+        byte[] rawKey = key(tradingDate, symbol).getBytes(StandardCharsets.UTF_8);
+        Range<String> range = fromMillis == Long.MIN_VALUE
+            ? Range.unbounded()
+            : Range.rightUnbounded(Range.Bound.inclusive(Long.toString(Math.max(fromMillis + 1, 0))));
+        List<ByteRecord> entries = tickRedisTemplate.execute(
+            (RedisCallback<List<ByteRecord>>) connection ->
+                connection.streamCommands().xRange(rawKey, range, Limit.unlimited()));
+        if (entries == null || entries.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        List<Tick> ticks = new ArrayList<>(entries.size());
+        for (ByteRecord entry : entries) {
+            byte[] record = recordOf(entry);
+            if (record != null && TickRecordCodec.isRecord(record)) {
+                ticks.add(TickRecordCodec.decode(symbol, record));
+            }
+        }
+        return ticks;
+    }
+
+    /**
+     * Seeds the last ids of keys this node has not written today and creates their consumer
+     * groups, all on one connection.
+     */
+    private void prepare(List<String> keys) {
+        tickRedisTemplate.execute((RedisCallback<Object>) connection -> {
+            for (String key : keys) {
+                byte[] rawKey = key.getBytes(StandardCharsets.UTF_8);
+                List<ByteRecord> last = connection.streamCommands()
+                    .xRevRange(rawKey, Range.unbounded(), Limit.limit().count(1));
+                long[] lastId = {Long.MIN_VALUE, 0};
+                if (last != null && !last.isEmpty()) {
+                    RecordId id = last.get(0).getId();
+                    lastId[0] = id.getTimestamp();
+                    lastId[1] = id.getSequence();
+                }
+                for (String group : consumerGroups) {
+                    createGroup(connection, rawKey, group);
+                }
+                lastIds.put(key, lastId);
+            }
+            return null;
+        });
+    }
+
+    private static void createGroup(RedisConnection connection, byte[] rawKey, String group) {
+        try {
+            connection.streamCommands().xGroupCreate(rawKey, group, ReadOffset.from("0-0"), true);
+        } catch (Exception e) {
+            if (e.getMessage() == null || !e.getMessage().contains("BUSYGROUP")) {
+                throw e;
+            }
+            // Group already created by this node before a restart, or by another writer
+        }
+    }
+
+    private static byte[] recordOf(ByteRecord entry) {
+        for (Map.Entry<byte[], byte[]> field : entry.getValue().entrySet()) {
+            if (Arrays.equals(field.getKey(), FIELD)) {
+                return field.getValue();
+            }
+        }
+        return null;
+    }
+
+    private static String key(String tradingDate, String symbol) {
+        return String.format("tickstream:%s:%s", tradingDate, symbol);
+    }
+}
@@ -1,50 +1,44 @@
 package com.moneytree.socketengine.redis;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.moneytree.socketengine.api.dto.TickDto;
 import com.moneytree.socketengine.domain.Tick;
-import com.moneytree.socketengine.domain.events.TickReceivedEvent;
+import com.moneytree.socketengine.pipeline.TickBatchHandler;
+import com.moneytree.socketengine.pipeline.TickLatencyMetrics;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.context.event.EventListener;
-import org.springframework.core.annotation.Order;
-import org.springframework.data.redis.core.RedisTemplate;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
 
 import java.time.Duration;
 import java.time.Instant;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Objects;
-import java.util.stream.Stream;
+import java.util.Map;
 
 /**
  * Cold path consumer that asynchronously caches ticks to Redis for fast intraday queries.
- * Runs on separate thread pool (tickCacheExecutor) to avoid blocking the hot path.
+ * Runs as the "cache" consumer of the tick pipeline on its own thread to avoid blocking the hot path.
  * 
- * Redis key format: "ticks:{tradingDate}:{symbol}"
- * Value: List of JSON-serialized TickDto objects
- * TTL: 2 days
+ * Ticks are kept per trading date and symbol by the configured {@link TickStore}: Redis lists
+ * ({@link ListTickStore}) or Redis streams ({@link StreamTickStore}).
  */
 @Component
 @Slf4j
-public class TickCacheService {
+public class TickCacheService implements TickBatchHandler {
     
-    private final RedisTemplate<String, String> redisTemplate;
-    private final ObjectMapper objectMapper;
+    private final TickStore tickStore;
+    private final TickLatencyMetrics latencyMetrics;
     private final Counter ticksCachedCounter;
     
     public TickCacheService(
-            RedisTemplate<String, String> redisTemplate,
-            ObjectMapper objectMapper,
+            TickStore tickStore,
+            TickLatencyMetrics latencyMetrics,
             MeterRegistry meterRegistry) {
-        this.redisTemplate = redisTemplate;
-        this.objectMapper = objectMapper;
+        this.tickStore = tickStore;
+        this.latencyMetrics = latencyMetrics;
         
         // Register counter for ticks cached
         this.ticksCachedCounter = Counter.builder("socketengine.ticks.cached")
@@ -52,45 +46,49 @@ public class TickCacheService {
             .register(meterRegistry);
     }
     
+    @Override
+    public String consumerName() {
+        return "cache";
+    }
+    
+    /**
+     * Edge nodes read the cache the ingest node writes.
+     */
+    @Override
+    public boolean ingestOnly() {
+        return true;
+    }
+    
     /**
-     * Cold path: Asynchronous event listener for Redis caching.
-     * Runs on separate thread pool to avoid blocking the hot path.
+     * Cold path: Caches a batch of ticks to Redis from the pipeline's cache consumer thread.
+     * Ticks are grouped by symbol, preserving arrival order within each symbol, and handed to
+     * the store as one batch, so Redis round trips scale with batches, not with ticks or symbols.
      * 
-     * @param event The tick received event
+     * @param ticks The ticks to cache
      */
-    @Async("tickCacheExecutor")
-    @EventListener
-    @Order(1)  // Lower priority than broadcast
-    public void onTickReceived(TickReceivedEvent event) {
-        Tick tick = event.tick();
+    @Override
+    public void onBatch(List<Tick> ticks) {
+        long start = latencyMetrics.sample() ? System.nanoTime() : 0;
+        
+        Map<String, List<Tick>> ticksBySymbol = new LinkedHashMap<>();
+        for (Tick tick : ticks) {
+            ticksBySymbol.computeIfAbsent(tick.getSymbol(), k -> new ArrayList<>()).add(tick);
+        }
+        if (ticksBySymbol.isEmpty()) {
+            return;
+        }
         
         try {
-            String tradingDate = getTradingDate();
-            String key = String.format("ticks:%s:%s", tradingDate, tick.getSymbol());
-            
-            // Convert tick to DTO and serialize to JSON
-            TickDto dto = toDto(tick);
-            String tickJson = objectMapper.writeValueAsString(dto);
-            
-            // Append to Redis List (RPUSH is O(1))
-            redisTemplate.opsForList().rightPush(key, tickJson);
-            
-            // Set TTL to 2 days if this is a new key
-            Long ttl = redisTemplate.getExpire(key);
-            if (ttl == null || ttl == -1) {
-                redisTemplate.expire(key, Duration.ofDays(2));
-            }
+            tickStore.append(getTradingDate(), ticksBySymbol);
             
             // Increment metrics counter
-            ticksCachedCounter.increment();
+            ticksCachedCounter.increment(ticks.size());
             
-        } catch (JsonProcessingException e) {
-            log.error("Error serializing tick for {}: {}", tick.getSymbol(), e.getMessage());
-            // Don't rethrow - cache failures shouldn't affect other consumers
         } catch (Exception e) {
-            log.error("Error caching tick for {}: {}", tick.getSymbol(), e.getMessage());
+            log.error("Error caching {} ticks for {} symbols: {}", ticks.size(), ticksBySymbol.size(), e.getMessage());
             // Don't rethrow - cache failures shouldn't affect other consumers
         }
+        latencyMetrics.recordSince(TickLatencyMetrics.Stage.CACHE, start);
     }
     
     /**
@@ -101,36 +99,12 @@ public class TickCacheService {
      * @return List of ticks from Redis cache
      */
     public List<Tick> getTodayTicks(String symbol, Integer lastMinutes) {
-        String tradingDate = getTradingDate();
-        String key = String.format("ticks:%s:%s", tradingDate, symbol);
+        long cutoffMillis = lastMinutes != null
+            ? Instant.now().minus(Duration.ofMinutes(lastMinutes)).toEpochMilli()
+            : Long.MIN_VALUE;
         
         try {
-            List<String> tickJsonList = redisTemplate.opsForList().range(key, 0, -1);
-            if (tickJsonList == null || tickJsonList.isEmpty()) {
-                return Collections.emptyList();
-            }
-            
-            Stream<String> stream = tickJsonList.stream();
-            
-            // Filter by time window if requested
-            if (lastMinutes != null) {
-                Instant cutoff = Instant.now().minus(Duration.ofMinutes(lastMinutes));
-                stream = stream.filter(json -> {
-                    try {
-                        TickDto dto = objectMapper.readValue(json, TickDto.class);
-                        return Instant.parse(dto.getTimestamp()).isAfter(cutoff);
-                    } catch (Exception e) {
-                        log.warn("Failed to parse cached tick: {}", e.getMessage());
-                        return false;
-                    }
-                });
-            }
-            
-            return stream
-                .map(this::fromJson)
-                .filter(Objects::nonNull)
-                .toList();
-                
+            return tickStore.read(getTradingDate(), symbol, cutoffMillis);
         } catch (Exception e) {
             log.error("Error retrieving cached ticks for {}: {}", symbol, e.getMessage());
             return Collections.emptyList();
@@ -147,56 +121,4 @@ public class TickCacheService {
             .toLocalDate()
             .toString();
     }
-    
-    /**
-     * Converts domain Tick to DTO for serialization.
-     * 
-     * @param tick The domain tick object
-     * @return TickDto for JSON serialization
-     */
-    private TickDto toDto(Tick tick) {
-        return TickDto.builder()
-            .symbol(tick.getSymbol())
-            .instrumentToken(tick.getInstrumentToken())
-            .type(tick.getType().name())
-            .timestamp(tick.getTimestamp().toString())
-            .lastTradedPrice(tick.getLastTradedPrice())
-            .volume(tick.getVolume())
-            .ohlc(new TickDto.OHLCDto(
-                tick.getOhlc().getOpen(),
-                tick.getOhlc().getHigh(),
-                tick.getOhlc().getLow(),
-                tick.getOhlc().getClose()
-            ))
-            .build();
-    }
-    
-    /**
-     * Deserializes JSON string to Tick domain object.
-     * 
-     * @param json JSON string representation of TickDto
-     * @return Tick domain object, or null if deserialization fails
-     */
-    private Tick fromJson(String json) {
-        try {
-            TickDto dto = objectMapper.readValue(json, TickDto.class);
-            return Tick.builder()
-                .symbol(dto.getSymbol())
-                .instrumentToken(dto.getInstrumentToken())
-                .type(com.moneytree.socketengine.domain.InstrumentType.valueOf(dto.getType()))
-                .timestamp(Instant.parse(dto.getTimestamp()))
-                .lastTradedPrice(dto.getLastTradedPrice())
-                .volume(dto.getVolume())
-                .ohlc(Tick.OHLC.builder()
-                    .open(dto.getOhlc().getOpen())
-                    .high(dto.getOhlc().getHigh())
-                    .low(dto.getOhlc().getLow())
-                    .close(dto.getOhlc().getClose())
-                    .build())
-                .build();
-        } catch (Exception e) {
-            log.warn("Failed to deserialize tick from JSON: {}", e.getMessage());
-            return null;
-        }
-    }
 }
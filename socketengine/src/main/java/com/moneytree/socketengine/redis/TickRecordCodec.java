@@ -0,0 +1,126 @@
+package com.moneytree.socketengine.redis;
+
+import com.moneytree.socketengine.domain.InstrumentType;
+import com.moneytree.socketengine.domain.Tick;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.time.Instant;
+
+/**
+ * Fixed-width binary record of a tick cached in the intraday Redis lists.
+ *
+ * <p>Every record is {@value #RECORD_SIZE} bytes, little-endian:
+ * <pre>
+ *   u8  format version ({@link #VERSION})
+ *   u8  instrument type (0 = INDEX, 1 = STOCK)
+ *   u16 flags ({@link #FLAG_OHLC} if the OHLC prices are present)
+ *   u32 Kite instrument token
+ *   i64 tick timestamp, epoch millis
+ *   i32 last traded price  \
+ *   i32 open                |  fixed point, price * {@value #PRICE_SCALE}
+ *   i32 high                |  (paise for NSE, as in the Kite packet)
+ *   i32 low                 |
+ *   i32 close              /
+ *   i64 volume ({@link Tick#NO_VOLUME} if the tick carried none)
+ * </pre>
+ *
+ * <p>The symbol is not stored; it is part of the list's key. Records are read in place from the
+ * buffers Redis returns, and the timestamp can be read on its own to filter by time before the
+ * rest of a record is decoded. Records always start with {@link #VERSION}, never with '{', so
+ * JSON ticks cached by earlier versions can still be told apart.
+ */
+final class TickRecordCodec {
+
+    static final byte VERSION = 1;
+    static final int RECORD_SIZE = 44;
+    static final int PRICE_SCALE = 100;
+    static final int FLAG_OHLC = 1;
+
+    private static final int TIMESTAMP_OFFSET = 8;
+    private static final byte INDEX = 0;
+    private static final byte STOCK = 1;
+
+    private TickRecordCodec() {
+    }
+
+    /**
+     * Encodes a tick as one record.
+     *
+     * @param tick Tick to encode
+     * @return Encoded record, owned by the caller
+     */
+    static byte[] encode(Tick tick) {
+        Tick.OHLC ohlc = tick.getOhlc();
+        ByteBuffer buffer = ByteBuffer.allocate(RECORD_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.put(VERSION);
+        buffer.put(tick.getType() == InstrumentType.INDEX ? INDEX : STOCK);
+        buffer.putShort((short) (ohlc != null ? FLAG_OHLC : 0));
+        buffer.putInt((int) tick.getInstrumentToken());
+        buffer.putLong(tick.getTimestamp() != null ? tick.getTimestamp().toEpochMilli() : 0L);
+        buffer.putInt(toFixedPoint(tick.getLastTradedPrice()));
+        buffer.putInt(ohlc != null ? toFixedPoint(ohlc.getOpen()) : 0);
+        buffer.putInt(ohlc != null ? toFixedPoint(ohlc.getHigh()) : 0);
+        buffer.putInt(ohlc != null ? toFixedPoint(ohlc.getLow()) : 0);
+        buffer.putInt(ohlc != null ? toFixedPoint(ohlc.getClose()) : 0);
+        buffer.putLong(tick.getVolume());
+        return buffer.array();
+    }
+
+    /**
+     * @param record Bytes of one cached list element
+     * @return true if the element is a record of this format
+     */
+    static boolean isRecord(byte[] record) {
+        return record.length == RECORD_SIZE && record[0] == VERSION;
+    }
+
+    /**
+     * Reads only the timestamp of a record.
+     *
+     * @param record Encoded record
+     * @return Tick timestamp, epoch millis
+     */
+    static long timestampMillis(byte[] record) {
+        return ByteBuffer.wrap(record).order(ByteOrder.LITTLE_ENDIAN).getLong(TIMESTAMP_OFFSET);
+    }
+
+    /**
+     * Decodes a record straight from its bytes.
+     *
+     * @param symbol Symbol of the list the record was read from
+     * @param record Encoded record
+     * @return Decoded tick
+     */
+    static Tick decode(String symbol, byte[] record) {
+        ByteBuffer buffer = ByteBuffer.wrap(record).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.get();
+        InstrumentType type = buffer.get() == INDEX ? InstrumentType.INDEX : InstrumentType.STOCK;
+        boolean hasOhlc = (buffer.getShort() & FLAG_OHLC) != 0;
+        long instrumentToken = Integer.toUnsignedLong(buffer.getInt());
+        Instant timestamp = Instant.ofEpochMilli(buffer.getLong());
+        double lastTradedPrice = fromFixedPoint(buffer.getInt());
+        double open = fromFixedPoint(buffer.getInt());
+        double high = fromFixedPoint(buffer.getInt());
+        double low = fromFixedPoint(buffer.getInt());
+        double close = fromFixedPoint(buffer.getInt());
+        long volume = buffer.getLong();
+        return Tick.builder()
+            .symbol(symbol)
+            .instrumentToken(instrumentToken)
+            .type(type)
+            .timestamp(timestamp)
+            .lastTradedPrice(lastTradedPrice)
+            .volume(volume)
+            .ohlc(hasOhlc ? Tick.OHLC.builder().open(open).high(high).low(low).close(close).build() : null)
+            .build();
+    }
+
+    private static int toFixedPoint(double price) {
+        return (int) Math.round(price * PRICE_SCALE);
+    }
+
+    private static double fromFixedPoint(int value) {
+        return (double) value / PRICE_SCALE;
+    }
+}
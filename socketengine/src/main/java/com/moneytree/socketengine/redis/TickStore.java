@@ -0,0 +1,40 @@
+package com.moneytree.socketengine.redis;
+
+import com.moneytree.socketengine.domain.Tick;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Intraday tick storage in Redis behind {@link TickCacheService}, one key per symbol and
+ * trading date. Implementations are selected by {@code socketengine.cache.store}.
+ *
+ * <p>Writes come from the pipeline's cache consumer thread only; reads may come from any thread.
+ */
+public interface TickStore {
+
+    /**
+     * How long a symbol's key is kept after its trading date was first written
+     */
+    Duration TTL = Duration.ofDays(2);
+
+    /**
+     * Appends a batch of ticks, in one round trip where the implementation allows it.
+     *
+     * @param tradingDate Trading date the ticks belong to (YYYY-MM-DD, IST)
+     * @param ticksBySymbol Ticks of the batch by symbol, each in arrival order
+     * @throws Exception if the write failed; ticks may have been stored in part
+     */
+    void append(String tradingDate, Map<String, List<Tick>> ticksBySymbol) throws Exception;
+
+    /**
+     * Reads the ticks of one symbol and trading date, in arrival order.
+     *
+     * @param tradingDate Trading date (YYYY-MM-DD, IST)
+     * @param symbol Trading symbol
+     * @param fromMillis Only ticks after this epoch millis ({@link Long#MIN_VALUE} for all)
+     * @return Ticks, empty if none are stored
+     */
+    List<Tick> read(String tradingDate, String symbol, long fromMillis);
+}
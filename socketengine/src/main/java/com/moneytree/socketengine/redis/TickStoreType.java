@@ -0,0 +1,17 @@
+package com.moneytree.socketengine.redis;
+
+/**
+ * Selects the {@link TickStore} implementation.
+ */
+public enum TickStoreType {
+    /**
+     * One Redis list per symbol and day; time windows are filtered after reading the whole day
+     */
+    LIST,
+
+    /**
+     * One Redis stream per symbol and day with time-derived entry ids; time windows are read
+     * with XRANGE, and consumer groups let other nodes tail the streams
+     */
+    STREAM
+}
@@ -7,6 +7,7 @@ import com.moneytree.socketengine.domain.InstrumentInfo;
 import com.moneytree.socketengine.domain.InstrumentType;
 import com.moneytree.socketengine.domain.Tick;
 import com.moneytree.socketengine.domain.events.TickReceivedEvent;
+import com.moneytree.socketengine.kite.InstrumentIndex;
 import com.moneytree.socketengine.kite.InstrumentLoader;
 import com.moneytree.socketengine.persistence.TickBatchBuffer;
 import com.moneytree.socketengine.redis.TickCacheService;
@@ -150,6 +151,7 @@ class SocketEngineEndToEndTest {
         when(instrumentLoader.isStockToken(738561L)).thenReturn(true);
         when(instrumentLoader.isIndexToken(anyLong())).thenReturn(false);
         when(instrumentLoader.isStockToken(anyLong())).thenReturn(false);
+        when(instrumentLoader.getIndex()).thenReturn(InstrumentIndex.build(List.of(niftyInfo, relianceInfo)));
     }
     
     /**
@@ -377,6 +379,7 @@ class SocketEngineEndToEndTest {
             .build();
         when(instrumentLoader.getInstrumentInfo(999999L)).thenReturn(testInfo);
         when(instrumentLoader.isStockToken(999999L)).thenReturn(true);
+        when(instrumentLoader.getIndex()).thenReturn(InstrumentIndex.build(List.of(testInfo)));
         
         // When: Publish tick event (simulating Kite WebSocket receiving a tick)
         eventPublisher.publishEvent(new TickReceivedEvent(tick));
@@ -3,8 +3,11 @@ package com.moneytree.socketengine.api;
 import com.moneytree.socketengine.api.dto.SubscriptionResponseDto;
 import com.moneytree.socketengine.api.dto.TickDto;
 import com.moneytree.socketengine.broadcast.SessionManager;
+import com.moneytree.socketengine.broadcast.SessionOutboundStats;
+import com.moneytree.socketengine.cluster.ClusterNodeRegistry;
 import com.moneytree.socketengine.domain.InstrumentType;
 import com.moneytree.socketengine.domain.Tick;
+import com.moneytree.socketengine.intraday.IntradayTickStore;
 import com.moneytree.socketengine.kite.InstrumentLoader;
 import com.moneytree.socketengine.kite.KiteTickParser;
 import com.moneytree.socketengine.persistence.TickEntity;
@@ -13,9 +16,9 @@ import com.moneytree.socketengine.redis.TickCacheService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
@@ -47,7 +50,12 @@ class TickRestControllerTest {
     @Mock
     private KiteTickParser tickParser;
 
-    @InjectMocks
+    @Mock
+    private ObjectProvider<ClusterNodeRegistry> clusterNodeRegistry;
+
+    @Mock
+    private ObjectProvider<IntradayTickStore> intradayTickStore;
+
     private TickRestController controller;
 
     private Tick sampleTick;
@@ -55,6 +63,10 @@ class TickRestControllerTest {
 
     @BeforeEach
     void setUp() {
+        // Both providers share a raw type, so the controller is built by hand
+        controller = new TickRestController(cacheService, tickRepository, sessionManager,
+            instrumentLoader, tickParser, clusterNodeRegistry, intradayTickStore);
+
         // Create sample tick for testing
         sampleTick = Tick.builder()
             .symbol("NIFTY 50")
@@ -165,6 +177,30 @@ class TickRestControllerTest {
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.INTERNAL_SERVER_ERROR);
     }
 
+    @Test
+    void shouldServeTodayTicksFromIntradayStoreWhenEnabled() {
+        // Given: The local intraday store is enabled and holds a tick without OHLC
+        IntradayTickStore store = mock(IntradayTickStore.class);
+        Tick ltpOnly = Tick.builder()
+            .symbol("NIFTY 50")
+            .instrumentToken(256265L)
+            .type(InstrumentType.INDEX)
+            .timestamp(Instant.parse("2025-12-08T10:15:00Z"))
+            .lastTradedPrice(23754.25)
+            .build();
+        when(intradayTickStore.getIfAvailable()).thenReturn(store);
+        when(store.getTodayTicks("NIFTY 50", 5)).thenReturn(List.of(ltpOnly));
+
+        // When: Getting today's ticks
+        ResponseEntity<List<TickDto>> response = controller.getTodayTicks("NIFTY 50", 5);
+
+        // Then: The store answers instead of Redis
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).hasSize(1);
+        assertThat(response.getBody().get(0).getOhlc()).isNull();
+        verify(cacheService, never()).getTodayTicks(anyString(), any());
+    }
+
     @Test
     void shouldGetHistoricalTicksSuccessfully() {
         // Given: Repository returns tick entities
@@ -176,7 +212,7 @@ class TickRestControllerTest {
             .thenReturn(entities);
         
         // Mock parser to return tick
-        when(tickParser.parse(any(byte[].class))).thenReturn(Arrays.asList(sampleTick));
+        when(tickParser.parsePacket(any(byte[].class), anyLong(), any(Instant.class))).thenReturn(sampleTick);
 
         // When: Getting historical ticks
         ResponseEntity<List<TickDto>> response = controller.getHistoricalTicks("NIFTY 50", startTime, endTime);
@@ -191,7 +227,7 @@ class TickRestControllerTest {
         assertThat(dto.getInstrumentToken()).isEqualTo(256265L);
         
         verify(tickRepository).findByTradingSymbolAndTimestampBetween("NIFTY 50", startTime, endTime);
-        verify(tickParser).parse(sampleEntity.getRawTickData());
+        verify(tickParser).parsePacket(sampleEntity.getRawTickData(), 256265L, sampleEntity.getTickTimestamp());
     }
 
     @Test
@@ -243,8 +279,9 @@ class TickRestControllerTest {
             .thenReturn(entities);
         
         // First parse succeeds, second fails
-        when(tickParser.parse(entity1.getRawTickData())).thenReturn(Arrays.asList(sampleTick));
-        when(tickParser.parse(entity2.getRawTickData())).thenThrow(new RuntimeException("Parse error"));
+        when(tickParser.parsePacket(eq(entity1.getRawTickData()), anyLong(), any(Instant.class))).thenReturn(sampleTick);
+        when(tickParser.parsePacket(eq(entity2.getRawTickData()), anyLong(), any(Instant.class)))
+            .thenThrow(new RuntimeException("Parse error"));
 
         // When: Getting historical ticks
         ResponseEntity<List<TickDto>> response = controller.getHistoricalTicks("NIFTY 50", startTime, endTime);
@@ -302,6 +339,8 @@ class TickRestControllerTest {
             .thenReturn(new HashSet<>(Arrays.asList("NIFTY 50", "BANKNIFTY")));
         when(sessionManager.getSessionSubscriptions("session-2"))
             .thenReturn(Collections.emptySet());
+        when(sessionManager.getOutboundStats("session-1")).thenReturn(new SessionOutboundStats(10, 7, 3, 0, 0));
+        when(sessionManager.getOutboundStats("session-2")).thenReturn(SessionOutboundStats.EMPTY);
 
         // When: Getting active subscriptions
         ResponseEntity<Map<String, SubscriptionResponseDto>> response = controller.getActiveSubscriptions();
@@ -316,6 +355,8 @@ class TickRestControllerTest {
         assertThat(dto1.getSessionId()).isEqualTo("session-1");
         assertThat(dto1.getEndpoint()).isEqualTo("/ws/indices");
         assertThat(dto1.getSubscribedSymbols()).containsExactlyInAnyOrder("NIFTY 50", "BANKNIFTY");
+        assertThat(dto1.getTicksSent()).isEqualTo(7);
+        assertThat(dto1.getTicksConflated()).isEqualTo(3);
         
         SubscriptionResponseDto dto2 = response.getBody().get("session-2");
         assertThat(dto2).isNotNull();
@@ -328,6 +369,32 @@ class TickRestControllerTest {
         verify(sessionManager, times(2)).getSessionSubscriptions(anyString());
     }
 
+    @Test
+    void shouldAggregateSubscriptionsAcrossClusterNodes() {
+        // Given: One local session and sessions on another node, one with a colliding id
+        ClusterNodeRegistry cluster = mock(ClusterNodeRegistry.class);
+        when(clusterNodeRegistry.getIfAvailable()).thenReturn(cluster);
+        when(cluster.getNodeId()).thenReturn("edge-1");
+        when(cluster.getRemoteSessions()).thenReturn(List.of(
+            SubscriptionResponseDto.builder().sessionId("session-1").node("edge-2").endpoint("/ws/stocks").build(),
+            SubscriptionResponseDto.builder().sessionId("session-9").node("edge-2").endpoint("/ws/indices").build()));
+
+        when(sessionManager.getAllSessionIds()).thenReturn(Set.of("session-1"));
+        when(sessionManager.getSessionEndpoint("session-1")).thenReturn("/ws/indices");
+        when(sessionManager.getSessionSubscriptions("session-1")).thenReturn(Set.of("NIFTY 50"));
+        when(sessionManager.getOutboundStats("session-1")).thenReturn(SessionOutboundStats.EMPTY);
+
+        // When: Getting active subscriptions
+        ResponseEntity<Map<String, SubscriptionResponseDto>> response = controller.getActiveSubscriptions();
+
+        // Then: Sessions of both nodes are listed, tagged with their node
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).containsOnlyKeys("session-1", "edge-2:session-1", "session-9");
+        assertThat(response.getBody().get("session-1").getNode()).isEqualTo("edge-1");
+        assertThat(response.getBody().get("edge-2:session-1").getEndpoint()).isEqualTo("/ws/stocks");
+        assertThat(response.getBody().get("session-9").getNode()).isEqualTo("edge-2");
+    }
+
     @Test
     void shouldReturnEmptyMapWhenNoActiveSessions() {
         // Given: No active sessions
@@ -427,7 +494,7 @@ class TickRestControllerTest {
 
     @Test
     void shouldHandleParserReturningEmptyList() {
-        // Given: Repository returns entity but parser returns empty list
+        // Given: Repository returns entity but payload has no packet for the instrument
         Instant startTime = Instant.parse("2025-12-08T09:00:00Z");
         Instant endTime = Instant.parse("2025-12-08T15:00:00Z");
         
@@ -435,7 +502,7 @@ class TickRestControllerTest {
         when(tickRepository.findByTradingSymbolAndTimestampBetween(anyString(), any(), any()))
             .thenReturn(entities);
         
-        when(tickParser.parse(any(byte[].class))).thenReturn(Collections.emptyList());
+        when(tickParser.parsePacket(any(byte[].class), anyLong(), any(Instant.class))).thenReturn(null);
 
         // When: Getting historical ticks
         ResponseEntity<List<TickDto>> response = controller.getHistoricalTicks("NIFTY 50", startTime, endTime);
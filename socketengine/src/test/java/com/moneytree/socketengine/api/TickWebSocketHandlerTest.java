@@ -2,14 +2,23 @@ package com.moneytree.socketengine.api;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.moneytree.socketengine.api.dto.SubscriptionRequestDto;
+import com.moneytree.socketengine.broadcast.InstrumentGroup;
+import com.moneytree.socketengine.broadcast.InstrumentGroups;
 import com.moneytree.socketengine.broadcast.SessionManager;
+import com.moneytree.socketengine.broadcast.TickDictionaryPublisher;
+import com.moneytree.socketengine.broadcast.TickSnapshotPublisher;
+import com.moneytree.socketengine.broadcast.WireProtocol;
 import com.moneytree.socketengine.config.SecurityConfig;
+import com.moneytree.socketengine.domain.InstrumentInfo;
+import com.moneytree.socketengine.domain.InstrumentType;
+import com.moneytree.socketengine.kite.InstrumentIndex;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Validator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.web.socket.CloseStatus;
@@ -18,6 +27,7 @@ import org.springframework.web.socket.WebSocketSession;
 
 import java.net.InetSocketAddress;
 import java.net.URI;
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
@@ -25,6 +35,8 @@ import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
@@ -37,6 +49,15 @@ class TickWebSocketHandlerTest {
     @Mock
     private SessionManager sessionManager;
 
+    @Mock
+    private InstrumentGroups instrumentGroups;
+
+    @Mock
+    private TickDictionaryPublisher dictionaryPublisher;
+
+    @Mock
+    private TickSnapshotPublisher snapshotPublisher;
+
     @Mock
     private Validator validator;
 
@@ -53,8 +74,8 @@ class TickWebSocketHandlerTest {
         objectMapper = new ObjectMapper();
         rateLimiter = new SecurityConfig.RateLimiter(100, 60);
         connectionTracker = new SecurityConfig.ConnectionTracker(50);
-        handler = new TickWebSocketHandler(sessionManager, objectMapper, validator, 
-            rateLimiter, connectionTracker);
+        handler = new TickWebSocketHandler(sessionManager, instrumentGroups, dictionaryPublisher, snapshotPublisher,
+            objectMapper, validator, rateLimiter, connectionTracker);
         
         // Mock remote address for connection tracking
         when(webSocketSession.getRemoteAddress())
@@ -72,7 +93,7 @@ class TickWebSocketHandlerTest {
         handler.afterConnectionEstablished(webSocketSession);
 
         // Then: Session should be registered with SessionManager
-        verify(sessionManager).registerSession(eq(sessionId), eq("/ws/indices"), eq(webSocketSession));
+        verify(sessionManager).registerSession(eq(sessionId), eq("/ws/indices"), eq(webSocketSession), eq(WireProtocol.JSON));
     }
 
     @Test
@@ -86,7 +107,7 @@ class TickWebSocketHandlerTest {
         handler.afterConnectionEstablished(webSocketSession);
 
         // Then: Session should be registered with correct endpoint
-        verify(sessionManager).registerSession(eq(sessionId), eq("/ws/indices/all"), eq(webSocketSession));
+        verify(sessionManager).registerSession(eq(sessionId), eq("/ws/indices/all"), eq(webSocketSession), eq(WireProtocol.JSON));
     }
 
     @Test
@@ -100,7 +121,7 @@ class TickWebSocketHandlerTest {
         handler.afterConnectionEstablished(webSocketSession);
 
         // Then: Session should be registered with correct endpoint
-        verify(sessionManager).registerSession(eq(sessionId), eq("/ws/stocks"), eq(webSocketSession));
+        verify(sessionManager).registerSession(eq(sessionId), eq("/ws/stocks"), eq(webSocketSession), eq(WireProtocol.JSON));
     }
 
     @Test
@@ -114,7 +135,69 @@ class TickWebSocketHandlerTest {
         handler.afterConnectionEstablished(webSocketSession);
 
         // Then: Session should be registered with correct endpoint
-        verify(sessionManager).registerSession(eq(sessionId), eq("/ws/stocks/nse/all"), eq(webSocketSession));
+        verify(sessionManager).registerSession(eq(sessionId), eq("/ws/stocks/nse/all"), eq(webSocketSession), eq(WireProtocol.JSON));
+    }
+
+    @Test
+    void shouldNegotiateBinaryProtocolFromQueryParameter() throws Exception {
+        // Given: A session on /ws/stocks/nse/all asking for the binary format
+        String sessionId = "test-session-5";
+        when(webSocketSession.getId()).thenReturn(sessionId);
+        when(webSocketSession.getUri()).thenReturn(new URI("ws://localhost:8081/ws/stocks/nse/all?format=binary"));
+
+        // When: Connection is established
+        handler.afterConnectionEstablished(webSocketSession);
+
+        // Then: The dictionary goes out before the binary session is registered
+        var inOrder = inOrder(dictionaryPublisher, sessionManager);
+        inOrder.verify(dictionaryPublisher).onConnected(webSocketSession, "/ws/stocks/nse/all", WireProtocol.BINARY);
+        inOrder.verify(sessionManager).registerSession(sessionId, "/ws/stocks/nse/all", webSocketSession, WireProtocol.BINARY);
+    }
+
+    @Test
+    void shouldNegotiateBinaryProtocolFromSubprotocol() throws Exception {
+        // Given: A session that accepted the binary subprotocol
+        String sessionId = "test-session-6";
+        when(webSocketSession.getId()).thenReturn(sessionId);
+        when(webSocketSession.getUri()).thenReturn(new URI("ws://localhost:8081/ws/indices"));
+        when(webSocketSession.getAcceptedProtocol()).thenReturn(WireProtocol.BINARY.subprotocol());
+
+        // When: Connection is established
+        handler.afterConnectionEstablished(webSocketSession);
+
+        // Then: It is registered as a binary session
+        verify(sessionManager).registerSession(sessionId, "/ws/indices", webSocketSession, WireProtocol.BINARY);
+        assertThat(handler.getSubProtocols()).contains(WireProtocol.BINARY.subprotocol(), WireProtocol.JSON.subprotocol());
+    }
+
+    @Test
+    void shouldNegotiateDeltaProtocolFromQueryParameter() throws Exception {
+        // Given: A session on /ws/stocks asking for field-level deltas
+        String sessionId = "test-session-8";
+        when(webSocketSession.getId()).thenReturn(sessionId);
+        when(webSocketSession.getUri()).thenReturn(new URI("ws://localhost:8081/ws/stocks?format=delta"));
+
+        // When: Connection is established
+        handler.afterConnectionEstablished(webSocketSession);
+
+        // Then: It is registered as a delta session
+        verify(sessionManager).registerSession(sessionId, "/ws/stocks", webSocketSession, WireProtocol.JSON_DELTA);
+    }
+
+    @Test
+    void shouldEnableFrameBatchingWhenRequested() throws Exception {
+        // Given: A session on /ws/stocks/nse/all asking for multi-tick frames
+        String sessionId = "test-session-7";
+        when(webSocketSession.getId()).thenReturn(sessionId);
+        when(webSocketSession.getUri()).thenReturn(new URI("ws://localhost:8081/ws/stocks/nse/all?batch=true"));
+
+        // When: Connection is established
+        handler.afterConnectionEstablished(webSocketSession);
+
+        // Then: Batching is enabled after registration
+        var inOrder = inOrder(sessionManager);
+        inOrder.verify(sessionManager).registerSession(sessionId, "/ws/stocks/nse/all", webSocketSession, WireProtocol.JSON);
+        inOrder.verify(sessionManager).enableFrameBatching(sessionId);
     }
 
     @Test
@@ -180,6 +263,130 @@ class TickWebSocketHandlerTest {
         assertThat(sentMessage).contains("NIFTY 50");
     }
 
+    @Test
+    void shouldSendConfirmationThroughSessionWriter() throws Exception {
+        // Given: A registered session, whose replies go through its writer
+        String sessionId = "test-session-1";
+        when(webSocketSession.getId()).thenReturn(sessionId);
+        when(sessionManager.sendControl(eq(sessionId), any(TextMessage.class))).thenReturn(true);
+        when(validator.validate(any(SubscriptionRequestDto.class))).thenReturn(Collections.emptySet());
+        String payload = objectMapper.writeValueAsString(
+            new SubscriptionRequestDto("SUBSCRIBE", "INDEX", List.of("NIFTY 50")));
+
+        // When: Handling a SUBSCRIBE message
+        handler.handleTextMessage(webSocketSession, new TextMessage(payload));
+
+        // Then: The confirmation is handed to the writer rather than written on this thread
+        ArgumentCaptor<TextMessage> messageCaptor = ArgumentCaptor.forClass(TextMessage.class);
+        verify(sessionManager).sendControl(eq(sessionId), messageCaptor.capture());
+        assertThat(messageCaptor.getValue().getPayload()).contains("\"action\":\"SUBSCRIBE\"");
+        verify(webSocketSession, never()).sendMessage(any());
+    }
+
+    @Test
+    void shouldSubscribeToGroupsByName() throws Exception {
+        // Given: A SUBSCRIBE message naming a group and no symbols
+        String sessionId = "test-session-1";
+        when(webSocketSession.getId()).thenReturn(sessionId);
+        InstrumentIndex index = InstrumentIndex.build(List.of(
+            InstrumentInfo.builder().instrumentToken(738561L).tradingSymbol("RELIANCE").type(InstrumentType.STOCK).build(),
+            InstrumentInfo.builder().instrumentToken(408065L).tradingSymbol("INFY").type(InstrumentType.STOCK).build()));
+        InstrumentGroup nifty = InstrumentGroup.resolve("NIFTY 50", List.of("RELIANCE", "INFY"), index);
+        when(instrumentGroups.get("NIFTY 50")).thenReturn(nifty);
+        when(validator.validate(any(SubscriptionRequestDto.class))).thenReturn(Collections.emptySet());
+        String payload = "{\"action\":\"SUBSCRIBE\",\"type\":\"STOCK\",\"groups\":[\"NIFTY 50\"]}";
+
+        // When: Handling the message
+        handler.handleTextMessage(webSocketSession, new TextMessage(payload));
+
+        // Then: The session subscribes to the shared group, not to its members one by one
+        verify(sessionManager).addGroupSubscriptions(sessionId, List.of(nifty));
+        verify(sessionManager, never()).addSubscriptions(anyString(), anyList());
+        verify(dictionaryPublisher).onSubscribing(webSocketSession, List.of("RELIANCE", "INFY"));
+
+        // And: The confirmation lists the group
+        ArgumentCaptor<TextMessage> messageCaptor = ArgumentCaptor.forClass(TextMessage.class);
+        verify(webSocketSession).sendMessage(messageCaptor.capture());
+        assertThat(messageCaptor.getValue().getPayload())
+            .isEqualTo("{\"success\":true,\"action\":\"SUBSCRIBE\",\"symbols\":[],\"groups\":[\"NIFTY 50\"]}");
+    }
+
+    @Test
+    void shouldSendSnapshotRightAfterSubscribeConfirmation() throws Exception {
+        // Given: A SUBSCRIBE message naming a symbol and a group
+        String sessionId = "test-session-1";
+        when(webSocketSession.getId()).thenReturn(sessionId);
+        InstrumentIndex index = InstrumentIndex.build(List.of(
+            InstrumentInfo.builder().instrumentToken(738561L).tradingSymbol("RELIANCE").type(InstrumentType.STOCK).build(),
+            InstrumentInfo.builder().instrumentToken(408065L).tradingSymbol("INFY").type(InstrumentType.STOCK).build()));
+        InstrumentGroup group = InstrumentGroup.resolve("WATCHLIST", List.of("RELIANCE"), index);
+        when(instrumentGroups.get("WATCHLIST")).thenReturn(group);
+        when(validator.validate(any(SubscriptionRequestDto.class))).thenReturn(Collections.emptySet());
+        String payload = "{\"action\":\"SUBSCRIBE\",\"type\":\"STOCK\",\"symbols\":[\"INFY\"],\"groups\":[\"WATCHLIST\"]}";
+
+        // When: Handling the message
+        handler.handleTextMessage(webSocketSession, new TextMessage(payload));
+
+        // Then: The confirmation goes first, then the snapshot of the symbol and the group members
+        InOrder inOrder = inOrder(webSocketSession, snapshotPublisher);
+        inOrder.verify(webSocketSession).sendMessage(any(TextMessage.class));
+        inOrder.verify(snapshotPublisher).sendSnapshot(webSocketSession, List.of("INFY", "RELIANCE"));
+    }
+
+    @Test
+    void shouldNotSendSnapshotOnUnsubscribe() throws Exception {
+        // Given: An UNSUBSCRIBE message
+        when(webSocketSession.getId()).thenReturn("test-session-1");
+        when(validator.validate(any(SubscriptionRequestDto.class))).thenReturn(Collections.emptySet());
+        String payload = "{\"action\":\"UNSUBSCRIBE\",\"type\":\"STOCK\",\"symbols\":[\"INFY\"]}";
+
+        // When: Handling the message
+        handler.handleTextMessage(webSocketSession, new TextMessage(payload));
+
+        // Then: No snapshot is sent
+        verifyNoInteractions(snapshotPublisher);
+    }
+
+    @Test
+    void shouldApplyRateCapFromSubscribeMessage() throws Exception {
+        // Given: A SUBSCRIBE message asking for at most one update per second per symbol
+        String sessionId = "test-session-1";
+        when(webSocketSession.getId()).thenReturn(sessionId);
+        when(validator.validate(any(SubscriptionRequestDto.class))).thenReturn(Collections.emptySet());
+        when(sessionManager.setThrottle(sessionId, Duration.ofSeconds(1))).thenReturn(true);
+        String payload = "{\"action\":\"SUBSCRIBE\",\"type\":\"STOCK\",\"symbols\":[\"INFY\"],\"maxRatePerSymbol\":1}";
+
+        // When: Handling the message
+        handler.handleTextMessage(webSocketSession, new TextMessage(payload));
+
+        // Then: The session is capped and subscribed, and the confirmation states the interval
+        verify(sessionManager).setThrottle(sessionId, Duration.ofSeconds(1));
+        verify(sessionManager).addSubscriptions(sessionId, List.of("INFY"));
+        ArgumentCaptor<TextMessage> messageCaptor = ArgumentCaptor.forClass(TextMessage.class);
+        verify(webSocketSession).sendMessage(messageCaptor.capture());
+        assertThat(messageCaptor.getValue().getPayload())
+            .isEqualTo("{\"success\":true,\"action\":\"SUBSCRIBE\",\"symbols\":[\"INFY\"],\"throttleMs\":1000}");
+    }
+
+    @Test
+    void shouldSendErrorForUnknownGroup() throws Exception {
+        // Given: A SUBSCRIBE message naming a group the server does not define
+        String sessionId = "test-session-1";
+        when(webSocketSession.getId()).thenReturn(sessionId);
+        when(validator.validate(any(SubscriptionRequestDto.class))).thenReturn(Collections.emptySet());
+        String payload = "{\"action\":\"SUBSCRIBE\",\"type\":\"STOCK\",\"symbols\":[\"INFY\"],\"groups\":[\"NO SUCH\"]}";
+
+        // When: Handling the message
+        handler.handleTextMessage(webSocketSession, new TextMessage(payload));
+
+        // Then: Nothing is subscribed and the client gets an error
+        verify(sessionManager, never()).addSubscriptions(anyString(), anyList());
+        verify(sessionManager, never()).addGroupSubscriptions(anyString(), anyList());
+        ArgumentCaptor<TextMessage> messageCaptor = ArgumentCaptor.forClass(TextMessage.class);
+        verify(webSocketSession).sendMessage(messageCaptor.capture());
+        assertThat(messageCaptor.getValue().getPayload()).contains("\"error\":true").contains("Unknown group: NO SUCH");
+    }
+
     @Test
     void shouldSendErrorForInvalidMessage() throws Exception {
         // Given: An invalid message (missing required fields)
@@ -383,7 +590,7 @@ class TickWebSocketHandlerTest {
         handler.afterConnectionEstablished(webSocketSession);
 
         // Then: Session should be registered with correct endpoint (without trailing slash)
-        verify(sessionManager).registerSession(eq(sessionId), eq("/ws/indices"), eq(webSocketSession));
+        verify(sessionManager).registerSession(eq(sessionId), eq("/ws/indices"), eq(webSocketSession), eq(WireProtocol.JSON));
     }
 
     @Test
@@ -397,7 +604,7 @@ class TickWebSocketHandlerTest {
         handler.afterConnectionEstablished(webSocketSession);
 
         // Then: Session should be registered with correct endpoint (without query params)
-        verify(sessionManager).registerSession(eq(sessionId), eq("/ws/indices"), eq(webSocketSession));
+        verify(sessionManager).registerSession(eq(sessionId), eq("/ws/indices"), eq(webSocketSession), eq(WireProtocol.JSON));
     }
 
     @Test
@@ -411,7 +618,7 @@ class TickWebSocketHandlerTest {
         handler.afterConnectionEstablished(webSocketSession);
 
         // Then: Session should be registered with empty string endpoint
-        verify(sessionManager).registerSession(eq(sessionId), eq(""), eq(webSocketSession));
+        verify(sessionManager).registerSession(eq(sessionId), eq(""), eq(webSocketSession), eq(WireProtocol.JSON));
     }
 
     @Test
@@ -0,0 +1,123 @@
+package com.moneytree.socketengine.broadcast;
+
+import com.moneytree.socketengine.domain.InstrumentInfo;
+import com.moneytree.socketengine.domain.InstrumentType;
+import com.moneytree.socketengine.domain.Tick;
+import com.moneytree.socketengine.kite.InstrumentIndex;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for BinaryTickCodec.
+ */
+class BinaryTickCodecTest {
+
+    @Test
+    void shouldEncodeTickAsFixedLayoutLittleEndianRecord() {
+        // Given: A stock tick
+        Instant timestamp = Instant.parse("2025-12-08T10:15:03.123Z");
+        Tick tick = Tick.builder()
+            .symbol("RELIANCE")
+            .instrumentToken(738561L)
+            .type(InstrumentType.STOCK)
+            .timestamp(timestamp)
+            .lastTradedPrice(2450.75)
+            .volume(1_000_000L)
+            .ohlc(Tick.OHLC.builder().open(2440.00).high(2455.50).low(2435.25).close(2450.75).build())
+            .build();
+
+        // When: Encoding it with dense id 7
+        byte[] message = BinaryTickCodec.encodeTick(7, tick);
+
+        // Then: Header and record follow the documented layout
+        assertThat(message).hasSize(BinaryTickCodec.HEADER_SIZE + BinaryTickCodec.TICK_RECORD_SIZE);
+        ByteBuffer buffer = ByteBuffer.wrap(message).order(ByteOrder.LITTLE_ENDIAN);
+        assertThat(buffer.get()).isEqualTo(BinaryTickCodec.TYPE_TICKS);
+        assertThat(buffer.get()).isEqualTo(BinaryTickCodec.VERSION);
+        assertThat(buffer.getShort()).isEqualTo((short) 1);
+        assertThat(buffer.getInt()).isEqualTo(7);
+        assertThat(buffer.getLong()).isEqualTo(timestamp.toEpochMilli());
+        assertThat(buffer.getInt()).isEqualTo(245075);
+        assertThat(buffer.getInt()).isEqualTo(244000);
+        assertThat(buffer.getInt()).isEqualTo(245550);
+        assertThat(buffer.getInt()).isEqualTo(243525);
+        assertThat(buffer.getInt()).isEqualTo(245075);
+        assertThat(buffer.getLong()).isEqualTo(1_000_000L);
+        assertThat(buffer.hasRemaining()).isFalse();
+    }
+
+    @Test
+    void shouldEncodeTicksAsOneMessageKeyedByCurrentDenseIds() {
+        // Given: Ticks carrying ids of an older index, one of an instrument no longer listed
+        InstrumentIndex index = InstrumentIndex.build(List.of(
+            instrument(256265L, "NIFTY 50", InstrumentType.INDEX),
+            instrument(738561L, "RELIANCE", InstrumentType.STOCK)));
+        Tick reliance = Tick.builder().symbol("RELIANCE").instrumentToken(738561L).instrumentId(5)
+            .lastTradedPrice(2450.75).volume(10L).build();
+        Tick delisted = Tick.builder().symbol("OLD").instrumentToken(1L).instrumentId(0)
+            .lastTradedPrice(1.0).build();
+
+        // When: Encoding them against the current index
+        List<byte[]> messages = BinaryTickCodec.encodeTicks(index, List.of(delisted, reliance));
+
+        // Then: One ticks message holds the listed instrument under its current id
+        assertThat(messages).hasSize(1);
+        ByteBuffer buffer = ByteBuffer.wrap(messages.get(0)).order(ByteOrder.LITTLE_ENDIAN);
+        assertThat(buffer.get()).isEqualTo(BinaryTickCodec.TYPE_TICKS);
+        assertThat(buffer.get()).isEqualTo(BinaryTickCodec.VERSION);
+        assertThat(buffer.getShort()).isEqualTo((short) 1);
+        assertThat(buffer.getInt()).isEqualTo(1);
+        assertThat(buffer.remaining()).isEqualTo(BinaryTickCodec.TICK_RECORD_SIZE - 4);
+    }
+
+    @Test
+    void shouldEncodeDictionaryOfSelectedInstruments() {
+        // Given: An index with one index and two stocks
+        InstrumentIndex index = InstrumentIndex.build(List.of(
+            instrument(256265L, "NIFTY 50", InstrumentType.INDEX),
+            instrument(738561L, "RELIANCE", InstrumentType.STOCK),
+            instrument(408065L, "INFY", InstrumentType.STOCK)));
+
+        // When: Encoding the dictionary of the stocks
+        List<byte[]> messages = BinaryTickCodec.encodeDictionary(index, index::isStock);
+
+        // Then: One message maps their dense ids to token, type and symbol
+        assertThat(messages).hasSize(1);
+        ByteBuffer buffer = ByteBuffer.wrap(messages.get(0)).order(ByteOrder.LITTLE_ENDIAN);
+        assertThat(buffer.get()).isEqualTo(BinaryTickCodec.TYPE_DICTIONARY);
+        assertThat(buffer.get()).isEqualTo(BinaryTickCodec.VERSION);
+        assertThat(buffer.getShort()).isEqualTo((short) 2);
+        assertDictionaryEntry(buffer, 1, 738561L, "RELIANCE");
+        assertDictionaryEntry(buffer, 2, 408065L, "INFY");
+        assertThat(buffer.hasRemaining()).isFalse();
+    }
+
+    @Test
+    void shouldEncodeNoDictionaryWhenNothingIsSelected() {
+        // Given: An index with a single index instrument
+        InstrumentIndex index = InstrumentIndex.build(List.of(instrument(256265L, "NIFTY 50", InstrumentType.INDEX)));
+
+        // When / Then: Selecting stocks yields no messages
+        assertThat(BinaryTickCodec.encodeDictionary(index, index::isStock)).isEmpty();
+    }
+
+    private static void assertDictionaryEntry(ByteBuffer buffer, int id, long token, String symbol) {
+        assertThat(buffer.getInt()).isEqualTo(id);
+        assertThat(buffer.getLong()).isEqualTo(token);
+        assertThat(buffer.get()).isEqualTo((byte) 1);
+        byte[] symbolBytes = new byte[buffer.get() & 0xFF];
+        buffer.get(symbolBytes);
+        assertThat(new String(symbolBytes, StandardCharsets.UTF_8)).isEqualTo(symbol);
+    }
+
+    private static InstrumentInfo instrument(long token, String symbol, InstrumentType type) {
+        return InstrumentInfo.builder().instrumentToken(token).tradingSymbol(symbol).type(type).build();
+    }
+}
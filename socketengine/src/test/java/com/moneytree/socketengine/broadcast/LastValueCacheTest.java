@@ -0,0 +1,129 @@
+package com.moneytree.socketengine.broadcast;
+
+import com.moneytree.socketengine.domain.InstrumentInfo;
+import com.moneytree.socketengine.domain.InstrumentType;
+import com.moneytree.socketengine.domain.Tick;
+import com.moneytree.socketengine.kite.InstrumentIndex;
+import com.moneytree.socketengine.kite.InstrumentLoader;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for LastValueCache.
+ */
+class LastValueCacheTest {
+
+    private static final InstrumentInfo RELIANCE = InstrumentInfo.builder()
+        .instrumentToken(738561L).tradingSymbol("RELIANCE").type(InstrumentType.STOCK).build();
+    private static final InstrumentInfo NIFTY = InstrumentInfo.builder()
+        .instrumentToken(256265L).tradingSymbol("NIFTY 50").type(InstrumentType.INDEX).build();
+    private static final InstrumentInfo INFY = InstrumentInfo.builder()
+        .instrumentToken(408065L).tradingSymbol("INFY").type(InstrumentType.STOCK).build();
+
+    private InstrumentLoader instrumentLoader;
+    private LastValueCache cache;
+
+    @BeforeEach
+    void setUp() {
+        instrumentLoader = mock(InstrumentLoader.class);
+        when(instrumentLoader.getIndex()).thenReturn(InstrumentIndex.build(List.of(RELIANCE, NIFTY)));
+        cache = new LastValueCache(instrumentLoader);
+    }
+
+    @Test
+    void shouldKeepNewestTickPerInstrument() {
+        // Given: Two ticks of RELIANCE and one of NIFTY 50
+        cache.onBatch(List.of(
+            tick("RELIANCE", 738561L, 2500.0, 1000L, Instant.parse("2024-01-15T09:15:00.123456789Z")),
+            tick("NIFTY 50", 256265L, 21500.5, 0L, Instant.parse("2024-01-15T09:15:00Z"))));
+        cache.onBatch(List.of(
+            tick("RELIANCE", 738561L, 2501.5, 1200L, Instant.parse("2024-01-15T09:15:01Z"))));
+
+        // When: Reading the last values
+        List<Tick> latest = cache.latest(List.of("NIFTY 50", "RELIANCE"));
+
+        // Then: Each instrument has its newest tick, in the requested order, with all fields
+        assertThat(latest).hasSize(2);
+        assertThat(latest.get(0).getSymbol()).isEqualTo("NIFTY 50");
+        assertThat(latest.get(0).getType()).isEqualTo(InstrumentType.INDEX);
+        assertThat(latest.get(0).getLastTradedPrice()).isEqualTo(21500.5);
+        Tick reliance = latest.get(1);
+        assertThat(reliance.getInstrumentToken()).isEqualTo(738561L);
+        assertThat(reliance.getInstrumentId()).isZero();
+        assertThat(reliance.getLastTradedPrice()).isEqualTo(2501.5);
+        assertThat(reliance.getVolume()).isEqualTo(1200L);
+        assertThat(reliance.getTimestamp()).isEqualTo(Instant.parse("2024-01-15T09:15:01Z"));
+        assertThat(reliance.getOhlc()).isEqualTo(Tick.OHLC.builder().open(2490.0).high(2510.0).low(2480.0).close(2495.0).build());
+    }
+
+    @Test
+    void shouldKeepOhlcAndVolumeWhenLtpTickArrives() {
+        // Given: A quote tick of RELIANCE followed by an LTP-mode tick without OHLC or volume
+        cache.onBatch(List.of(tick("RELIANCE", 738561L, 2500.0, 1000L, Instant.parse("2024-01-15T09:15:00Z"))));
+        cache.onBatch(List.of(Tick.builder()
+            .symbol("RELIANCE")
+            .instrumentToken(738561L)
+            .type(InstrumentType.STOCK)
+            .timestamp(Instant.parse("2024-01-15T09:15:01Z"))
+            .lastTradedPrice(2502.0)
+            .volume(Tick.NO_VOLUME)
+            .build()));
+
+        // When: Reading the last value
+        Tick reliance = cache.latest(List.of("RELIANCE")).get(0);
+
+        // Then: The price moved, the OHLC and volume of the quote tick are kept
+        assertThat(reliance.getLastTradedPrice()).isEqualTo(2502.0);
+        assertThat(reliance.getVolume()).isEqualTo(1000L);
+        assertThat(reliance.getOhlc()).isEqualTo(Tick.OHLC.builder().open(2490.0).high(2510.0).low(2480.0).close(2495.0).build());
+    }
+
+    @Test
+    void shouldLeaveOutInstrumentsWithoutTicksOrMissingFromIndex() {
+        // Given: A tick of RELIANCE and one of an instrument the index does not know
+        cache.onBatch(List.of(
+            tick("RELIANCE", 738561L, 2500.0, 1000L, Instant.parse("2024-01-15T09:15:00Z")),
+            tick("UNKNOWN", 1L, 10.0, 5L, Instant.parse("2024-01-15T09:15:00Z"))));
+
+        // When: Reading the last values
+        List<Tick> latest = cache.latest(List.of("NIFTY 50", "UNKNOWN", "RELIANCE"));
+
+        // Then: Only RELIANCE has a last value
+        assertThat(latest).extracting(Tick::getSymbol).containsExactly("RELIANCE");
+    }
+
+    @Test
+    void shouldCarryLastValuesOverWhenIndexIsReplaced() {
+        // Given: A last value of RELIANCE recorded against the first index
+        cache.onBatch(List.of(tick("RELIANCE", 738561L, 2500.0, 1000L, Instant.parse("2024-01-15T09:15:00Z"))));
+
+        // When: The refreshed index puts RELIANCE at another dense id and INFY ticks
+        when(instrumentLoader.getIndex()).thenReturn(InstrumentIndex.build(List.of(INFY, RELIANCE)));
+        cache.onBatch(List.of(tick("INFY", 408065L, 1500.0, 300L, Instant.parse("2024-01-15T09:15:02Z"))));
+
+        // Then: RELIANCE keeps its last value under its new id
+        List<Tick> latest = cache.latest(List.of("RELIANCE", "INFY"));
+        assertThat(latest).extracting(Tick::getSymbol).containsExactly("RELIANCE", "INFY");
+        assertThat(latest.get(0).getInstrumentId()).isEqualTo(1);
+        assertThat(latest.get(0).getLastTradedPrice()).isEqualTo(2500.0);
+    }
+
+    private static Tick tick(String symbol, long instrumentToken, double lastTradedPrice, long volume, Instant timestamp) {
+        return Tick.builder()
+            .symbol(symbol)
+            .instrumentToken(instrumentToken)
+            .type(InstrumentType.STOCK)
+            .timestamp(timestamp)
+            .lastTradedPrice(lastTradedPrice)
+            .volume(volume)
+            .ohlc(Tick.OHLC.builder().open(2490.0).high(2510.0).low(2480.0).close(2495.0).build())
+            .build();
+    }
+}
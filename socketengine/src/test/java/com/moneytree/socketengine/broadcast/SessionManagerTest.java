@@ -1,13 +1,23 @@
 package com.moneytree.socketengine.broadcast;
 
+import com.moneytree.socketengine.config.SocketEngineProperties;
+import com.moneytree.socketengine.domain.InstrumentInfo;
+import com.moneytree.socketengine.domain.InstrumentType;
+import com.moneytree.socketengine.domain.Tick;
+import com.moneytree.socketengine.domain.events.InstrumentsRefreshedEvent;
+import com.moneytree.socketengine.kite.InstrumentIndex;
+import com.moneytree.socketengine.kite.InstrumentLoader;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.web.socket.CloseStatus;
 import org.springframework.web.socket.TextMessage;
 import org.springframework.web.socket.WebSocketSession;
 
 import java.io.IOException;
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
@@ -17,6 +27,7 @@ import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
@@ -25,11 +36,43 @@ import static org.mockito.Mockito.*;
  */
 class SessionManagerTest {
 
+    private static final InstrumentIndex INDEX = InstrumentIndex.build(List.of(
+        instrument(256265L, "NIFTY 50", InstrumentType.INDEX),
+        instrument(260105L, "BANKNIFTY", InstrumentType.INDEX),
+        instrument(257801L, "FINNIFTY", InstrumentType.INDEX),
+        instrument(738561L, "RELIANCE", InstrumentType.STOCK),
+        instrument(408065L, "INFY", InstrumentType.STOCK)));
+
     private SessionManager sessionManager;
+    private InstrumentLoader instrumentLoader;
 
     @BeforeEach
     void setUp() {
-        sessionManager = new SessionManager();
+        instrumentLoader = mock(InstrumentLoader.class);
+        when(instrumentLoader.getIndex()).thenReturn(INDEX);
+        sessionManager = new SessionManager(new SocketEngineProperties(), instrumentLoader);
+    }
+
+    private static InstrumentInfo instrument(long token, String symbol, InstrumentType type) {
+        return InstrumentInfo.builder().instrumentToken(token).tradingSymbol(symbol).type(type).build();
+    }
+
+    private SessionManager sessionManager(OverflowPolicy policy, int capacity, Duration disconnectAfter) {
+        SocketEngineProperties properties = new SocketEngineProperties();
+        properties.getWebSocket().setOverflowPolicy(policy);
+        properties.getWebSocket().setOutboundQueueCapacity(capacity);
+        properties.getWebSocket().setDisconnectAfter(disconnectAfter);
+        return new SessionManager(properties, instrumentLoader);
+    }
+
+    private WebSocketSession blockedSession(CountDownLatch writing, CountDownLatch release) throws IOException {
+        WebSocketSession session = mock(WebSocketSession.class);
+        when(session.isOpen()).thenReturn(true);
+        doAnswer(invocation -> {
+            writing.countDown();
+            return release.await(5, TimeUnit.SECONDS);
+        }).when(session).sendMessage(any(TextMessage.class));
+        return session;
     }
 
     @Test
@@ -441,4 +484,546 @@ class SessionManagerTest {
         // Then: Should return empty set
         assertThat(stocksAllSessions).isEmpty();
     }
+
+    @Test
+    void shouldConflateTicksPerSymbolWhileSocketIsBusy() throws Exception {
+        // Given: A session whose first write blocks until released
+        WebSocketSession session = mock(WebSocketSession.class);
+        when(session.isOpen()).thenReturn(true);
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> written = new java.util.concurrent.CopyOnWriteArrayList<>();
+        doAnswer(invocation -> {
+            String payload = ((TextMessage) invocation.getArgument(0)).getPayload();
+            if (written.isEmpty()) {
+                writing.countDown();
+                release.await(5, TimeUnit.SECONDS);
+            }
+            written.add(payload);
+            return null;
+        }).when(session).sendMessage(any(TextMessage.class));
+        sessionManager.registerSession("session-1", "/ws/stocks", session);
+
+        // When: Several updates per symbol arrive while the first write is in progress
+        sessionManager.sendTick("session-1", "RELIANCE", "R1");
+        assertThat(writing.await(5, TimeUnit.SECONDS)).isTrue();
+        sessionManager.sendTick("session-1", "RELIANCE", "R2");
+        sessionManager.sendTick("session-1", "INFY", "I1");
+        sessionManager.sendTick("session-1", "RELIANCE", "R3");
+        release.countDown();
+
+        // Then: Only the latest value per symbol is written, in first-update order
+        await().atMost(Duration.ofSeconds(5)).until(() -> written.size() == 3);
+        assertThat(written).containsExactly("R1", "R3", "I1");
+        SessionOutboundStats stats = sessionManager.getOutboundStats("session-1");
+        assertThat(stats.enqueued()).isEqualTo(4);
+        assertThat(stats.sent()).isEqualTo(3);
+        assertThat(stats.conflated()).isEqualTo(1);
+        assertThat(stats.pending()).isZero();
+        assertThat(sessionManager.getConflatedTickCount()).isEqualTo(1);
+
+        // And: The total survives the session disconnecting
+        sessionManager.removeSession("session-1");
+        assertThat(sessionManager.getConflatedTickCount()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldNotHoldBackOtherSessionsWhenOneSocketIsSlow() throws Exception {
+        // Given: A session stuck in a write and a healthy session
+        WebSocketSession slow = mock(WebSocketSession.class);
+        WebSocketSession fast = mock(WebSocketSession.class);
+        when(slow.isOpen()).thenReturn(true);
+        when(fast.isOpen()).thenReturn(true);
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            writing.countDown();
+            return release.await(5, TimeUnit.SECONDS);
+        }).when(slow).sendMessage(any(TextMessage.class));
+        sessionManager.registerSession("slow", "/ws/stocks", slow);
+        sessionManager.registerSession("fast", "/ws/stocks", fast);
+        sessionManager.sendTick("slow", "RELIANCE", "tick-0");
+        assertThat(writing.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // When: Ticks are handed to both sessions while the slow socket is stuck
+        for (int i = 1; i < 100; i++) {
+            sessionManager.sendTick("slow", "RELIANCE", "tick-" + i);
+            sessionManager.sendTick("fast", "RELIANCE", "tick-" + i);
+        }
+
+        // Then: The caller never blocked, the healthy session is current and the slow one holds one pending value
+        await().atMost(Duration.ofSeconds(5)).until(() -> sessionManager.getOutboundStats("fast").pending() == 0);
+        verify(fast, atLeastOnce()).sendMessage(new TextMessage("tick-99"));
+        assertThat(sessionManager.getOutboundStats("slow").pending()).isEqualTo(1);
+        assertThat(sessionManager.getOutboundStats("slow").conflated()).isEqualTo(98);
+        release.countDown();
+    }
+
+    @Test
+    void shouldWriteControlMessagesAheadOfQueuedTicks() throws Exception {
+        // Given: A drop-oldest session stuck in its first write with a tick queued behind it
+        sessionManager = sessionManager(OverflowPolicy.DROP_OLDEST, 16, Duration.ofSeconds(10));
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        WebSocketSession session = blockedSession(writing, release);
+        sessionManager.registerSession("session-1", "/ws/stocks", session);
+        sessionManager.sendTick("session-1", "RELIANCE", "tick-0");
+        assertThat(writing.await(5, TimeUnit.SECONDS)).isTrue();
+        sessionManager.sendTick("session-1", "RELIANCE", "tick-1");
+
+        // When: A confirmation is sent while the socket is busy
+        boolean queued = sessionManager.sendControl("session-1", new TextMessage("confirmation"));
+        release.countDown();
+
+        // Then: The writer sends it once the socket is free, before the queued tick
+        assertThat(queued).isTrue();
+        await().atMost(Duration.ofSeconds(5)).until(() -> sessionManager.getOutboundStats("session-1").sent() == 2);
+        var inOrder = inOrder(session);
+        inOrder.verify(session).sendMessage(new TextMessage("tick-0"));
+        inOrder.verify(session).sendMessage(new TextMessage("confirmation"));
+        inOrder.verify(session).sendMessage(new TextMessage("tick-1"));
+        assertThat(sessionManager.sendControl("unknown", new TextMessage("confirmation"))).isFalse();
+    }
+
+    @Test
+    void shouldRemoveAndCloseSessionWhenItsWriterFails() throws Exception {
+        // Given: A session whose socket fails with a runtime error
+        WebSocketSession session = mock(WebSocketSession.class);
+        when(session.isOpen()).thenReturn(true);
+        doThrow(new IllegalStateException("TEXT_PARTIAL_WRITING")).when(session).sendMessage(any(TextMessage.class));
+        sessionManager.registerSession("session-1", "/ws/stocks", session);
+
+        // When: A tick is queued to it
+        sessionManager.sendTick("session-1", "RELIANCE", "R1");
+
+        // Then: The session is not left registered without a writer, but removed and closed
+        await().atMost(Duration.ofSeconds(5)).until(() -> sessionManager.getActiveSessionCount() == 0);
+        verify(session, timeout(5000)).close(CloseStatus.SERVER_ERROR);
+
+        // And: Later ticks are ignored rather than queued forever
+        sessionManager.sendTick("session-1", "RELIANCE", "R2");
+        assertThat(sessionManager.getOutboundStats("session-1")).isEqualTo(SessionOutboundStats.EMPTY);
+    }
+
+    @Test
+    void shouldDropOutboundStateWhenSessionIsRemoved() {
+        // Given: A registered session
+        WebSocketSession session = mock(WebSocketSession.class);
+        sessionManager.registerSession("session-1", "/ws/stocks", session);
+
+        // When: Removing it and offering a tick afterwards
+        sessionManager.removeSession("session-1");
+        sessionManager.sendTick("session-1", "RELIANCE", "R1");
+
+        // Then: Nothing is queued
+        assertThat(sessionManager.getOutboundStats("session-1")).isEqualTo(SessionOutboundStats.EMPTY);
+    }
+
+    @Test
+    void shouldDropOldestTicksWhenQueueIsFull() throws Exception {
+        // Given: A drop-oldest queue of three ticks on a session stuck in its first write
+        sessionManager = sessionManager(OverflowPolicy.DROP_OLDEST, 3, Duration.ofSeconds(10));
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        WebSocketSession session = blockedSession(writing, release);
+        sessionManager.registerSession("session-1", "/ws/stocks", session);
+        sessionManager.sendTick("session-1", "RELIANCE", "tick-0");
+        assertThat(writing.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // When: More ticks arrive than the queue holds
+        for (int i = 1; i <= 5; i++) {
+            sessionManager.sendTick("session-1", "RELIANCE", "tick-" + i);
+        }
+
+        // Then: The queue stays bounded, keeping the newest ticks
+        SessionOutboundStats stats = sessionManager.getOutboundStats("session-1");
+        assertThat(stats.pending()).isEqualTo(3);
+        assertThat(stats.dropped()).isEqualTo(2);
+        assertThat(stats.conflated()).isZero();
+        assertThat(sessionManager.getDroppedTickCount()).isEqualTo(2);
+        assertThat(sessionManager.getMaxOutboundQueueDepth()).isEqualTo(3);
+
+        // And: Once the socket recovers only the retained ticks are written, in order
+        release.countDown();
+        await().atMost(Duration.ofSeconds(5)).until(() -> sessionManager.getOutboundStats("session-1").sent() == 4);
+        var inOrder = inOrder(session);
+        inOrder.verify(session).sendMessage(new TextMessage("tick-3"));
+        inOrder.verify(session).sendMessage(new TextMessage("tick-4"));
+        inOrder.verify(session).sendMessage(new TextMessage("tick-5"));
+        verify(session, never()).sendMessage(new TextMessage("tick-1"));
+
+        // And: The total survives the session disconnecting
+        sessionManager.removeSession("session-1");
+        assertThat(sessionManager.getDroppedTickCount()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldSendQueuedTicksAsOneJsonArrayFrameWhenBatching() throws Exception {
+        // Given: A batching session on /ws/stocks/nse/all
+        WebSocketSession session = mock(WebSocketSession.class);
+        when(session.isOpen()).thenReturn(true);
+        List<String> written = new java.util.concurrent.CopyOnWriteArrayList<>();
+        doAnswer(invocation -> written.add(((TextMessage) invocation.getArgument(0)).getPayload()))
+            .when(session).sendMessage(any(TextMessage.class));
+        sessionManager.registerSession("session-1", "/ws/stocks/nse/all", session);
+        assertThat(sessionManager.enableFrameBatching("session-1")).isTrue();
+
+        // When: Several ticks arrive within the window
+        sessionManager.sendTick("session-1", "RELIANCE", "{\"s\":\"R\"}");
+        sessionManager.sendTick("session-1", "INFY", "{\"s\":\"I\"}");
+        sessionManager.sendTick("session-1", "TCS", "{\"s\":\"T\"}");
+
+        // Then: They are written as a single array frame
+        await().atMost(Duration.ofSeconds(5)).until(() -> sessionManager.getOutboundStats("session-1").sent() == 3);
+        assertThat(written).containsExactly("[{\"s\":\"R\"},{\"s\":\"I\"},{\"s\":\"T\"}]");
+    }
+
+    @Test
+    void shouldSendFullFrameWithoutWaitingForTheWindow() throws Exception {
+        // Given: A batching session with a long window and two ticks per frame
+        SocketEngineProperties properties = new SocketEngineProperties();
+        properties.getWebSocket().setBatchWindowMin(Duration.ofSeconds(30));
+        properties.getWebSocket().setBatchWindowMax(Duration.ofSeconds(30));
+        properties.getWebSocket().setBatchMaxTicks(2);
+        sessionManager = new SessionManager(properties, instrumentLoader);
+        WebSocketSession session = mock(WebSocketSession.class);
+        when(session.isOpen()).thenReturn(true);
+        sessionManager.registerSession("session-1", "/ws/indices/all", session);
+        sessionManager.enableFrameBatching("session-1");
+
+        // When: A full frame is queued
+        sessionManager.sendTick("session-1", "NIFTY 50", "1");
+        sessionManager.sendTick("session-1", "NIFTY BANK", "2");
+
+        // Then: It is written right away
+        verify(session, timeout(5000)).sendMessage(new TextMessage("[1,2]"));
+    }
+
+    @Test
+    void shouldSendNewestTickOncePerIntervalWhenThrottled() throws Exception {
+        // Given: A session capped at one tick per symbol every 200 ms
+        WebSocketSession session = mock(WebSocketSession.class);
+        when(session.isOpen()).thenReturn(true);
+        List<String> written = new java.util.concurrent.CopyOnWriteArrayList<>();
+        doAnswer(invocation -> written.add(((TextMessage) invocation.getArgument(0)).getPayload()))
+            .when(session).sendMessage(any(TextMessage.class));
+        sessionManager.registerSession("session-1", "/ws/stocks", session);
+        assertThat(sessionManager.setThrottle("session-1", Duration.ofMillis(200))).isTrue();
+
+        // When: A burst of ticks arrives for two symbols
+        for (int i = 1; i <= 5; i++) {
+            sessionManager.sendTick("session-1", "RELIANCE", "R" + i);
+        }
+        sessionManager.sendTick("session-1", "INFY", "I1");
+
+        // Then: The first tick per symbol goes out at once and only the newest one follows
+        await().atMost(Duration.ofSeconds(5)).until(() -> written.size() == 3);
+        Thread.sleep(300);
+        assertThat(written).containsExactly("R1", "I1", "R5");
+        assertThat(sessionManager.getThrottledTickCount()).isEqualTo(3);
+
+        // When: The cap is removed
+        assertThat(sessionManager.setThrottle("session-1", Duration.ZERO)).isTrue();
+        assertThat(sessionManager.getThrottledTickCount()).isEqualTo(3);
+        sessionManager.sendTick("session-1", "RELIANCE", "R6");
+        sessionManager.sendTick("session-1", "INFY", "I2");
+
+        // Then: Ticks go out right away again
+        await().atMost(Duration.ofSeconds(5)).until(() -> written.size() == 5);
+        assertThat(written).endsWith("R6", "I2");
+    }
+
+    @Test
+    void shouldDiscardHeldTicksOnUnsubscribeAndWhenCapIsRemoved() throws Exception {
+        // Given: A capped session holding back a tick of each of two symbols
+        WebSocketSession session = mock(WebSocketSession.class);
+        when(session.isOpen()).thenReturn(true);
+        List<String> written = new java.util.concurrent.CopyOnWriteArrayList<>();
+        doAnswer(invocation -> written.add(((TextMessage) invocation.getArgument(0)).getPayload()))
+            .when(session).sendMessage(any(TextMessage.class));
+        sessionManager.registerSession("session-1", "/ws/stocks", session);
+        sessionManager.addSubscriptions("session-1", List.of("RELIANCE", "INFY"));
+        assertThat(sessionManager.setThrottle("session-1", Duration.ofMillis(200))).isTrue();
+        sessionManager.sendTick("session-1", "RELIANCE", "R1");
+        sessionManager.sendTick("session-1", "RELIANCE", "R2");
+        sessionManager.sendTick("session-1", "INFY", "I1");
+        sessionManager.sendTick("session-1", "INFY", "I2");
+
+        // When: One symbol is unsubscribed and the cap is removed before the interval is up
+        sessionManager.removeSubscriptions("session-1", List.of("RELIANCE"));
+        assertThat(sessionManager.setThrottle("session-1", Duration.ZERO)).isTrue();
+
+        // Then: Neither held tick is released afterwards
+        await().atMost(Duration.ofSeconds(5)).until(() -> written.size() == 2);
+        Thread.sleep(400);
+        assertThat(written).containsExactly("R1", "I1");
+    }
+
+    @Test
+    void shouldNotThrottleInDirectMode() {
+        // Given: A session manager sending directly
+        SocketEngineProperties properties = new SocketEngineProperties();
+        properties.getWebSocket().setOutboundMode(OutboundMode.DIRECT);
+        sessionManager = new SessionManager(properties, instrumentLoader);
+        sessionManager.registerSession("session-1", "/ws/stocks", mock(WebSocketSession.class));
+
+        // Then: Rate caps are refused, as held ticks could only be released onto a queue
+        assertThat(sessionManager.setThrottle("session-1", Duration.ofSeconds(1))).isFalse();
+        assertThat(sessionManager.setThrottle("unknown", Duration.ofSeconds(1))).isFalse();
+    }
+
+    @Test
+    void shouldSendSnapshotThenDeltasToDeltaSession() throws Exception {
+        // Given: A delta-protocol session
+        WebSocketSession session = mock(WebSocketSession.class);
+        when(session.isOpen()).thenReturn(true);
+        List<String> written = new java.util.concurrent.CopyOnWriteArrayList<>();
+        doAnswer(invocation -> written.add(((TextMessage) invocation.getArgument(0)).getPayload()))
+            .when(session).sendMessage(any(TextMessage.class));
+        sessionManager.registerSession("session-1", "/ws/stocks", session, WireProtocol.JSON_DELTA);
+        Tick first = tick(2450.75, 1_000L);
+        Tick second = tick(2451.00, 1_000L);
+
+        // When: Two ticks of the same instrument are sent
+        sessionManager.sendMessage("session-1", new DeltaTick(3, first));
+        sessionManager.sendMessage("session-1", new DeltaTick(3, second));
+
+        // Then: The first is a full snapshot, the second carries only the changed price
+        assertThat(written).hasSize(2);
+        assertThat(written.get(0)).startsWith("{\"id\":3,\"snapshot\":true,\"symbol\":\"RELIANCE\"");
+        assertThat(written.get(1)).isEqualTo("{\"id\":3,\"lastTradedPrice\":2451.0}");
+    }
+
+    @Test
+    void shouldResendSnapshotAfterKeyframeInterval() throws Exception {
+        // Given: A delta-protocol session whose keyframes are always due
+        SocketEngineProperties properties = new SocketEngineProperties();
+        properties.getWebSocket().setDeltaKeyframeInterval(Duration.ZERO);
+        sessionManager = new SessionManager(properties, instrumentLoader);
+        WebSocketSession session = mock(WebSocketSession.class);
+        when(session.isOpen()).thenReturn(true);
+        List<String> written = new java.util.concurrent.CopyOnWriteArrayList<>();
+        doAnswer(invocation -> written.add(((TextMessage) invocation.getArgument(0)).getPayload()))
+            .when(session).sendMessage(any(TextMessage.class));
+        sessionManager.registerSession("session-1", "/ws/stocks", session, WireProtocol.JSON_DELTA);
+
+        // When: A tick is queued after the first one was written
+        sessionManager.sendTick("session-1", "RELIANCE", new DeltaTick(3, tick(2450.75, 1_000L)));
+        await().atMost(Duration.ofSeconds(5)).until(() -> written.size() == 1);
+        sessionManager.sendTick("session-1", "RELIANCE", new DeltaTick(3, tick(2451.00, 1_000L)));
+
+        // Then: Both are written as snapshots
+        await().atMost(Duration.ofSeconds(5)).until(() -> written.size() == 2);
+        assertThat(written).allMatch(json -> json.contains("\"snapshot\":true"));
+    }
+
+    private static Tick tick(double lastTradedPrice, long volume) {
+        return Tick.builder()
+            .symbol("RELIANCE")
+            .instrumentToken(738561L)
+            .type(InstrumentType.STOCK)
+            .timestamp(java.time.Instant.parse("2025-12-08T10:15:03Z"))
+            .lastTradedPrice(lastTradedPrice)
+            .volume(volume)
+            .build();
+    }
+
+    @Test
+    void shouldOnlyBatchOnConfiguredEndpoints() {
+        // Given: A session on a selective endpoint
+        sessionManager.registerSession("session-1", "/ws/stocks", mock(WebSocketSession.class));
+
+        // When / Then: Batching is refused
+        assertThat(sessionManager.enableFrameBatching("session-1")).isFalse();
+    }
+
+    @Test
+    void shouldDisconnectSessionAfterSustainedOverflow() throws Exception {
+        // Given: A disconnect-policy queue of one tick on a session stuck in its first write
+        sessionManager = sessionManager(OverflowPolicy.DISCONNECT, 1, Duration.ZERO);
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        WebSocketSession session = blockedSession(writing, release);
+        sessionManager.registerSession("session-1", "/ws/stocks", session);
+        sessionManager.sendTick("session-1", "RELIANCE", "tick-0");
+        assertThat(writing.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // When: The queue fills up and keeps overflowing
+        sessionManager.sendTick("session-1", "RELIANCE", "tick-1");
+        sessionManager.sendTick("session-1", "RELIANCE", "tick-2");
+        sessionManager.sendTick("session-1", "RELIANCE", "tick-3");
+
+        // Then: The session is removed and closed
+        assertThat(sessionManager.getAllSessionIds()).doesNotContain("session-1");
+        assertThat(sessionManager.getOutboundStats("session-1")).isEqualTo(SessionOutboundStats.EMPTY);
+        verify(session, timeout(5000)).close(CloseStatus.SESSION_NOT_RELIABLE);
+        release.countDown();
+    }
+
+    @Test
+    void shouldMaintainEndpointSnapshotsOnConnectAndDisconnect() {
+        // Given: Sessions on both /all endpoints and a plain endpoint
+        sessionManager.registerSession("indices-all", "/ws/indices/all", mock(WebSocketSession.class));
+        sessionManager.registerSession("stocks-all", "/ws/stocks/nse/all", mock(WebSocketSession.class));
+        sessionManager.registerSession("plain", "/ws/indices", mock(WebSocketSession.class));
+
+        // When: Reading the snapshots twice
+        SessionSlot[] indicesAll = sessionManager.getIndicesAllSlots();
+
+        // Then: They hold the endpoint's sessions and are reused until the next change
+        assertThat(ids(indicesAll)).containsExactly("indices-all");
+        assertThat(ids(sessionManager.getStocksAllSlots())).containsExactly("stocks-all");
+        assertThat(sessionManager.getIndicesAllSlots()).isSameAs(indicesAll);
+
+        // When: The /ws/indices/all session disconnects
+        sessionManager.removeSession("indices-all");
+
+        // Then: The snapshot is replaced
+        assertThat(sessionManager.getIndicesAllSlots()).isEmpty();
+        assertThat(sessionManager.watchesAllIndices()).isFalse();
+    }
+
+    @Test
+    void shouldLeaveAllEndpointSessionsOutOfInstrumentSnapshot() {
+        // Given: An explicit subscriber and a /ws/indices/all session both subscribed to NIFTY 50
+        sessionManager.registerSession("plain", "/ws/indices", mock(WebSocketSession.class));
+        sessionManager.registerSession("indices-all", "/ws/indices/all", mock(WebSocketSession.class));
+        sessionManager.addSubscriptions("plain", List.of("NIFTY 50"));
+        sessionManager.addSubscriptions("indices-all", List.of("NIFTY 50"));
+        int nifty = INDEX.idOfSymbol("NIFTY 50");
+
+        // Then: Index ticks skip the /all session, but it still counts as subscribed
+        assertThat(ids(sessionManager.getSubscriberSlots(INDEX, nifty, "NIFTY 50"))).containsExactly("plain");
+        assertThat(sessionManager.getSessionsSubscribedTo("NIFTY 50")).containsExactlyInAnyOrder("plain", "indices-all");
+
+        // When: The explicit subscriber unsubscribes
+        sessionManager.removeSubscriptions("plain", List.of("NIFTY 50"));
+
+        // Then: Index ticks have no explicit subscribers left
+        assertThat(sessionManager.getSubscriberSlots(INDEX, nifty, "NIFTY 50")).isEmpty();
+        assertThat(sessionManager.getSubscriberSlots(INDEX, InstrumentIndex.NOT_FOUND, "UNKNOWN")).isEmpty();
+    }
+
+    @Test
+    void shouldRouteSymbolsMissingFromIndexByName() {
+        // Given: A subscription to a symbol the instrument index does not know
+        sessionManager.registerSession("session-1", "/ws/stocks", mock(WebSocketSession.class));
+        sessionManager.addSubscriptions("session-1", List.of("NEWLISTING"));
+
+        // Then: Ticks without a dense id find the session by symbol
+        assertThat(ids(sessionManager.getSubscriberSlots(INDEX, InstrumentIndex.NOT_FOUND, "NEWLISTING")))
+            .containsExactly("session-1");
+        assertThat(sessionManager.watchedSymbols()).containsExactly("NEWLISTING");
+    }
+
+    @Test
+    void shouldReKeySubscriptionsWhenInstrumentIndexIsReplaced() {
+        // Given: A session subscribed to RELIANCE and a symbol missing from the index
+        sessionManager.registerSession("session-1", "/ws/stocks", mock(WebSocketSession.class));
+        sessionManager.addSubscriptions("session-1", List.of("RELIANCE", "NEWLISTING"));
+
+        // When: The index is refreshed with different ids and the new listing
+        InstrumentIndex refreshed = InstrumentIndex.build(List.of(
+            instrument(100L, "NEWLISTING", InstrumentType.STOCK),
+            instrument(738561L, "RELIANCE", InstrumentType.STOCK)));
+        when(instrumentLoader.getIndex()).thenReturn(refreshed);
+
+        // Then: Ticks resolved in the new index still reach the session, even before re-keying
+        assertThat(ids(sessionManager.getSubscriberSlots(refreshed, 1, "RELIANCE"))).containsExactly("session-1");
+
+        // When: The refresh event arrives
+        sessionManager.onInstrumentsRefreshed(new InstrumentsRefreshedEvent(List.of()));
+
+        // Then: Both symbols are routed by their new dense ids
+        assertThat(ids(sessionManager.getSubscriberSlots(refreshed, 0, "NEWLISTING"))).containsExactly("session-1");
+        assertThat(ids(sessionManager.getSubscriberSlots(refreshed, 1, "RELIANCE"))).containsExactly("session-1");
+        assertThat(sessionManager.getSessionSubscriptions("session-1")).containsExactlyInAnyOrder("RELIANCE", "NEWLISTING");
+    }
+
+    @Test
+    void shouldReuseSlotsOfRemovedSessions() {
+        // Given: Two sessions, the first of which disconnects
+        sessionManager.registerSession("session-1", "/ws/indices/all", mock(WebSocketSession.class));
+        sessionManager.registerSession("session-2", "/ws/indices/all", mock(WebSocketSession.class));
+        int freed = sessionManager.getIndicesAllSlots()[0].slot();
+        sessionManager.removeSession("session-1");
+
+        // When: A new session connects
+        sessionManager.registerSession("session-3", "/ws/indices/all", mock(WebSocketSession.class));
+
+        // Then: It takes the freed slot
+        assertThat(sessionManager.getIndicesAllSlots())
+            .anySatisfy(slot -> {
+                assertThat(slot.id()).isEqualTo("session-3");
+                assertThat(slot.slot()).isEqualTo(freed);
+            });
+    }
+
+    @Test
+    void shouldShareOneGroupRouteAcrossSubscribers() {
+        // Given: Two sessions subscribing to the same group
+        InstrumentGroup nifty = InstrumentGroup.resolve("NIFTY 50", List.of("RELIANCE", "INFY", "DELISTED"), INDEX);
+        sessionManager.registerSession("session-1", "/ws/stocks", mock(WebSocketSession.class));
+        sessionManager.registerSession("session-2", "/ws/stocks", mock(WebSocketSession.class));
+        long version = sessionManager.interestVersion();
+
+        // When: Both subscribe by group name
+        sessionManager.addGroupSubscriptions("session-1", List.of(nifty));
+        sessionManager.addGroupSubscriptions("session-2", List.of(nifty));
+
+        // Then: One route holds the shared group and both sessions, and no per-instrument state is kept
+        SessionManager.GroupRoute[] routes = sessionManager.getGroupRoutes();
+        assertThat(routes).hasSize(1);
+        assertThat(routes[0].group()).isSameAs(nifty);
+        assertThat(ids(routes[0].subscribers())).containsExactly("session-1", "session-2");
+        assertThat(routes[0].group().contains(INDEX, INDEX.idOfSymbol("RELIANCE"))).isTrue();
+        assertThat(routes[0].group().contains(INDEX, INDEX.idOfSymbol("NIFTY 50"))).isFalse();
+        assertThat(sessionManager.getSubscriberSlots(INDEX, INDEX.idOfSymbol("RELIANCE"), "RELIANCE")).isEmpty();
+        assertThat(sessionManager.getSessionSubscriptions("session-1")).isEmpty();
+        assertThat(sessionManager.getSessionGroups("session-1")).containsExactly("NIFTY 50");
+        assertThat(sessionManager.getSessionGroupSymbols("session-1")).containsExactlyInAnyOrder("RELIANCE", "INFY");
+
+        // And: The members count as watched
+        assertThat(sessionManager.watchedSymbols()).containsExactlyInAnyOrder("RELIANCE", "INFY");
+        assertThat(sessionManager.interestVersion()).isGreaterThan(version);
+
+        // When: One session unsubscribes and the other disconnects
+        sessionManager.removeGroupSubscriptions("session-1", List.of("NIFTY 50"));
+        assertThat(ids(sessionManager.getGroupRoutes()[0].subscribers())).containsExactly("session-2");
+        sessionManager.removeSession("session-2");
+
+        // Then: The route is gone
+        assertThat(sessionManager.getGroupRoutes()).isEmpty();
+        assertThat(sessionManager.watchedSymbols()).isEmpty();
+    }
+
+    @Test
+    void shouldSwapRefreshedGroupMembershipForAllSubscribers() {
+        // Given: A session subscribed to a group
+        InstrumentGroup group = InstrumentGroup.resolve("SCREENER", List.of("RELIANCE"), INDEX);
+        sessionManager.registerSession("session-1", "/ws/stocks", mock(WebSocketSession.class));
+        sessionManager.addGroupSubscriptions("session-1", List.of(group));
+        long version = sessionManager.interestVersion();
+
+        // When: The same membership is resolved again
+        assertThat(sessionManager.replaceGroups(Map.of("SCREENER",
+            InstrumentGroup.resolve("SCREENER", List.of("RELIANCE"), INDEX)))).isFalse();
+
+        // Then: Interest is unchanged
+        assertThat(sessionManager.interestVersion()).isEqualTo(version);
+
+        // When: The group gains a member
+        InstrumentGroup refreshed = InstrumentGroup.resolve("SCREENER", List.of("RELIANCE", "INFY"), INDEX);
+        assertThat(sessionManager.replaceGroups(Map.of("SCREENER", refreshed))).isTrue();
+
+        // Then: The subscriber routes through the new membership
+        assertThat(sessionManager.getGroupRoutes()[0].group()).isSameAs(refreshed);
+        assertThat(ids(sessionManager.getGroupRoutes()[0].subscribers())).containsExactly("session-1");
+        assertThat(sessionManager.watchedSymbols()).containsExactlyInAnyOrder("RELIANCE", "INFY");
+        assertThat(sessionManager.interestVersion()).isGreaterThan(version);
+    }
+
+    private static List<String> ids(SessionSlot[] slots) {
+        return Arrays.stream(slots).map(SessionSlot::id).toList();
+    }
 }
@@ -0,0 +1,58 @@
+package com.moneytree.socketengine.broadcast;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * Unit tests for ThrottleWheel.
+ */
+class ThrottleWheelTest {
+
+    @Test
+    void shouldRunTasksInDeadlineOrderNotBeforeTheirDeadline() {
+        // Given: A small wheel, so the later deadlines need several rotations
+        ThrottleWheel wheel = new ThrottleWheel(Duration.ofMillis(5), 4);
+        List<String> fired = new CopyOnWriteArrayList<>();
+        long start = System.nanoTime();
+
+        // When: Scheduling tasks out of order, one of them already due
+        wheel.schedule(start + Duration.ofMillis(120).toNanos(), () -> fired.add("late:" + (System.nanoTime() - start)));
+        wheel.schedule(start + Duration.ofMillis(40).toNanos(), () -> fired.add("early:" + (System.nanoTime() - start)));
+        wheel.schedule(start - 1, () -> fired.add("due:" + (System.nanoTime() - start)));
+
+        // Then: Each runs once, in deadline order and no earlier than due
+        await().atMost(Duration.ofSeconds(5)).until(() -> fired.size() == 3);
+        assertThat(fired).extracting(entry -> entry.substring(0, entry.indexOf(':')))
+            .containsExactly("due", "early", "late");
+        assertThat(elapsed(fired.get(1))).isGreaterThanOrEqualTo(Duration.ofMillis(40).toNanos());
+        assertThat(elapsed(fired.get(2))).isGreaterThanOrEqualTo(Duration.ofMillis(120).toNanos());
+        assertThat(wheel.pending()).isZero();
+    }
+
+    @Test
+    void shouldResumeAfterIdling() throws Exception {
+        // Given: A wheel that ran a task and went idle
+        ThrottleWheel wheel = new ThrottleWheel(Duration.ofMillis(5), 8);
+        List<String> fired = new CopyOnWriteArrayList<>();
+        wheel.schedule(System.nanoTime(), () -> fired.add("first"));
+        await().atMost(Duration.ofSeconds(5)).until(() -> fired.size() == 1);
+        Thread.sleep(100);
+
+        // When: Scheduling again
+        wheel.schedule(System.nanoTime() + Duration.ofMillis(20).toNanos(), () -> fired.add("second"));
+
+        // Then: The task still runs
+        await().atMost(Duration.ofSeconds(5)).until(() -> fired.size() == 2);
+        assertThat(fired).containsExactly("first", "second");
+    }
+
+    private static long elapsed(String entry) {
+        return Long.parseLong(entry.substring(entry.indexOf(':') + 1));
+    }
+}
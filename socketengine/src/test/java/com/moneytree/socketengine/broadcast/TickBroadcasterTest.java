@@ -2,20 +2,28 @@ package com.moneytree.socketengine.broadcast;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.moneytree.socketengine.api.dto.TickDto;
+import com.moneytree.socketengine.config.SocketEngineProperties;
+import com.moneytree.socketengine.domain.InstrumentInfo;
 import com.moneytree.socketengine.domain.InstrumentType;
 import com.moneytree.socketengine.domain.Tick;
-import com.moneytree.socketengine.domain.events.TickReceivedEvent;
+import com.moneytree.socketengine.kite.InstrumentIndex;
 import com.moneytree.socketengine.kite.InstrumentLoader;
+import com.moneytree.socketengine.pipeline.TickLatencyMetrics;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.web.socket.TextMessage;
 import org.springframework.web.socket.WebSocketSession;
 
 import java.io.IOException;
 import java.time.Instant;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
 import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -30,6 +38,7 @@ import static org.mockito.Mockito.*;
  * - Broadcasting to explicitly subscribed sessions
  * - Broadcasting to /ws/indices/all sessions for index ticks
  * - Broadcasting to /ws/stocks/nse/all sessions for stock ticks
+ * - Broadcasting to instrument group subscribers, once per session
  * - Graceful handling of send failures
  * - Correct DTO conversion
  */
@@ -47,168 +56,277 @@ class TickBroadcasterTest {
         instrumentLoader = mock(InstrumentLoader.class);
         objectMapper = new ObjectMapper();
         meterRegistry = new SimpleMeterRegistry();
+        when(sessionManager.getGroupRoutes()).thenReturn(new SessionManager.GroupRoute[0]);
         
-        tickBroadcaster = new TickBroadcaster(sessionManager, instrumentLoader, objectMapper, meterRegistry);
+        tickBroadcaster = broadcaster(OutboundMode.DIRECT);
+    }
+
+    private TickBroadcaster broadcaster(OutboundMode outboundMode) {
+        SocketEngineProperties properties = new SocketEngineProperties();
+        properties.getWebSocket().setOutboundMode(outboundMode);
+        return new TickBroadcaster(sessionManager, instrumentLoader, properties,
+            new TickLatencyMetrics(properties, meterRegistry), meterRegistry);
+    }
+
+    @Test
+    void shouldEnqueueTicksOnSessionOutboundsInQueuedMode() throws IOException {
+        // Given: A queued broadcaster and two sessions subscribed to a stock
+        tickBroadcaster = broadcaster(OutboundMode.QUEUED);
+        Tick tick = createSampleTick("RELIANCE", 738561L, InstrumentType.STOCK);
+        when(sessionManager.getSubscriberSlots(any(), anyInt(), eq("RELIANCE"))).thenReturn(slots(Set.of("session-1", "session-2")));
+        when(sessionManager.getStocksAllSlots()).thenReturn(slots(new HashSet<>()));
+        givenInstrument(738561L, InstrumentType.STOCK);
+
+        // When: Broadcasting the tick
+        tickBroadcaster.onBatch(List.of(tick));
+
+        // Then: Each session gets the tick keyed by symbol and nothing is sent on this thread
+        verify(sessionManager).sendTick(slot("session-1"), eq("RELIANCE"), any(TextMessage.class));
+        verify(sessionManager).sendTick(slot("session-2"), eq("RELIANCE"), any(TextMessage.class));
+        verify(sessionManager, never()).sendMessage(any(SessionSlot.class), any(TextMessage.class));
+        assertThat(meterRegistry.get("socketengine.ticks.broadcast").counter().count()).isEqualTo(2.0);
+    }
+
+    @Test
+    void shouldSendBinaryRecordsToBinarySessionsWithoutJsonEncoding() throws IOException {
+        // Given: A binary session on /ws/stocks/nse/all
+        Tick tick = createSampleTick("RELIANCE", 738561L, InstrumentType.STOCK);
+        when(sessionManager.getSubscriberSlots(any(), anyInt(), eq("RELIANCE"))).thenReturn(slots(new HashSet<>()));
+        when(sessionManager.getStocksAllSlots()).thenReturn(slots(WireProtocol.BINARY, "binary-1"));
+        givenInstrument(738561L, InstrumentType.STOCK);
+
+        // When: Broadcasting the tick
+        tickBroadcaster.onBatch(List.of(tick));
+
+        // Then: The session gets the binary record for dense id 0 and no JSON is sent
+        byte[] expected = BinaryTickCodec.encodeTick(0, tick);
+        verify(sessionManager).sendBinary(slot("binary-1"), eq(expected));
+        verify(sessionManager, never()).sendMessage(any(SessionSlot.class), any(TextMessage.class));
+    }
+
+    @Test
+    void shouldQueueOneSharedDeltaTickForDeltaSessions() throws IOException {
+        // Given: A queued broadcaster with two delta sessions on /ws/stocks/nse/all
+        tickBroadcaster = broadcaster(OutboundMode.QUEUED);
+        Tick tick = createSampleTick("RELIANCE", 738561L, InstrumentType.STOCK);
+        when(sessionManager.getSubscriberSlots(any(), anyInt(), eq("RELIANCE"))).thenReturn(slots(new HashSet<>()));
+        when(sessionManager.getStocksAllSlots()).thenReturn(slots(WireProtocol.JSON_DELTA, "delta-1", "delta-2"));
+        givenInstrument(738561L, InstrumentType.STOCK);
+
+        // When: Broadcasting the tick
+        tickBroadcaster.onBatch(List.of(tick));
+
+        // Then: Both sessions get the same unencoded delta tick for dense id 0
+        ArgumentCaptor<DeltaTick> captor = ArgumentCaptor.forClass(DeltaTick.class);
+        verify(sessionManager, times(2)).sendTick(any(SessionSlot.class), eq("RELIANCE"), captor.capture());
+        assertThat(captor.getAllValues().get(0)).isSameAs(captor.getAllValues().get(1));
+        assertThat(captor.getValue().instrumentId()).isZero();
+        assertThat(captor.getValue().tick()).isSameAs(tick);
     }
 
     @Test
     void shouldBroadcastToSubscribedSessions() throws IOException {
         // Given: A tick and sessions subscribed to it
         Tick tick = createSampleTick("NIFTY 50", 256265L, InstrumentType.INDEX);
-        TickReceivedEvent event = new TickReceivedEvent(tick);
         
         Set<String> subscribedSessions = new HashSet<>(Arrays.asList("session-1", "session-2"));
-        when(sessionManager.getSessionsSubscribedTo("NIFTY 50")).thenReturn(subscribedSessions);
-        when(sessionManager.getIndicesAllSessions()).thenReturn(new HashSet<>());
-        when(sessionManager.getStocksAllSessions()).thenReturn(new HashSet<>());
-        when(instrumentLoader.isIndexToken(256265L)).thenReturn(true);
-        when(instrumentLoader.isStockToken(256265L)).thenReturn(false);
+        when(sessionManager.getSubscriberSlots(any(), anyInt(), eq("NIFTY 50"))).thenReturn(slots(subscribedSessions));
+        when(sessionManager.getIndicesAllSlots()).thenReturn(slots(new HashSet<>()));
+        when(sessionManager.getStocksAllSlots()).thenReturn(slots(new HashSet<>()));
+        givenInstrument(256265L, InstrumentType.INDEX);
 
         // When: Broadcasting the tick
-        tickBroadcaster.onTickReceived(event);
+        tickBroadcaster.onBatch(List.of(tick));
 
         // Then: Should send to both subscribed sessions
-        verify(sessionManager, times(2)).sendMessage(anyString(), anyString());
-        verify(sessionManager).sendMessage(eq("session-1"), anyString());
-        verify(sessionManager).sendMessage(eq("session-2"), anyString());
+        verify(sessionManager, times(2)).sendMessage(any(SessionSlot.class), any(TextMessage.class));
+        verify(sessionManager).sendMessage(slot("session-1"), any(TextMessage.class));
+        verify(sessionManager).sendMessage(slot("session-2"), any(TextMessage.class));
     }
 
     @Test
     void shouldBroadcastIndexTicksToIndicesAllSessions() throws IOException {
         // Given: An index tick and /ws/indices/all sessions
         Tick tick = createSampleTick("NIFTY 50", 256265L, InstrumentType.INDEX);
-        TickReceivedEvent event = new TickReceivedEvent(tick);
         
         Set<String> indicesAllSessions = new HashSet<>(Arrays.asList("session-all-1", "session-all-2"));
-        when(sessionManager.getSessionsSubscribedTo("NIFTY 50")).thenReturn(new HashSet<>());
-        when(sessionManager.getIndicesAllSessions()).thenReturn(indicesAllSessions);
-        when(sessionManager.getStocksAllSessions()).thenReturn(new HashSet<>());
-        when(instrumentLoader.isIndexToken(256265L)).thenReturn(true);
-        when(instrumentLoader.isStockToken(256265L)).thenReturn(false);
+        when(sessionManager.getSubscriberSlots(any(), anyInt(), eq("NIFTY 50"))).thenReturn(slots(new HashSet<>()));
+        when(sessionManager.getIndicesAllSlots()).thenReturn(slots(indicesAllSessions));
+        when(sessionManager.getStocksAllSlots()).thenReturn(slots(new HashSet<>()));
+        givenInstrument(256265L, InstrumentType.INDEX);
 
         // When: Broadcasting the tick
-        tickBroadcaster.onTickReceived(event);
+        tickBroadcaster.onBatch(List.of(tick));
 
         // Then: Should send to all /ws/indices/all sessions
-        verify(sessionManager, times(2)).sendMessage(anyString(), anyString());
-        verify(sessionManager).sendMessage(eq("session-all-1"), anyString());
-        verify(sessionManager).sendMessage(eq("session-all-2"), anyString());
+        verify(sessionManager, times(2)).sendMessage(any(SessionSlot.class), any(TextMessage.class));
+        verify(sessionManager).sendMessage(slot("session-all-1"), any(TextMessage.class));
+        verify(sessionManager).sendMessage(slot("session-all-2"), any(TextMessage.class));
     }
 
     @Test
     void shouldBroadcastStockTicksToStocksAllSessions() throws IOException {
         // Given: A stock tick and /ws/stocks/nse/all sessions
         Tick tick = createSampleTick("RELIANCE", 738561L, InstrumentType.STOCK);
-        TickReceivedEvent event = new TickReceivedEvent(tick);
         
         Set<String> stocksAllSessions = new HashSet<>(Arrays.asList("session-stocks-1", "session-stocks-2"));
-        when(sessionManager.getSessionsSubscribedTo("RELIANCE")).thenReturn(new HashSet<>());
-        when(sessionManager.getIndicesAllSessions()).thenReturn(new HashSet<>());
-        when(sessionManager.getStocksAllSessions()).thenReturn(stocksAllSessions);
-        when(instrumentLoader.isIndexToken(738561L)).thenReturn(false);
-        when(instrumentLoader.isStockToken(738561L)).thenReturn(true);
+        when(sessionManager.getSubscriberSlots(any(), anyInt(), eq("RELIANCE"))).thenReturn(slots(new HashSet<>()));
+        when(sessionManager.getIndicesAllSlots()).thenReturn(slots(new HashSet<>()));
+        when(sessionManager.getStocksAllSlots()).thenReturn(slots(stocksAllSessions));
+        givenInstrument(738561L, InstrumentType.STOCK);
 
         // When: Broadcasting the tick
-        tickBroadcaster.onTickReceived(event);
+        tickBroadcaster.onBatch(List.of(tick));
 
         // Then: Should send to all /ws/stocks/nse/all sessions
-        verify(sessionManager, times(2)).sendMessage(anyString(), anyString());
-        verify(sessionManager).sendMessage(eq("session-stocks-1"), anyString());
-        verify(sessionManager).sendMessage(eq("session-stocks-2"), anyString());
+        verify(sessionManager, times(2)).sendMessage(any(SessionSlot.class), any(TextMessage.class));
+        verify(sessionManager).sendMessage(slot("session-stocks-1"), any(TextMessage.class));
+        verify(sessionManager).sendMessage(slot("session-stocks-2"), any(TextMessage.class));
     }
 
     @Test
     void shouldBroadcastToAllRelevantSessions() throws IOException {
         // Given: An index tick with explicit subscriptions AND /ws/indices/all sessions
         Tick tick = createSampleTick("BANKNIFTY", 260105L, InstrumentType.INDEX);
-        TickReceivedEvent event = new TickReceivedEvent(tick);
         
         Set<String> subscribedSessions = new HashSet<>(Arrays.asList("session-1"));
         Set<String> indicesAllSessions = new HashSet<>(Arrays.asList("session-all-1", "session-all-2"));
         
-        when(sessionManager.getSessionsSubscribedTo("BANKNIFTY")).thenReturn(subscribedSessions);
-        when(sessionManager.getIndicesAllSessions()).thenReturn(indicesAllSessions);
-        when(sessionManager.getStocksAllSessions()).thenReturn(new HashSet<>());
-        when(instrumentLoader.isIndexToken(260105L)).thenReturn(true);
-        when(instrumentLoader.isStockToken(260105L)).thenReturn(false);
+        when(sessionManager.getSubscriberSlots(any(), anyInt(), eq("BANKNIFTY"))).thenReturn(slots(subscribedSessions));
+        when(sessionManager.getIndicesAllSlots()).thenReturn(slots(indicesAllSessions));
+        when(sessionManager.getStocksAllSlots()).thenReturn(slots(new HashSet<>()));
+        givenInstrument(260105L, InstrumentType.INDEX);
 
         // When: Broadcasting the tick
-        tickBroadcaster.onTickReceived(event);
+        tickBroadcaster.onBatch(List.of(tick));
 
         // Then: Should send to all 3 sessions (1 subscribed + 2 indices/all)
-        verify(sessionManager, times(3)).sendMessage(anyString(), anyString());
-        verify(sessionManager).sendMessage(eq("session-1"), anyString());
-        verify(sessionManager).sendMessage(eq("session-all-1"), anyString());
-        verify(sessionManager).sendMessage(eq("session-all-2"), anyString());
+        verify(sessionManager, times(3)).sendMessage(any(SessionSlot.class), any(TextMessage.class));
+        verify(sessionManager).sendMessage(slot("session-1"), any(TextMessage.class));
+        verify(sessionManager).sendMessage(slot("session-all-1"), any(TextMessage.class));
+        verify(sessionManager).sendMessage(slot("session-all-2"), any(TextMessage.class));
+    }
+
+    @Test
+    void shouldSendGroupTicksOnceToSessionsReachedByOverlappingRoutes() throws IOException {
+        // Given: Two overlapping groups holding RELIANCE, an explicit subscriber that is also in
+        // the first group, and a /ws/stocks/nse/all session also in the second
+        Tick tick = createSampleTick("RELIANCE", 738561L, InstrumentType.STOCK);
+        givenInstrument(738561L, "RELIANCE", InstrumentType.STOCK);
+        InstrumentIndex index = instrumentLoader.getIndex();
+        SessionSlot explicit = slots(WireProtocol.JSON, "explicit")[0];
+        SessionSlot all = slots(WireProtocol.JSON, "all")[0];
+        SessionSlot shared = slots(WireProtocol.JSON, "shared")[0];
+        SessionSlot groupOnly = slots(WireProtocol.JSON, "group-only")[0];
+        when(sessionManager.getSubscriberSlots(any(), anyInt(), eq("RELIANCE"))).thenReturn(new SessionSlot[] {explicit});
+        when(sessionManager.getStocksAllSlots()).thenReturn(new SessionSlot[] {all});
+        when(sessionManager.getGroupRoutes()).thenReturn(new SessionManager.GroupRoute[] {
+            new SessionManager.GroupRoute(InstrumentGroup.resolve("NIFTY 50", List.of("RELIANCE"), index),
+                new SessionSlot[] {explicit, shared}),
+            new SessionManager.GroupRoute(InstrumentGroup.resolve("NIFTY ENERGY", List.of("RELIANCE"), index),
+                new SessionSlot[] {shared, all, groupOnly}),
+            new SessionManager.GroupRoute(InstrumentGroup.resolve("NIFTY IT", List.of("INFY"), index),
+                new SessionSlot[] {slots(WireProtocol.JSON, "it-only")[0]})});
+
+        // When: Broadcasting the tick twice
+        tickBroadcaster.onBatch(List.of(tick, tick));
+
+        // Then: Every session in a matching route gets each tick exactly once, others get nothing
+        verify(sessionManager, times(8)).sendMessage(any(SessionSlot.class), any(TextMessage.class));
+        verify(sessionManager, times(2)).sendMessage(slot("explicit"), any(TextMessage.class));
+        verify(sessionManager, times(2)).sendMessage(slot("all"), any(TextMessage.class));
+        verify(sessionManager, times(2)).sendMessage(slot("shared"), any(TextMessage.class));
+        verify(sessionManager, times(2)).sendMessage(slot("group-only"), any(TextMessage.class));
+        verify(sessionManager, never()).sendMessage(slot("it-only"), any(TextMessage.class));
+    }
+
+    @Test
+    void shouldLookUpAllEndpointSessionsOncePerBatch() throws IOException {
+        // Given: A frame with two index ticks and one stock tick
+        Tick nifty = createSampleTick("NIFTY 50", 256265L, InstrumentType.INDEX);
+        Tick bankNifty = createSampleTick("NIFTY BANK", 260105L, InstrumentType.INDEX);
+        Tick reliance = createSampleTick("RELIANCE", 738561L, InstrumentType.STOCK);
+        
+        when(sessionManager.getSubscriberSlots(any(), anyInt(), anyString())).thenReturn(slots(new HashSet<>()));
+        when(sessionManager.getIndicesAllSlots()).thenReturn(slots(new HashSet<>(Arrays.asList("session-all-1"))));
+        when(sessionManager.getStocksAllSlots()).thenReturn(slots(new HashSet<>(Arrays.asList("session-stocks-1"))));
+        when(instrumentLoader.getIndex()).thenReturn(InstrumentIndex.build(List.of(
+            InstrumentInfo.builder().instrumentToken(256265L).tradingSymbol("NIFTY 50").type(InstrumentType.INDEX).build(),
+            InstrumentInfo.builder().instrumentToken(260105L).tradingSymbol("NIFTY BANK").type(InstrumentType.INDEX).build(),
+            InstrumentInfo.builder().instrumentToken(738561L).tradingSymbol("RELIANCE").type(InstrumentType.STOCK).build())));
+
+        // When: Broadcasting the frame as one batch
+        tickBroadcaster.onBatch(List.of(nifty, bankNifty, reliance));
+
+        // Then: Every tick is sent, but the per-frame lookups happen once
+        verify(sessionManager, times(2)).sendMessage(slot("session-all-1"), any(TextMessage.class));
+        verify(sessionManager, times(1)).sendMessage(slot("session-stocks-1"), any(TextMessage.class));
+        verify(sessionManager, times(1)).getIndicesAllSlots();
+        verify(sessionManager, times(1)).getStocksAllSlots();
+        verify(instrumentLoader, times(1)).getIndex();
     }
 
     @Test
     void shouldHandleFailedSendsGracefully() throws IOException {
         // Given: A tick and sessions where one send fails
         Tick tick = createSampleTick("NIFTY 50", 256265L, InstrumentType.INDEX);
-        TickReceivedEvent event = new TickReceivedEvent(tick);
         
         Set<String> subscribedSessions = new HashSet<>(Arrays.asList("session-1", "session-2", "session-3"));
-        when(sessionManager.getSessionsSubscribedTo("NIFTY 50")).thenReturn(subscribedSessions);
-        when(sessionManager.getIndicesAllSessions()).thenReturn(new HashSet<>());
-        when(sessionManager.getStocksAllSessions()).thenReturn(new HashSet<>());
-        when(instrumentLoader.isIndexToken(256265L)).thenReturn(true);
-        when(instrumentLoader.isStockToken(256265L)).thenReturn(false);
+        when(sessionManager.getSubscriberSlots(any(), anyInt(), eq("NIFTY 50"))).thenReturn(slots(subscribedSessions));
+        when(sessionManager.getIndicesAllSlots()).thenReturn(slots(new HashSet<>()));
+        when(sessionManager.getStocksAllSlots()).thenReturn(slots(new HashSet<>()));
+        givenInstrument(256265L, InstrumentType.INDEX);
         
         // Simulate failure for session-2
-        doThrow(new IOException("Connection closed")).when(sessionManager).sendMessage(eq("session-2"), anyString());
+        doThrow(new IOException("Connection closed")).when(sessionManager).sendMessage(slot("session-2"), any(TextMessage.class));
 
         // When: Broadcasting the tick
-        tickBroadcaster.onTickReceived(event);
+        tickBroadcaster.onBatch(List.of(tick));
 
         // Then: Should still send to other sessions despite one failure
-        verify(sessionManager, times(3)).sendMessage(anyString(), anyString());
-        verify(sessionManager).sendMessage(eq("session-1"), anyString());
-        verify(sessionManager).sendMessage(eq("session-2"), anyString());
-        verify(sessionManager).sendMessage(eq("session-3"), anyString());
+        verify(sessionManager, times(3)).sendMessage(any(SessionSlot.class), any(TextMessage.class));
+        verify(sessionManager).sendMessage(slot("session-1"), any(TextMessage.class));
+        verify(sessionManager).sendMessage(slot("session-2"), any(TextMessage.class));
+        verify(sessionManager).sendMessage(slot("session-3"), any(TextMessage.class));
     }
 
     @Test
     void shouldNotBroadcastWhenNoTargetSessions() throws IOException {
         // Given: A tick with no subscribed sessions
         Tick tick = createSampleTick("UNKNOWN", 999999L, InstrumentType.STOCK);
-        TickReceivedEvent event = new TickReceivedEvent(tick);
         
-        when(sessionManager.getSessionsSubscribedTo("UNKNOWN")).thenReturn(new HashSet<>());
-        when(sessionManager.getIndicesAllSessions()).thenReturn(new HashSet<>());
-        when(sessionManager.getStocksAllSessions()).thenReturn(new HashSet<>());
-        when(instrumentLoader.isIndexToken(999999L)).thenReturn(false);
-        when(instrumentLoader.isStockToken(999999L)).thenReturn(false);
+        when(sessionManager.getSubscriberSlots(any(), anyInt(), eq("UNKNOWN"))).thenReturn(slots(new HashSet<>()));
+        when(sessionManager.getIndicesAllSlots()).thenReturn(slots(new HashSet<>()));
+        when(sessionManager.getStocksAllSlots()).thenReturn(slots(new HashSet<>()));
+        when(instrumentLoader.getIndex()).thenReturn(InstrumentIndex.EMPTY);
 
         // When: Broadcasting the tick
-        tickBroadcaster.onTickReceived(event);
+        tickBroadcaster.onBatch(List.of(tick));
 
         // Then: Should not send any messages
-        verify(sessionManager, never()).sendMessage(anyString(), anyString());
+        verify(sessionManager, never()).sendMessage(any(SessionSlot.class), any(TextMessage.class));
     }
 
     @Test
     void shouldConvertTickToDtoCorrectly() throws Exception {
         // Given: A tick with all fields populated
         Tick tick = createSampleTick("RELIANCE", 738561L, InstrumentType.STOCK);
-        TickReceivedEvent event = new TickReceivedEvent(tick);
         
         Set<String> subscribedSessions = new HashSet<>(Arrays.asList("session-1"));
-        when(sessionManager.getSessionsSubscribedTo("RELIANCE")).thenReturn(subscribedSessions);
-        when(sessionManager.getIndicesAllSessions()).thenReturn(new HashSet<>());
-        when(sessionManager.getStocksAllSessions()).thenReturn(new HashSet<>());
-        when(instrumentLoader.isIndexToken(738561L)).thenReturn(false);
-        when(instrumentLoader.isStockToken(738561L)).thenReturn(true);
+        when(sessionManager.getSubscriberSlots(any(), anyInt(), eq("RELIANCE"))).thenReturn(slots(subscribedSessions));
+        when(sessionManager.getIndicesAllSlots()).thenReturn(slots(new HashSet<>()));
+        when(sessionManager.getStocksAllSlots()).thenReturn(slots(new HashSet<>()));
+        givenInstrument(738561L, InstrumentType.STOCK);
 
         // Capture the JSON sent
         final String[] capturedJson = new String[1];
         doAnswer(invocation -> {
-            capturedJson[0] = invocation.getArgument(1);
+            capturedJson[0] = ((TextMessage) invocation.getArgument(1)).getPayload();
             return null;
-        }).when(sessionManager).sendMessage(eq("session-1"), anyString());
+        }).when(sessionManager).sendMessage(slot("session-1"), any(TextMessage.class));
 
         // When: Broadcasting the tick
-        tickBroadcaster.onTickReceived(event);
+        tickBroadcaster.onBatch(List.of(tick));
 
         // Then: JSON should contain all tick fields
         assertThat(capturedJson[0]).isNotNull();
@@ -231,53 +349,49 @@ class TickBroadcasterTest {
     void shouldSerializeToJsonOnce() throws IOException {
         // Given: A tick and multiple target sessions
         Tick tick = createSampleTick("NIFTY 50", 256265L, InstrumentType.INDEX);
-        TickReceivedEvent event = new TickReceivedEvent(tick);
         
         Set<String> subscribedSessions = new HashSet<>(Arrays.asList("session-1", "session-2"));
         Set<String> indicesAllSessions = new HashSet<>(Arrays.asList("session-all-1"));
         
-        when(sessionManager.getSessionsSubscribedTo("NIFTY 50")).thenReturn(subscribedSessions);
-        when(sessionManager.getIndicesAllSessions()).thenReturn(indicesAllSessions);
-        when(sessionManager.getStocksAllSessions()).thenReturn(new HashSet<>());
-        when(instrumentLoader.isIndexToken(256265L)).thenReturn(true);
-        when(instrumentLoader.isStockToken(256265L)).thenReturn(false);
-
-        // Capture all JSON messages sent
-        Set<String> capturedJsonMessages = new HashSet<>();
+        when(sessionManager.getSubscriberSlots(any(), anyInt(), eq("NIFTY 50"))).thenReturn(slots(subscribedSessions));
+        when(sessionManager.getIndicesAllSlots()).thenReturn(slots(indicesAllSessions));
+        when(sessionManager.getStocksAllSlots()).thenReturn(slots(new HashSet<>()));
+        givenInstrument(256265L, InstrumentType.INDEX);
+
+        // Capture all messages sent, by identity
+        Set<Object> capturedJsonMessages = Collections.newSetFromMap(new IdentityHashMap<>());
         doAnswer(invocation -> {
             capturedJsonMessages.add(invocation.getArgument(1));
             return null;
-        }).when(sessionManager).sendMessage(anyString(), anyString());
+        }).when(sessionManager).sendMessage(any(SessionSlot.class), any(TextMessage.class));
 
         // When: Broadcasting the tick
-        tickBroadcaster.onTickReceived(event);
+        tickBroadcaster.onBatch(List.of(tick));
 
-        // Then: All sessions should receive the same JSON string (serialized once)
+        // Then: All sessions should receive the same prepared message (encoded once)
         assertThat(capturedJsonMessages).hasSize(1);
-        verify(sessionManager, times(3)).sendMessage(anyString(), anyString());
+        verify(sessionManager, times(3)).sendMessage(any(SessionSlot.class), any(TextMessage.class));
     }
 
     @Test
     void shouldHandleDuplicateSessionsInTargetSet() throws IOException {
-        // Given: A session that appears in both subscribed and indices/all
-        // (This shouldn't happen in practice, but we should handle it gracefully)
-        Tick tick = createSampleTick("NIFTY 50", 256265L, InstrumentType.INDEX);
-        TickReceivedEvent event = new TickReceivedEvent(tick);
-        
-        Set<String> subscribedSessions = new HashSet<>(Arrays.asList("session-1"));
-        Set<String> indicesAllSessions = new HashSet<>(Arrays.asList("session-1"));
-        
-        when(sessionManager.getSessionsSubscribedTo("NIFTY 50")).thenReturn(subscribedSessions);
-        when(sessionManager.getIndicesAllSessions()).thenReturn(indicesAllSessions);
-        when(sessionManager.getStocksAllSessions()).thenReturn(new HashSet<>());
-        when(instrumentLoader.isIndexToken(256265L)).thenReturn(true);
-        when(instrumentLoader.isStockToken(256265L)).thenReturn(false);
-
-        // When: Broadcasting the tick
-        tickBroadcaster.onTickReceived(event);
-
-        // Then: Should only send once to session-1 (Set deduplication)
-        verify(sessionManager, times(1)).sendMessage(eq("session-1"), anyString());
+        // Given: A /ws/indices/all session that also subscribed to NIFTY 50 explicitly
+        givenInstrument(256265L, "NIFTY 50", InstrumentType.INDEX);
+        SessionManager realSessionManager = new SessionManager(new SocketEngineProperties(), instrumentLoader);
+        WebSocketSession session = mock(WebSocketSession.class);
+        when(session.isOpen()).thenReturn(true);
+        realSessionManager.registerSession("session-1", "/ws/indices/all", session);
+        realSessionManager.addSubscriptions("session-1", List.of("NIFTY 50"));
+        SocketEngineProperties properties = new SocketEngineProperties();
+        properties.getWebSocket().setOutboundMode(OutboundMode.DIRECT);
+        tickBroadcaster = new TickBroadcaster(realSessionManager, instrumentLoader, properties,
+            new TickLatencyMetrics(properties, meterRegistry), meterRegistry);
+
+        // When: Broadcasting an index tick
+        tickBroadcaster.onBatch(List.of(createSampleTick("NIFTY 50", 256265L, InstrumentType.INDEX)));
+
+        // Then: The session receives it only once
+        verify(session, times(1)).sendMessage(any());
     }
 
     @Test
@@ -287,27 +401,26 @@ class TickBroadcasterTest {
         Tick stockTick = createSampleTick("RELIANCE", 738561L, InstrumentType.STOCK);
         
         Set<String> sessions = new HashSet<>(Arrays.asList("session-1"));
-        when(sessionManager.getSessionsSubscribedTo(anyString())).thenReturn(sessions);
-        when(sessionManager.getIndicesAllSessions()).thenReturn(new HashSet<>());
-        when(sessionManager.getStocksAllSessions()).thenReturn(new HashSet<>());
-        when(instrumentLoader.isIndexToken(anyLong())).thenReturn(false);
-        when(instrumentLoader.isStockToken(anyLong())).thenReturn(false);
+        when(sessionManager.getSubscriberSlots(any(), anyInt(), anyString())).thenReturn(slots(sessions));
+        when(sessionManager.getIndicesAllSlots()).thenReturn(slots(new HashSet<>()));
+        when(sessionManager.getStocksAllSlots()).thenReturn(slots(new HashSet<>()));
+        when(instrumentLoader.getIndex()).thenReturn(InstrumentIndex.EMPTY);
 
         final String[] capturedJson = new String[2];
         doAnswer(invocation -> {
-            capturedJson[0] = invocation.getArgument(1);
+            capturedJson[0] = ((TextMessage) invocation.getArgument(1)).getPayload();
             return null;
-        }).when(sessionManager).sendMessage(eq("session-1"), anyString());
+        }).when(sessionManager).sendMessage(slot("session-1"), any(TextMessage.class));
 
         // When: Broadcasting index tick
-        tickBroadcaster.onTickReceived(new TickReceivedEvent(indexTick));
+        tickBroadcaster.onBatch(List.of(indexTick));
         TickDto indexDto = objectMapper.readValue(capturedJson[0], TickDto.class);
 
         // Then: Type should be "INDEX" string
         assertThat(indexDto.getType()).isEqualTo("INDEX");
 
         // When: Broadcasting stock tick
-        tickBroadcaster.onTickReceived(new TickReceivedEvent(stockTick));
+        tickBroadcaster.onBatch(List.of(stockTick));
         TickDto stockDto = objectMapper.readValue(capturedJson[0], TickDto.class);
 
         // Then: Type should be "STOCK" string
@@ -335,26 +448,60 @@ class TickBroadcasterTest {
             .build();
         
         Set<String> sessions = new HashSet<>(Arrays.asList("session-1"));
-        when(sessionManager.getSessionsSubscribedTo("NIFTY 50")).thenReturn(sessions);
-        when(sessionManager.getIndicesAllSessions()).thenReturn(new HashSet<>());
-        when(sessionManager.getStocksAllSessions()).thenReturn(new HashSet<>());
-        when(instrumentLoader.isIndexToken(256265L)).thenReturn(false);
-        when(instrumentLoader.isStockToken(256265L)).thenReturn(false);
+        when(sessionManager.getSubscriberSlots(any(), anyInt(), eq("NIFTY 50"))).thenReturn(slots(sessions));
+        when(sessionManager.getIndicesAllSlots()).thenReturn(slots(new HashSet<>()));
+        when(sessionManager.getStocksAllSlots()).thenReturn(slots(new HashSet<>()));
+        when(instrumentLoader.getIndex()).thenReturn(InstrumentIndex.EMPTY);
 
         final String[] capturedJson = new String[1];
         doAnswer(invocation -> {
-            capturedJson[0] = invocation.getArgument(1);
+            capturedJson[0] = ((TextMessage) invocation.getArgument(1)).getPayload();
             return null;
-        }).when(sessionManager).sendMessage(eq("session-1"), anyString());
+        }).when(sessionManager).sendMessage(slot("session-1"), any(TextMessage.class));
 
         // When: Broadcasting the tick
-        tickBroadcaster.onTickReceived(new TickReceivedEvent(tick));
+        tickBroadcaster.onBatch(List.of(tick));
 
         // Then: Timestamp should be in ISO 8601 format
         TickDto dto = objectMapper.readValue(capturedJson[0], TickDto.class);
         assertThat(dto.getTimestamp()).isEqualTo("2025-12-08T10:15:03.123Z");
     }
 
+    private static SessionSlot[] slots(Set<String> sessionIds) {
+        return slots(WireProtocol.JSON, sessionIds.toArray(new String[0]));
+    }
+
+    private static SessionSlot[] slots(WireProtocol protocol, String... sessionIds) {
+        SessionSlot[] slots = new SessionSlot[sessionIds.length];
+        for (int i = 0; i < sessionIds.length; i++) {
+            slots[i] = new SessionSlot(i, sessionIds[i], mock(WebSocketSession.class), "/ws/test", protocol, null);
+        }
+        return slots;
+    }
+
+    /**
+     * Matches the session slot with the given id
+     */
+    private static SessionSlot slot(String sessionId) {
+        return argThat(s -> s != null && s.id().equals(sessionId));
+    }
+
+    /**
+     * Stubs the instrument loader with an index holding a single instrument
+     */
+    private void givenInstrument(long instrumentToken, InstrumentType type) {
+        givenInstrument(instrumentToken, String.valueOf(instrumentToken), type);
+    }
+
+    private void givenInstrument(long instrumentToken, String symbol, InstrumentType type) {
+        when(instrumentLoader.getIndex()).thenReturn(InstrumentIndex.build(List.of(
+            InstrumentInfo.builder()
+                .instrumentToken(instrumentToken)
+                .tradingSymbol(symbol)
+                .type(type)
+                .build())));
+    }
+
     /**
      * Helper method to create a sample tick for testing
      */
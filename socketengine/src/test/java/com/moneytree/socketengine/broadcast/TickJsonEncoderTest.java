@@ -0,0 +1,163 @@
+package com.moneytree.socketengine.broadcast;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.moneytree.socketengine.api.dto.TickDto;
+import com.moneytree.socketengine.domain.InstrumentType;
+import com.moneytree.socketengine.domain.Tick;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for TickJsonEncoder: its output must be byte-for-byte what Jackson writes for
+ * the equivalent TickDto, so clients cannot tell the two apart.
+ */
+class TickJsonEncoderTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final TickJsonEncoder encoder = new TickJsonEncoder();
+
+    @Test
+    void shouldMatchJacksonForTypicalTick() throws Exception {
+        // Given: A fully populated stock tick
+        Tick tick = tick("RELIANCE", InstrumentType.STOCK, Instant.parse("2025-12-08T10:15:03.123Z"))
+            .lastTradedPrice(2450.75)
+            .volume(1_000_000L)
+            .ohlc(Tick.OHLC.builder().open(2440.00).high(2455.50).low(2435.25).close(2450.75).build())
+            .build();
+
+        // When / Then: Output equals Jackson's serialization of the DTO
+        assertMatchesJackson(tick);
+    }
+
+    @Test
+    void shouldMatchJacksonForLargeAndNegativeNumbers() throws Exception {
+        // Given: A tick with values Jackson prints in scientific notation and a negative volume
+        Tick tick = tick("NIFTY 50", InstrumentType.INDEX, Instant.parse("2025-12-08T10:15:03Z"))
+            .lastTradedPrice(12_345_678.5)
+            .volume(-42L)
+            .ohlc(Tick.OHLC.builder().open(0.0).high(1e-4).low(-1.5).close(23754.25).build())
+            .build();
+
+        // When / Then: Output equals Jackson's serialization of the DTO
+        assertMatchesJackson(tick);
+    }
+
+    @Test
+    void shouldMatchJacksonForSymbolsNeedingEscapes() throws Exception {
+        // Given: Symbols with quotes, backslashes, control and non-ASCII characters
+        for (String symbol : new String[] {"M&M", "A\"B\\C", "TAB\tNL\nBELL\u0007", "NIFTY – ₹ \"50\""}) {
+            Tick tick = tick(symbol, InstrumentType.STOCK, Instant.parse("2025-12-08T10:15:03.123456Z"))
+                .ohlc(Tick.OHLC.builder().build())
+                .build();
+
+            // When / Then: Output equals Jackson's serialization of the DTO
+            assertMatchesJackson(tick);
+        }
+    }
+
+    @Test
+    void shouldOmitNullFieldsLikeJackson() throws Exception {
+        // Given: A tick without symbol, type, timestamp or OHLC
+        Tick tick = Tick.builder().instrumentToken(256265L).lastTradedPrice(1.0).build();
+
+        // When / Then: Output equals Jackson's NON_NULL serialization of the DTO
+        assertMatchesJackson(tick);
+    }
+
+    @Test
+    void shouldEncodeSnapshotAsDtoKeyedById() {
+        // Given: A fully populated stock tick
+        Tick tick = tick("RELIANCE", InstrumentType.STOCK, Instant.parse("2025-12-08T10:15:03.123Z"))
+            .lastTradedPrice(2450.75)
+            .volume(1_000_000L)
+            .ohlc(Tick.OHLC.builder().open(2440.00).high(2455.50).low(2435.25).close(2450.75).build())
+            .build();
+
+        // When / Then: The snapshot is the DTO preceded by the id and snapshot flag
+        assertThat(new String(encoder.encodeSnapshot(7, tick), StandardCharsets.UTF_8)).isEqualTo(
+            "{\"id\":7,\"snapshot\":true,\"symbol\":\"RELIANCE\",\"instrumentToken\":738561,\"type\":\"STOCK\","
+                + "\"timestamp\":\"2025-12-08T10:15:03.123Z\",\"lastTradedPrice\":2450.75,\"volume\":1000000,"
+                + "\"ohlc\":{\"open\":2440.0,\"high\":2455.5,\"low\":2435.25,\"close\":2450.75}}");
+    }
+
+    @Test
+    void shouldLeaveOutVolumeAndOhlcOfLtpTicks() throws Exception {
+        // Given: An LTP-mode tick, which carries neither volume nor OHLC
+        Tick tick = tick("RELIANCE", InstrumentType.STOCK, Instant.parse("2025-12-08T10:15:03Z"))
+            .lastTradedPrice(2450.75)
+            .volume(Tick.NO_VOLUME)
+            .build();
+
+        // When / Then: Output equals Jackson's serialization of the DTO, without volume or OHLC
+        assertMatchesJackson(tick);
+        assertThat(new String(encoder.encode(tick), StandardCharsets.UTF_8)).doesNotContain("volume", "ohlc");
+
+        // And: A delta against a quote tick does not report the missing fields as changes
+        Tick previous = tick("RELIANCE", InstrumentType.STOCK, Instant.parse("2025-12-08T10:15:03Z"))
+            .lastTradedPrice(2450.0)
+            .volume(1_000_000L)
+            .ohlc(Tick.OHLC.builder().open(2440.00).high(2455.50).low(2435.25).close(2450.75).build())
+            .build();
+        assertThat(new String(encoder.encodeDelta(7, tick, previous), StandardCharsets.UTF_8))
+            .isEqualTo("{\"id\":7,\"lastTradedPrice\":2450.75}");
+    }
+
+    @Test
+    void shouldEncodeOnlyChangedFieldsInDelta() {
+        // Given: Two consecutive ticks where price, volume, high and the timestamp moved
+        Tick previous = tick("RELIANCE", InstrumentType.STOCK, Instant.parse("2025-12-08T10:15:03Z"))
+            .lastTradedPrice(2450.75)
+            .volume(1_000_000L)
+            .ohlc(Tick.OHLC.builder().open(2440.00).high(2455.50).low(2435.25).close(2450.75).build())
+            .build();
+        Tick tick = tick("RELIANCE", InstrumentType.STOCK, Instant.parse("2025-12-08T10:15:04Z"))
+            .lastTradedPrice(2456.0)
+            .volume(1_000_250L)
+            .ohlc(Tick.OHLC.builder().open(2440.00).high(2456.00).low(2435.25).close(2450.75).build())
+            .build();
+
+        // When / Then: Only the changed fields follow the id
+        assertThat(new String(encoder.encodeDelta(7, tick, previous), StandardCharsets.UTF_8)).isEqualTo(
+            "{\"id\":7,\"timestamp\":\"2025-12-08T10:15:04Z\",\"lastTradedPrice\":2456.0,\"volume\":1000250,"
+                + "\"ohlc\":{\"high\":2456.0}}");
+
+        // And: An unchanged tick is just its id
+        assertThat(new String(encoder.encodeDelta(7, tick, tick), StandardCharsets.UTF_8)).isEqualTo("{\"id\":7}");
+    }
+
+    private void assertMatchesJackson(Tick tick) throws Exception {
+        String expected = objectMapper.writeValueAsString(toDto(tick));
+        assertThat(new String(encoder.encode(tick), StandardCharsets.UTF_8)).isEqualTo(expected);
+    }
+
+    private static Tick.TickBuilder tick(String symbol, InstrumentType type, Instant timestamp) {
+        return Tick.builder()
+            .symbol(symbol)
+            .instrumentToken(738561L)
+            .type(type)
+            .timestamp(timestamp);
+    }
+
+    /**
+     * The DTO mapping the broadcaster used before the hand-rolled encoder
+     */
+    private static TickDto toDto(Tick tick) {
+        return TickDto.builder()
+            .symbol(tick.getSymbol())
+            .instrumentToken(tick.getInstrumentToken())
+            .type(tick.getType() != null ? tick.getType().name() : null)
+            .timestamp(tick.getTimestamp() != null ? tick.getTimestamp().toString() : null)
+            .lastTradedPrice(tick.getLastTradedPrice())
+            .volume(tick.hasVolume() ? tick.getVolume() : null)
+            .ohlc(tick.getOhlc() != null ? new TickDto.OHLCDto(
+                tick.getOhlc().getOpen(),
+                tick.getOhlc().getHigh(),
+                tick.getOhlc().getLow(),
+                tick.getOhlc().getClose()) : null)
+            .build();
+    }
+}
@@ -0,0 +1,127 @@
+package com.moneytree.socketengine.cluster;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.moneytree.socketengine.broadcast.SessionManager;
+import com.moneytree.socketengine.broadcast.SessionOutboundStats;
+import com.moneytree.socketengine.config.SocketEngineProperties;
+import com.moneytree.socketengine.kite.TickSourceType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for ClusterNodeRegistry: an ingest node and an edge node sharing node state through
+ * the in-process broker.
+ */
+@ExtendWith(MockitoExtension.class)
+class ClusterNodeRegistryTest {
+
+    @Mock
+    private SessionManager ingestSessions;
+
+    @Mock
+    private SessionManager edgeSessions;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final LocalClusterBroker broker = new LocalClusterBroker();
+    private ClusterNodeRegistry ingest;
+    private ClusterNodeRegistry edge;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(ingestSessions.getAllSessionIds()).thenReturn(Set.of());
+        lenient().when(ingestSessions.watchedSymbols()).thenReturn(Set.of("NIFTY 50"));
+
+        lenient().when(edgeSessions.interestVersion()).thenReturn(1L);
+        lenient().when(edgeSessions.getAllSessionIds()).thenReturn(Set.of("session-1"));
+        lenient().when(edgeSessions.getSessionEndpoint("session-1")).thenReturn("/ws/stocks");
+        lenient().when(edgeSessions.getSessionSubscriptions("session-1")).thenReturn(Set.of("RELIANCE"));
+        lenient().when(edgeSessions.getOutboundStats("session-1")).thenReturn(new SessionOutboundStats(5, 5, 0, 0, 0));
+        lenient().when(edgeSessions.watchedSymbols()).thenReturn(Set.of("RELIANCE"));
+        lenient().when(edgeSessions.watchesAllIndices()).thenReturn(true);
+
+        ingest = new ClusterNodeRegistry(properties("ingest", TickSourceType.KITE), broker, ingestSessions, objectMapper);
+        edge = new ClusterNodeRegistry(properties("edge-1", TickSourceType.EDGE), broker, edgeSessions, objectMapper);
+    }
+
+    @Test
+    void shouldAggregateClientInterestOfEdgeNodesOnIngestNode() {
+        // Given: The ingest node's view before the edge published its state
+        ingest.sync();
+        long before = ingest.interestVersion();
+        assertThat(ingest.watchedSymbols()).containsExactly("NIFTY 50");
+        assertThat(ingest.watchesAllIndices()).isFalse();
+
+        // When: The edge publishes and the ingest node syncs
+        edge.sync();
+        ingest.sync();
+
+        // Then: The ingest node's interest covers the edge's clients and its version moved
+        assertThat(ingest.watchedSymbols()).containsExactlyInAnyOrder("NIFTY 50", "RELIANCE");
+        assertThat(ingest.watchesAllIndices()).isTrue();
+        assertThat(ingest.watchesAllStocks()).isFalse();
+        assertThat(ingest.interestVersion()).isGreaterThan(before);
+        assertThat(ingest.getNodeIds()).containsExactly("edge-1", "ingest");
+    }
+
+    @Test
+    void shouldListSessionsOfOtherNodes() {
+        // When: Both nodes sync
+        edge.sync();
+        ingest.sync();
+
+        // Then: The ingest node lists the edge's session, tagged with the edge node
+        assertThat(ingest.getRemoteSessions()).singleElement().satisfies(session -> {
+            assertThat(session.getSessionId()).isEqualTo("session-1");
+            assertThat(session.getNode()).isEqualTo("edge-1");
+            assertThat(session.getEndpoint()).isEqualTo("/ws/stocks");
+            assertThat(session.getSubscribedSymbols()).containsExactly("RELIANCE");
+            assertThat(session.getTicksSent()).isEqualTo(5);
+        });
+        assertThat(edge.getRemoteSessions()).isEmpty();
+    }
+
+    @Test
+    void shouldOnlyRepublishWhenInterestChangesOrHeartbeatIsDue() throws Exception {
+        // Given: The edge published its state once
+        edge.publishState();
+
+        // When: Publishing again with unchanged interest, then after it changed
+        edge.publishState();
+        when(edgeSessions.interestVersion()).thenReturn(2L);
+        edge.publishState();
+
+        // Then: The unchanged state was not rebuilt
+        verify(edgeSessions, times(2)).watchedSymbols();
+    }
+
+    @Test
+    void shouldDropNodesThatStopPublishing() {
+        // Given: An edge whose state expires immediately
+        broker.putNodeState("edge-2", "{\"nodeId\":\"edge-2\",\"watchedSymbols\":[\"INFY\"]}", Duration.ZERO);
+
+        // When: The ingest node syncs
+        ingest.sync();
+
+        // Then: The expired node is not part of the cluster view
+        assertThat(ingest.getNodeIds()).containsExactly("ingest");
+        assertThat(ingest.watchedSymbols()).doesNotContain("INFY");
+    }
+
+    private static SocketEngineProperties properties(String nodeId, TickSourceType source) {
+        SocketEngineProperties properties = new SocketEngineProperties();
+        properties.getCluster().setEnabled(true);
+        properties.getCluster().setBroker(ClusterBrokerType.LOCAL);
+        properties.getCluster().setNodeId(nodeId);
+        properties.getSource().setType(source);
+        return properties;
+    }
+}
@@ -0,0 +1,165 @@
+package com.moneytree.socketengine.cluster;
+
+import com.moneytree.socketengine.config.SocketEngineProperties;
+import com.moneytree.socketengine.domain.InstrumentInfo;
+import com.moneytree.socketengine.domain.InstrumentType;
+import com.moneytree.socketengine.domain.Tick;
+import com.moneytree.socketengine.kite.InstrumentIndex;
+import com.moneytree.socketengine.kite.InstrumentLoader;
+import com.moneytree.socketengine.kite.KiteTickParser;
+import com.moneytree.socketengine.kite.TickFrameFile;
+import com.moneytree.socketengine.pipeline.TickLatencyMetrics;
+import com.moneytree.socketengine.pipeline.TickPipeline;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for fanning tick batches out from an ingest node with TickFanoutPublisher to an
+ * edge node's EdgeTickSource, over the in-process broker.
+ */
+@ExtendWith(MockitoExtension.class)
+class TickFanoutTest {
+
+    @Mock
+    private TickPipeline edgePipeline;
+
+    @Mock
+    private InstrumentLoader instrumentLoader;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private LocalClusterBroker broker;
+    private TickFanoutPublisher publisher;
+    private EdgeTickSource edge;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(instrumentLoader.getIndex()).thenReturn(InstrumentIndex.build(List.of(
+            instrument(256265L, "NIFTY 50", InstrumentType.INDEX),
+            instrument(738561L, "RELIANCE", InstrumentType.STOCK))));
+        lenient().when(instrumentLoader.loadAllInstruments()).thenReturn(List.of());
+
+        broker = new LocalClusterBroker();
+        publisher = new TickFanoutPublisher(broker, meterRegistry);
+        SocketEngineProperties properties = new SocketEngineProperties();
+        edge = new EdgeTickSource(broker, edgePipeline, new KiteTickParser(instrumentLoader), instrumentLoader,
+            new TickLatencyMetrics(properties, meterRegistry));
+    }
+
+    @Test
+    void shouldDeliverBatchesToEdgeNodePipeline() {
+        // Given: A subscribed edge node
+        edge.start();
+
+        // When: The ingest node's fan-out consumer handles a batch
+        publisher.onBatch(List.of(liveTick(256265L, 23754.25), liveTick(738561L, 2456.75)));
+
+        // Then: The edge publishes the same ticks as one batch, resolved against its own index
+        List<List<Tick>> batches = publishedBatches();
+        assertThat(batches).hasSize(1);
+        assertThat(batches.get(0)).extracting(Tick::getSymbol).containsExactly("NIFTY 50", "RELIANCE");
+        assertThat(batches.get(0)).extracting(Tick::getLastTradedPrice).containsExactly(23754.25, 2456.75);
+        assertThat(batches.get(0).get(0).getType()).isEqualTo(InstrumentType.INDEX);
+        assertThat(edge.getSubscriptionStatus()).containsEntry("ticksReceived", 2L);
+        assertThat(meterRegistry.counter("socketengine.cluster.fanout.messages").count()).isEqualTo(1.0);
+
+        // And: Edge ticks are built from the decode view without a copy of their packet
+        assertThat(batches.get(0)).extracting(Tick::getRawBinaryData).containsOnlyNulls();
+    }
+
+    @Test
+    void shouldDeliverLtpTicksWithoutOhlcOrVolume() {
+        // Given: A subscribed edge node
+        edge.start();
+
+        // When: The batch holds an LTP mode tick
+        publisher.onBatch(List.of(Tick.builder()
+            .instrumentToken(738561L)
+            .type(InstrumentType.STOCK)
+            .timestamp(Instant.now())
+            .mode(Tick.Mode.LTP)
+            .lastTradedPrice(2456.75)
+            .volume(Tick.NO_VOLUME)
+            .build()));
+
+        // Then: The edge's tick has the price only, not zero OHLC and volume
+        Tick tick = publishedBatches().get(0).get(0);
+        assertThat(tick.getLastTradedPrice()).isEqualTo(2456.75);
+        assertThat(tick.getMode()).isEqualTo(Tick.Mode.LTP);
+        assertThat(tick.getOhlc()).isNull();
+        assertThat(tick.hasVolume()).isFalse();
+    }
+
+    @Test
+    void shouldSplitLargeBatchesIntoParseableMessages() {
+        // Given: A batch with more packets than the parser accepts in one frame
+        edge.start();
+        List<Tick> batch = new ArrayList<>();
+        for (int i = 0; i < TickFrameFile.MAX_PACKETS_PER_FRAME + 5; i++) {
+            batch.add(liveTick(256265L, 100.0 + i));
+        }
+
+        // When: Fanning it out
+        publisher.onBatch(batch);
+
+        // Then: Every tick arrives, across two batches
+        assertThat(publishedBatches()).extracting(List::size).containsExactly(TickFrameFile.MAX_PACKETS_PER_FRAME, 5);
+    }
+
+    @Test
+    void shouldRejectMessagesOfOtherVersionsAndStopReceivingWhenStopped() {
+        // Given: A subscribed edge node
+        edge.start();
+
+        // When: A message of an unknown version arrives, then the edge stops before a valid one
+        byte[] message = TickFanoutCodec.encode(List.of(liveTick(256265L, 1.0)), Instant.now()).get(0);
+        message[0] = (byte) (TickFanoutCodec.VERSION + 1);
+        broker.publishTicks(message);
+        edge.stop();
+        publisher.onBatch(List.of(liveTick(256265L, 2.0)));
+
+        // Then: Nothing reaches the pipeline and the bad message is counted
+        verify(edgePipeline, never()).publishBatch(anyList());
+        assertThat(edge.getSubscriptionStatus()).containsEntry("messagesRejected", 1L);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<List<Tick>> publishedBatches() {
+        ArgumentCaptor<List<Tick>> batches = ArgumentCaptor.forClass(List.class);
+        verify(edgePipeline, atLeast(0)).publishBatch(batches.capture());
+        return batches.getAllValues();
+    }
+
+    private static Tick liveTick(long token, double price) {
+        // Live ticks carry no packet; consumers encode it from the fields
+        Instant now = Instant.now();
+        return Tick.builder()
+            .instrumentToken(token)
+            .type(InstrumentType.STOCK)
+            .timestamp(now)
+            .exchangeTimestamp(now)
+            .lastTradedPrice(price)
+            .volume(100L)
+            .ohlc(Tick.OHLC.builder().open(price).high(price).low(price).close(price).build())
+            .build();
+    }
+
+    private static InstrumentInfo instrument(long token, String symbol, InstrumentType type) {
+        return InstrumentInfo.builder()
+            .instrumentToken(token)
+            .tradingSymbol(symbol)
+            .type(type)
+            .build();
+    }
+}
@@ -0,0 +1,161 @@
+package com.moneytree.socketengine.intraday;
+
+import com.moneytree.socketengine.config.SocketEngineProperties;
+import com.moneytree.socketengine.domain.InstrumentInfo;
+import com.moneytree.socketengine.domain.InstrumentType;
+import com.moneytree.socketengine.domain.Tick;
+import com.moneytree.socketengine.kite.InstrumentIndex;
+import com.moneytree.socketengine.kite.InstrumentLoader;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for IntradayTickStore, on memory-mapped files in a temporary directory.
+ */
+class IntradayTickStoreTest {
+
+    private static final InstrumentInfo RELIANCE = InstrumentInfo.builder()
+        .instrumentToken(738561L).tradingSymbol("RELIANCE").type(InstrumentType.STOCK).build();
+    private static final InstrumentInfo NIFTY = InstrumentInfo.builder()
+        .instrumentToken(256265L).tradingSymbol("NIFTY 50").type(InstrumentType.INDEX).build();
+
+    @TempDir
+    Path dir;
+
+    private SocketEngineProperties properties;
+    private InstrumentLoader instrumentLoader;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        properties = new SocketEngineProperties();
+        properties.getIntraday().setEnabled(true);
+        properties.getIntraday().setPath(dir.toString());
+        properties.getIntraday().setSegmentSize(DataSize.ofBytes(IntradayDay.CHUNK_BYTES * 4L));
+        instrumentLoader = mock(InstrumentLoader.class);
+        when(instrumentLoader.getIndex()).thenReturn(InstrumentIndex.build(List.of(RELIANCE, NIFTY)));
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void shouldReadTicksInsideTimeWindowAcrossChunks() throws Exception {
+        // Given: 300 RELIANCE ticks one second apart, ending now, interleaved with NIFTY 50 ticks
+        IntradayTickStore store = openStore();
+        Instant now = Instant.now();
+        List<Tick> batch = new ArrayList<>();
+        for (int i = 299; i >= 0; i--) {
+            batch.add(tick("RELIANCE", 738561L, InstrumentType.STOCK, now.minusSeconds(i), 2500.0 + i));
+            batch.add(tick("NIFTY 50", 256265L, InstrumentType.INDEX, now.minusSeconds(i), 21500.0));
+        }
+        store.onBatch(batch);
+
+        // When: Reading the last two minutes and the whole day
+        List<Tick> window = store.getTodayTicks("RELIANCE", 2);
+        List<Tick> all = store.getTodayTicks("RELIANCE", null);
+
+        // Then: The window holds only ticks after the cutoff, oldest first, with all fields
+        assertThat(all).hasSize(300);
+        assertThat(window).hasSizeBetween(119, 121);
+        assertThat(window).allMatch(t -> t.getTimestamp().isAfter(now.minusSeconds(120)));
+        assertThat(window).isSortedAccordingTo((a, b) -> a.getTimestamp().compareTo(b.getTimestamp()));
+        Tick last = window.get(window.size() - 1);
+        assertThat(last.getSymbol()).isEqualTo("RELIANCE");
+        assertThat(last.getInstrumentToken()).isEqualTo(738561L);
+        assertThat(last.getType()).isEqualTo(InstrumentType.STOCK);
+        assertThat(last.getTimestamp()).isEqualTo(Instant.ofEpochMilli(now.toEpochMilli()));
+        assertThat(last.getLastTradedPrice()).isEqualTo(2500.0);
+        assertThat(last.getVolume()).isEqualTo(1000L);
+        assertThat(last.getOhlc()).isEqualTo(Tick.OHLC.builder().open(2490.0).high(2510.0).low(2480.0).close(2495.0).build());
+        assertThat(store.getTodayTicks("NIFTY 50", null)).hasSize(300)
+            .allMatch(t -> t.getType() == InstrumentType.INDEX);
+    }
+
+    @Test
+    void shouldKeepTicksWhenReopenedAfterRestart() throws Exception {
+        // Given: Ticks stored by an earlier run of the same day
+        IntradayTickStore first = openStore();
+        Instant now = Instant.now();
+        first.onBatch(List.of(
+            tick("RELIANCE", 738561L, InstrumentType.STOCK, now.minusSeconds(2), 2500.0),
+            tick("RELIANCE", 738561L, InstrumentType.STOCK, now.minusSeconds(1), 2501.0)));
+        first.close();
+
+        // When: A new store opens the same directory and appends
+        IntradayTickStore restarted = openStore();
+        restarted.onBatch(List.of(tick("RELIANCE", 738561L, InstrumentType.STOCK, now, 2502.0)));
+
+        // Then: Earlier and new ticks are read back in order
+        assertThat(restarted.getTodayTicks("RELIANCE", null))
+            .extracting(Tick::getLastTradedPrice)
+            .containsExactly(2500.0, 2501.0, 2502.0);
+    }
+
+    @Test
+    void shouldDeleteEarlierDaysAndDropTicksBeyondDiskBudget() throws Exception {
+        // Given: A budget of two segments, one of them taken by an earlier day
+        properties.getIntraday().setDiskBudget(DataSize.ofBytes(IntradayDay.CHUNK_BYTES * 8L));
+        Path earlierDay = Files.createDirectories(dir.resolve("2000-01-03"));
+        Files.write(earlierDay.resolve("segment-00000.dat"), new byte[IntradayDay.CHUNK_BYTES * 4]);
+        IntradayTickStore store = openStore();
+
+        // When: Today needs more chunks than the budget holds (8 chunks of 128 ticks)
+        List<Tick> batch = new ArrayList<>();
+        Instant start = Instant.now().minusSeconds(3600);
+        for (int i = 0; i < IntradayDay.CHUNK_TICKS * 10; i++) {
+            batch.add(tick("RELIANCE", 738561L, InstrumentType.STOCK, start.plusMillis(i), 2500.0));
+        }
+        store.onBatch(batch);
+
+        // Then: The earlier day is deleted, today fills the budget and the rest is dropped
+        assertThat(earlierDay).doesNotExist();
+        assertThat(store.getTodayTicks("RELIANCE", null)).hasSize(IntradayDay.CHUNK_TICKS * 8);
+        assertThat(meterRegistry.get("socketengine.intraday.ticks.dropped").counter().count())
+            .isEqualTo(IntradayDay.CHUNK_TICKS * 2.0);
+        assertThat(Files.list(dir.resolve(tradingDate())).count()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldReturnEmptyListForUnknownOrQuietSymbols() throws Exception {
+        IntradayTickStore store = openStore();
+
+        assertThat(store.getTodayTicks("NIFTY 50", null)).isEmpty();
+        assertThat(store.getTodayTicks("UNKNOWN", 5)).isEmpty();
+    }
+
+    private IntradayTickStore openStore() throws Exception {
+        IntradayTickStore store = new IntradayTickStore(properties, instrumentLoader, meterRegistry);
+        store.open();
+        return store;
+    }
+
+    private static String tradingDate() {
+        return ZonedDateTime.now(ZoneId.of("Asia/Kolkata")).toLocalDate().toString();
+    }
+
+    private static Tick tick(String symbol, long instrumentToken, InstrumentType type, Instant timestamp, double lastTradedPrice) {
+        return Tick.builder()
+            .symbol(symbol)
+            .instrumentToken(instrumentToken)
+            .type(type)
+            .timestamp(timestamp)
+            .lastTradedPrice(lastTradedPrice)
+            .volume(1000L)
+            .ohlc(Tick.OHLC.builder().open(2490.0).high(2510.0).low(2480.0).close(2495.0).build())
+            .build();
+    }
+}
@@ -0,0 +1,120 @@
+package com.moneytree.socketengine.kite;
+
+import com.moneytree.socketengine.domain.InstrumentInfo;
+import com.moneytree.socketengine.domain.InstrumentType;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for InstrumentIndex.
+ * Tests dense id assignment, token lookups and id re-validation.
+ */
+class InstrumentIndexTest {
+
+    @Test
+    void shouldAssignDenseIdsInLoadOrder() {
+        // Given: An index and a stock
+        InstrumentIndex index = InstrumentIndex.build(List.of(
+            info(256265L, "NIFTY 50", InstrumentType.INDEX),
+            info(738561L, "RELIANCE", InstrumentType.STOCK)));
+
+        // Then: Ids follow list order and metadata is reachable by id
+        assertThat(index.size()).isEqualTo(2);
+        assertThat(index.idOf(256265L)).isEqualTo(0);
+        assertThat(index.idOf(738561L)).isEqualTo(1);
+        assertThat(index.symbolAt(1)).isEqualTo("RELIANCE");
+        assertThat(index.typeAt(0)).isEqualTo(InstrumentType.INDEX);
+        assertThat(index.exchangeAt(1)).isEqualTo("NSE");
+        assertThat(index.tokenAt(0)).isEqualTo(256265L);
+        assertThat(index.isIndex(0)).isTrue();
+        assertThat(index.isStock(1)).isTrue();
+    }
+
+    @Test
+    void shouldLookUpIdsBySymbol() {
+        // Given: An index and a stock
+        InstrumentIndex index = InstrumentIndex.build(List.of(
+            info(256265L, "NIFTY 50", InstrumentType.INDEX),
+            info(738561L, "RELIANCE", InstrumentType.STOCK)));
+
+        // Then: Known symbols map to their ids, anything else to NOT_FOUND
+        assertThat(index.idOfSymbol("RELIANCE")).isEqualTo(1);
+        assertThat(index.idOfSymbol("NIFTY 50")).isEqualTo(0);
+        assertThat(index.idOfSymbol("UNKNOWN")).isEqualTo(InstrumentIndex.NOT_FOUND);
+        assertThat(index.idOfSymbol(null)).isEqualTo(InstrumentIndex.NOT_FOUND);
+    }
+
+    @Test
+    void shouldReturnNotFoundForUnknownToken() {
+        // Given: A populated index
+        InstrumentIndex index = InstrumentIndex.build(List.of(
+            info(256265L, "NIFTY 50", InstrumentType.INDEX)));
+
+        // Then: Unknown tokens resolve to NOT_FOUND, which is neither index nor stock
+        int id = index.idOf(999999L);
+        assertThat(id).isEqualTo(InstrumentIndex.NOT_FOUND);
+        assertThat(index.isIndex(id)).isFalse();
+        assertThat(index.isStock(id)).isFalse();
+        assertThat(InstrumentIndex.EMPTY.idOf(256265L)).isEqualTo(InstrumentIndex.NOT_FOUND);
+    }
+
+    @Test
+    void shouldFindEveryTokenInLargeIndex() {
+        // Given: A full NSE-sized universe with clustered token values
+        List<InstrumentInfo> instruments = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            instruments.add(info(100000L + i * 256L, "SYM" + i, InstrumentType.STOCK));
+        }
+        InstrumentIndex index = InstrumentIndex.build(instruments);
+
+        // Then: Every token maps back to its own id
+        for (int i = 0; i < instruments.size(); i++) {
+            assertThat(index.idOf(instruments.get(i).getInstrumentToken())).isEqualTo(i);
+        }
+        assertThat(index.idOf(100000L + 5000 * 256L)).isEqualTo(InstrumentIndex.NOT_FOUND);
+    }
+
+    @Test
+    void shouldKeepFirstEntryForDuplicateToken() {
+        // Given: The same token listed as an index and as a stock
+        InstrumentIndex index = InstrumentIndex.build(List.of(
+            info(256265L, "NIFTY 50", InstrumentType.INDEX),
+            info(256265L, "NIFTY 50", InstrumentType.STOCK),
+            info(738561L, "RELIANCE", InstrumentType.STOCK)));
+
+        // Then: The first entry wins and ids stay dense
+        assertThat(index.size()).isEqualTo(2);
+        assertThat(index.isIndex(index.idOf(256265L))).isTrue();
+        assertThat(index.idOf(738561L)).isEqualTo(1);
+    }
+
+    @Test
+    void shouldRevalidateIdFromOtherSnapshot() {
+        // Given: Two snapshots with different id assignments
+        InstrumentIndex oldIndex = InstrumentIndex.build(List.of(
+            info(256265L, "NIFTY 50", InstrumentType.INDEX),
+            info(738561L, "RELIANCE", InstrumentType.STOCK)));
+        InstrumentIndex newIndex = InstrumentIndex.build(List.of(
+            info(738561L, "RELIANCE", InstrumentType.STOCK),
+            info(256265L, "NIFTY 50", InstrumentType.INDEX)));
+        int staleId = oldIndex.idOf(256265L);
+
+        // Then: A matching id is reused, a stale or missing one is looked up again
+        assertThat(oldIndex.resolve(staleId, 256265L)).isEqualTo(staleId);
+        assertThat(newIndex.resolve(staleId, 256265L)).isEqualTo(1);
+        assertThat(newIndex.resolve(InstrumentIndex.NOT_FOUND, 738561L)).isEqualTo(0);
+        assertThat(newIndex.resolve(42, 999999L)).isEqualTo(InstrumentIndex.NOT_FOUND);
+    }
+
+    private static InstrumentInfo info(long token, String symbol, InstrumentType type) {
+        return InstrumentInfo.builder()
+            .instrumentToken(token)
+            .tradingSymbol(symbol)
+            .type(type)
+            .build();
+    }
+}
@@ -3,11 +3,14 @@ package com.moneytree.socketengine.kite;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.moneytree.socketengine.domain.InstrumentInfo;
 import com.moneytree.socketengine.domain.InstrumentType;
+import com.moneytree.socketengine.domain.events.InstrumentsRefreshedEvent;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.redis.core.ListOperations;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.jdbc.core.JdbcTemplate;
@@ -36,13 +39,16 @@ class InstrumentLoaderTest {
     @Mock
     private ListOperations<String, String> listOperations;
     
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    
     private ObjectMapper objectMapper;
     private InstrumentLoader instrumentLoader;
     
     @BeforeEach
     void setUp() {
         objectMapper = new ObjectMapper();
-        instrumentLoader = new InstrumentLoader(jdbcTemplate, redisTemplate, objectMapper);
+        instrumentLoader = new InstrumentLoader(jdbcTemplate, redisTemplate, objectMapper, eventPublisher);
         
         // Setup Redis template to return list operations
         when(redisTemplate.opsForList()).thenReturn(listOperations);
@@ -348,6 +354,49 @@ class InstrumentLoaderTest {
         verify(redisTemplate, times(2)).delete("instruments:nse:stocks");
     }
     
+    @Test
+    void shouldPublishNewIndexSnapshotOnRefresh() {
+        // Given: Initial load with one index
+        when(listOperations.range(anyString(), anyLong(), anyLong()))
+            .thenReturn(List.of());
+        
+        InstrumentInfo nifty = InstrumentInfo.builder()
+            .instrumentToken(256265L)
+            .tradingSymbol("NIFTY 50")
+            .type(InstrumentType.INDEX)
+            .build();
+        InstrumentInfo bankNifty = InstrumentInfo.builder()
+            .instrumentToken(260105L)
+            .tradingSymbol("NIFTY BANK")
+            .type(InstrumentType.INDEX)
+            .build();
+        
+        when(jdbcTemplate.query(contains("INDICES"), any(RowMapper.class)))
+            .thenReturn(List.of(nifty), List.of(nifty, bankNifty));
+        when(jdbcTemplate.query(contains("instrument_type = 'EQ'"), any(RowMapper.class)))
+            .thenReturn(List.of());
+        
+        instrumentLoader.loadAllInstruments();
+        InstrumentIndex before = instrumentLoader.getIndex();
+        
+        // When: Refresh cache picks up a new instrument
+        instrumentLoader.refreshCache();
+        InstrumentIndex after = instrumentLoader.getIndex();
+        
+        // Then: A new snapshot is published and the old one is left untouched
+        assertThat(after).isNotSameAs(before);
+        assertThat(before.idOf(260105L)).isEqualTo(InstrumentIndex.NOT_FOUND);
+        assertThat(after.symbolAt(after.idOf(260105L))).isEqualTo("NIFTY BANK");
+        assertThat(instrumentLoader.isIndexToken(260105L)).isTrue();
+        
+        // And: Listeners are told about the new instrument set
+        ArgumentCaptor<InstrumentsRefreshedEvent> event = ArgumentCaptor.forClass(InstrumentsRefreshedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertThat(event.getValue().instruments())
+            .extracting(InstrumentInfo::getInstrumentToken)
+            .containsExactly(256265L, 260105L);
+    }
+    
     @Test
     void shouldHandleRedisCacheFailureGracefully() {
         // Given: Redis throws exception
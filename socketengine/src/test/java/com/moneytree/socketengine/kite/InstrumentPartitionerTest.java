@@ -0,0 +1,63 @@
+package com.moneytree.socketengine.kite;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for InstrumentPartitioner.
+ */
+class InstrumentPartitionerTest {
+
+    @Test
+    void shouldOpenEnoughConnectionsForTheCap() {
+        assertThat(InstrumentPartitioner.connectionsFor(0, 1, 3000)).isEqualTo(1);
+        assertThat(InstrumentPartitioner.connectionsFor(3000, 1, 3000)).isEqualTo(1);
+        assertThat(InstrumentPartitioner.connectionsFor(3001, 1, 3000)).isEqualTo(2);
+        assertThat(InstrumentPartitioner.connectionsFor(10, 3, 3000)).isEqualTo(3);
+    }
+
+    @Test
+    void shouldSpreadInitialTokensEvenly() {
+        // When: Partitioning seven tokens across at least three connections
+        List<Set<Long>> partitions = InstrumentPartitioner.rebalance(
+            List.of(), List.of(1L, 2L, 3L, 4L, 5L, 6L, 7L), 3, 3000);
+
+        // Then: Sizes differ by at most one and every token is assigned exactly once
+        assertThat(partitions).extracting(Set::size).containsExactly(3, 2, 2);
+        assertThat(partitions.stream().flatMap(Set::stream))
+            .containsExactlyInAnyOrder(1L, 2L, 3L, 4L, 5L, 6L, 7L);
+    }
+
+    @Test
+    void shouldKeepExistingAssignmentsOnRebalance() {
+        // Given: Two connections already carrying tokens
+        List<Set<Long>> current = List.of(Set.of(1L, 2L), Set.of(3L, 4L));
+
+        // When: Token 2 disappears and token 5 is added
+        List<Set<Long>> partitions = InstrumentPartitioner.rebalance(
+            current, List.of(1L, 3L, 4L, 5L), 2, 3000);
+
+        // Then: Surviving tokens stay put and the new one goes to the lighter connection
+        assertThat(partitions.get(0)).containsExactlyInAnyOrder(1L, 5L);
+        assertThat(partitions.get(1)).containsExactlyInAnyOrder(3L, 4L);
+    }
+
+    @Test
+    void shouldMoveTokensOffSurplusConnectionsWhenTheSetShrinks() {
+        // Given: Three connections of two tokens with a cap of two
+        List<Set<Long>> current = List.of(Set.of(1L, 2L), Set.of(3L, 4L), Set.of(5L, 6L));
+
+        // When: Only three tokens remain
+        List<Set<Long>> partitions = InstrumentPartitioner.rebalance(
+            current, List.of(1L, 3L, 5L), 1, 2);
+
+        // Then: Two connections suffice and token 5 moves off the closed one
+        assertThat(partitions).hasSize(2);
+        assertThat(partitions).allSatisfy(partition -> assertThat(partition).hasSizeLessThanOrEqualTo(2));
+        assertThat(partitions.stream().flatMap(Set::stream)).containsExactlyInAnyOrder(1L, 3L, 5L);
+    }
+}
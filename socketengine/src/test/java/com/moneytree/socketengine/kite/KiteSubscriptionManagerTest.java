@@ -0,0 +1,124 @@
+package com.moneytree.socketengine.kite;
+
+import com.moneytree.socketengine.config.SocketEngineProperties;
+import com.moneytree.socketengine.domain.InstrumentInfo;
+import com.moneytree.socketengine.domain.InstrumentInterest;
+import com.moneytree.socketengine.domain.InstrumentType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for KiteSubscriptionManager.
+ * Tests planning from the persistence set and client interest, and debouncing of interest changes.
+ */
+@ExtendWith(MockitoExtension.class)
+class KiteSubscriptionManagerTest {
+
+    private static final List<InstrumentInfo> INSTRUMENTS = List.of(
+        instrument(256265L, "NIFTY 50", InstrumentType.INDEX),
+        instrument(260105L, "NIFTY BANK", InstrumentType.INDEX),
+        instrument(738561L, "RELIANCE", InstrumentType.STOCK),
+        instrument(408065L, "INFY", InstrumentType.STOCK));
+
+    @Mock
+    private InstrumentInterest interest;
+
+    private SocketEngineProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private KiteSubscriptionManager manager;
+
+    @BeforeEach
+    void setUp() {
+        properties = new SocketEngineProperties();
+        meterRegistry = new SimpleMeterRegistry();
+        manager = new KiteSubscriptionManager(properties, interest, meterRegistry);
+    }
+
+    @Test
+    void shouldSubscribeWatchedInstrumentsInFullAndTheRestInLtp() {
+        // Given: A client watching RELIANCE
+        when(interest.watchedSymbols()).thenReturn(Set.of("RELIANCE"));
+
+        // When: Planning
+        Map<Long, SubscriptionMode> plan = manager.plan(INSTRUMENTS);
+
+        // Then: Everything stays subscribed for persistence, only RELIANCE in detail
+        assertThat(plan).containsExactly(
+            Map.entry(256265L, SubscriptionMode.LTP),
+            Map.entry(260105L, SubscriptionMode.LTP),
+            Map.entry(738561L, SubscriptionMode.FULL),
+            Map.entry(408065L, SubscriptionMode.LTP));
+        assertThat(meterRegistry.get("socketengine.kite.subscriptions").tag("mode", "FULL").gauge().value())
+            .isEqualTo(1.0);
+    }
+
+    @Test
+    void shouldWatchEveryIndexForAllIndicesClientsAndDropUnpersistedTypes() {
+        // Given: Only indices are persisted and a client is on /ws/indices/all
+        properties.getKite().getSubscription().setPersistTypes(EnumSet.of(InstrumentType.INDEX));
+        when(interest.watchedSymbols()).thenReturn(Set.of("INFY"));
+        when(interest.watchesAllIndices()).thenReturn(true);
+
+        // When: Planning
+        Map<Long, SubscriptionMode> plan = manager.plan(INSTRUMENTS);
+
+        // Then: Indices and the watched stock are subscribed in full, RELIANCE not at all
+        assertThat(plan).containsOnlyKeys(256265L, 260105L, 408065L);
+        assertThat(plan.values()).containsOnly(SubscriptionMode.FULL);
+    }
+
+    @Test
+    void shouldSubscribeEverythingInWatchedModeWhenNotDemandDriven() {
+        // Given: Demand-driven subscriptions disabled
+        properties.getKite().getSubscription().setDemandDriven(false);
+
+        // When: Planning without any client
+        Map<Long, SubscriptionMode> plan = manager.plan(INSTRUMENTS);
+
+        // Then: Every instrument is subscribed in full and interest is never re-planned
+        assertThat(plan).hasSize(4);
+        assertThat(plan.values()).containsOnly(SubscriptionMode.FULL);
+        assertThat(manager.isReplanDue()).isFalse();
+        verify(interest, never()).watchedSymbols();
+    }
+
+    @Test
+    void shouldReplanOnlyAfterInterestHasSettled() {
+        // Given: A plan for interest version 0 and a 200ms debounce
+        properties.getKite().getSubscription().setDebounce(Duration.ofMillis(200));
+        manager.plan(INSTRUMENTS);
+
+        // When: Interest changes
+        when(interest.interestVersion()).thenReturn(1L);
+
+        // Then: The re-plan waits for the quiet period
+        assertThat(manager.isReplanDue()).isFalse();
+        await().atMost(Duration.ofSeconds(2)).until(manager::isReplanDue);
+
+        // And: Planning the new interest settles it
+        manager.plan(INSTRUMENTS);
+        assertThat(manager.isReplanDue()).isFalse();
+    }
+
+    private static InstrumentInfo instrument(long token, String symbol, InstrumentType type) {
+        return InstrumentInfo.builder()
+            .instrumentToken(token)
+            .tradingSymbol(symbol)
+            .type(type)
+            .build();
+    }
+}
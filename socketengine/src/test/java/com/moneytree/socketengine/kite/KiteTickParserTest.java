@@ -12,10 +12,13 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 /**
@@ -35,6 +38,10 @@ class KiteTickParserTest {
         parser = new KiteTickParser(instrumentLoader);
     }
 
+    private static InstrumentIndex indexOf(InstrumentInfo... instruments) {
+        return InstrumentIndex.build(List.of(instruments));
+    }
+
     @Test
     void shouldParseFullModeTickData() {
         // Given: Binary data for a full mode tick
@@ -56,7 +63,7 @@ class KiteTickParserTest {
             .tradingSymbol("NIFTY 50")
             .type(InstrumentType.INDEX)
             .build();
-        when(instrumentLoader.getInstrumentInfo(instrumentToken)).thenReturn(instrumentInfo);
+        when(instrumentLoader.getIndex()).thenReturn(indexOf(instrumentInfo));
 
         // When: Parsing the binary data
         List<Tick> ticks = parser.parse(binaryData);
@@ -75,7 +82,8 @@ class KiteTickParserTest {
         assertThat(tick.getOhlc().getLow()).isEqualTo(low);
         assertThat(tick.getOhlc().getClose()).isEqualTo(close);
         assertThat(tick.getTimestamp()).isEqualTo(Instant.ofEpochSecond(timestamp));
-        assertThat(tick.getRawBinaryData()).isEqualTo(binaryData);
+        // Raw data holds only the 68-byte packet frame, not the trailing padding of the input
+        assertThat(tick.getRawBinaryData()).isEqualTo(Arrays.copyOf(binaryData, 68));
     }
 
     @Test
@@ -92,7 +100,7 @@ class KiteTickParserTest {
             .tradingSymbol("RELIANCE")
             .type(InstrumentType.STOCK)
             .build();
-        when(instrumentLoader.getInstrumentInfo(instrumentToken)).thenReturn(instrumentInfo);
+        when(instrumentLoader.getIndex()).thenReturn(indexOf(instrumentInfo));
 
         // When: Parsing the binary data
         List<Tick> ticks = parser.parse(binaryData);
@@ -105,7 +113,9 @@ class KiteTickParserTest {
         assertThat(tick.getInstrumentToken()).isEqualTo(instrumentToken);
         assertThat(tick.getType()).isEqualTo(InstrumentType.STOCK);
         assertThat(tick.getLastTradedPrice()).isEqualTo(lastPrice);
-        assertThat(tick.getVolume()).isEqualTo(0);  // Not available in LTP mode
+        assertThat(tick.getMode()).isEqualTo(Tick.Mode.LTP);
+        assertThat(tick.hasVolume()).isFalse();  // Not available in LTP mode
+        assertThat(tick.getOhlc()).isNull();
         assertThat(tick.getRawBinaryData()).isEqualTo(binaryData);
     }
 
@@ -124,7 +134,7 @@ class KiteTickParserTest {
             .tradingSymbol("INFY")
             .type(InstrumentType.STOCK)
             .build();
-        when(instrumentLoader.getInstrumentInfo(instrumentToken)).thenReturn(instrumentInfo);
+        when(instrumentLoader.getIndex()).thenReturn(indexOf(instrumentInfo));
 
         // When: Parsing the binary data
         List<Tick> ticks = parser.parse(binaryData);
@@ -137,6 +147,8 @@ class KiteTickParserTest {
         assertThat(tick.getInstrumentToken()).isEqualTo(instrumentToken);
         assertThat(tick.getLastTradedPrice()).isEqualTo(lastPrice);
         assertThat(tick.getVolume()).isEqualTo(volume);
+        assertThat(tick.getMode()).isEqualTo(Tick.Mode.QUOTE);
+        assertThat(tick.getOhlc()).isNull();  // Not available in Quote packets
         assertThat(tick.getRawBinaryData()).isEqualTo(binaryData);
     }
 
@@ -161,8 +173,7 @@ class KiteTickParserTest {
             .tradingSymbol("RELIANCE")
             .type(InstrumentType.STOCK)
             .build();
-        when(instrumentLoader.getInstrumentInfo(token1)).thenReturn(info1);
-        when(instrumentLoader.getInstrumentInfo(token2)).thenReturn(info2);
+        when(instrumentLoader.getIndex()).thenReturn(indexOf(info1, info2));
 
         // When: Parsing the binary data
         List<Tick> ticks = parser.parse(binaryData);
@@ -177,6 +188,10 @@ class KiteTickParserTest {
         assertThat(ticks.get(1).getSymbol()).isEqualTo("RELIANCE");
         assertThat(ticks.get(1).getInstrumentToken()).isEqualTo(token2);
         assertThat(ticks.get(1).getLastTradedPrice()).isEqualTo(price2);
+
+        // And: Each tick carries the dense id resolved from the index
+        assertThat(ticks.get(0).getInstrumentId()).isEqualTo(0);
+        assertThat(ticks.get(1).getInstrumentId()).isEqualTo(1);
     }
 
     @Test
@@ -192,7 +207,7 @@ class KiteTickParserTest {
             .tradingSymbol("NIFTY 50")
             .type(InstrumentType.INDEX)
             .build();
-        when(instrumentLoader.getInstrumentInfo(instrumentToken)).thenReturn(instrumentInfo);
+        when(instrumentLoader.getIndex()).thenReturn(indexOf(instrumentInfo));
 
         // When: Parsing the binary data
         List<Tick> ticks = parser.parse(binaryData);
@@ -212,7 +227,7 @@ class KiteTickParserTest {
         byte[] binaryData = createLTPModeTickData(unknownToken, lastPrice);
 
         // Mock instrument loader to return null
-        when(instrumentLoader.getInstrumentInfo(unknownToken)).thenReturn(null);
+        when(instrumentLoader.getIndex()).thenReturn(indexOf());
 
         // When: Parsing the binary data
         List<Tick> ticks = parser.parse(binaryData);
@@ -327,7 +342,7 @@ class KiteTickParserTest {
             .tradingSymbol("NIFTY 50")
             .type(InstrumentType.INDEX)
             .build();
-        when(instrumentLoader.getInstrumentInfo(instrumentToken)).thenReturn(instrumentInfo);
+        when(instrumentLoader.getIndex()).thenReturn(indexOf(instrumentInfo));
 
         // When: Parsing the binary data
         List<Tick> ticks = parser.parse(binaryData);
@@ -337,6 +352,230 @@ class KiteTickParserTest {
         assertThat(ticks.get(0).getLastTradedPrice()).isEqualTo(expectedPrice);
     }
 
+    @Test
+    void shouldDecodeFullModeIntoFlyweightView() {
+        // Given: Binary data for a full mode tick
+        long instrumentToken = 256265L;
+        long timestamp = Instant.now().getEpochSecond();
+        byte[] binaryData = createFullModeTickData(
+            instrumentToken, 23754.25, 1000000L, 23700.50, 23800.75, 23650.00, 23754.25, timestamp);
+
+        // When: Decoding in flyweight mode
+        KiteTickView view = new KiteTickView();
+        List<Long> tokens = new ArrayList<>();
+        List<Integer> prices = new ArrayList<>();
+        int decoded = parser.decode(ByteBuffer.wrap(binaryData), view, v -> {
+            tokens.add(v.getInstrumentToken());
+            prices.add(v.getLastPrice());
+            assertThat(v.getVolume()).isEqualTo(1000000L);
+            assertThat(v.getOpen()).isEqualTo(2370050);
+            assertThat(v.getHigh()).isEqualTo(2380075);
+            assertThat(v.getLow()).isEqualTo(2365000);
+            assertThat(v.getClose()).isEqualTo(2375425);
+            assertThat(v.getExchangeTimestamp()).isEqualTo(timestamp);
+        });
+
+        // Then: Fixed-point fields are exposed without materializing a Tick
+        assertThat(decoded).isEqualTo(1);
+        assertThat(tokens).containsExactly(instrumentToken);
+        assertThat(prices).containsExactly(2375425);
+        verifyNoInteractions(instrumentLoader);
+    }
+
+    @Test
+    void shouldReuseSameViewForEveryPacketInFrame() {
+        // Given: A frame with two LTP packets
+        byte[] binaryData = createMultipleTicksData(256265L, 23754.25, 738561L, 2456.75);
+        ByteBuffer frame = ByteBuffer.wrap(binaryData);
+
+        // When: Decoding in flyweight mode
+        KiteTickView view = new KiteTickView();
+        List<KiteTickView> seen = new ArrayList<>();
+        List<Long> tokens = new ArrayList<>();
+        parser.decode(frame, view, v -> {
+            seen.add(v);
+            tokens.add(v.getInstrumentToken());
+        });
+
+        // Then: The same instance is handed out for each packet and the frame is not consumed
+        assertThat(seen).hasSize(2).allMatch(v -> v == view);
+        assertThat(tokens).containsExactly(256265L, 738561L);
+        assertThat(frame.position()).isZero();
+    }
+
+    @Test
+    void shouldLeaveByteOrderOfCallersBufferUntouched() {
+        // Given: A frame in a buffer the caller reads little-endian
+        byte[] binaryData = createMultipleTicksData(256265L, 23754.25, 738561L, 2456.75);
+        ByteBuffer frame = ByteBuffer.wrap(binaryData).order(ByteOrder.LITTLE_ENDIAN);
+
+        // When: Decoding in flyweight mode
+        List<Long> tokens = new ArrayList<>();
+        parser.decode(frame, new KiteTickView(), v -> tokens.add(v.getInstrumentToken()));
+
+        // Then: Packets are still read big-endian and the caller's byte order is kept
+        assertThat(tokens).containsExactly(256265L, 738561L);
+        assertThat(frame.order()).isEqualTo(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    @Test
+    void shouldMaterializeImmutableTickFromView() {
+        // Given: A frame with an LTP packet and a known instrument
+        long instrumentToken = 738561L;
+        byte[] binaryData = createLTPModeTickData(instrumentToken, 2456.75);
+        when(instrumentLoader.getIndex()).thenReturn(indexOf(InstrumentInfo.builder()
+            .instrumentToken(instrumentToken)
+            .tradingSymbol("RELIANCE")
+            .type(InstrumentType.STOCK)
+            .build()));
+        Instant receivedAt = Instant.parse("2025-12-08T04:00:00Z");
+
+        // When: Materializing from inside the visitor
+        List<Tick> ticks = new ArrayList<>();
+        parser.decode(ByteBuffer.wrap(binaryData), new KiteTickView(),
+            v -> ticks.add(parser.materialize(v, receivedAt)));
+
+        // Then: LTP packets without exchange timestamp use the frame arrival time
+        assertThat(ticks).hasSize(1);
+        assertThat(ticks.get(0).getSymbol()).isEqualTo("RELIANCE");
+        assertThat(ticks.get(0).getLastTradedPrice()).isEqualTo(2456.75);
+        assertThat(ticks.get(0).getTimestamp()).isEqualTo(receivedAt);
+    }
+
+    @Test
+    void shouldStoreOnlyOwnPacketAsRawDataForEachTickInFrame() {
+        // Given: A frame with two LTP packets
+        long token1 = 256265L;
+        long token2 = 738561L;
+        byte[] binaryData = createMultipleTicksData(token1, 23754.25, token2, 2456.75);
+        when(instrumentLoader.getIndex()).thenReturn(indexOf());
+
+        // When: Parsing the frame
+        List<Tick> ticks = parser.parse(binaryData);
+
+        // Then: Each tick carries a single-packet frame with just its own packet
+        assertThat(ticks).hasSize(2);
+        assertThat(ticks.get(0).getRawBinaryData()).isEqualTo(createLTPModeTickData(token1, 23754.25));
+        assertThat(ticks.get(1).getRawBinaryData()).isEqualTo(createLTPModeTickData(token2, 2456.75));
+    }
+
+    @Test
+    void shouldExposePacketAsZeroCopySlice() {
+        // Given: A frame with two LTP packets
+        byte[] binaryData = createMultipleTicksData(256265L, 23754.25, 738561L, 2456.75);
+
+        // When: Slicing the second packet in flyweight mode
+        List<ByteBuffer> slices = new ArrayList<>();
+        parser.decode(ByteBuffer.wrap(binaryData), new KiteTickView(), v -> slices.add(v.slice()));
+
+        // Then: The slice covers exactly the 10 packet bytes of the second instrument
+        ByteBuffer second = slices.get(1);
+        assertThat(second.remaining()).isEqualTo(10);
+        assertThat(second.getInt(0) & 0xFFFFFFFFL).isEqualTo(738561L);
+    }
+
+    @Test
+    void shouldParsePacketForInstrumentFromLegacyWholeFrame() {
+        // Given: A legacy payload holding the whole two-packet frame
+        long token1 = 256265L;
+        long token2 = 738561L;
+        byte[] binaryData = createMultipleTicksData(token1, 23754.25, token2, 2456.75);
+        when(instrumentLoader.getIndex()).thenReturn(indexOf(InstrumentInfo.builder()
+            .instrumentToken(token2)
+            .tradingSymbol("RELIANCE")
+            .type(InstrumentType.STOCK)
+            .build()));
+        Instant storedAt = Instant.parse("2025-12-08T04:00:00Z");
+
+        // When: Parsing the packet for the second instrument
+        Tick tick = parser.parsePacket(binaryData, token2, storedAt);
+
+        // Then: Only the matching packet is materialized
+        assertThat(tick).isNotNull();
+        assertThat(tick.getSymbol()).isEqualTo("RELIANCE");
+        assertThat(tick.getLastTradedPrice()).isEqualTo(2456.75);
+        assertThat(tick.getTimestamp()).isEqualTo(storedAt);
+    }
+
+    @Test
+    void shouldRoundTripLiveTickThroughPacketEncoder() {
+        // Given: A live Full mode tick, which carries no packet of its own
+        Instant receivedAt = Instant.parse("2025-12-08T04:00:00Z");
+        Tick live = Tick.builder()
+            .symbol("INFY")
+            .instrumentToken(408065L)
+            .type(InstrumentType.STOCK)
+            .timestamp(receivedAt)
+            .lastTradedPrice(1543.5)
+            .volume(500000L)
+            .ohlc(Tick.OHLC.builder().open(1530.0).high(1550.25).low(1525.1).close(1540.0).build())
+            .totalBuyQuantity(1200L)
+            .build();
+        when(instrumentLoader.getIndex()).thenReturn(indexOf(InstrumentInfo.builder()
+            .instrumentToken(408065L)
+            .tradingSymbol("INFY")
+            .type(InstrumentType.STOCK)
+            .build()));
+
+        // When: Encoding it as a packet frame and parsing it back
+        byte[] packetFrame = KitePacketEncoder.packetFrame(live);
+        List<Tick> ticks = parser.parse(packetFrame);
+
+        // Then: The compact frame decodes to the same values
+        assertThat(packetFrame).hasSize(2 + KiteTickParser.FULL_PACKET_SIZE);
+        assertThat(ticks).hasSize(1);
+        assertThat(ticks.get(0).getMode()).isEqualTo(Tick.Mode.FULL);
+        assertThat(ticks.get(0).getLastTradedPrice()).isEqualTo(1543.5);
+        assertThat(ticks.get(0).getVolume()).isEqualTo(500000L);
+        assertThat(ticks.get(0).getTotalBuyQuantity()).isEqualTo(1200L);
+        assertThat(ticks.get(0).getOhlc().getLow()).isEqualTo(1525.1);
+        assertThat(ticks.get(0).getTimestamp()).isEqualTo(receivedAt);
+        assertThat(ticks.get(0).getRawBinaryData()).isSameAs(packetFrame);
+    }
+
+    @Test
+    void shouldEncodeLiveTicksInTheLayoutOfTheirMode() {
+        // Given: Live LTP and Quote mode ticks
+        when(instrumentLoader.getIndex()).thenReturn(indexOf(InstrumentInfo.builder()
+            .instrumentToken(408065L)
+            .tradingSymbol("INFY")
+            .type(InstrumentType.STOCK)
+            .build()));
+        Tick ltp = Tick.builder()
+            .instrumentToken(408065L)
+            .type(InstrumentType.STOCK)
+            .mode(Tick.Mode.LTP)
+            .lastTradedPrice(1543.5)
+            .volume(Tick.NO_VOLUME)
+            .build();
+        Tick quote = Tick.builder()
+            .instrumentToken(408065L)
+            .type(InstrumentType.STOCK)
+            .mode(Tick.Mode.QUOTE)
+            .lastTradedPrice(1543.5)
+            .volume(500000L)
+            .totalSellQuantity(800L)
+            .build();
+
+        // When: Encoding and parsing them back
+        byte[] ltpFrame = KitePacketEncoder.packetFrame(ltp);
+        byte[] quoteFrame = KitePacketEncoder.packetFrame(quote);
+        Tick decodedLtp = parser.parsePacket(ltpFrame, 408065L, Instant.EPOCH);
+        Tick decodedQuote = parser.parsePacket(quoteFrame, 408065L, Instant.EPOCH);
+
+        // Then: Each packet has its mode's layout and decodes without the fields it lacks
+        assertThat(ltpFrame).hasSize(2 + KiteTickParser.LTP_PACKET_SIZE);
+        assertThat(decodedLtp.getMode()).isEqualTo(Tick.Mode.LTP);
+        assertThat(decodedLtp.getLastTradedPrice()).isEqualTo(1543.5);
+        assertThat(decodedLtp.hasVolume()).isFalse();
+        assertThat(decodedLtp.getOhlc()).isNull();
+        assertThat(quoteFrame).hasSize(2 + KiteTickParser.QUOTE_PACKET_SIZE);
+        assertThat(decodedQuote.getMode()).isEqualTo(Tick.Mode.QUOTE);
+        assertThat(decodedQuote.getVolume()).isEqualTo(500000L);
+        assertThat(decodedQuote.getTotalSellQuantity()).isEqualTo(800L);
+        assertThat(decodedQuote.getOhlc()).isNull();
+    }
+
     // Helper methods to create test binary data
 
     private byte[] createFullModeTickData(long instrumentToken, double lastPrice, long volume,
@@ -3,10 +3,18 @@ package com.moneytree.socketengine.kite;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.moneytree.socketengine.config.SocketEngineProperties;
 import com.moneytree.socketengine.domain.InstrumentInfo;
+import com.moneytree.socketengine.domain.InstrumentInterest;
 import com.moneytree.socketengine.domain.InstrumentType;
 import com.moneytree.socketengine.domain.Tick;
+import com.moneytree.socketengine.domain.events.InstrumentsRefreshedEvent;
 import com.moneytree.socketengine.domain.events.TickReceivedEvent;
+import com.moneytree.socketengine.pipeline.TickLatencyMetrics;
+import com.moneytree.socketengine.pipeline.TickPipeline;
+import com.zerodhatech.ticker.KiteTicker;
+import com.zerodhatech.ticker.OnConnect;
+import com.zerodhatech.ticker.OnTicks;
 import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -15,12 +23,18 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.context.ApplicationEventPublisher;
 
+import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 /**
@@ -36,13 +50,26 @@ class KiteWebSocketClientTest {
     @Mock
     private ApplicationEventPublisher eventPublisher;
 
+    @Mock
+    private TickPipeline tickPipeline;
+
     @Mock
     private InstrumentLoader instrumentLoader;
 
+    @Mock
+    private TickFrameRecorder frameRecorder;
+
+    @Mock
+    private TickLatencyMetrics latencyMetrics;
+
+    @Mock
+    private InstrumentInterest interest;
+
     @Mock
     private MeterRegistry meterRegistry;
 
     private SocketEngineProperties properties;
+    private KiteSubscriptionManager subscriptionManager;
     private KiteWebSocketClient client;
 
     @BeforeEach
@@ -55,11 +82,16 @@ class KiteWebSocketClientTest {
         properties.getKite().setApiSecret("test-api-secret");
         properties.getKite().setAccessToken("test-access-token");
 
+        subscriptionManager = new KiteSubscriptionManager(properties, interest, new SimpleMeterRegistry());
+
         // Create client with new constructor signature (but don't call @PostConstruct initialize())
         client = new KiteWebSocketClient(
             properties,
-            eventPublisher,
+            tickPipeline,
             instrumentLoader,
+            frameRecorder,
+            latencyMetrics,
+            subscriptionManager,
             meterRegistry
         );
     }
@@ -286,6 +318,221 @@ class KiteWebSocketClientTest {
         assertThat(status.get("usingOfficialKiteTicker")).isEqualTo(true);
     }
 
+    @Test
+    void shouldPartitionInstrumentsAcrossConnectionsWithinCap() {
+        // Given: At most two instruments per connection and five instruments, all in full mode
+        properties.getKite().setMaxInstrumentsPerConnection(2);
+        properties.getKite().getSubscription().setDemandDriven(false);
+        List<KiteTicker> tickers = new ArrayList<>();
+        KiteWebSocketClient sharded = shardedClient(tickers, new SimpleMeterRegistry());
+        when(instrumentLoader.loadAllInstruments()).thenReturn(instruments(1L, 2L, 3L, 4L, 5L));
+
+        // When: Initializing and every connection comes up
+        sharded.initialize();
+        tickers.forEach(ticker -> connectedListener(ticker).onConnected());
+
+        // Then: Three connections are opened, each subscribing only its own partition
+        assertThat(tickers).hasSize(3);
+        List<Long> subscribed = new ArrayList<>();
+        for (KiteTicker ticker : tickers) {
+            ArgumentCaptor<ArrayList<Long>> tokens = tokensCaptor();
+            verify(ticker).connect();
+            verify(ticker).subscribe(tokens.capture());
+            verify(ticker).setMode(eq(tokens.getValue()), eq(KiteTicker.modeFull));
+            assertThat(tokens.getValue()).hasSizeLessThanOrEqualTo(2);
+            subscribed.addAll(tokens.getValue());
+        }
+        assertThat(subscribed).containsExactlyInAnyOrder(1L, 2L, 3L, 4L, 5L);
+        assertThat(sharded.isConnected()).isTrue();
+        assertThat((List<?>) sharded.getSubscriptionStatus().get("connections")).hasSize(3);
+    }
+
+    @Test
+    void shouldRebalanceOnlyTheDifferenceWhenInstrumentsAreRefreshed() {
+        // Given: One connected connection carrying three instruments
+        List<KiteTicker> tickers = new ArrayList<>();
+        KiteWebSocketClient sharded = shardedClient(tickers, new SimpleMeterRegistry());
+        when(instrumentLoader.loadAllInstruments()).thenReturn(instruments(1L, 2L, 3L));
+        sharded.initialize();
+        KiteTicker ticker = tickers.get(0);
+        connectedListener(ticker).onConnected();
+        clearInvocations(ticker);
+
+        // When: A refresh drops token 2 and adds token 4
+        sharded.onInstrumentsRefreshed(new InstrumentsRefreshedEvent(instruments(1L, 3L, 4L)));
+
+        // Then: Only the difference is sent on the existing connection
+        assertThat(tickers).hasSize(1);
+        verify(ticker).unsubscribe(new ArrayList<>(List.of(2L)));
+        verify(ticker).subscribe(new ArrayList<>(List.of(4L)));
+        verify(ticker, never()).disconnect();
+    }
+
+    @Test
+    void shouldPublishFramesFromEveryConnectionAndCountPerConnection() {
+        // Given: Two connections with one instrument each
+        properties.getKite().setConnections(2);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        List<KiteTicker> tickers = new ArrayList<>();
+        KiteWebSocketClient sharded = shardedClient(tickers, registry);
+        List<InstrumentInfo> instruments = instruments(1L, 2L);
+        when(instrumentLoader.loadAllInstruments()).thenReturn(instruments);
+        when(instrumentLoader.getIndex()).thenReturn(InstrumentIndex.build(instruments));
+        sharded.initialize();
+
+        // When: Each connection's receive thread delivers a frame
+        ticksListener(tickers.get(0)).onTicks(new ArrayList<>(List.of(kiteTick(1L), kiteTick(1L))));
+        ticksListener(tickers.get(1)).onTicks(new ArrayList<>(List.of(kiteTick(2L))));
+
+        // Then: Both frames reach the pipeline and are counted on their own connection
+        verify(tickPipeline, times(2)).publishBatch(anyList());
+        verify(frameRecorder, times(2)).record(anyList(), any(Instant.class));
+        assertThat(registry.get("socketengine.kite.connection.ticks").tag("connection", "0").counter().count())
+            .isEqualTo(2.0);
+        assertThat(registry.get("socketengine.kite.connection.ticks").tag("connection", "1").counter().count())
+            .isEqualTo(1.0);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldLeaveOhlcAndVolumeAbsentForLtpModeTicks() {
+        // Given: One connection carrying an instrument subscribed in LTP mode
+        List<KiteTicker> tickers = new ArrayList<>();
+        KiteWebSocketClient connected = shardedClient(tickers, new SimpleMeterRegistry());
+        List<InstrumentInfo> instruments = instruments(1L);
+        when(instrumentLoader.loadAllInstruments()).thenReturn(instruments);
+        when(instrumentLoader.getIndex()).thenReturn(InstrumentIndex.build(instruments));
+        connected.initialize();
+
+        // When: The receive thread delivers an LTP-mode tick, whose quote fields the library leaves at zero
+        com.zerodhatech.models.Tick ltpTick = kiteTick(1L);
+        ltpTick.setMode(SubscriptionMode.LTP.kiteMode());
+        ticksListener(tickers.get(0)).onTicks(new ArrayList<>(List.of(ltpTick)));
+
+        // Then: The published tick carries the price only, with OHLC and volume absent
+        ArgumentCaptor<List<Tick>> frame = ArgumentCaptor.forClass(List.class);
+        verify(tickPipeline).publishBatch(frame.capture());
+        Tick tick = frame.getValue().get(0);
+        assertThat(tick.getLastTradedPrice()).isEqualTo(100.0);
+        assertThat(tick.getOhlc()).isNull();
+        assertThat(tick.hasVolume()).isFalse();
+
+        // And: No packet is encoded on the receive thread; persistence encodes the LTP layout
+        assertThat(tick.getMode()).isEqualTo(Tick.Mode.LTP);
+        assertThat(tick.getRawBinaryData()).isNull();
+    }
+
+    @Test
+    void shouldUpgradeWatchedInstrumentsAndDowngradeThemOnceUnwatched() {
+        // Given: One connected connection carrying three unwatched instruments for persistence
+        properties.getKite().getSubscription().setDebounce(Duration.ZERO);
+        List<KiteTicker> tickers = new ArrayList<>();
+        KiteWebSocketClient sharded = shardedClient(tickers, new SimpleMeterRegistry());
+        when(instrumentLoader.loadAllInstruments()).thenReturn(instruments(1L, 2L, 3L));
+        sharded.initialize();
+        KiteTicker ticker = tickers.get(0);
+        connectedListener(ticker).onConnected();
+        verify(ticker).setMode(new ArrayList<>(List.of(1L, 2L, 3L)), KiteTicker.modeLTP);
+        clearInvocations(ticker);
+
+        // When: A client starts watching SYM2
+        when(interest.interestVersion()).thenReturn(1L);
+        when(interest.watchedSymbols()).thenReturn(Set.of("SYM2"));
+        sharded.applyInterestChanges();
+
+        // Then: Only SYM2 switches to full mode, without resubscribing
+        verify(ticker).setMode(new ArrayList<>(List.of(2L)), KiteTicker.modeFull);
+        verify(ticker, never()).subscribe(any());
+        verify(ticker, never()).unsubscribe(any());
+        assertThat(sharded.getSubscriptionStatus().get("subscriptionModes"))
+            .isEqualTo(java.util.Map.of("LTP", 2, "QUOTE", 0, "FULL", 1));
+
+        // When: The client goes away
+        clearInvocations(ticker);
+        when(interest.interestVersion()).thenReturn(2L);
+        when(interest.watchedSymbols()).thenReturn(Set.of());
+        sharded.applyInterestChanges();
+
+        // Then: SYM2 is downgraded back to LTP
+        verify(ticker).setMode(new ArrayList<>(List.of(2L)), KiteTicker.modeLTP);
+    }
+
+    @Test
+    void shouldOnlySubscribeWatchedInstrumentsOutsideThePersistenceSet() {
+        // Given: Only indices are persisted and nobody watches stocks
+        properties.getKite().getSubscription().setDebounce(Duration.ZERO);
+        properties.getKite().getSubscription().setPersistTypes(EnumSet.of(InstrumentType.INDEX));
+        List<KiteTicker> tickers = new ArrayList<>();
+        KiteWebSocketClient sharded = shardedClient(tickers, new SimpleMeterRegistry());
+        when(instrumentLoader.loadAllInstruments()).thenReturn(instruments(1L, 2L));
+        sharded.initialize();
+        KiteTicker ticker = tickers.get(0);
+        connectedListener(ticker).onConnected();
+        verify(ticker, never()).subscribe(any());
+
+        // When: A client subscribes to SYM1 and later unsubscribes
+        when(interest.interestVersion()).thenReturn(1L);
+        when(interest.watchedSymbols()).thenReturn(Set.of("SYM1"));
+        sharded.applyInterestChanges();
+        when(interest.interestVersion()).thenReturn(2L);
+        when(interest.watchedSymbols()).thenReturn(Set.of());
+        sharded.applyInterestChanges();
+
+        // Then: SYM1 is subscribed in full mode and then unsubscribed
+        verify(ticker).subscribe(new ArrayList<>(List.of(1L)));
+        verify(ticker).setMode(new ArrayList<>(List.of(1L)), KiteTicker.modeFull);
+        verify(ticker).unsubscribe(new ArrayList<>(List.of(1L)));
+    }
+
+    private KiteWebSocketClient shardedClient(List<KiteTicker> tickers, MeterRegistry registry) {
+        return new KiteWebSocketClient(properties, tickPipeline, instrumentLoader, frameRecorder, latencyMetrics,
+                subscriptionManager, registry) {
+            @Override
+            KiteTicker newTicker(String accessToken, String apiKey) {
+                KiteTicker ticker = mock(KiteTicker.class);
+                tickers.add(ticker);
+                return ticker;
+            }
+        };
+    }
+
+    private static List<InstrumentInfo> instruments(long... tokens) {
+        List<InstrumentInfo> instruments = new ArrayList<>();
+        for (long token : tokens) {
+            instruments.add(InstrumentInfo.builder()
+                .instrumentToken(token)
+                .tradingSymbol("SYM" + token)
+                .type(InstrumentType.STOCK)
+                .build());
+        }
+        return instruments;
+    }
+
+    private static com.zerodhatech.models.Tick kiteTick(long token) {
+        com.zerodhatech.models.Tick tick = new com.zerodhatech.models.Tick();
+        tick.setInstrumentToken(token);
+        tick.setLastTradedPrice(100.0);
+        tick.setTickTimestamp(new Date());
+        return tick;
+    }
+
+    private static OnConnect connectedListener(KiteTicker ticker) {
+        ArgumentCaptor<OnConnect> listener = ArgumentCaptor.forClass(OnConnect.class);
+        verify(ticker).setOnConnectedListener(listener.capture());
+        return listener.getValue();
+    }
+
+    private static OnTicks ticksListener(KiteTicker ticker) {
+        ArgumentCaptor<OnTicks> listener = ArgumentCaptor.forClass(OnTicks.class);
+        verify(ticker).setOnTickerArrivalListener(listener.capture());
+        return listener.getValue();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ArgumentCaptor<ArrayList<Long>> tokensCaptor() {
+        return ArgumentCaptor.forClass(ArrayList.class);
+    }
+
     /**
      * Helper method to create test tick
      */
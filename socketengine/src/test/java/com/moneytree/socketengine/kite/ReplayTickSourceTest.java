@@ -0,0 +1,172 @@
+package com.moneytree.socketengine.kite;
+
+import com.moneytree.socketengine.config.SocketEngineProperties;
+import com.moneytree.socketengine.domain.InstrumentInfo;
+import com.moneytree.socketengine.domain.InstrumentType;
+import com.moneytree.socketengine.domain.Tick;
+import com.moneytree.socketengine.pipeline.TickLatencyMetrics;
+import com.moneytree.socketengine.pipeline.TickPipeline;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for recording frames with TickFrameRecorder and replaying them with ReplayTickSource.
+ */
+@ExtendWith(MockitoExtension.class)
+class ReplayTickSourceTest {
+
+    @Mock
+    private TickPipeline tickPipeline;
+
+    @Mock
+    private InstrumentLoader instrumentLoader;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @TempDir
+    Path tempDir;
+
+    private SocketEngineProperties properties;
+    private Path recording;
+
+    @BeforeEach
+    void setUp() {
+        properties = new SocketEngineProperties();
+        recording = tempDir.resolve("ticks.mtkf");
+        properties.getSource().setRecordPath(recording.toString());
+        properties.getSource().getReplay().setPath(recording.toString());
+        properties.getSource().getReplay().setSpeed(0);
+
+        lenient().when(instrumentLoader.getIndex()).thenReturn(InstrumentIndex.build(List.of(
+            instrument(256265L, "NIFTY 50", InstrumentType.INDEX),
+            instrument(738561L, "RELIANCE", InstrumentType.STOCK))));
+    }
+
+    @Test
+    void shouldReplayRecordedFramesThroughPipeline() {
+        // Given: Two recorded frames
+        Instant receivedAt = Instant.parse("2025-12-08T03:45:00Z");
+        record(List.of(liveTick(256265L, 23754.25), liveTick(738561L, 2456.75)), receivedAt);
+        record(List.of(liveTick(256265L, 23760.50)), receivedAt.plusMillis(250));
+
+        // When: Replaying at max speed
+        List<List<Tick>> frames = replay();
+
+        // Then: Frames arrive whole and in order, resolved against the instrument index
+        assertThat(frames).hasSize(2);
+        assertThat(frames.get(0)).extracting(Tick::getSymbol).containsExactly("NIFTY 50", "RELIANCE");
+        assertThat(frames.get(0)).extracting(Tick::getLastTradedPrice).containsExactly(23754.25, 2456.75);
+        assertThat(frames.get(1)).extracting(Tick::getLastTradedPrice).containsExactly(23760.50);
+        assertThat(frames.get(1).get(0).getType()).isEqualTo(InstrumentType.INDEX);
+    }
+
+    @Test
+    void shouldLimitReplayedInstruments() {
+        // Given: Frames covering two instruments
+        Instant receivedAt = Instant.now();
+        record(List.of(liveTick(256265L, 100.0), liveTick(738561L, 200.0)), receivedAt);
+        record(List.of(liveTick(738561L, 201.0)), receivedAt);
+
+        // When: Replaying only the first instrument encountered
+        properties.getSource().getReplay().setInstrumentLimit(1);
+        List<List<Tick>> frames = replay();
+
+        // Then: Only that instrument is published and the now-empty frame is skipped
+        assertThat(frames).hasSize(1);
+        assertThat(frames.get(0)).extracting(Tick::getInstrumentToken).containsExactly(256265L);
+    }
+
+    @Test
+    void shouldSplitOversizedFramesIntoParseableRecords() {
+        // Given: A frame with more packets than the parser accepts in one frame
+        List<Tick> frame = new java.util.ArrayList<>();
+        for (int i = 0; i < TickFrameFile.MAX_PACKETS_PER_FRAME + 5; i++) {
+            frame.add(liveTick(256265L, 100.0 + i));
+        }
+        record(frame, Instant.now());
+
+        // When: Replaying
+        List<List<Tick>> frames = replay();
+
+        // Then: Every packet is replayed across two frames
+        assertThat(frames).extracting(List::size).containsExactly(TickFrameFile.MAX_PACKETS_PER_FRAME, 5);
+    }
+
+    @Test
+    void shouldPaceFramesByRecordedArrivalTimes() {
+        // Given: Frames recorded 200ms apart, replayed at 2x
+        ReplayTickSource.Pacer pacer = new ReplayTickSource.Pacer(2.0);
+
+        // When: Awaiting both frames
+        long start = System.nanoTime();
+        pacer.await(0);
+        pacer.await(200_000);
+        long elapsedMillis = Duration.ofNanos(System.nanoTime() - start).toMillis();
+
+        // Then: The second frame is due about 100ms after the first
+        assertThat(elapsedMillis).isBetween(90L, 1000L);
+    }
+
+    private void record(List<Tick> frame, Instant receivedAt) {
+        TickFrameRecorder recorder = new TickFrameRecorder(properties);
+        recorder.open();
+        recorder.record(frame, receivedAt);
+        recorder.close();
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<List<Tick>> replay() {
+        when(instrumentLoader.loadAllInstruments()).thenReturn(List.of());
+        ReplayTickSource source = new ReplayTickSource(
+            properties, tickPipeline, new KiteTickParser(instrumentLoader), instrumentLoader, jdbcTemplate,
+            new TickLatencyMetrics(properties, new SimpleMeterRegistry()));
+
+        source.start();
+        await().atMost(Duration.ofSeconds(5)).until(() -> !source.isConnected());
+        source.stop();
+
+        ArgumentCaptor<List<Tick>> frames = ArgumentCaptor.forClass(List.class);
+        verify(tickPipeline, atLeast(0)).publishBatch(frames.capture());
+        assertThat(source.getSubscriptionStatus()).containsEntry("passes", 1);
+        return frames.getAllValues();
+    }
+
+    private static Tick liveTick(long token, double price) {
+        // Live ticks carry no packet; consumers encode it from the fields
+        Instant now = Instant.now();
+        return Tick.builder()
+            .instrumentToken(token)
+            .type(InstrumentType.STOCK)
+            .timestamp(now)
+            .exchangeTimestamp(now)
+            .lastTradedPrice(price)
+            .volume(100L)
+            .ohlc(Tick.OHLC.builder().open(price).high(price).low(price).close(price).build())
+            .build();
+    }
+
+    private static InstrumentInfo instrument(long token, String symbol, InstrumentType type) {
+        return InstrumentInfo.builder()
+            .instrumentToken(token)
+            .tradingSymbol(symbol)
+            .type(type)
+            .build();
+    }
+}
@@ -320,7 +320,7 @@ class SocketEnginePerformanceTest {
             Tick tick = createRandomTick();
             long startTime = System.nanoTime();
             
-            cacheService.onTickReceived(new TickReceivedEvent(tick));
+            cacheService.onBatch(List.of(tick));
             
             long endTime = System.nanoTime();
             long latencyMs = (endTime - startTime) / 1_000_000;
@@ -362,7 +362,7 @@ class SocketEnginePerformanceTest {
             // Fill buffer with ticks
             for (int i = 0; i < batchSize; i++) {
                 Tick tick = createRandomTick();
-                buffer.onTickReceived(new TickReceivedEvent(tick));
+                buffer.onBatch(List.of(tick));
             }
             
             // Wait for async buffering
@@ -402,7 +402,7 @@ class SocketEnginePerformanceTest {
         int tickCount = 100_000;
         for (int i = 0; i < tickCount; i++) {
             Tick tick = createRandomTick();
-            buffer.onTickReceived(new TickReceivedEvent(tick));
+            buffer.onBatch(List.of(tick));
             
             if (i % 10000 == 0) {
                 log.info("Buffered {} ticks, buffer size: {}", i, buffer.getBufferSize());
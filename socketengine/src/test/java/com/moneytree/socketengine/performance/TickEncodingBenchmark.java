@@ -0,0 +1,107 @@
+package com.moneytree.socketengine.performance;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.moneytree.socketengine.api.dto.TickDto;
+import com.moneytree.socketengine.broadcast.TickJsonEncoder;
+import com.moneytree.socketengine.domain.InstrumentType;
+import com.moneytree.socketengine.domain.Tick;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.web.socket.TextMessage;
+
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH comparison of the broadcaster's per-tick JSON encoding paths, for one tick fanned out
+ * to {@code sessions} JSON sessions:
+ * <ul>
+ *   <li>{@code jacksonStringPerSession}: the previous path, building a TickDto, serializing it
+ *       with Jackson to a String, and wrapping that String in a new TextMessage per session</li>
+ *   <li>{@code encoderSharedMessage}: the current path, the hand-rolled {@link TickJsonEncoder}
+ *       writing into its reused buffer and one prepared TextMessage shared by all sessions</li>
+ * </ul>
+ *
+ * <p>Not part of the test suite. Run with allocation profiling, e.g.
+ * {@code java -cp target/test-classes:<test classpath> com.moneytree.socketengine.performance.TickEncodingBenchmark -prof gc}
+ * or through the {@link #main} method from an IDE.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TickEncodingBenchmark {
+
+    @Param({"1", "100"})
+    public int sessions;
+
+    private ObjectMapper objectMapper;
+    private TickJsonEncoder encoder;
+    private Tick tick;
+
+    @Setup
+    public void setUp() {
+        objectMapper = new ObjectMapper();
+        encoder = new TickJsonEncoder();
+        tick = Tick.builder()
+            .symbol("RELIANCE")
+            .instrumentToken(738561L)
+            .type(InstrumentType.STOCK)
+            .timestamp(Instant.parse("2025-12-08T10:15:03.123Z"))
+            .lastTradedPrice(2450.75)
+            .volume(1_000_000L)
+            .ohlc(Tick.OHLC.builder().open(2440.00).high(2455.50).low(2435.25).close(2450.75).build())
+            .build();
+    }
+
+    @Benchmark
+    public void jacksonStringPerSession(Blackhole blackhole) throws Exception {
+        TickDto dto = TickDto.builder()
+            .symbol(tick.getSymbol())
+            .instrumentToken(tick.getInstrumentToken())
+            .type(tick.getType().name())
+            .timestamp(tick.getTimestamp().toString())
+            .lastTradedPrice(tick.getLastTradedPrice())
+            .volume(tick.getVolume())
+            .ohlc(new TickDto.OHLCDto(
+                tick.getOhlc().getOpen(),
+                tick.getOhlc().getHigh(),
+                tick.getOhlc().getLow(),
+                tick.getOhlc().getClose()))
+            .build();
+        String json = objectMapper.writeValueAsString(dto);
+        for (int i = 0; i < sessions; i++) {
+            blackhole.consume(new TextMessage(json));
+        }
+    }
+
+    @Benchmark
+    public void encoderSharedMessage(Blackhole blackhole) {
+        TextMessage message = new TextMessage(encoder.encode(tick));
+        for (int i = 0; i < sessions; i++) {
+            blackhole.consume(message);
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+            .include(TickEncodingBenchmark.class.getSimpleName())
+            .addProfiler("gc")
+            .build()).run();
+    }
+}
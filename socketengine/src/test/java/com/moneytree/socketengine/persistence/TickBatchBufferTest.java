@@ -3,8 +3,9 @@ package com.moneytree.socketengine.persistence;
 import com.moneytree.socketengine.domain.InstrumentInfo;
 import com.moneytree.socketengine.domain.InstrumentType;
 import com.moneytree.socketengine.domain.Tick;
-import com.moneytree.socketengine.domain.events.TickReceivedEvent;
+import com.moneytree.socketengine.kite.InstrumentIndex;
 import com.moneytree.socketengine.kite.InstrumentLoader;
+import com.moneytree.socketengine.kite.KitePacketEncoder;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -38,18 +39,21 @@ class TickBatchBufferTest {
         buffer = new TickBatchBuffer(instrumentLoader);
     }
 
+    private static InstrumentIndex indexOf(InstrumentInfo... instruments) {
+        return InstrumentIndex.build(List.of(instruments));
+    }
+
     @Test
     void shouldAddTickToBuffer() {
         // Given: A tick event
         Tick tick = createSampleTick("NIFTY 50", 256265L);
-        TickReceivedEvent event = new TickReceivedEvent(tick);
         
         // Mock instrument loader to return instrument info
         InstrumentInfo info = createInstrumentInfo(256265L, "NIFTY 50", InstrumentType.INDEX);
-        when(instrumentLoader.getInstrumentInfo(256265L)).thenReturn(info);
+        when(instrumentLoader.getIndex()).thenReturn(indexOf(info));
 
         // When: Adding tick to buffer
-        buffer.onTickReceived(event);
+        buffer.onBatch(List.of(tick));
 
         // Then: Buffer size should be 1
         assertThat(buffer.getBufferSize()).isEqualTo(1);
@@ -62,27 +66,45 @@ class TickBatchBufferTest {
         InstrumentInfo info2 = createInstrumentInfo(738561L, "RELIANCE", InstrumentType.STOCK);
         InstrumentInfo info3 = createInstrumentInfo(408065L, "INFY", InstrumentType.STOCK);
         
-        when(instrumentLoader.getInstrumentInfo(256265L)).thenReturn(info1);
-        when(instrumentLoader.getInstrumentInfo(738561L)).thenReturn(info2);
-        when(instrumentLoader.getInstrumentInfo(408065L)).thenReturn(info3);
+        when(instrumentLoader.getIndex()).thenReturn(indexOf(info1, info2, info3));
 
         // When: Adding multiple ticks
-        buffer.onTickReceived(new TickReceivedEvent(createSampleTick("NIFTY 50", 256265L)));
-        buffer.onTickReceived(new TickReceivedEvent(createSampleTick("RELIANCE", 738561L)));
-        buffer.onTickReceived(new TickReceivedEvent(createSampleTick("INFY", 408065L)));
+        buffer.onBatch(List.of(createSampleTick("NIFTY 50", 256265L)));
+        buffer.onBatch(List.of(createSampleTick("RELIANCE", 738561L)));
+        buffer.onBatch(List.of(createSampleTick("INFY", 408065L)));
 
         // Then: Buffer size should be 3
         assertThat(buffer.getBufferSize()).isEqualTo(3);
     }
 
+    @Test
+    void shouldBufferWholeBatchInOrder() {
+        // Given: A frame with three ticks
+        InstrumentInfo info1 = createInstrumentInfo(256265L, "NIFTY 50", InstrumentType.INDEX);
+        InstrumentInfo info2 = createInstrumentInfo(738561L, "RELIANCE", InstrumentType.STOCK);
+        when(instrumentLoader.getIndex()).thenReturn(indexOf(info1, info2));
+
+        // When: Buffering the frame as one batch
+        buffer.onBatch(List.of(
+            createSampleTick("NIFTY 50", 256265L),
+            createSampleTick("RELIANCE", 738561L),
+            createSampleTick("NIFTY 50", 256265L)));
+
+        // Then: All ticks are buffered in arrival order
+        assertThat(buffer.getBufferSize()).isEqualTo(3);
+        assertThat(buffer.drainBuffer())
+            .extracting(TickEntity::getTradingSymbol)
+            .containsExactly("NIFTY 50", "RELIANCE", "NIFTY 50");
+    }
+
     @Test
     void shouldDrainBufferAndResetCounter() {
         // Given: Buffer with multiple ticks
         InstrumentInfo info = createInstrumentInfo(256265L, "NIFTY 50", InstrumentType.INDEX);
-        when(instrumentLoader.getInstrumentInfo(256265L)).thenReturn(info);
+        when(instrumentLoader.getIndex()).thenReturn(indexOf(info));
         
         for (int i = 0; i < 5; i++) {
-            buffer.onTickReceived(new TickReceivedEvent(createSampleTick("NIFTY 50", 256265L)));
+            buffer.onBatch(List.of(createSampleTick("NIFTY 50", 256265L)));
         }
         
         assertThat(buffer.getBufferSize()).isEqualTo(5);
@@ -122,13 +144,12 @@ class TickBatchBufferTest {
     void shouldHandleNullInstrumentInfo() {
         // Given: Tick with unknown instrument token
         Tick tick = createSampleTick("UNKNOWN", 999999L);
-        TickReceivedEvent event = new TickReceivedEvent(tick);
         
         // Mock instrument loader to return null (unknown instrument)
-        when(instrumentLoader.getInstrumentInfo(999999L)).thenReturn(null);
+        when(instrumentLoader.getIndex()).thenReturn(indexOf());
 
         // When: Adding tick to buffer
-        buffer.onTickReceived(event);
+        buffer.onBatch(List.of(tick));
 
         // Then: Should still buffer the tick with fallback values
         assertThat(buffer.getBufferSize()).isEqualTo(1);
@@ -150,7 +171,7 @@ class TickBatchBufferTest {
         CountDownLatch latch = new CountDownLatch(threadCount);
         
         InstrumentInfo info = createInstrumentInfo(256265L, "NIFTY 50", InstrumentType.INDEX);
-        when(instrumentLoader.getInstrumentInfo(256265L)).thenReturn(info);
+        when(instrumentLoader.getIndex()).thenReturn(indexOf(info));
 
         // When: Multiple threads add ticks concurrently
         for (int i = 0; i < threadCount; i++) {
@@ -158,7 +179,7 @@ class TickBatchBufferTest {
                 try {
                     for (int j = 0; j < ticksPerThread; j++) {
                         Tick tick = createSampleTick("NIFTY 50", 256265L);
-                        buffer.onTickReceived(new TickReceivedEvent(tick));
+                        buffer.onBatch(List.of(tick));
                     }
                 } finally {
                     latch.countDown();
@@ -183,11 +204,11 @@ class TickBatchBufferTest {
     void shouldHandleConcurrentDrainOperations() throws InterruptedException {
         // Given: Buffer with ticks
         InstrumentInfo info = createInstrumentInfo(256265L, "NIFTY 50", InstrumentType.INDEX);
-        when(instrumentLoader.getInstrumentInfo(256265L)).thenReturn(info);
+        when(instrumentLoader.getIndex()).thenReturn(indexOf(info));
         
         // Add 1000 ticks
         for (int i = 0; i < 1000; i++) {
-            buffer.onTickReceived(new TickReceivedEvent(createSampleTick("NIFTY 50", 256265L)));
+            buffer.onBatch(List.of(createSampleTick("NIFTY 50", 256265L)));
         }
         
         assertThat(buffer.getBufferSize()).isEqualTo(1000);
@@ -249,10 +270,10 @@ class TickBatchBufferTest {
             .build();
         
         InstrumentInfo info = createInstrumentInfo(738561L, "RELIANCE", InstrumentType.STOCK);
-        when(instrumentLoader.getInstrumentInfo(738561L)).thenReturn(info);
+        when(instrumentLoader.getIndex()).thenReturn(indexOf(info));
 
         // When: Buffering the tick
-        buffer.onTickReceived(new TickReceivedEvent(tick));
+        buffer.onBatch(List.of(tick));
         List<TickEntity> drained = buffer.drainBuffer();
 
         // Then: Raw binary data should be preserved
@@ -260,15 +281,39 @@ class TickBatchBufferTest {
         assertThat(drained.get(0).getRawTickData()).isEqualTo(rawData);
     }
 
+    @Test
+    void shouldEncodePacketOfLiveTickInItsMode() {
+        // Given: A live LTP mode tick, which carries no packet of its own
+        Tick tick = Tick.builder()
+            .symbol("RELIANCE")
+            .instrumentToken(738561L)
+            .type(InstrumentType.STOCK)
+            .timestamp(Instant.now())
+            .mode(Tick.Mode.LTP)
+            .lastTradedPrice(2500.50)
+            .volume(Tick.NO_VOLUME)
+            .build();
+        InstrumentInfo info = createInstrumentInfo(738561L, "RELIANCE", InstrumentType.STOCK);
+        when(instrumentLoader.getIndex()).thenReturn(indexOf(info));
+
+        // When: Buffering the tick
+        buffer.onBatch(List.of(tick));
+        List<TickEntity> drained = buffer.drainBuffer();
+
+        // Then: The row holds a single-packet frame in the LTP layout (count, header, price)
+        assertThat(drained.get(0).getRawTickData()).isEqualTo(KitePacketEncoder.packetFrame(tick));
+        assertThat(drained.get(0).getRawTickData()).hasSize(12);
+    }
+
     @Test
     void shouldHandleMultipleDrainCycles() {
         // Given: Buffer that goes through multiple drain cycles
         InstrumentInfo info = createInstrumentInfo(256265L, "NIFTY 50", InstrumentType.INDEX);
-        when(instrumentLoader.getInstrumentInfo(256265L)).thenReturn(info);
+        when(instrumentLoader.getIndex()).thenReturn(indexOf(info));
 
         // Cycle 1: Add 10 ticks, drain
         for (int i = 0; i < 10; i++) {
-            buffer.onTickReceived(new TickReceivedEvent(createSampleTick("NIFTY 50", 256265L)));
+            buffer.onBatch(List.of(createSampleTick("NIFTY 50", 256265L)));
         }
         List<TickEntity> batch1 = buffer.drainBuffer();
         assertThat(batch1).hasSize(10);
@@ -276,7 +321,7 @@ class TickBatchBufferTest {
 
         // Cycle 2: Add 20 ticks, drain
         for (int i = 0; i < 20; i++) {
-            buffer.onTickReceived(new TickReceivedEvent(createSampleTick("NIFTY 50", 256265L)));
+            buffer.onBatch(List.of(createSampleTick("NIFTY 50", 256265L)));
         }
         List<TickEntity> batch2 = buffer.drainBuffer();
         assertThat(batch2).hasSize(20);
@@ -284,7 +329,7 @@ class TickBatchBufferTest {
 
         // Cycle 3: Add 5 ticks, drain
         for (int i = 0; i < 5; i++) {
-            buffer.onTickReceived(new TickReceivedEvent(createSampleTick("NIFTY 50", 256265L)));
+            buffer.onBatch(List.of(createSampleTick("NIFTY 50", 256265L)));
         }
         List<TickEntity> batch3 = buffer.drainBuffer();
         assertThat(batch3).hasSize(5);
@@ -312,10 +357,10 @@ class TickBatchBufferTest {
             .build();
         
         InstrumentInfo info = createInstrumentInfo(408065L, "INFY", InstrumentType.STOCK);
-        when(instrumentLoader.getInstrumentInfo(408065L)).thenReturn(info);
+        when(instrumentLoader.getIndex()).thenReturn(indexOf(info));
 
         // When: Buffering the tick
-        buffer.onTickReceived(new TickReceivedEvent(tick));
+        buffer.onBatch(List.of(tick));
         List<TickEntity> drained = buffer.drainBuffer();
 
         // Then: Timestamp should be preserved
@@ -2,6 +2,7 @@ package com.moneytree.socketengine.persistence;
 
 import com.moneytree.socketengine.domain.InstrumentInfo;
 import com.moneytree.socketengine.domain.InstrumentType;
+import com.moneytree.socketengine.kite.InstrumentIndex;
 import com.moneytree.socketengine.kite.InstrumentLoader;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -115,6 +116,7 @@ class TickPersistenceServiceIntegrationTest {
         when(instrumentLoader.getInstrumentInfo(256265L)).thenReturn(niftyInfo);
         when(instrumentLoader.getInstrumentInfo(738561L)).thenReturn(relianceInfo);
         when(instrumentLoader.getInstrumentInfo(anyLong())).thenReturn(null);
+        when(instrumentLoader.getIndex()).thenReturn(InstrumentIndex.build(List.of(niftyInfo, relianceInfo)));
     }
     
     @Test
@@ -0,0 +1,85 @@
+package com.moneytree.socketengine.pipeline;
+
+import com.moneytree.socketengine.config.SocketEngineProperties;
+import com.moneytree.socketengine.domain.InstrumentType;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for TickLatencyMetrics.
+ * Tests percentile publication, sampling and handling of unstamped ticks.
+ */
+class TickLatencyMetricsTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private SocketEngineProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        properties = new SocketEngineProperties();
+    }
+
+    @Test
+    void shouldPublishTailPercentilesPerStage() {
+        // Given: Metrics with every batch sampled
+        properties.getPipeline().setLatencySampleRate(1);
+        TickLatencyMetrics metrics = new TickLatencyMetrics(properties, meterRegistry);
+
+        // When: Recording encode durations
+        for (int i = 1; i <= 1000; i++) {
+            metrics.record(TickLatencyMetrics.Stage.ENCODE, TimeUnit.MICROSECONDS.toNanos(i));
+        }
+
+        // Then: The stage timer publishes p50/p99/p999
+        Timer timer = meterRegistry.get("socketengine.pipeline.stage.latency").tag("stage", "encode").timer();
+        assertThat(timer.count()).isEqualTo(1000);
+        assertThat(Arrays.stream(timer.takeSnapshot().percentileValues()).map(ValueAtPercentile::percentile))
+            .containsExactly(0.5, 0.99, 0.999);
+        assertThat(metrics.sample()).isTrue();
+    }
+
+    @Test
+    void shouldIgnoreUnstampedTicks() {
+        // Given: Metrics
+        TickLatencyMetrics metrics = new TickLatencyMetrics(properties, meterRegistry);
+
+        // When: Recording against a zero arrival stamp and a missing exchange timestamp
+        metrics.recordSince(TickLatencyMetrics.Stage.DECODE, 0);
+        metrics.recordDispatch("broadcast", 0);
+        metrics.recordExchangeToSend(InstrumentType.STOCK, null);
+
+        // Then: Nothing is recorded
+        assertThat(meterRegistry.get("socketengine.pipeline.stage.latency").tag("stage", "decode").timer().count())
+            .isZero();
+        assertThat(meterRegistry.find("socketengine.pipeline.dispatch.latency").timer()).isNull();
+        assertThat(meterRegistry.get("socketengine.tick.exchange.to.send").tag("type", "STOCK").timer().count())
+            .isZero();
+    }
+
+    @Test
+    void shouldRecordDispatchAndExchangeLatencyPerTag() {
+        // Given: Metrics
+        TickLatencyMetrics metrics = new TickLatencyMetrics(properties, meterRegistry);
+
+        // When: Recording a stamped tick for a consumer and an index tick from the exchange
+        metrics.recordDispatch("cache", System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(2));
+        metrics.recordExchangeToSend(InstrumentType.INDEX, Instant.now().minusMillis(500));
+
+        // Then: Each lands in its own tagged timer
+        Timer dispatch = meterRegistry.get("socketengine.pipeline.dispatch.latency").tag("consumer", "cache").timer();
+        assertThat(dispatch.count()).isEqualTo(1);
+        assertThat(dispatch.max(TimeUnit.MILLISECONDS)).isGreaterThanOrEqualTo(2.0);
+        Timer exchange = meterRegistry.get("socketengine.tick.exchange.to.send").tag("type", "INDEX").timer();
+        assertThat(exchange.max(TimeUnit.MILLISECONDS)).isGreaterThanOrEqualTo(500.0);
+    }
+}
@@ -0,0 +1,279 @@
+package com.moneytree.socketengine.pipeline;
+
+import com.moneytree.socketengine.config.SocketEngineProperties;
+import com.moneytree.socketengine.domain.InstrumentType;
+import com.moneytree.socketengine.domain.Tick;
+import com.moneytree.socketengine.kite.TickSourceType;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * Unit tests for TickPipeline.
+ * Tests delivery to every consumer, consumer independence, lag metrics and overruns.
+ */
+class TickPipelineTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private TickPipeline pipeline;
+
+    @AfterEach
+    void tearDown() {
+        if (pipeline != null && pipeline.isRunning()) {
+            pipeline.stop();
+        }
+    }
+
+    @Test
+    void shouldDeliverEveryTickToEveryConsumerInOrder() throws Exception {
+        // Given: Two consumers with different wait strategies
+        RecordingHandler broadcast = new RecordingHandler("broadcast");
+        RecordingHandler cache = new RecordingHandler("cache");
+        SocketEngineProperties properties = properties(1024);
+        properties.getPipeline().getConsumerWaitStrategies().put("broadcast", WaitStrategyType.BUSY_SPIN);
+        pipeline = new TickPipeline(properties, List.of(broadcast, cache), new TickLatencyMetrics(properties, meterRegistry), meterRegistry);
+        pipeline.start();
+
+        // When: Publishing ticks
+        for (int i = 0; i < 100; i++) {
+            pipeline.publish(createTick(i));
+        }
+
+        // Then: Both consumers see all ticks in publish order
+        assertThat(pipeline.awaitDrained(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(broadcast.tokens()).hasSize(100).isSorted();
+        assertThat(cache.tokens()).hasSize(100).isSorted();
+        assertThat(broadcast.endOfBatchSeen).isTrue();
+    }
+
+    @Test
+    void shouldNotStallProducerOrOtherConsumersWhenOneConsumerIsStuck() throws Exception {
+        // Given: A consumer blocked on its first tick and a healthy one
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingHandler stuck = new RecordingHandler("cache") {
+            @Override
+            public void onEvent(Tick tick, long sequence, boolean endOfBatch) throws Exception {
+                release.await();
+                super.onEvent(tick, sequence, endOfBatch);
+            }
+        };
+        RecordingHandler healthy = new RecordingHandler("broadcast");
+        pipeline = new TickPipeline(properties(16), List.of(stuck, healthy), new TickLatencyMetrics(properties(16), meterRegistry), meterRegistry);
+        pipeline.start();
+
+        // When: Publishing far more ticks than the ring holds, at a pace the healthy consumer can follow
+        for (int i = 0; i < 100; i++) {
+            pipeline.publish(createTick(i));
+            if (i % 8 == 7) {
+                await().atMost(5, TimeUnit.SECONDS).until(() -> pipeline.getLag("broadcast") == 0);
+            }
+        }
+
+        // Then: Publishing completed, the healthy consumer saw every tick and the stuck one reports lag
+        await().atMost(5, TimeUnit.SECONDS).until(() -> pipeline.getLag("broadcast") == 0);
+        assertThat(healthy.tokens()).hasSize(100);
+        assertThat(pipeline.getLag("cache")).isGreaterThan(0);
+        assertThat(meterRegistry.get("socketengine.pipeline.lag").tag("consumer", "cache").gauge().value())
+            .isGreaterThan(0);
+
+        // And: Once released, the stuck consumer skips the overwritten ticks and catches up
+        release.countDown();
+        assertThat(pipeline.awaitDrained(5, TimeUnit.SECONDS)).isTrue();
+        double overruns = meterRegistry.get("socketengine.pipeline.overruns")
+            .tag("consumer", "cache").counter().count();
+        assertThat(overruns).isGreaterThan(0);
+        assertThat(stuck.tokens().size() + (long) overruns).isEqualTo(100);
+        assertThat(stuck.tokens()).endsWith(99L);
+    }
+
+    @Test
+    void shouldHandFramesToBatchHandlersAsWholeBatches() throws Exception {
+        // Given: A batch consumer
+        List<List<Long>> batches = new CopyOnWriteArrayList<>();
+        TickBatchHandler batchHandler = new TickBatchHandler() {
+            @Override
+            public void onBatch(List<Tick> ticks) {
+                batches.add(ticks.stream().map(Tick::getInstrumentToken).toList());
+            }
+
+            @Override
+            public String consumerName() {
+                return "cache";
+            }
+        };
+        pipeline = new TickPipeline(properties(64), List.of(batchHandler), new TickLatencyMetrics(properties(64), meterRegistry), meterRegistry);
+        pipeline.start();
+
+        // When: Publishing two frames
+        pipeline.publishBatch(List.of(createTick(1), createTick(2), createTick(3)));
+        assertThat(pipeline.awaitDrained(5, TimeUnit.SECONDS)).isTrue();
+        pipeline.publishBatch(List.of(createTick(4), createTick(5)));
+        assertThat(pipeline.awaitDrained(5, TimeUnit.SECONDS)).isTrue();
+
+        // Then: Each frame arrives as one batch, never split
+        assertThat(batches).containsExactly(List.of(1L, 2L, 3L), List.of(4L, 5L));
+        assertThat(meterRegistry.get("socketengine.pipeline.published").counter().count()).isEqualTo(5);
+    }
+
+    @Test
+    void shouldCapBatchSizeForBatchHandlers() throws Exception {
+        // Given: A batch consumer with a maximum batch size of 2
+        List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+        TickBatchHandler batchHandler = new TickBatchHandler() {
+            @Override
+            public void onBatch(List<Tick> ticks) {
+                batchSizes.add(ticks.size());
+            }
+
+            @Override
+            public String consumerName() {
+                return "persistence";
+            }
+        };
+        SocketEngineProperties properties = properties(64);
+        properties.getPipeline().setMaxBatchSize(2);
+        pipeline = new TickPipeline(properties, List.of(batchHandler), new TickLatencyMetrics(properties, meterRegistry), meterRegistry);
+        pipeline.start();
+
+        // When: Publishing a frame of five ticks
+        pipeline.publishBatch(List.of(createTick(1), createTick(2), createTick(3), createTick(4), createTick(5)));
+
+        // Then: The frame is delivered in chunks of at most two ticks
+        assertThat(pipeline.awaitDrained(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(batchSizes).containsExactly(2, 2, 1);
+    }
+
+    @Test
+    void shouldKeepConsumingAfterHandlerException() throws Exception {
+        // Given: A consumer that fails on one tick
+        RecordingHandler failing = new RecordingHandler("persistence") {
+            @Override
+            public void onEvent(Tick tick, long sequence, boolean endOfBatch) throws Exception {
+                if (tick.getInstrumentToken() == 1L) {
+                    throw new IllegalStateException("boom");
+                }
+                super.onEvent(tick, sequence, endOfBatch);
+            }
+        };
+        pipeline = new TickPipeline(properties(64), List.of(failing), new TickLatencyMetrics(properties(64), meterRegistry), meterRegistry);
+        pipeline.start();
+
+        // When: Publishing three ticks
+        for (int i = 0; i < 3; i++) {
+            pipeline.publish(createTick(i));
+        }
+
+        // Then: The failing tick is skipped and the others are handled
+        assertThat(pipeline.awaitDrained(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(failing.tokens()).containsExactly(0L, 2L);
+    }
+
+    @Test
+    void shouldDrainPublishedTicksOnStop() throws Exception {
+        // Given: A running pipeline with a slow consumer
+        RecordingHandler slow = new RecordingHandler("cache") {
+            @Override
+            public void onEvent(Tick tick, long sequence, boolean endOfBatch) throws Exception {
+                Thread.sleep(1);
+                super.onEvent(tick, sequence, endOfBatch);
+            }
+        };
+        pipeline = new TickPipeline(properties(256), List.of(slow), new TickLatencyMetrics(properties(256), meterRegistry), meterRegistry);
+        pipeline.start();
+        for (int i = 0; i < 50; i++) {
+            pipeline.publish(createTick(i));
+        }
+
+        // When: Stopping the pipeline
+        pipeline.stop();
+
+        // Then: Everything published before stop was handled
+        assertThat(slow.tokens()).hasSize(50);
+        assertThat(pipeline.isRunning()).isFalse();
+    }
+
+    @Test
+    void shouldSkipIngestOnlyConsumersOnEdgeNodes() throws Exception {
+        // Given: An edge node with a broadcast consumer and an ingest-only cache consumer
+        RecordingHandler broadcast = new RecordingHandler("broadcast");
+        RecordingHandler cache = new RecordingHandler("cache", true);
+        SocketEngineProperties properties = properties(64);
+        properties.getSource().setType(TickSourceType.EDGE);
+        pipeline = new TickPipeline(properties, List.of(broadcast, cache), new TickLatencyMetrics(properties, meterRegistry), meterRegistry);
+        pipeline.start();
+
+        // When: Publishing a tick
+        pipeline.publish(createTick(1));
+
+        // Then: Only the broadcast consumer is registered and sees it
+        assertThat(pipeline.awaitDrained(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(broadcast.tokens()).containsExactly(1L);
+        assertThat(cache.tokens()).isEmpty();
+        assertThat(pipeline.getLag("cache")).isEqualTo(-1L);
+    }
+
+    private SocketEngineProperties properties(int ringSize) {
+        SocketEngineProperties properties = new SocketEngineProperties();
+        properties.getPipeline().setRingSize(ringSize);
+        properties.getPipeline().setWaitStrategy(WaitStrategyType.BLOCKING);
+        return properties;
+    }
+
+    private Tick createTick(long instrumentToken) {
+        return Tick.builder()
+            .symbol("SYM" + instrumentToken)
+            .instrumentToken(instrumentToken)
+            .type(InstrumentType.STOCK)
+            .timestamp(Instant.now())
+            .lastTradedPrice(100.0)
+            .volume(1L)
+            .ohlc(Tick.OHLC.builder().open(100.0).high(100.0).low(100.0).close(100.0).build())
+            .build();
+    }
+
+    private static class RecordingHandler implements TickEventHandler {
+        private final String name;
+        private final boolean ingestOnly;
+        private final List<Long> tokens = new CopyOnWriteArrayList<>();
+        volatile boolean endOfBatchSeen;
+
+        RecordingHandler(String name) {
+            this(name, false);
+        }
+
+        RecordingHandler(String name, boolean ingestOnly) {
+            this.name = name;
+            this.ingestOnly = ingestOnly;
+        }
+
+        @Override
+        public void onEvent(Tick tick, long sequence, boolean endOfBatch) throws Exception {
+            tokens.add(tick.getInstrumentToken());
+            endOfBatchSeen |= endOfBatch;
+        }
+
+        @Override
+        public String consumerName() {
+            return name;
+        }
+
+        @Override
+        public boolean ingestOnly() {
+            return ingestOnly;
+        }
+
+        List<Long> tokens() {
+            return tokens;
+        }
+    }
+}
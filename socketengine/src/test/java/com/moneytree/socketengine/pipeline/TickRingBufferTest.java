@@ -0,0 +1,73 @@
+package com.moneytree.socketengine.pipeline;
+
+import com.moneytree.socketengine.domain.InstrumentType;
+import com.moneytree.socketengine.domain.Tick;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for TickRingBuffer.
+ * Tests sequence assignment, wrap-around and overrun detection.
+ */
+class TickRingBufferTest {
+
+    @Test
+    void shouldAssignIncreasingSequences() {
+        // Given: An empty ring
+        TickRingBuffer ring = new TickRingBuffer(4);
+        assertThat(ring.getCursor()).isEqualTo(-1L);
+
+        // When: Publishing two ticks
+        Tick first = createTick(256265L);
+        Tick second = createTick(738561L);
+        long s1 = ring.publish(first);
+        long s2 = ring.publish(second);
+
+        // Then: Sequences start at zero and the cursor follows the producer
+        assertThat(s1).isZero();
+        assertThat(s2).isEqualTo(1L);
+        assertThat(ring.getCursor()).isEqualTo(1L);
+        assertThat(ring.get(0)).isSameAs(first);
+        assertThat(ring.get(1)).isSameAs(second);
+    }
+
+    @Test
+    void shouldReturnNullForOverwrittenSequence() {
+        // Given: A ring of 4 slots
+        TickRingBuffer ring = new TickRingBuffer(4);
+
+        // When: Publishing more ticks than the ring holds
+        for (int i = 0; i < 6; i++) {
+            ring.publish(createTick(i));
+        }
+
+        // Then: The two oldest sequences are gone, the rest are still readable
+        assertThat(ring.get(0)).isNull();
+        assertThat(ring.get(1)).isNull();
+        assertThat(ring.get(2).getInstrumentToken()).isEqualTo(2L);
+        assertThat(ring.get(5).getInstrumentToken()).isEqualTo(5L);
+    }
+
+    @Test
+    void shouldRejectCapacityThatIsNotPowerOfTwo() {
+        assertThatThrownBy(() -> new TickRingBuffer(1000))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("power of two");
+    }
+
+    private Tick createTick(long instrumentToken) {
+        return Tick.builder()
+            .symbol("SYM" + instrumentToken)
+            .instrumentToken(instrumentToken)
+            .type(InstrumentType.STOCK)
+            .timestamp(Instant.now())
+            .lastTradedPrice(100.0)
+            .volume(1L)
+            .ohlc(Tick.OHLC.builder().open(100.0).high(100.0).low(100.0).close(100.0).build())
+            .build();
+    }
+}
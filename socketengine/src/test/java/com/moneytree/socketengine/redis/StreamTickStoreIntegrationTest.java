@@ -0,0 +1,160 @@
+package com.moneytree.socketengine.redis;
+
+import com.moneytree.socketengine.domain.InstrumentType;
+import com.moneytree.socketengine.domain.Tick;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.Limit;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.connection.stream.ByteRecord;
+import org.springframework.data.redis.connection.stream.StreamInfo;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for StreamTickStore with real Redis instance.
+ * Uses Testcontainers to spin up a Redis container for testing.
+ */
+@Testcontainers
+class StreamTickStoreIntegrationTest {
+
+    private static final String TRADING_DATE = "2025-12-08";
+    private static final Instant OPEN = Instant.parse("2025-12-08T03:45:00Z");
+
+    @Container
+    static GenericContainer<?> redis = new GenericContainer<>(DockerImageName.parse("redis:7-alpine"))
+        .withExposedPorts(6379);
+
+    private LettuceConnectionFactory connectionFactory;
+    private RedisTemplate<String, byte[]> tickRedisTemplate;
+    private StreamTickStore store;
+
+    @BeforeEach
+    void setUp() {
+        RedisStandaloneConfiguration config = new RedisStandaloneConfiguration();
+        config.setHostName(redis.getHost());
+        config.setPort(redis.getFirstMappedPort());
+        connectionFactory = new LettuceConnectionFactory(config);
+        connectionFactory.afterPropertiesSet();
+        tickRedisTemplate = new RedisConfig().tickRedisTemplate(connectionFactory);
+        tickRedisTemplate.getConnectionFactory().getConnection().serverCommands().flushAll();
+        store = new StreamTickStore(tickRedisTemplate, 1_000_000, List.of("backend"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (connectionFactory != null) {
+            connectionFactory.destroy();
+        }
+    }
+
+    @Test
+    void shouldReadOnlyTicksInsideTimeWindow() {
+        // Given: One tick per minute for 30 minutes
+        for (int i = 0; i < 30; i++) {
+            store.append(TRADING_DATE, Map.of("TCS", List.of(tick("TCS", OPEN.plusSeconds(i * 60L)))));
+        }
+
+        // When: Reading the ticks after minute 24
+        List<Tick> ticks = store.read(TRADING_DATE, "TCS", OPEN.plusSeconds(24 * 60L).toEpochMilli());
+
+        // Then: Minutes 25 to 29 are returned in order
+        assertThat(ticks).extracting(Tick::getTimestamp)
+            .containsExactly(OPEN.plusSeconds(25 * 60L), OPEN.plusSeconds(26 * 60L), OPEN.plusSeconds(27 * 60L),
+                OPEN.plusSeconds(28 * 60L), OPEN.plusSeconds(29 * 60L));
+        assertThat(store.read(TRADING_DATE, "TCS", Long.MIN_VALUE)).hasSize(30);
+    }
+
+    @Test
+    void shouldKeepIdsIncreasingForSameAndOlderTimestamps() {
+        // Given: Ticks sharing a millisecond, then a late tick older than both
+        Tick first = tick("INFY", OPEN.plusMillis(500));
+        Tick second = tick("INFY", OPEN.plusMillis(500));
+        Tick late = tick("INFY", OPEN.plusMillis(100));
+
+        // When: Appending them in one batch
+        store.append(TRADING_DATE, Map.of("INFY", List.of(first, second, late)));
+
+        // Then: All are stored in arrival order under the last entry's millisecond
+        assertThat(store.read(TRADING_DATE, "INFY", Long.MIN_VALUE)).extracting(Tick::getTimestamp)
+            .containsExactly(OPEN.plusMillis(500), OPEN.plusMillis(500), OPEN.plusMillis(100));
+        byte[] rawKey = ("tickstream:" + TRADING_DATE + ":INFY").getBytes(StandardCharsets.UTF_8);
+        List<ByteRecord> entries = tickRedisTemplate.execute((RedisCallback<List<ByteRecord>>) connection ->
+            connection.streamCommands().xRange(rawKey, Range.unbounded(), Limit.unlimited()));
+        assertThat(entries)
+            .extracting(entry -> entry.getId().getValue())
+            .containsExactly(OPEN.plusMillis(500).toEpochMilli() + "-0",
+                OPEN.plusMillis(500).toEpochMilli() + "-1", OPEN.plusMillis(500).toEpochMilli() + "-2");
+    }
+
+    @Test
+    void shouldContinueAfterLastEntryWhenRestarted() {
+        // Given: A stream written by an earlier instance
+        store.append(TRADING_DATE, Map.of("SBIN", List.of(tick("SBIN", OPEN.plusSeconds(10)))));
+
+        // When: A new instance appends an older tick
+        StreamTickStore restarted = new StreamTickStore(tickRedisTemplate, 1_000_000, List.of("backend"));
+        restarted.append(TRADING_DATE, Map.of("SBIN", List.of(tick("SBIN", OPEN.plusSeconds(5)))));
+
+        // Then: The tick is appended after the existing entry
+        assertThat(restarted.read(TRADING_DATE, "SBIN", Long.MIN_VALUE)).hasSize(2);
+    }
+
+    @Test
+    void shouldCreateConsumerGroupsAndTTL() {
+        // Given: A new stream
+        String key = "tickstream:" + TRADING_DATE + ":RELIANCE";
+
+        // When: Its first tick is appended
+        store.append(TRADING_DATE, Map.of("RELIANCE", List.of(tick("RELIANCE", OPEN))));
+
+        // Then: The configured group exists and the key expires in 2 days
+        StreamInfo.XInfoGroups groups = tickRedisTemplate.opsForStream().groups(key);
+        assertThat(groups.size()).isEqualTo(1);
+        assertThat(groups.get(0).groupName()).isEqualTo("backend");
+        assertThat(tickRedisTemplate.getExpire(key)).isGreaterThan(172700L);
+    }
+
+    @Test
+    void shouldSetTTLWithoutConsumerGroups() {
+        // Given: A store creating no consumer groups, so nothing creates the stream before XADD
+        StreamTickStore withoutGroups = new StreamTickStore(tickRedisTemplate, 1_000_000, List.of());
+        String key = "tickstream:" + TRADING_DATE + ":INFY";
+
+        // When: The stream's first tick is appended
+        withoutGroups.append(TRADING_DATE, Map.of("INFY", List.of(tick("INFY", OPEN))));
+
+        // Then: The key still expires in 2 days
+        assertThat(tickRedisTemplate.getExpire(key)).isGreaterThan(172700L);
+    }
+
+    @Test
+    void shouldReturnEmptyListForMissingStream() {
+        assertThat(store.read(TRADING_DATE, "WIPRO", Long.MIN_VALUE)).isEmpty();
+    }
+
+    private static Tick tick(String symbol, Instant timestamp) {
+        return Tick.builder()
+            .symbol(symbol)
+            .instrumentToken(408065L)
+            .type(InstrumentType.STOCK)
+            .timestamp(timestamp)
+            .lastTradedPrice(1500.25)
+            .volume(1000L)
+            .build();
+    }
+}
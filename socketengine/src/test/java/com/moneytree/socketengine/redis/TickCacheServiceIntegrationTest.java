@@ -2,9 +2,10 @@ package com.moneytree.socketengine.redis;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.moneytree.socketengine.api.dto.TickDto;
+import com.moneytree.socketengine.config.SocketEngineProperties;
 import com.moneytree.socketengine.domain.InstrumentType;
 import com.moneytree.socketengine.domain.Tick;
-import com.moneytree.socketengine.domain.events.TickReceivedEvent;
+import com.moneytree.socketengine.pipeline.TickLatencyMetrics;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.AfterEach;
@@ -49,6 +50,7 @@ class TickCacheServiceIntegrationTest {
         .withExposedPorts(6379);
     
     private RedisTemplate<String, String> redisTemplate;
+    private RedisTemplate<String, byte[]> tickRedisTemplate;
     private ObjectMapper objectMapper;
     private MeterRegistry meterRegistry;
     private TickCacheService tickCacheService;
@@ -72,6 +74,7 @@ class TickCacheServiceIntegrationTest {
         redisTemplate.setHashKeySerializer(new StringRedisSerializer());
         redisTemplate.setHashValueSerializer(new StringRedisSerializer());
         redisTemplate.afterPropertiesSet();
+        tickRedisTemplate = new RedisConfig().tickRedisTemplate(connectionFactory);
         
         // Setup ObjectMapper
         objectMapper = new ObjectMapper();
@@ -80,7 +83,8 @@ class TickCacheServiceIntegrationTest {
         meterRegistry = new SimpleMeterRegistry();
         
         // Create TickCacheService instance
-        tickCacheService = new TickCacheService(redisTemplate, objectMapper, meterRegistry);
+        tickCacheService = new TickCacheService(new ListTickStore(tickRedisTemplate, objectMapper),
+            new TickLatencyMetrics(new SocketEngineProperties(), meterRegistry), meterRegistry);
         
         // Clear Redis before each test
         redisTemplate.getConnectionFactory().getConnection().serverCommands().flushAll();
@@ -97,10 +101,9 @@ class TickCacheServiceIntegrationTest {
     void shouldCacheTickToRedis() throws Exception {
         // Given: A tick event
         Tick tick = createSampleTick("NIFTY 50", 256265L, InstrumentType.INDEX);
-        TickReceivedEvent event = new TickReceivedEvent(tick);
         
         // When: Cache the tick (simulate async processing by calling directly)
-        CompletableFuture.runAsync(() -> tickCacheService.onTickReceived(event))
+        CompletableFuture.runAsync(() -> tickCacheService.onBatch(List.of(tick)))
             .get(2, TimeUnit.SECONDS);
         
         // Then: Tick should be in Redis
@@ -110,24 +113,23 @@ class TickCacheServiceIntegrationTest {
         await().atMost(Duration.ofSeconds(2))
             .until(() -> Boolean.TRUE.equals(redisTemplate.hasKey(key)));
         
-        List<String> cachedTicks = redisTemplate.opsForList().range(key, 0, -1);
+        List<byte[]> cachedTicks = tickRedisTemplate.opsForList().range(key, 0, -1);
         assertThat(cachedTicks).hasSize(1);
         
-        // Verify tick data
-        TickDto cachedDto = objectMapper.readValue(cachedTicks.get(0), TickDto.class);
-        assertThat(cachedDto.getSymbol()).isEqualTo("NIFTY 50");
-        assertThat(cachedDto.getInstrumentToken()).isEqualTo(256265L);
-        assertThat(cachedDto.getLastTradedPrice()).isEqualTo(23754.25);
+        // Verify tick data, stored as one fixed-width binary record
+        assertThat(cachedTicks.get(0)).hasSize(TickRecordCodec.RECORD_SIZE);
+        Tick cached = TickRecordCodec.decode("NIFTY 50", cachedTicks.get(0));
+        assertThat(cached.getInstrumentToken()).isEqualTo(256265L);
+        assertThat(cached.getLastTradedPrice()).isEqualTo(23754.25);
     }
     
     @Test
     void shouldSetTTLCorrectly() throws Exception {
         // Given: A tick event
         Tick tick = createSampleTick("RELIANCE", 738561L, InstrumentType.STOCK);
-        TickReceivedEvent event = new TickReceivedEvent(tick);
         
         // When: Cache the tick
-        CompletableFuture.runAsync(() -> tickCacheService.onTickReceived(event))
+        CompletableFuture.runAsync(() -> tickCacheService.onBatch(List.of(tick)))
             .get(2, TimeUnit.SECONDS);
         
         // Then: TTL should be set to 2 days
@@ -177,9 +179,7 @@ class TickCacheServiceIntegrationTest {
         for (int i = 0; i < 30; i++) {
             Tick tick = createSampleTickWithTimestamp("TCS", 2953217L, 
                 now.minusSeconds(i * 60)); // One tick per minute
-            TickDto dto = toDto(tick);
-            String json = objectMapper.writeValueAsString(dto);
-            redisTemplate.opsForList().rightPush(key, json);
+            tickRedisTemplate.opsForList().rightPush(key, TickRecordCodec.encode(tick));
         }
         
         // When: Retrieve last 5 minutes
@@ -209,14 +209,13 @@ class TickCacheServiceIntegrationTest {
     void shouldHandleRedisConnectionErrors() {
         // Given: A tick event
         Tick tick = createSampleTick("HDFC", 341249L, InstrumentType.STOCK);
-        TickReceivedEvent event = new TickReceivedEvent(tick);
         
         // When: Destroy connection to simulate Redis error
         connectionFactory.destroy();
         
         // Then: Should not throw exception (errors are logged)
         try {
-            tickCacheService.onTickReceived(event);
+            tickCacheService.onBatch(List.of(tick));
             // If we get here, the service handled the error gracefully
             assertThat(true).isTrue();
         } catch (Exception e) {
@@ -227,7 +226,7 @@ class TickCacheServiceIntegrationTest {
     
     @Test
     void shouldHandleMalformedCachedData() throws Exception {
-        // Given: Malformed JSON in cache
+        // Given: Malformed JSON in cache, among JSON ticks cached before the binary format
         String tradingDate = getTradingDate();
         String key = String.format("ticks:%s:ICICI", tradingDate);
         
@@ -261,8 +260,7 @@ class TickCacheServiceIntegrationTest {
         for (int i = 0; i < 5; i++) {
             Tick tick = createSampleTickWithTimestamp(symbol, instrumentToken, 
                 Instant.now().minusSeconds(i * 10));
-            TickReceivedEvent event = new TickReceivedEvent(tick);
-            CompletableFuture.runAsync(() -> tickCacheService.onTickReceived(event))
+            CompletableFuture.runAsync(() -> tickCacheService.onBatch(List.of(tick)))
                 .get(2, TimeUnit.SECONDS);
         }
         
@@ -280,6 +278,63 @@ class TickCacheServiceIntegrationTest {
         assertThat(ticks).hasSize(5);
     }
     
+    @Test
+    void shouldCacheMixedBatchInOrderPerSymbolWithTTL() throws Exception {
+        // Given: One batch interleaving ticks of two symbols
+        Instant now = Instant.now();
+        List<Tick> batch = List.of(
+            createSampleTickWithTimestamp("INFY", 408065L, now.minusSeconds(3)),
+            createSampleTickWithTimestamp("TCS", 2953217L, now.minusSeconds(2)),
+            createSampleTickWithTimestamp("INFY", 408065L, now.minusSeconds(1)));
+        
+        // When: Cache the batch
+        tickCacheService.onBatch(batch);
+        
+        // Then: Each symbol's list holds its ticks in arrival order, and both keys have a TTL
+        String tradingDate = getTradingDate();
+        List<Tick> infy = tickCacheService.getTodayTicks("INFY", null);
+        assertThat(infy).extracting(tick -> tick.getTimestamp().toEpochMilli())
+            .containsExactly(now.minusSeconds(3).toEpochMilli(), now.minusSeconds(1).toEpochMilli());
+        assertThat(tickCacheService.getTodayTicks("TCS", null)).hasSize(1);
+        assertThat(redisTemplate.getExpire(String.format("ticks:%s:INFY", tradingDate))).isGreaterThan(172700L);
+        assertThat(redisTemplate.getExpire(String.format("ticks:%s:TCS", tradingDate))).isGreaterThan(172700L);
+        assertThat(meterRegistry.get("socketengine.ticks.cached").counter().count()).isEqualTo(3.0);
+    }
+    
+    @Test
+    void shouldSetTTLOnlyOncePerKeyPerTradingDay() throws Exception {
+        // Given: A key cached once, then stripped of its TTL
+        String key = String.format("ticks:%s:ITC", getTradingDate());
+        tickCacheService.onBatch(List.of(createSampleTick("ITC", 424961L, InstrumentType.STOCK)));
+        redisTemplate.persist(key);
+        
+        // When: More ticks of the same symbol are cached
+        tickCacheService.onBatch(List.of(createSampleTick("ITC", 424961L, InstrumentType.STOCK)));
+        
+        // Then: The ticks are appended without another EXPIRE
+        assertThat(redisTemplate.opsForList().size(key)).isEqualTo(2L);
+        assertThat(redisTemplate.getExpire(key)).isEqualTo(-1L);
+    }
+    
+    @Test
+    void shouldReadLegacyJsonTicksAlongsideBinaryRecords() throws Exception {
+        // Given: A JSON tick cached before the binary format, then a tick cached now
+        String key = String.format("ticks:%s:LT", getTradingDate());
+        Instant now = Instant.now();
+        Tick legacy = createSampleTickWithTimestamp("LT", 2939649L, now.minusSeconds(20));
+        redisTemplate.opsForList().rightPush(key, objectMapper.writeValueAsString(toDto(legacy)));
+        tickCacheService.onBatch(List.of(createSampleTickWithTimestamp("LT", 2939649L, now.minusSeconds(10))));
+        
+        // When: Retrieve ticks
+        List<Tick> ticks = tickCacheService.getTodayTicks("LT", null);
+        
+        // Then: Both are returned in order
+        assertThat(ticks).hasSize(2);
+        assertThat(ticks.get(0).getTimestamp()).isEqualTo(now.minusSeconds(20));
+        assertThat(ticks.get(1).getTimestamp().toEpochMilli()).isEqualTo(now.minusSeconds(10).toEpochMilli());
+        assertThat(ticks).allMatch(t -> t.getInstrumentToken() == 2939649L);
+    }
+    
     @Test
     void shouldPreserveOHLCDataInCache() throws Exception {
         // Given: A tick with OHLC data
@@ -299,10 +354,9 @@ class TickCacheServiceIntegrationTest {
             .rawBinaryData(new byte[]{0x01, 0x02, 0x03})
             .build();
         
-        TickReceivedEvent event = new TickReceivedEvent(tick);
         
         // When: Cache the tick
-        CompletableFuture.runAsync(() -> tickCacheService.onTickReceived(event))
+        CompletableFuture.runAsync(() -> tickCacheService.onBatch(List.of(tick)))
             .get(2, TimeUnit.SECONDS);
         
         // Then: OHLC data should be preserved
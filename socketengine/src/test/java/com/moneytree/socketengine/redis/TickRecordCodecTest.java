@@ -0,0 +1,78 @@
+package com.moneytree.socketengine.redis;
+
+import com.moneytree.socketengine.domain.InstrumentType;
+import com.moneytree.socketengine.domain.Tick;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for TickRecordCodec.
+ */
+class TickRecordCodecTest {
+
+    @Test
+    void shouldRoundTripTickThroughFixedWidthRecord() {
+        // Given: An index tick
+        Instant timestamp = Instant.parse("2025-12-08T10:15:03.123Z");
+        Tick tick = Tick.builder()
+            .symbol("NIFTY 50")
+            .instrumentToken(256265L)
+            .type(InstrumentType.INDEX)
+            .timestamp(timestamp)
+            .lastTradedPrice(23754.25)
+            .volume(12_500_000L)
+            .ohlc(Tick.OHLC.builder().open(23700.50).high(23780.00).low(23650.75).close(23754.25).build())
+            .build();
+
+        // When: Encoding and decoding it
+        byte[] record = TickRecordCodec.encode(tick);
+        Tick decoded = TickRecordCodec.decode("NIFTY 50", record);
+
+        // Then: The record has the documented size and every field survives
+        assertThat(record).hasSize(TickRecordCodec.RECORD_SIZE);
+        assertThat(TickRecordCodec.isRecord(record)).isTrue();
+        assertThat(TickRecordCodec.timestampMillis(record)).isEqualTo(timestamp.toEpochMilli());
+        assertThat(decoded.getSymbol()).isEqualTo("NIFTY 50");
+        assertThat(decoded.getInstrumentToken()).isEqualTo(256265L);
+        assertThat(decoded.getType()).isEqualTo(InstrumentType.INDEX);
+        assertThat(decoded.getTimestamp()).isEqualTo(timestamp);
+        assertThat(decoded.getLastTradedPrice()).isEqualTo(23754.25);
+        assertThat(decoded.getVolume()).isEqualTo(12_500_000L);
+        assertThat(decoded.getOhlc()).isEqualTo(tick.getOhlc());
+    }
+
+    @Test
+    void shouldKeepTokensAboveSignedIntRangeAndMissingOhlc() {
+        // Given: A stock tick with a large token and no OHLC
+        Tick tick = Tick.builder()
+            .symbol("XYZ")
+            .instrumentToken(3_000_000_000L)
+            .type(InstrumentType.STOCK)
+            .timestamp(Instant.parse("2025-12-08T10:15:03Z"))
+            .lastTradedPrice(12.05)
+            .build();
+
+        // When: Encoding and decoding it
+        Tick decoded = TickRecordCodec.decode("XYZ", TickRecordCodec.encode(tick));
+
+        // Then: The token is read back unsigned and OHLC stays absent
+        assertThat(decoded.getInstrumentToken()).isEqualTo(3_000_000_000L);
+        assertThat(decoded.getType()).isEqualTo(InstrumentType.STOCK);
+        assertThat(decoded.getLastTradedPrice()).isEqualTo(12.05);
+        assertThat(decoded.getOhlc()).isNull();
+    }
+
+    @Test
+    void shouldNotMistakeJsonForRecord() {
+        // Given: A legacy JSON tick padded to the record size
+        byte[] json = "{\"symbol\":\"INFY\",\"volume\":10000000000000000}".getBytes(StandardCharsets.UTF_8);
+
+        // Then: It is not taken for a binary record
+        assertThat(json).hasSize(TickRecordCodec.RECORD_SIZE);
+        assertThat(TickRecordCodec.isRecord(json)).isFalse();
+    }
+}